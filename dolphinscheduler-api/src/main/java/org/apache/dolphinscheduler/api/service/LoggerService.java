@@ -21,6 +21,8 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import javax.servlet.http.HttpServletResponse;
+
 /**
  * logger service
  */
@@ -46,6 +48,15 @@ public interface LoggerService {
      */
     byte[] getLogBytes(User loginUser, int taskInstId);
 
+    /**
+     * download log, the log file is streamed to the response chunk by chunk
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param response   http response
+     */
+    void downloadLog(User loginUser, int taskInstId, HttpServletResponse response);
+
     /**
      * query log
      *
@@ -67,4 +78,14 @@ public interface LoggerService {
      * @return log byte array
      */
     byte[] getLogBytes(User loginUser, long projectCode, int taskInstId);
+
+    /**
+     * download log in specified project, the log file is streamed to the response chunk by chunk
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @param response    http response
+     */
+    void downloadLog(User loginUser, long projectCode, int taskInstId, HttpServletResponse response);
 }
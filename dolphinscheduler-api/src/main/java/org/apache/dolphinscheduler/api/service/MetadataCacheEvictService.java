@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.service;
+
+import org.apache.dolphinscheduler.common.enums.CacheType;
+
+/**
+ * Evict the metadata cached by the master servers after the metadata is changed.
+ */
+public interface MetadataCacheEvictService {
+
+    /**
+     * Evict the given key from the metadata cache of all master servers, the eviction is sent after the current
+     * transaction is committed.
+     *
+     * @param cacheType cache type
+     * @param key cache key, evict all entries of the cache type if null
+     */
+    void evictMetadataCache(CacheType cacheType, Object key);
+
+}
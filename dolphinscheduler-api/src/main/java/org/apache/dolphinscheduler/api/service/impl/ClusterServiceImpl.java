@@ -22,8 +22,10 @@ import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
 import org.apache.dolphinscheduler.api.k8s.K8sManager;
 import org.apache.dolphinscheduler.api.service.ClusterService;
+import org.apache.dolphinscheduler.api.service.MetadataCacheEvictService;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.CacheType;
 import org.apache.dolphinscheduler.common.utils.CodeGenerateUtils;
 import org.apache.dolphinscheduler.dao.entity.Cluster;
 import org.apache.dolphinscheduler.dao.entity.K8sNamespace;
@@ -67,6 +69,9 @@ public class ClusterServiceImpl extends BaseServiceImpl implements ClusterServic
     @Autowired
     private K8sNamespaceMapper k8sNamespaceMapper;
 
+    @Autowired
+    private MetadataCacheEvictService metadataCacheEvictService;
+
     /**
      * create cluster
      *
@@ -211,6 +216,8 @@ public class ClusterServiceImpl extends BaseServiceImpl implements ClusterServic
 
         int delete = clusterMapper.deleteByCode(code);
         if (delete > 0) {
+            // the cluster config is cached by cluster name
+            metadataCacheEvictService.evictMetadataCache(CacheType.CLUSTER_CONFIG, null);
             return;
         }
         throw new ServiceException(Status.DELETE_CLUSTER_ERROR);
@@ -266,6 +273,7 @@ public class ClusterServiceImpl extends BaseServiceImpl implements ClusterServic
         clusterExist.setName(name);
         clusterExist.setDescription(desc);
         clusterMapper.updateById(clusterExist);
+        metadataCacheEvictService.evictMetadataCache(CacheType.CLUSTER_CONFIG, null);
         return clusterExist;
     }
 
@@ -36,6 +36,8 @@ import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.client.Clients;
 import org.apache.dolphinscheduler.extract.common.ILogService;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
@@ -43,13 +45,22 @@ import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPag
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.http.HttpServletResponse;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.primitives.Bytes;
 
 /**
@@ -61,6 +72,8 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
 
     private static final String LOG_HEAD_FORMAT = "[LOG-PATH]: %s, [HOST]: %s%s";
 
+    private static final String LOG_INCOMPLETE_MARK = "[LOG-INCOMPLETE]: download the rest of the log failed";
+
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
@@ -122,6 +135,24 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         return getLogBytes(taskInstance);
     }
 
+    /**
+     * download log
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param response   http response
+     */
+    @Override
+    public void downloadLog(User loginUser, int taskInstId, HttpServletResponse response) {
+        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
+        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+        Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
+        projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
+        downloadLog(taskInstance, response);
+    }
+
     /**
      * query log
      *
@@ -176,6 +207,32 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         return getLogBytes(task);
     }
 
+    /**
+     * download log in specified project
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @param response    http response
+     */
+    @Override
+    public void downloadLog(User loginUser, long projectCode, int taskInstId, HttpServletResponse response) {
+        // check user access for project
+        projectService.checkProjectAndAuthThrowException(loginUser, projectCode, DOWNLOAD_LOG);
+
+        // check whether the task instance can be found
+        TaskInstance task = taskInstanceDao.queryById(taskInstId);
+        if (task == null || StringUtils.isBlank(task.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+
+        TaskDefinition taskDefinition = taskDefinitionMapper.queryByCode(task.getTaskCode());
+        if (taskDefinition != null && projectCode != taskDefinition.getProjectCode()) {
+            throw new ServiceException("task instance does not exist in project");
+        }
+        downloadLog(task, response);
+    }
+
     /**
      * query log
      *
@@ -255,4 +312,87 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
             throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR);
         }
     }
+
+    /**
+     * Stream the log file to the response, the log file is downloaded from the server chunk by chunk in gzip, so
+     * neither the server nor the api server holds the whole log file in memory.
+     * <p> The first chunk is downloaded before anything is written, so the common failures, e.g. the server is down or
+     * the log file doesn't exist, are still returned as the api error. Once the response is committed the error can't
+     * be returned anymore, the stream is ended with a line marking the log as incomplete.
+     *
+     * @param taskInstance task instance
+     * @param response     http response
+     */
+    private void downloadLog(TaskInstance taskInstance, HttpServletResponse response) {
+        String host = taskInstance.getHost();
+        String logPath = taskInstance.getLogPath();
+
+        byte[] head = String.format(LOG_HEAD_FORMAT,
+                logPath,
+                host,
+                Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+
+        TaskInstanceLogFileChunkDownloadResponse chunkDownloadResponse;
+        try {
+            chunkDownloadResponse = downloadLogFileChunk(taskInstance, 0);
+        } catch (Exception ex) {
+            log.error("Download TaskInstance: {} Log Error", taskInstance.getName(), ex);
+            throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR);
+        }
+
+        OutputStream outputStream = null;
+        try {
+            response.reset();
+            response.setContentType("application/octet-stream");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"");
+            outputStream = response.getOutputStream();
+            outputStream.write(head);
+            while (true) {
+                try (
+                        InputStream chunk = new GZIPInputStream(
+                                new ByteArrayInputStream(chunkDownloadResponse.getChunk()))) {
+                    ByteStreams.copy(chunk, outputStream);
+                }
+                if (chunkDownloadResponse.isFinished()) {
+                    break;
+                }
+                chunkDownloadResponse = downloadLogFileChunk(taskInstance, chunkDownloadResponse.getNextOffset());
+            }
+            outputStream.flush();
+        } catch (Exception ex) {
+            log.error("Download TaskInstance: {} Log Error, the downloaded log is incomplete", taskInstance.getName(),
+                    ex);
+            endIncompleteLogStream(outputStream);
+        }
+    }
+
+    private TaskInstanceLogFileChunkDownloadResponse downloadLogFileChunk(TaskInstance taskInstance, long offset) {
+        final TaskInstanceLogFileChunkDownloadRequest request = TaskInstanceLogFileChunkDownloadRequest
+                .builder()
+                .taskInstanceId(taskInstance.getId())
+                .taskInstanceLogAbsolutePath(taskInstance.getLogPath())
+                .offset(offset)
+                .chunkSize(TaskInstanceLogFileChunkDownloadRequest.DEFAULT_CHUNK_SIZE)
+                .gzip(true)
+                .build();
+        return Clients
+                .withService(ILogService.class)
+                .withHost(taskInstance.getHost())
+                .downloadTaskInstanceLogFileChunk(request);
+    }
+
+    private void endIncompleteLogStream(OutputStream outputStream) {
+        if (outputStream == null) {
+            return;
+        }
+        try {
+            outputStream.write((Constants.SYSTEM_LINE_SEPARATOR + LOG_INCOMPLETE_MARK + Constants.SYSTEM_LINE_SEPARATOR)
+                    .getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+        } catch (IOException e) {
+            // The client may have gone away, nothing more can be done
+            log.warn("End the incomplete log stream error", e);
+        }
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.service.impl;
+
+import org.apache.dolphinscheduler.api.service.MetadataCacheEvictService;
+import org.apache.dolphinscheduler.common.enums.CacheType;
+import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.master.IMetadataCacheService;
+import org.apache.dolphinscheduler.extract.master.transportor.MetadataCacheEvictRequest;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+@Slf4j
+public class MetadataCacheEvictServiceImpl implements MetadataCacheEvictService {
+
+    @Autowired
+    private RegistryClient registryClient;
+
+    /**
+     * Send the evictions off the api request thread, so a slow or dead master doesn't block the api.
+     */
+    private final ExecutorService metadataCacheEvictExecutor =
+            ThreadUtils.newDaemonFixedThreadExecutor("MetadataCacheEvictThread-%d", 1);
+
+    @Override
+    public void evictMetadataCache(CacheType cacheType, Object key) {
+        MetadataCacheEvictRequest metadataCacheEvictRequest =
+                MetadataCacheEvictRequest.of(cacheType, key == null ? null : String.valueOf(key));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            broadcastAsync(metadataCacheEvictRequest);
+            return;
+        }
+        // The master may reload the old value before the transaction is committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                broadcastAsync(metadataCacheEvictRequest);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        metadataCacheEvictExecutor.shutdownNow();
+    }
+
+    private void broadcastAsync(MetadataCacheEvictRequest metadataCacheEvictRequest) {
+        try {
+            metadataCacheEvictExecutor.execute(() -> broadcast(metadataCacheEvictRequest));
+        } catch (RejectedExecutionException e) {
+            // The api server is shutting down, the cached entries will expire
+            log.warn("Fail to submit the metadata cache eviction {}", metadataCacheEvictRequest, e);
+        }
+    }
+
+    private void broadcast(MetadataCacheEvictRequest metadataCacheEvictRequest) {
+        List<Server> masterNodeList = registryClient.getServerList(RegistryNodeType.MASTER);
+        for (Server server : masterNodeList) {
+            try {
+                Clients.withService(IMetadataCacheService.class)
+                        .withHost(server.getHost() + ":" + server.getPort())
+                        .evictMetadataCache(metadataCacheEvictRequest);
+            } catch (Exception e) {
+                log.error("Fail to evict metadata cache {} on {}, error message {}",
+                        metadataCacheEvictRequest, server.getHost(), e.getMessage());
+            }
+        }
+    }
+
+}
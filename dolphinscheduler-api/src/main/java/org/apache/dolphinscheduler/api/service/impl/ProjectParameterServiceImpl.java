@@ -21,11 +21,13 @@ import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationCon
 
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.exceptions.ServiceException;
+import org.apache.dolphinscheduler.api.service.MetadataCacheEvictService;
 import org.apache.dolphinscheduler.api.service.ProjectParameterService;
 import org.apache.dolphinscheduler.api.service.ProjectService;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.CacheType;
 import org.apache.dolphinscheduler.common.utils.CodeGenerateUtils;
 import org.apache.dolphinscheduler.dao.entity.Project;
 import org.apache.dolphinscheduler.dao.entity.ProjectParameter;
@@ -65,6 +67,9 @@ public class ProjectParameterServiceImpl extends BaseServiceImpl implements Proj
     @Autowired
     private ProjectMapper projectMapper;
 
+    @Autowired
+    private MetadataCacheEvictService metadataCacheEvictService;
+
     @Override
     @Transactional
     public Result createProjectParameter(User loginUser, long projectCode, String projectParameterName,
@@ -112,6 +117,7 @@ public class ProjectParameterServiceImpl extends BaseServiceImpl implements Proj
 
         if (projectParameterMapper.insert(projectParameter) > 0) {
             log.info("Project parameter is created and id is :{}", projectParameter.getId());
+            metadataCacheEvictService.evictMetadataCache(CacheType.PROJECT_PARAMETER, projectCode);
             result.setData(projectParameter);
             putMsg(result, Status.SUCCESS);
         } else {
@@ -162,6 +168,7 @@ public class ProjectParameterServiceImpl extends BaseServiceImpl implements Proj
 
         if (projectParameterMapper.updateById(projectParameter) > 0) {
             log.info("Project parameter is updated and id is :{}", projectParameter.getId());
+            metadataCacheEvictService.evictMetadataCache(CacheType.PROJECT_PARAMETER, projectCode);
             result.setData(projectParameter);
             putMsg(result, Status.SUCCESS);
         } else {
@@ -194,6 +201,7 @@ public class ProjectParameterServiceImpl extends BaseServiceImpl implements Proj
 
         if (projectParameterMapper.deleteById(projectParameter.getId()) > 0) {
             log.info("Project parameter is deleted and id is :{}.", projectParameter.getId());
+            metadataCacheEvictService.evictMetadataCache(CacheType.PROJECT_PARAMETER, projectCode);
             result.setData(Boolean.TRUE);
             putMsg(result, Status.SUCCESS);
         } else {
@@ -96,6 +96,9 @@ public class DataSourceServiceTest {
     @Mock
     private DataSourceUserMapper datasourceUserMapper;
 
+    @Mock
+    private MetadataCacheEvictService metadataCacheEvictService;
+
     @Mock
     private ResourcePermissionCheckService resourcePermissionCheckService;
 
@@ -45,16 +45,24 @@ import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvoker
 import org.apache.dolphinscheduler.extract.common.ILogService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryResponse;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -68,6 +76,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -118,6 +127,23 @@ public class LoggerServiceTest {
                 throw new ServiceException("download error");
             }
 
+            @Override
+            public TaskInstanceLogFileChunkDownloadResponse downloadTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest) {
+                // Return the log "chunk0chunk1" in two chunks, the task instance 200 fails at the second chunk
+                long offset = taskInstanceLogFileChunkDownloadRequest.getOffset();
+                long taskInstanceId = taskInstanceLogFileChunkDownloadRequest.getTaskInstanceId();
+                if (taskInstanceId != 1 && !(taskInstanceId == 200 && offset == 0)) {
+                    throw new ServiceException("download error");
+                }
+                ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(chunk)) {
+                    gzipOutputStream.write(("chunk" + offset / 6).getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return new TaskInstanceLogFileChunkDownloadResponse(chunk.toByteArray(), offset + 6, offset > 0);
+            }
+
             @Override
             public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
                 if (taskInstanceLogPageQueryRequest.getTaskInstanceId() != null) {
@@ -131,6 +157,11 @@ public class LoggerServiceTest {
                 return new TaskInstanceLogPageQueryResponse();
             }
 
+            @Override
+            public TaskInstanceLogTailQueryResponse tailQueryTaskInstanceLog(TaskInstanceLogTailQueryRequest taskInstanceLogTailQueryRequest) {
+                return new TaskInstanceLogTailQueryResponse();
+            }
+
             @Override
             public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
                 return new GetAppIdResponse();
@@ -250,6 +281,38 @@ public class LoggerServiceTest {
         Assertions.assertEquals(42, logBytes.length - String.valueOf(nettyServerPort).length());
     }
 
+    @Test
+    public void testDownloadLog() throws IOException {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        loggerService.downloadLog(loginUser, 1, response);
+        String logContent = response.getContentAsString(StandardCharsets.UTF_8);
+        Assertions.assertTrue(logContent.startsWith("[LOG-PATH]: /temp/log"));
+        Assertions.assertTrue(logContent.endsWith("chunk0chunk1"));
+
+        taskInstance.setId(100);
+        when(taskInstanceDao.queryById(100)).thenReturn(taskInstance);
+        assertThrowsServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR,
+                () -> loggerService.downloadLog(loginUser, 100, new MockHttpServletResponse()));
+
+        // The response is committed when the second chunk fails, the log is ended with the incomplete mark
+        taskInstance.setId(200);
+        when(taskInstanceDao.queryById(200)).thenReturn(taskInstance);
+        response = new MockHttpServletResponse();
+        loggerService.downloadLog(loginUser, 200, response);
+        logContent = response.getContentAsString(StandardCharsets.UTF_8);
+        Assertions.assertTrue(logContent.contains("chunk0"));
+        Assertions.assertFalse(logContent.contains("chunk1"));
+        Assertions.assertTrue(logContent.trim().endsWith("[LOG-INCOMPLETE]: download the rest of the log failed"));
+    }
+
     @Test
     public void testQueryLogInSpecifiedProject() {
         long projectCode = 1L;
@@ -68,6 +68,9 @@ public class ProjectParameterServiceTest {
     @Mock
     private ProjectServiceImpl projectService;
 
+    @Mock
+    private MetadataCacheEvictService metadataCacheEvictService;
+
     protected final static long projectCode = 1L;
 
     @Test
@@ -25,6 +25,7 @@ import static org.mockito.Mockito.when;
 import org.apache.dolphinscheduler.api.dto.ClusterDto;
 import org.apache.dolphinscheduler.api.enums.Status;
 import org.apache.dolphinscheduler.api.k8s.K8sManager;
+import org.apache.dolphinscheduler.api.service.MetadataCacheEvictService;
 import org.apache.dolphinscheduler.api.utils.PageInfo;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.dao.entity.Cluster;
@@ -73,6 +74,9 @@ public class ClusterServiceTest {
     @Mock
     private K8sManager k8sManager;
 
+    @Mock
+    private MetadataCacheEvictService metadataCacheEvictService;
+
     public static final String testUserName = "clusterServerTest";
 
     public static final String clusterName = "Env1";
@@ -26,7 +26,10 @@ public enum CacheType {
     PROCESS_TASK_RELATION("processTaskRelation"),
     TASK_DEFINITION("taskDefinition"),
     WORKER_GROUP("workerGroup"),
-    SCHEDULE("schedule");
+    SCHEDULE("schedule"),
+    DATASOURCE("dataSource"),
+    PROJECT_PARAMETER("projectParameter"),
+    CLUSTER_CONFIG("clusterConfig");
 
     CacheType(String cacheName) {
         this.cacheName = cacheName;
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.dolphinscheduler.common.log;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A part of the log file read from a byte offset as raw bytes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogFileBytesChunk {
+
+    /**
+     * The chunk content, it's a gzip stream if the chunk is read with gzip.
+     */
+    private byte[] chunk;
+
+    /**
+     * The byte offset where the next read should start from.
+     */
+    private long nextOffset;
+
+    /**
+     * Whether the chunk reaches the end of the log file.
+     */
+    private boolean finished;
+
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A sparse line offset index of a log file, it records the byte offset of every {@link #INDEX_INTERVAL} lines, so a
+ * page of the log can be read by seeking to the nearest indexed line rather than reading from the head of the file.
+ * <p> The index is built incrementally, each refresh only scans the bytes appended since the last refresh. The line
+ * separators are the same as {@link BufferedReader#readLine()}: '\n', '\r' or "\r\n".
+ * <p> The index is bound to the identity of the file, it's rebuilt once the file is replaced under the same path, e.g.
+ * the log is downloaded again from the remote storage.
+ */
+public class LogFileLineIndex {
+
+    static final int INDEX_INTERVAL = 1000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * lineOffsets[i] is the byte offset of the line i * INDEX_INTERVAL.
+     */
+    private long[] lineOffsets = new long[16];
+
+    private int indexSize = 1;
+
+    private long scannedLength;
+
+    private long lineCount;
+
+    private boolean pendingCarriageReturn;
+
+    /**
+     * The identity of the indexed file, see {@link #getFileIdentity(BasicFileAttributes)}.
+     */
+    private Object fileIdentity;
+
+    private FileTime lastModifiedTime;
+
+    /**
+     * Read the lines in [skipLine, skipLine + limit), the cost is decided by the page size rather than the position.
+     */
+    public List<String> readLines(FileChannel channel, long skipLine, int limit) throws IOException {
+        return readLines(channel, null, skipLine, limit);
+    }
+
+    /**
+     * Same as {@link #readLines(FileChannel, long, int)}, the index is rebuilt if the given attributes show that the
+     * file is not the indexed one.
+     */
+    public List<String> readLines(FileChannel channel, BasicFileAttributes attributes, long skipLine,
+                                  int limit) throws IOException {
+        if (attributes != null) {
+            validate(attributes);
+        }
+        refresh(channel);
+        final long offset;
+        final long indexedLine;
+        synchronized (this) {
+            int entry = (int) Math.min(Math.max(skipLine, 0) / INDEX_INTERVAL, indexSize - 1);
+            offset = lineOffsets[entry];
+            indexedLine = (long) entry * INDEX_INTERVAL;
+        }
+        return readLines(channel, offset, Math.max(skipLine, 0) - indexedLine, limit);
+    }
+
+    /**
+     * Scan the bytes appended since the last refresh, the index will be rebuilt if the file is truncated.
+     */
+    synchronized void refresh(FileChannel channel) throws IOException {
+        final long fileSize = channel.size();
+        if (fileSize < scannedLength) {
+            reset();
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (scannedLength < fileSize) {
+            buffer.clear();
+            final int readBytes = channel.read(buffer, scannedLength);
+            if (readBytes <= 0) {
+                break;
+            }
+            final byte[] bytes = buffer.array();
+            for (int i = 0; i < readBytes; i++) {
+                final long position = scannedLength + i;
+                if (bytes[i] == '\n' && pendingCarriageReturn) {
+                    // "\r\n" is one line separator, the next line starts after '\n'
+                    pendingCarriageReturn = false;
+                    if (lineCount % INDEX_INTERVAL == 0) {
+                        lineOffsets[indexSize - 1] = position + 1;
+                    }
+                    continue;
+                }
+                pendingCarriageReturn = bytes[i] == '\r';
+                if (bytes[i] == '\n' || bytes[i] == '\r') {
+                    lineCount++;
+                    if (lineCount % INDEX_INTERVAL == 0) {
+                        addIndex(position + 1);
+                    }
+                }
+            }
+            scannedLength += readBytes;
+        }
+    }
+
+    /**
+     * Reset the index if the file is replaced: the inode changes, or the modified time goes backwards.
+     */
+    synchronized void validate(BasicFileAttributes attributes) {
+        final Object currentFileIdentity = getFileIdentity(attributes);
+        final FileTime currentLastModifiedTime = attributes.lastModifiedTime();
+        if (fileIdentity != null && !fileIdentity.equals(currentFileIdentity)
+                || lastModifiedTime != null && currentLastModifiedTime.compareTo(lastModifiedTime) < 0) {
+            reset();
+        }
+        fileIdentity = currentFileIdentity;
+        lastModifiedTime = currentLastModifiedTime;
+    }
+
+    /**
+     * The file key is the device and inode on unix, the creation time is used if the file system doesn't provide it.
+     */
+    static Object getFileIdentity(BasicFileAttributes attributes) {
+        return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+    }
+
+    synchronized long getLineCount() {
+        return lineCount;
+    }
+
+    private void addIndex(long offset) {
+        if (indexSize == lineOffsets.length) {
+            lineOffsets = Arrays.copyOf(lineOffsets, indexSize << 1);
+        }
+        lineOffsets[indexSize++] = offset;
+    }
+
+    private void reset() {
+        lineOffsets = new long[16];
+        indexSize = 1;
+        scannedLength = 0;
+        lineCount = 0;
+        pendingCarriageReturn = false;
+    }
+
+    /**
+     * Read the lines from the given offset which should be the start of a line, the last line which is not ended by a
+     * line separator is also returned.
+     */
+    static List<String> readLines(FileChannel channel, long offset, long skipLine, int limit) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        if (limit <= 0) {
+            return lines;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        boolean pendingCarriageReturn = false;
+        long position = offset;
+        while (lines.size() < limit) {
+            buffer.clear();
+            final int readBytes = channel.read(buffer, position);
+            if (readBytes <= 0) {
+                break;
+            }
+            final byte[] bytes = buffer.array();
+            for (int i = 0; i < readBytes && lines.size() < limit; i++) {
+                if (bytes[i] == '\n' && pendingCarriageReturn) {
+                    pendingCarriageReturn = false;
+                    continue;
+                }
+                pendingCarriageReturn = bytes[i] == '\r';
+                if (bytes[i] == '\n' || bytes[i] == '\r') {
+                    if (skipLine > 0) {
+                        skipLine--;
+                    } else {
+                        lines.add(new String(line.toByteArray(), StandardCharsets.UTF_8));
+                    }
+                    line.reset();
+                } else if (skipLine == 0) {
+                    line.write(bytes[i]);
+                }
+            }
+            position += readBytes;
+        }
+        if (skipLine == 0 && line.size() > 0 && lines.size() < limit) {
+            lines.add(new String(line.toByteArray(), StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+
+    /**
+     * Read at most maxBytes from the given offset, only the whole lines are returned unless a single line exceeds
+     * maxBytes, the returned next offset should be used by the next read.
+     */
+    public static LogFileChunk readFromOffset(FileChannel channel, long offset, int maxBytes) throws IOException {
+        final long fileSize = channel.size();
+        if (offset < 0 || offset > fileSize) {
+            // The file is truncated or replaced, read from the head
+            offset = 0;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(maxBytes, fileSize - offset));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) <= 0) {
+                break;
+            }
+        }
+        final byte[] bytes = buffer.array();
+        int length = buffer.position();
+        while (length > 0 && bytes[length - 1] != '\n' && bytes[length - 1] != '\r') {
+            length--;
+        }
+        if (length == 0 && buffer.position() == maxBytes) {
+            length = alignToCharBoundary(bytes, maxBytes);
+        }
+        return new LogFileChunk(new String(bytes, 0, length, StandardCharsets.UTF_8), offset + length);
+    }
+
+    /**
+     * Drop the trailing bytes of an unfinished UTF-8 character, so a character is not split into two chunks. The
+     * length is kept if the limit is smaller than a single character.
+     */
+    static int alignToCharBoundary(byte[] bytes, int length) {
+        int charStart = length - 1;
+        while (charStart > 0 && charStart > length - 4 && (bytes[charStart] & 0xC0) == 0x80) {
+            charStart--;
+        }
+        final int leadByte = bytes[charStart] & 0xFF;
+        final int charLength = leadByte >= 0xF0 ? 4 : leadByte >= 0xE0 ? 3 : leadByte >= 0xC0 ? 2 : 1;
+        if (charStart + charLength <= length || charStart == 0) {
+            return length;
+        }
+        return charStart;
+    }
+
+}
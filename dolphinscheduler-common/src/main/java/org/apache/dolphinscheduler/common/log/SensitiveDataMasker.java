@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Mask the sensitive data in the log message by the mask patterns, the matched content will be replaced by {@code *}.
+ * <p>
+ * The mask patterns are compiled into one {@link Pattern} only when the pattern set is changed, rather than at each log
+ * message. And if a mask pattern starts with a literal lookbehind, e.g. {@code (?<=(--password ")).+?(?=")}, the
+ * literal is required by the pattern, the log message which doesn't contain any required literal will skip the regex
+ * entirely, which is the most case of the task log.
+ */
+public final class SensitiveDataMasker {
+
+    private static final char MASK_CHAR = '*';
+
+    private static final String LOOKBEHIND_PREFIX = "(?<=";
+
+    private static final String CASE_INSENSITIVE_FLAG = "(?i)";
+
+    private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+
+    private final Set<String> maskPatterns = new LinkedHashSet<>();
+
+    private volatile MaskEngine maskEngine;
+
+    public SensitiveDataMasker(final String... maskPatterns) {
+        this.maskPatterns.addAll(Arrays.asList(maskPatterns));
+        this.maskEngine = MaskEngine.compile(this.maskPatterns);
+    }
+
+    /**
+     * Add the mask pattern, the patterns will be recompiled only if the pattern is not added before.
+     */
+    public synchronized void addMaskPattern(final String maskPattern) {
+        if (maskPatterns.add(maskPattern)) {
+            maskEngine = MaskEngine.compile(maskPatterns);
+        }
+    }
+
+    public String mask(final String logMsg) {
+        if (StringUtils.isEmpty(logMsg)) {
+            return logMsg;
+        }
+        final MaskEngine currentMaskEngine = maskEngine;
+        if (!currentMaskEngine.mayContainSensitiveData(logMsg)) {
+            return logMsg;
+        }
+        final Matcher matcher = currentMaskEngine.pattern.matcher(logMsg);
+        if (!matcher.find()) {
+            return logMsg;
+        }
+        final StringBuilder maskedLogMsg = new StringBuilder(logMsg.length());
+        int lastEnd = 0;
+        do {
+            maskedLogMsg.append(logMsg, lastEnd, matcher.start());
+            for (int i = matcher.start(); i < matcher.end(); i++) {
+                maskedLogMsg.append(MASK_CHAR);
+            }
+            lastEnd = matcher.end();
+        } while (matcher.find());
+        maskedLogMsg.append(logMsg, lastEnd, logMsg.length());
+        return maskedLogMsg.toString();
+    }
+
+    /**
+     * Extract the literal which must be contained in the text matched by the given mask pattern.
+     * <p>
+     * Only the literal at the beginning of the lookbehind is extracted, e.g. {@code password} will be extracted from
+     * {@code (?<=((?i)password(":"))).*?(?=")}, and the patterns which are not recognized will return null.
+     */
+    static RequiredLiteral extractRequiredLiteral(final String maskPattern) {
+        if (!maskPattern.startsWith(LOOKBEHIND_PREFIX)) {
+            return null;
+        }
+        final List<Integer> enclosingGroups = new ArrayList<>();
+        enclosingGroups.add(0);
+        boolean ignoreCase = false;
+        int index = LOOKBEHIND_PREFIX.length();
+        while (index < maskPattern.length()) {
+            if (maskPattern.startsWith(CASE_INSENSITIVE_FLAG, index)) {
+                ignoreCase = true;
+                index += CASE_INSENSITIVE_FLAG.length();
+            } else if (maskPattern.startsWith("(?", index)) {
+                // Other special constructs are not recognized
+                return null;
+            } else if (maskPattern.charAt(index) == '(') {
+                enclosingGroups.add(index);
+                index++;
+            } else {
+                break;
+            }
+        }
+        int end = index;
+        while (end < maskPattern.length() && REGEX_META_CHARS.indexOf(maskPattern.charAt(end)) < 0) {
+            end++;
+        }
+        if (end < maskPattern.length() && isOptionalQuantifier(maskPattern.charAt(end))) {
+            // The last char of the literal is optional
+            end--;
+        }
+        if (end <= index) {
+            return null;
+        }
+        for (Integer groupStart : enclosingGroups) {
+            if (!isRequiredGroup(maskPattern, groupStart)) {
+                return null;
+            }
+        }
+        return new RequiredLiteral(maskPattern.substring(index, end), ignoreCase);
+    }
+
+    /**
+     * Whether the group started at the given index has no alternation and is not optional.
+     */
+    private static boolean isRequiredGroup(final String maskPattern, final int groupStart) {
+        int depth = 0;
+        for (int i = groupStart + 1; i < maskPattern.length(); i++) {
+            final char c = maskPattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                // Skip the character class
+                while (++i < maskPattern.length() && maskPattern.charAt(i) != ']') {
+                    if (maskPattern.charAt(i) == '\\') {
+                        i++;
+                    }
+                }
+            } else if (c == '(') {
+                depth++;
+            } else if (c == '|' && depth == 0) {
+                return false;
+            } else if (c == ')') {
+                if (depth == 0) {
+                    return i + 1 >= maskPattern.length() || !isOptionalQuantifier(maskPattern.charAt(i + 1));
+                }
+                depth--;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOptionalQuantifier(final char c) {
+        return c == '?' || c == '*' || c == '{';
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class RequiredLiteral {
+
+        private final String literal;
+
+        private final boolean ignoreCase;
+
+        boolean isContainedBy(final String logMsg) {
+            return ignoreCase ? StringUtils.containsIgnoreCase(logMsg, literal) : logMsg.contains(literal);
+        }
+    }
+
+    private static class MaskEngine {
+
+        private final Pattern pattern;
+
+        // Null if any of the mask patterns doesn't have required literal, then all the log messages need to be matched
+        private final RequiredLiteral[] requiredLiterals;
+
+        private MaskEngine(final Pattern pattern, final RequiredLiteral[] requiredLiterals) {
+            this.pattern = pattern;
+            this.requiredLiterals = requiredLiterals;
+        }
+
+        private static MaskEngine compile(final Set<String> maskPatterns) {
+            if (maskPatterns.isEmpty()) {
+                return new MaskEngine(null, new RequiredLiteral[0]);
+            }
+            final Pattern pattern = Pattern.compile(String.join("|", maskPatterns), Pattern.MULTILINE);
+            final List<RequiredLiteral> requiredLiterals = new ArrayList<>(maskPatterns.size());
+            for (String maskPattern : maskPatterns) {
+                final RequiredLiteral requiredLiteral = extractRequiredLiteral(maskPattern);
+                if (requiredLiteral == null) {
+                    return new MaskEngine(pattern, null);
+                }
+                requiredLiterals.add(requiredLiteral);
+            }
+            return new MaskEngine(pattern, requiredLiterals.toArray(new RequiredLiteral[0]));
+        }
+
+        private boolean mayContainSensitiveData(final String logMsg) {
+            if (requiredLiterals == null) {
+                return true;
+            }
+            for (RequiredLiteral requiredLiteral : requiredLiterals) {
+                if (requiredLiteral.isContainedBy(logMsg)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
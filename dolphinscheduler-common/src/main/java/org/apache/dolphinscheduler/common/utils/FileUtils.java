@@ -64,6 +64,8 @@ public class FileUtils {
 
     private static final Set<PosixFilePermission> PERMISSION_755 = PosixFilePermissions.fromString("rwxr-xr-x");
 
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
     /**
      * get download file absolute path and name
      *
@@ -243,7 +245,9 @@ public class FileUtils {
             try (
                     FileInputStream fileInputStream = new FileInputStream(pathName);
                     CheckedInputStream checkedInputStream = new CheckedInputStream(fileInputStream, crc32);) {
-                while (checkedInputStream.read() != -1) {
+                // Read by buffer, reading byte by byte from the unbuffered stream costs one system call per byte
+                final byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+                while (checkedInputStream.read(buffer) != -1) {
                 }
             } catch (IOException e) {
                 throw new IOException("Calculate checksum error.");
@@ -17,6 +17,9 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.log.LogFileBytesChunk;
+import org.apache.dolphinscheduler.common.log.LogFileChunk;
+import org.apache.dolphinscheduler.common.log.LogFileLineIndex;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
@@ -26,12 +29,16 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,9 +46,25 @@ import org.slf4j.LoggerFactory;
 
 import ch.qos.logback.classic.LoggerContext;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 @Slf4j
 public class LogUtils {
 
+    /**
+     * The line index of the log files which are queried recently, the index grows with the log file and is rebuilt
+     * if the file is replaced under the same path.
+     */
+    private static final Cache<String, LogFileLineIndex> LOG_FILE_LINE_INDEX_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    private static final int DEFAULT_TAIL_LIMIT_BYTES = 65535;
+
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
     public static byte[] getFileContentBytesFromLocal(String filePath) {
         try (
                 InputStream in = new FileInputStream(filePath);
@@ -74,13 +97,88 @@ public class LogUtils {
         return getFileContentBytesFromLocal(filePath);
     }
 
+    /**
+     * Copy at most length bytes from the given offset of the file to the output stream, the file is read by a small
+     * buffer so the memory use doesn't grow with the length.
+     *
+     * @return the copied bytes, less than length means the end of the file is reached
+     */
+    public static long transferFileContentFromLocal(String filePath,
+                                                    long offset,
+                                                    long length,
+                                                    OutputStream outputStream) {
+        File file = new File(filePath);
+        if (file.exists() && file.isFile()) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_BUFFER_SIZE);
+                long transferred = 0;
+                while (transferred < length) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), length - transferred));
+                    int bytes = channel.read(buffer, offset + transferred);
+                    if (bytes <= 0) {
+                        break;
+                    }
+                    outputStream.write(buffer.array(), 0, bytes);
+                    transferred += bytes;
+                }
+                return transferred;
+            } catch (IOException e) {
+                log.error("transfer file error", e);
+                throw new RuntimeException(String.format("Transfer file: %s error", filePath), e);
+            }
+        } else {
+            throw new RuntimeException("The file path: " + filePath + " not exists");
+        }
+    }
+
+    public static long transferFileContentFromRemote(String filePath,
+                                                     long offset,
+                                                     long length,
+                                                     OutputStream outputStream) {
+        RemoteLogUtils.getRemoteLog(filePath);
+        return transferFileContentFromLocal(filePath, offset, length, outputStream);
+    }
+
+    public static long transferFileContent(String filePath,
+                                           long offset,
+                                           long length,
+                                           OutputStream outputStream) {
+        File file = new File(filePath);
+        if (file.exists()) {
+            return transferFileContentFromLocal(filePath, offset, length, outputStream);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return transferFileContentFromRemote(filePath, offset, length, outputStream);
+        }
+        return transferFileContentFromLocal(filePath, offset, length, outputStream);
+    }
+
+    /**
+     * Read at most chunkSize bytes from the given offset of the file, the bytes are compressed by gzip if asked.
+     */
+    public static LogFileBytesChunk readFileBytesChunk(String filePath, long offset, int chunkSize, boolean gzip) {
+        final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        final long transferred;
+        try (OutputStream outputStream = gzip ? new GZIPOutputStream(chunk) : chunk) {
+            transferred = transferFileContent(filePath, offset, chunkSize, outputStream);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        }
+        return new LogFileBytesChunk(chunk.toByteArray(), offset + transferred, transferred < chunkSize);
+    }
+
     public static List<String> readPartFileContentFromLocal(String filePath,
                                                             int skipLine,
                                                             int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                // Read the attributes after opening, so the channel reads the same file as the attributes describe
+                final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+                return LOG_FILE_LINE_INDEX_CACHE.asMap()
+                        .computeIfAbsent(filePath, key -> new LogFileLineIndex())
+                        .readLines(channel, attributes, skipLine, limit);
             } catch (IOException e) {
                 log.error("read file error", e);
                 throw new RuntimeException(String.format("Read file: %s error", filePath), e);
@@ -110,6 +208,50 @@ public class LogUtils {
         return readPartFileContentFromLocal(filePath, skipLine, limit);
     }
 
+    public static LogFileChunk readFileContentFromOffsetFromLocal(String filePath,
+                                                                  long offset,
+                                                                  int limitBytes) {
+        File file = new File(filePath);
+        if (file.exists() && file.isFile()) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                return LogFileLineIndex.readFromOffset(channel, offset,
+                        limitBytes > 0 ? limitBytes : DEFAULT_TAIL_LIMIT_BYTES);
+            } catch (IOException e) {
+                log.error("read file error", e);
+                throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+            }
+        } else {
+            throw new RuntimeException("The file path: " + filePath + " not exists");
+        }
+    }
+
+    public static LogFileChunk readFileContentFromOffsetFromRemote(String filePath,
+                                                                   long offset,
+                                                                   int limitBytes) {
+        RemoteLogUtils.getRemoteLog(filePath);
+        return readFileContentFromOffsetFromLocal(filePath, offset, limitBytes);
+    }
+
+    /**
+     * Read the whole lines appended after the given byte offset, used to follow a growing log file.
+     */
+    public static LogFileChunk readFileContentFromOffset(String filePath,
+                                                         long offset,
+                                                         int limitBytes) {
+        File file = new File(filePath);
+        if (file.exists()) {
+            return readFileContentFromOffsetFromLocal(filePath, offset, limitBytes);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return readFileContentFromOffsetFromRemote(filePath, offset, limitBytes);
+        }
+        return readFileContentFromOffsetFromLocal(filePath, offset, limitBytes);
+    }
+
+    public static void removeLogFileLineIndex(String filePath) {
+        LOG_FILE_LINE_INDEX_CACHE.invalidate(filePath);
+    }
+
     public static String readWholeFileContentFromRemote(String filePath) {
         RemoteLogUtils.getRemoteLog(filePath);
         return LogUtils.readWholeFileContentFromLocal(filePath);
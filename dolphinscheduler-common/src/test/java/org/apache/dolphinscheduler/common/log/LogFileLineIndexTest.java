@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogFileLineIndexTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void readLinesAcrossIndex() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        Files.write(logFile, IntStream.range(0, 2500).mapToObj(i -> "line" + i).collect(Collectors.toList()));
+
+        LogFileLineIndex logFileLineIndex = new LogFileLineIndex();
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            Assertions.assertEquals(Arrays.asList("line1999", "line2000", "line2001"),
+                    logFileLineIndex.readLines(channel, 1999, 3));
+            Assertions.assertEquals(2500, logFileLineIndex.getLineCount());
+            Assertions.assertEquals(Collections.singletonList("line2499"),
+                    logFileLineIndex.readLines(channel, 2499, 10));
+            Assertions.assertEquals(Collections.emptyList(), logFileLineIndex.readLines(channel, 2500, 10));
+            assertSameAsFilesLines(logFile, logFileLineIndex, channel, 0, 20);
+            assertSameAsFilesLines(logFile, logFileLineIndex, channel, 1000, 20);
+        }
+    }
+
+    @Test
+    void readLinesWithMixedLineSeparators() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            content.append("line").append(i).append(i % 3 == 0 ? "\r\n" : i % 3 == 1 ? "\r" : "\n");
+        }
+        content.append("unfinished");
+        Files.write(logFile, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        LogFileLineIndex logFileLineIndex = new LogFileLineIndex();
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            for (int skipLine : new int[]{0, 999, 1000, 1001, 2000, 2995}) {
+                assertSameAsFilesLines(logFile, logFileLineIndex, channel, skipLine, 10);
+            }
+        }
+    }
+
+    @Test
+    void refreshWhenFileGrowsOrTruncated() throws IOException {
+        Path logFile = Files.createFile(tempDir.resolve("task.log"));
+        LogFileLineIndex logFileLineIndex = new LogFileLineIndex();
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            for (int i = 0; i < 1500; i++) {
+                // The "\r\n" is split into two writes to check the index built between them
+                Files.write(logFile, ("line" + i + "\r").getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+                if (i % 100 == 99) {
+                    logFileLineIndex.refresh(channel);
+                }
+                Files.write(logFile, "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            }
+            Assertions.assertEquals(Arrays.asList("line1000", "line1001"),
+                    logFileLineIndex.readLines(channel, 1000, 2));
+            Assertions.assertEquals(1500, logFileLineIndex.getLineCount());
+
+            Files.write(logFile, Arrays.asList("new0", "new1"));
+            Assertions.assertEquals(Collections.singletonList("new1"), logFileLineIndex.readLines(channel, 1, 10));
+            Assertions.assertEquals(2, logFileLineIndex.getLineCount());
+        }
+    }
+
+    @Test
+    void readFromOffset() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        Files.write(logFile, "line0\nline1\nline2".getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            LogFileChunk logFileChunk = LogFileLineIndex.readFromOffset(channel, 0, 1024);
+            Assertions.assertEquals("line0\nline1\n", logFileChunk.getContent());
+            Assertions.assertEquals(12, logFileChunk.getNextOffset());
+
+            // The unfinished line is not returned until it's finished
+            logFileChunk = LogFileLineIndex.readFromOffset(channel, logFileChunk.getNextOffset(), 1024);
+            Assertions.assertEquals("", logFileChunk.getContent());
+            Assertions.assertEquals(12, logFileChunk.getNextOffset());
+
+            // A line longer than the limit is split
+            logFileChunk = LogFileLineIndex.readFromOffset(channel, 12, 3);
+            Assertions.assertEquals("lin", logFileChunk.getContent());
+            Assertions.assertEquals(15, logFileChunk.getNextOffset());
+        }
+    }
+
+    @Test
+    void readFromOffsetNotSplitCharacter() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        Files.write(logFile, "日志内容".getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            LogFileChunk logFileChunk = LogFileLineIndex.readFromOffset(channel, 0, 8);
+            Assertions.assertEquals("日志", logFileChunk.getContent());
+            Assertions.assertEquals(6, logFileChunk.getNextOffset());
+
+            logFileChunk = LogFileLineIndex.readFromOffset(channel, logFileChunk.getNextOffset(), 5);
+            Assertions.assertEquals("内", logFileChunk.getContent());
+            Assertions.assertEquals(9, logFileChunk.getNextOffset());
+        }
+    }
+
+    @Test
+    void rebuildIndexWhenFileReplaced() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        Files.write(logFile, IntStream.range(0, 1500).mapToObj(i -> "line" + i).collect(Collectors.toList()));
+        LogFileLineIndex logFileLineIndex = new LogFileLineIndex();
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            BasicFileAttributes attributes = Files.readAttributes(logFile, BasicFileAttributes.class);
+            Assertions.assertEquals(Collections.singletonList("line1200"),
+                    logFileLineIndex.readLines(channel, attributes, 1200, 1));
+        }
+
+        // Replace the file with a bigger one, the size check alone can't find it
+        Path newLogFile = tempDir.resolve("task.log.new");
+        Files.write(newLogFile, IntStream.range(0, 1500).mapToObj(i -> "new" + i).collect(Collectors.toList()));
+        Files.move(newLogFile, logFile, StandardCopyOption.REPLACE_EXISTING);
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            BasicFileAttributes attributes = Files.readAttributes(logFile, BasicFileAttributes.class);
+            Assertions.assertEquals(Collections.singletonList("new1200"),
+                    logFileLineIndex.readLines(channel, attributes, 1200, 1));
+            Assertions.assertEquals(1500, logFileLineIndex.getLineCount());
+        }
+    }
+
+    private void assertSameAsFilesLines(Path logFile, LogFileLineIndex logFileLineIndex, FileChannel channel,
+                                        int skipLine, int limit) throws IOException {
+        try (Stream<String> lines = Files.lines(logFile)) {
+            Assertions.assertEquals(lines.skip(skipLine).limit(limit).collect(Collectors.toList()),
+                    logFileLineIndex.readLines(channel, skipLine, limit));
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.constants.DataSourceConstants;
+
+import org.junit.jupiter.api.Test;
+
+class SensitiveDataMaskerTest {
+
+    private static final String SQOOP_PASSWORD_REGEX = "(?<=(--password \")).+?(?=\")";
+
+    @Test
+    void testExtractRequiredLiteral() {
+        final SensitiveDataMasker.RequiredLiteral passwordLiteral =
+                SensitiveDataMasker.extractRequiredLiteral(DataSourceConstants.DATASOURCE_PASSWORD_REGEX);
+        assertThat(passwordLiteral.getLiteral()).isEqualTo("password");
+        assertThat(passwordLiteral.isIgnoreCase()).isTrue();
+
+        final SensitiveDataMasker.RequiredLiteral configYamlLiteral =
+                SensitiveDataMasker.extractRequiredLiteral(Constants.K8S_CONFIG_REGEX);
+        assertThat(configYamlLiteral.getLiteral()).isEqualTo("configYaml");
+        assertThat(configYamlLiteral.isIgnoreCase()).isTrue();
+
+        final SensitiveDataMasker.RequiredLiteral sqoopLiteral =
+                SensitiveDataMasker.extractRequiredLiteral(SQOOP_PASSWORD_REGEX);
+        assertThat(sqoopLiteral.getLiteral()).isEqualTo("--password \"");
+        assertThat(sqoopLiteral.isIgnoreCase()).isFalse();
+
+        assertThat(SensitiveDataMasker.extractRequiredLiteral("(?<=(abc?)).*").getLiteral()).isEqualTo("ab");
+    }
+
+    @Test
+    void testExtractRequiredLiteral_notRequired() {
+        assertThat(SensitiveDataMasker.extractRequiredLiteral("\\d{6}")).isNull();
+        assertThat(SensitiveDataMasker.extractRequiredLiteral("(?<=(secret|token)=).*")).isNull();
+        assertThat(SensitiveDataMasker.extractRequiredLiteral("(?<=(secret)?=).*")).isNull();
+        assertThat(SensitiveDataMasker.extractRequiredLiteral("(?<=(?:secret=)).*")).isNull();
+    }
+
+    @Test
+    void testMask() {
+        final SensitiveDataMasker sensitiveDataMasker =
+                new SensitiveDataMasker(DataSourceConstants.DATASOURCE_PASSWORD_REGEX);
+
+        assertThat(sensitiveDataMasker.mask("{\"user\":\"root\",\"PASSWORD\":\"123456\"}"))
+                .isEqualTo("{\"user\":\"root\",\"PASSWORD\":\"******\"}");
+        // The message without sensitive literal should be returned directly
+        final String plainLogMsg = "echo hello world";
+        assertThat(sensitiveDataMasker.mask(plainLogMsg)).isSameInstanceAs(plainLogMsg);
+        // The message contains the literal but doesn't match the pattern
+        final String passwordLogMsg = "the password is not set";
+        assertThat(sensitiveDataMasker.mask(passwordLogMsg)).isSameInstanceAs(passwordLogMsg);
+        assertThat(sensitiveDataMasker.mask("")).isEmpty();
+        assertThat(sensitiveDataMasker.mask(null)).isNull();
+    }
+
+    @Test
+    void testMask_addMaskPattern() {
+        final SensitiveDataMasker sensitiveDataMasker = new SensitiveDataMasker();
+        final String sqoopLogMsg = "sqoop import --password \"123456\" --table t";
+        assertThat(sensitiveDataMasker.mask(sqoopLogMsg)).isSameInstanceAs(sqoopLogMsg);
+
+        sensitiveDataMasker.addMaskPattern(SQOOP_PASSWORD_REGEX);
+        sensitiveDataMasker.addMaskPattern(SQOOP_PASSWORD_REGEX);
+        assertThat(sensitiveDataMasker.mask(sqoopLogMsg)).isEqualTo("sqoop import --password \"******\" --table t");
+
+        // The pattern without required literal should be applied to all the messages
+        sensitiveDataMasker.addMaskPattern("(?<=token=)\\w+");
+        assertThat(sensitiveDataMasker.mask("curl -d token=abc --password \"123\""))
+                .isEqualTo("curl -d token=*** --password \"***\"");
+    }
+}
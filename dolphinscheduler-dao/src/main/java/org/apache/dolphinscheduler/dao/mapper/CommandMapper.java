@@ -59,6 +59,12 @@ public interface CommandMapper extends BaseMapper<Command> {
                                        @Param("idStep") int idStep,
                                        @Param("fetchNumber") int fetchNum);
 
+    List<Command> queryCommandByIdSlotAfterId(@Param("currentSlotIndex") int currentSlotIndex,
+                                              @Param("totalSlot") int totalSlot,
+                                              @Param("idStep") int idStep,
+                                              @Param("minCommandId") int minCommandId,
+                                              @Param("fetchNumber") int fetchNum);
+
     void deleteByWorkflowInstanceIds(@Param("workflowInstanceIds") List<Integer> workflowInstanceIds);
 
     IPage<Command> queryCommandPageByIds(Page<Command> page,
@@ -75,4 +75,6 @@ public interface TaskGroupMapper extends BaseMapper<TaskGroup> {
     int acquireTaskGroupSlot(@Param("id") Integer id);
 
     int releaseTaskGroupSlot(@Param("id") Integer id);
+
+    int updateUseSize(@Param("id") Integer id, @Param("useSize") int useSize);
 }
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
@@ -132,6 +133,10 @@ public interface TaskGroupQueueMapper extends BaseMapper<TaskGroupQueue> {
                                                     @Param("minTaskGroupQueueId") int minTaskGroupQueueId,
                                                     @Param("limit") int limit);
 
+    int updateStatusByIds(@Param("ids") List<Integer> ids,
+                          @Param("status") int status,
+                          @Param("updateTime") Date updateTime);
+
     List<TaskGroupQueue> queryWaitNotifyForceStartTaskGroupQueue(@Param("inQueue") int inQueue,
                                                                  @Param("forceStart") int forceStart,
                                                                  @Param("minTaskGroupQueueId") int minTaskGroupQueueId,
@@ -56,6 +56,20 @@ public interface WorkflowInstanceMapper extends BaseMapper<WorkflowInstance> {
     List<WorkflowInstance> queryByHostAndStatus(@Param("host") String host,
                                                 @Param("states") int[] stateArray);
 
+    /**
+     * query workflow instance by host and stateArray whose id is greater than minId, order by id asc
+     *
+     * @param host       host
+     * @param stateArray stateArray
+     * @param minId      the exclusive min workflow instance id
+     * @param limit      the max size of the result
+     * @return workflow instance list
+     */
+    List<WorkflowInstance> queryByHostAndStatusAfterId(@Param("host") String host,
+                                                       @Param("states") int[] stateArray,
+                                                       @Param("minId") int minId,
+                                                       @Param("limit") int limit);
+
     /**
      * query workflow instance host by stateArray
      *
@@ -36,4 +36,21 @@ public interface CommandDao extends IDao<Command> {
                                        int totalSlot,
                                        int idStep,
                                        int fetchNum);
+
+    /**
+     * Query command by command id and server slot, only the command whose id is greater than minCommandId will be
+     * returned, the result is ordered by id so that the query can be served by a primary key range scan.
+     *
+     * @param currentSlotIndex current slot index
+     * @param totalSlot        total slot number
+     * @param idStep           id step in db
+     * @param minCommandId     exclusive lower bound of the command id
+     * @param fetchNum         fetch number
+     * @return command list
+     */
+    List<Command> queryCommandByIdSlotAfterId(int currentSlotIndex,
+                                              int totalSlot,
+                                              int idStep,
+                                              int minCommandId,
+                                              int fetchNum);
 }
@@ -59,4 +59,12 @@ public interface TaskGroupDao extends IDao<TaskGroup> {
      * @return true if release successfully, false otherwise.
      */
     boolean releaseTaskGroupSlot(Integer taskGroupId);
+
+    /**
+     * Set the useSize of the TaskGroup, used when the slots are arbitrated in memory and the db is only the journal.
+     *
+     * @param taskGroupId taskGroupId which shouldn't be null
+     * @param useSize     the actual use size
+     */
+    void updateUseSize(Integer taskGroupId, int useSize);
 }
@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.dao.repository;
 
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
 import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 
@@ -92,4 +93,12 @@ public interface TaskGroupQueueDao extends IDao<TaskGroupQueue> {
      * @return TaskGroupQueue ordered by priority desc
      */
     List<TaskGroupQueue> queryWaitNotifyForceStartTaskGroupQueue(int minTaskGroupQueueId, int limit);
+
+    /**
+     * Update the status of the {@link TaskGroupQueue}s by ids in one statement.
+     *
+     * @param taskGroupQueueIds taskGroupQueueIds
+     * @param status            the target status
+     */
+    void updateStatusByIds(List<Integer> taskGroupQueueIds, TaskGroupQueueStatus status);
 }
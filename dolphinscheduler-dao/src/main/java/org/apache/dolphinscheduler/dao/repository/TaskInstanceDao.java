@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -39,6 +40,15 @@ public interface TaskInstanceDao extends IDao<TaskInstance> {
      */
     boolean upsertTaskInstance(TaskInstance taskInstance);
 
+    /**
+     * Update the task instances by primary key in JDBC batches.
+     * <p> This method should not be called in a transaction, since it uses a batch executor.
+     *
+     * @param taskInstances task instances
+     * @param batchSize     the max number of statements in a JDBC batch
+     */
+    void batchUpdateById(Collection<TaskInstance> taskInstances, int batchSize);
+
     /**
      * Submit a task instance to DB.
      *
@@ -96,4 +96,12 @@ public interface WorkflowInstanceDao extends IDao<WorkflowInstance> {
      * Query the workflow instances under the master that need to be failover.
      */
     List<WorkflowInstance> queryNeedFailoverWorkflowInstances(String masterAddress);
+
+    /**
+     * Query the need failover workflow instances of the given master whose id is greater than the given id, the
+     * result is ordered by id asc and at most fetchSize records will be returned.
+     */
+    List<WorkflowInstance> queryNeedFailoverWorkflowInstances(String masterAddress,
+                                                              int minWorkflowInstanceId,
+                                                              int fetchSize);
 }
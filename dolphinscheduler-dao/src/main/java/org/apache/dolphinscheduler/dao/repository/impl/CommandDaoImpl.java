@@ -38,4 +38,14 @@ public class CommandDaoImpl extends BaseDao<Command, CommandMapper> implements C
         return mybatisMapper.queryCommandByIdSlot(currentSlotIndex, totalSlot, idStep, fetchNum);
     }
 
+    @Override
+    public List<Command> queryCommandByIdSlotAfterId(int currentSlotIndex,
+                                                     int totalSlot,
+                                                     int idStep,
+                                                     int minCommandId,
+                                                     int fetchNum) {
+        return mybatisMapper.queryCommandByIdSlotAfterId(currentSlotIndex, totalSlot, idStep, minCommandId,
+                fetchNum);
+    }
+
 }
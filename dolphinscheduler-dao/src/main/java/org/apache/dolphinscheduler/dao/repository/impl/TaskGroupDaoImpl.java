@@ -67,4 +67,12 @@ public class TaskGroupDaoImpl extends BaseDao<TaskGroup, TaskGroupMapper> implem
         }
         return mybatisMapper.releaseTaskGroupSlot(taskGroupId) > 0;
     }
+
+    @Override
+    public void updateUseSize(Integer taskGroupId, int useSize) {
+        if (taskGroupId == null) {
+            throw new IllegalArgumentException("taskGroupId cannot be null");
+        }
+        mybatisMapper.updateUseSize(taskGroupId, useSize);
+    }
 }
@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.dao.repository.TaskGroupQueueDao;
 
 import org.apache.commons.collections4.CollectionUtils;
 
+import java.util.Date;
 import java.util.List;
 
 import lombok.NonNull;
@@ -92,4 +93,12 @@ public class TaskGroupQueueDaoImpl extends BaseDao<TaskGroupQueue, TaskGroupQueu
                 minTaskGroupQueueId,
                 limit);
     }
+
+    @Override
+    public void updateStatusByIds(List<Integer> taskGroupQueueIds, TaskGroupQueueStatus status) {
+        if (CollectionUtils.isEmpty(taskGroupQueueIds)) {
+            return;
+        }
+        mybatisMapper.updateStatusByIds(taskGroupQueueIds, status.getCode(), new Date());
+    }
 }
@@ -30,7 +30,11 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -41,6 +45,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+
 /**
  * Task Instance DAO implementation
  */
@@ -48,6 +56,8 @@ import org.springframework.stereotype.Repository;
 @Slf4j
 public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMapper> implements TaskInstanceDao {
 
+    private static final Log BATCH_LOG = LogFactory.getLog(TaskInstanceDaoImpl.class);
+
     @Autowired
     private WorkflowInstanceMapper workflowInstanceMapper;
 
@@ -64,6 +74,19 @@ public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMappe
         }
     }
 
+    @Override
+    public void batchUpdateById(Collection<TaskInstance> taskInstances, int batchSize) {
+        if (CollectionUtils.isEmpty(taskInstances)) {
+            return;
+        }
+        final String sqlStatement = SqlHelper.getSqlStatement(TaskInstanceMapper.class, SqlMethod.UPDATE_BY_ID);
+        SqlHelper.executeBatch(TaskInstance.class, BATCH_LOG, taskInstances, batchSize, (sqlSession, taskInstance) -> {
+            final MapperMethod.ParamMap<TaskInstance> param = new MapperMethod.ParamMap<>();
+            param.put(Constants.ENTITY, taskInstance);
+            sqlSession.update(sqlStatement, param);
+        });
+    }
+
     @Override
     public boolean submitTaskInstanceToDB(TaskInstance taskInstance, WorkflowInstance workflowInstance) {
         WorkflowExecutionStatus processInstanceState = workflowInstance.getState();
@@ -173,4 +173,14 @@ public class WorkflowInstanceDaoImpl extends BaseDao<WorkflowInstance, WorkflowI
         return mybatisMapper.queryByHostAndStatus(masterAddress,
                 WorkflowExecutionStatus.getNeedFailoverWorkflowInstanceState());
     }
+
+    @Override
+    public List<WorkflowInstance> queryNeedFailoverWorkflowInstances(String masterAddress,
+                                                                     int minWorkflowInstanceId,
+                                                                     int fetchSize) {
+        return mybatisMapper.queryByHostAndStatusAfterId(masterAddress,
+                WorkflowExecutionStatus.getNeedFailoverWorkflowInstanceState(),
+                minWorkflowInstanceId,
+                fetchSize);
+    }
 }
@@ -33,6 +33,7 @@ import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
 import org.apache.commons.lang3.RandomUtils;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.RepeatedTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -70,6 +71,37 @@ class CommandDaoImplTest extends BaseDaoTest {
 
     }
 
+    @RepeatedTest(value = 10)
+    void fetchCommandByIdSlotAfterId() {
+        int totalSlot = RandomUtils.nextInt(1, 10);
+        int currentSlotIndex = RandomUtils.nextInt(0, totalSlot);
+        int fetchSize = RandomUtils.nextInt(10, 100);
+        int idStep = RandomUtils.nextInt(1, 5);
+        int commandSize = RandomUtils.nextInt(currentSlotIndex, 1000);
+        int id = 1;
+        for (int j = 0; j < commandSize; j++) {
+            Command command = generateCommand(CommandType.START_PROCESS, 0);
+            command.setId(id);
+            commandDao.insert(command);
+            id += idStep;
+        }
+        int minCommandId = RandomUtils.nextInt(0, id);
+
+        List<Command> commands = commandDao.queryCommandByIdSlotAfterId(
+                currentSlotIndex, totalSlot, idStep, minCommandId, fetchSize);
+        List<Integer> expectedCommandIds = commandDao.queryAll()
+                .stream()
+                .map(Command::getId)
+                .filter(commandId -> commandId > minCommandId)
+                .filter(commandId -> (commandId / idStep) % totalSlot == currentSlotIndex)
+                .sorted()
+                .limit(fetchSize)
+                .collect(Collectors.toList());
+        assertThat(commands.stream().map(Command::getId).collect(Collectors.toList()))
+                .containsExactlyElementsIn(expectedCommandIds)
+                .inOrder();
+    }
+
     private Command generateCommand(CommandType commandType, int processDefinitionCode) {
         Command command = new Command();
         command.setCommandType(commandType);
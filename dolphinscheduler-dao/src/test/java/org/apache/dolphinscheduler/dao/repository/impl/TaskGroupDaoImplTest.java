@@ -101,6 +101,15 @@ class TaskGroupDaoImplTest extends BaseDaoTest {
         assertEquals(0, taskGroup.getUseSize());
     }
 
+    @Test
+    void updateUseSize() {
+        TaskGroup taskGroup = createTaskGroup("test", 0, 3);
+        taskGroupDao.insert(taskGroup);
+
+        taskGroupDao.updateUseSize(taskGroup.getId(), 2);
+        assertEquals(2, taskGroupDao.queryById(taskGroup.getId()).getUseSize());
+    }
+
     private TaskGroup createTaskGroup(String name, int useSize, int groupSize) {
         return TaskGroup.builder()
                 .name(name)
@@ -106,6 +106,26 @@ class TaskGroupQueueDaoImplTest extends BaseDaoTest {
                 taskGroupQueueDao.queryById(taskGroupQueue.getId()).getStatus());
     }
 
+    @Test
+    void updateStatusByIds() {
+        TaskGroupQueue taskGroupQueue1 = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.WAIT_QUEUE);
+        TaskGroupQueue taskGroupQueue2 = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.WAIT_QUEUE);
+        TaskGroupQueue taskGroupQueue3 = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.WAIT_QUEUE);
+        taskGroupQueueDao.insert(taskGroupQueue1);
+        taskGroupQueueDao.insert(taskGroupQueue2);
+        taskGroupQueueDao.insert(taskGroupQueue3);
+
+        taskGroupQueueDao.updateStatusByIds(
+                Lists.newArrayList(taskGroupQueue1.getId(), taskGroupQueue2.getId()),
+                TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        assertEquals(TaskGroupQueueStatus.ACQUIRE_SUCCESS,
+                taskGroupQueueDao.queryById(taskGroupQueue1.getId()).getStatus());
+        assertEquals(TaskGroupQueueStatus.ACQUIRE_SUCCESS,
+                taskGroupQueueDao.queryById(taskGroupQueue2.getId()).getStatus());
+        assertEquals(TaskGroupQueueStatus.WAIT_QUEUE,
+                taskGroupQueueDao.queryById(taskGroupQueue3.getId()).getStatus());
+    }
+
     @Test
     void queryByTaskInstanceId() {
         TaskGroupQueue taskGroupQueue = createTaskGroupQueue(Flag.NO, TaskGroupQueueStatus.ACQUIRE_SUCCESS);
@@ -28,6 +28,10 @@ import org.apache.dolphinscheduler.dao.BaseDaoTest;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -117,6 +121,33 @@ class WorkflowInstanceDaoImplTest extends BaseDaoTest {
                 workflowDefinitionVersion, status)));
     }
 
+    @Test
+    void queryNeedFailoverWorkflowInstances_pageByWorkflowInstanceId() {
+        final String masterAddress = "127.0.0.1:5678";
+        final List<Integer> needFailoverWorkflowInstanceIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final WorkflowInstance workflowInstance =
+                    createWorkflowInstance(1L, 1, WorkflowExecutionStatus.RUNNING_EXECUTION);
+            workflowInstance.setHost(masterAddress);
+            workflowInstanceDao.insert(workflowInstance);
+            needFailoverWorkflowInstanceIds.add(workflowInstance.getId());
+        }
+        final WorkflowInstance finishedWorkflowInstance =
+                createWorkflowInstance(1L, 1, WorkflowExecutionStatus.SUCCESS);
+        finishedWorkflowInstance.setHost(masterAddress);
+        workflowInstanceDao.insert(finishedWorkflowInstance);
+
+        final List<WorkflowInstance> firstPage =
+                workflowInstanceDao.queryNeedFailoverWorkflowInstances(masterAddress, 0, 3);
+        assertEquals(needFailoverWorkflowInstanceIds.subList(0, 3),
+                firstPage.stream().map(WorkflowInstance::getId).collect(Collectors.toList()));
+
+        final List<WorkflowInstance> secondPage = workflowInstanceDao.queryNeedFailoverWorkflowInstances(
+                masterAddress, firstPage.get(2).getId(), 3);
+        assertEquals(needFailoverWorkflowInstanceIds.subList(3, 5),
+                secondPage.stream().map(WorkflowInstance::getId).collect(Collectors.toList()));
+    }
+
     private WorkflowInstance createWorkflowInstance(Long workflowDefinitionCode, int workflowDefinitionVersion,
                                                     WorkflowExecutionStatus status) {
         WorkflowInstance workflowInstance = new WorkflowInstance();
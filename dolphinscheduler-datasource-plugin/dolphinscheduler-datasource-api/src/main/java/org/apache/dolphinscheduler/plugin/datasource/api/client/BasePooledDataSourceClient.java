@@ -59,7 +59,9 @@ public abstract class BasePooledDataSourceClient implements PooledDataSourceClie
         dataSource.setUsername(baseConnectionParam.getUser());
         dataSource.setPassword(PasswordUtils.decodePassword(baseConnectionParam.getPassword()));
 
-        dataSource.setMinimumIdle(PropertyUtils.getInt(DataSourceConstants.SPRING_DATASOURCE_MIN_IDLE, 5));
+        // The pool is borrowed by the sql task, keep no idle connection by default, so that the datasource which is not
+        // used anymore doesn't hold the connections of the database
+        dataSource.setMinimumIdle(PropertyUtils.getInt(DataSourceConstants.SQL_TASK_CONNECTION_POOL_MIN_IDLE, 0));
         dataSource.setMaximumPoolSize(PropertyUtils.getInt(DataSourceConstants.SPRING_DATASOURCE_MAX_ACTIVE, 50));
         dataSource.setConnectionTestQuery(baseConnectionParam.getValidationQuery());
 
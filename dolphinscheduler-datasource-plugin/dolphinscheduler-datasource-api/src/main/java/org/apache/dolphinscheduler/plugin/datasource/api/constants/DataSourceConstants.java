@@ -97,6 +97,12 @@ public class DataSourceConstants {
     public static final String SPRING_DATASOURCE_MAX_ACTIVE = "spring.datasource.maxActive";
 
     public static final String SUPPORT_HIVE_ONE_SESSION = "support.hive.oneSession";
+
+    public static final String SQL_TASK_CONNECTION_POOLED = "sql.task.connection.pooled";
+
+    public static final String SQL_TASK_CONNECTION_POOL_MIN_IDLE = "sql.task.connection.pool.minIdle";
+
+    public static final String SQL_TASK_BATCH_UPDATE_ENABLE = "sql.task.batch.update.enable";
     /**
      * QUESTION ?
      */
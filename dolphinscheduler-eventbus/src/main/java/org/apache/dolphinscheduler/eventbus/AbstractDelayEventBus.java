@@ -37,6 +37,13 @@ public abstract class AbstractDelayEventBus<T extends AbstractDelayEvent> implem
         return Optional.ofNullable(delayEventQueue.poll());
     }
 
+    /**
+     * Retrieve the head event of the bus without removing it, the head event might not be expired.
+     */
+    public Optional<T> peek() {
+        return Optional.ofNullable(delayEventQueue.peek());
+    }
+
     @Override
     public boolean isEmpty() {
         return delayEventQueue.isEmpty();
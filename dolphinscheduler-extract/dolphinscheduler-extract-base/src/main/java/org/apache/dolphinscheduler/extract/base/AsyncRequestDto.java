@@ -15,9 +15,10 @@
  * limitations under the License.
  */
 
-package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+package org.apache.dolphinscheduler.extract.base;
 
-import org.apache.dolphinscheduler.server.master.cluster.IClusters;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,18 +29,10 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class WeightedServer<T extends IClusters.IServerMetadata> {
+public class AsyncRequestDto {
 
-    private T server;
-
-    private double weight;
-
-    private double currentWeight;
-
-    public WeightedServer(T server, double weight) {
-        this.server = server;
-        this.weight = weight;
-        this.currentWeight = 0; // Initialize currentWeight is 0
-    }
+    private Host serverHost;
+    private Transporter transporter;
+    private long timeoutMillis;
 
 }
@@ -25,6 +25,11 @@ public interface IRpcResponse {
 
     byte[] getBody();
 
+    /**
+     * The actual type of the body written by the server, might be the subtype of the declared return type.
+     */
+    Class<?> getBodyType();
+
     byte[] toBytes();
 
 }
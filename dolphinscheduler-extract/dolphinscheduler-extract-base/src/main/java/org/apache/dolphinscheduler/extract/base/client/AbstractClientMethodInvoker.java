@@ -17,8 +17,11 @@
 
 package org.apache.dolphinscheduler.extract.base.client;
 
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 
+import org.apache.commons.lang3.ClassUtils;
+
 import java.lang.reflect.Method;
 
 abstract class AbstractClientMethodInvoker implements ClientMethodInvoker {
@@ -38,4 +41,16 @@ abstract class AbstractClientMethodInvoker implements ClientMethodInvoker {
         this.methodIdentifier = localMethod.toGenericString();
     }
 
+    /**
+     * The body is deserialized as the declared type, unless the server wrote a subtype of it, since the serializer
+     * reads the root object as the given type.
+     */
+    protected static Class<?> getBodyClass(IRpcResponse iRpcResponse, Class<?> declaredClass) {
+        final Class<?> bodyType = iRpcResponse.getBodyType();
+        if (bodyType != null && ClassUtils.isAssignable(bodyType, declaredClass)) {
+            return bodyType;
+        }
+        return declaredClass;
+    }
+
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.AsyncRequestDto;
+import org.apache.dolphinscheduler.extract.base.IRpcResponse;
+import org.apache.dolphinscheduler.extract.base.RpcMethod;
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
+import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Used to invoke the {@link RpcMethod} which return {@link CompletableFuture}, the caller will not be blocked until
+ * the response is received, so that multiple requests can be in-flight on the same channel.
+ */
+class AsyncClientMethodInvoker extends AbstractClientMethodInvoker {
+
+    private final Class<?> responseClass;
+
+    AsyncClientMethodInvoker(Host serverHost, Method localMethod, NettyRemotingClient nettyRemotingClient) {
+        super(serverHost, localMethod, nettyRemotingClient);
+        this.responseClass = getResponseClass(localMethod);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        RpcMethod rpcMethod = method.getAnnotation(RpcMethod.class);
+        IRpcSerializer rpcSerializer = nettyRemotingClient.getRpcSerializer();
+        Transporter transporter = Transporter.of(
+                TransporterHeader.of(methodIdentifier),
+                StandardRpcRequest.of(args, rpcSerializer),
+                rpcSerializer);
+
+        AsyncRequestDto asyncRequestDto = AsyncRequestDto.builder()
+                .timeoutMillis(rpcMethod.timeout())
+                .transporter(transporter)
+                .serverHost(serverHost)
+                .build();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            nettyRemotingClient.sendAsync(asyncRequestDto,
+                    responseFuture -> completeFuture(future, responseFuture, rpcSerializer));
+        } catch (RemotingException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    private void completeFuture(CompletableFuture<Object> future,
+                                ResponseFuture responseFuture,
+                                IRpcSerializer rpcSerializer) {
+        IRpcResponse iRpcResponse = responseFuture.getIRpcResponse();
+        if (iRpcResponse == null) {
+            if (responseFuture.isSendOK()) {
+                future.completeExceptionally(new RemotingTimeoutException(serverHost.toString(),
+                        responseFuture.getTimeoutMillis(), responseFuture.getCause()));
+            } else {
+                future.completeExceptionally(new RemotingException(serverHost.toString(), responseFuture.getCause()));
+            }
+            return;
+        }
+        if (!iRpcResponse.isSuccess()) {
+            future.completeExceptionally(MethodInvocationException.of(iRpcResponse.getMessage()));
+            return;
+        }
+        if (iRpcResponse.getBody() == null) {
+            future.complete(null);
+            return;
+        }
+        try {
+            future.complete(
+                    rpcSerializer.deserialize(iRpcResponse.getBody(), getBodyClass(iRpcResponse, responseClass)));
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+        }
+    }
+
+    private static Class<?> getResponseClass(Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (returnType instanceof ParameterizedType) {
+            Type actualType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+            if (actualType instanceof Class) {
+                return (Class<?>) actualType;
+            }
+            if (actualType instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) actualType).getRawType();
+            }
+        }
+        return Object.class;
+    }
+
+}
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.extract.base.utils.Host;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.extern.slf4j.Slf4j;
@@ -50,8 +51,14 @@ class ClientInvocationHandler implements InvocationHandler {
             return method.invoke(proxy, args);
         }
         ClientMethodInvoker methodInvoker = methodInvokerMap.computeIfAbsent(
-                method.toGenericString(), m -> new SyncClientMethodInvoker(serverHost, method, nettyRemotingClient));
+                method.toGenericString(), m -> createMethodInvoker(method));
         return methodInvoker.invoke(proxy, method, args);
     }
 
+    private ClientMethodInvoker createMethodInvoker(Method method) {
+        if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+            return new AsyncClientMethodInvoker(serverHost, method, nettyRemotingClient);
+        }
+        return new SyncClientMethodInvoker(serverHost, method, nettyRemotingClient);
+    }
 }
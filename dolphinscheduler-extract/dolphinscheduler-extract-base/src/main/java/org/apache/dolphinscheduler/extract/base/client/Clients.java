@@ -17,6 +17,9 @@
 
 package org.apache.dolphinscheduler.extract.base.client;
 
+import static org.apache.dolphinscheduler.extract.base.utils.Constants.RPC_CLIENT_FRAME_CODEC_ENABLED;
+
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 
 import lombok.AccessLevel;
@@ -36,7 +39,9 @@ public class Clients {
     private static final JdkDynamicRpcClientProxyFactory jdkDynamicRpcClientProxyFactory =
             new JdkDynamicRpcClientProxyFactory(
                     NettyRemotingClientFactory.buildNettyRemotingClient(
-                            new NettyClientConfig()));
+                            NettyClientConfig.builder()
+                                    .frameCodecEnabled(PropertyUtils.getBoolean(RPC_CLIENT_FRAME_CODEC_ENABLED, false))
+                                    .build()));
 
     public static <T> JdkDynamicRpcClientProxyBuilder<T> withService(Class<T> serviceClazz) {
         return new JdkDynamicRpcClientProxyBuilder<>(serviceClazz);
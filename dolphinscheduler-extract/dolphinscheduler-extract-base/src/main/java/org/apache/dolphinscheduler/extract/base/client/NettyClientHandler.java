@@ -21,9 +21,10 @@ import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
+import java.io.IOException;
+
 import lombok.extern.slf4j.Slf4j;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
@@ -48,19 +49,25 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
     }
 
     @Override
-    public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        processReceived((Transporter) msg);
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws IOException {
+        Transporter transporter = (Transporter) msg;
+        try {
+            processReceived(transporter);
+        } finally {
+            transporter.release();
+        }
     }
 
-    private void processReceived(final Transporter transporter) {
+    private void processReceived(final Transporter transporter) throws IOException {
         ResponseFuture future = ResponseFuture.getFuture(transporter.getHeader().getOpaque());
         if (future == null) {
             log.warn("Cannot find the ResponseFuture if transporter: {}", transporter);
             return;
         }
-        StandardRpcResponse deserialize = JsonSerializer.deserialize(transporter.getBody(), StandardRpcResponse.class);
+        StandardRpcResponse deserialize = transporter.deserializeBody(StandardRpcResponse.class);
         future.setIRpcResponse(deserialize);
         future.putResponse(deserialize);
+        nettyRemotingClient.executeInvokeCallback(future);
     }
 
     @Override
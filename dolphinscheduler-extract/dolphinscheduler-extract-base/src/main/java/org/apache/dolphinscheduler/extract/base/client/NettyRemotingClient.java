@@ -18,11 +18,15 @@
 package org.apache.dolphinscheduler.extract.base.client;
 
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.AsyncRequestDto;
 import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 import org.apache.dolphinscheduler.extract.base.SyncRequestDto;
 import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
 import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTooMuchRequestException;
+import org.apache.dolphinscheduler.extract.base.future.InvokeCallback;
+import org.apache.dolphinscheduler.extract.base.future.ReleaseSemaphore;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.metrics.ClientSyncDurationMetrics;
 import org.apache.dolphinscheduler.extract.base.metrics.ClientSyncExceptionMetrics;
@@ -30,17 +34,25 @@ import org.apache.dolphinscheduler.extract.base.metrics.RpcMetrics;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterFrameDecoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterFrameEncoder;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.base.utils.NettyUtils;
 
 import java.net.InetSocketAddress;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
@@ -70,8 +82,22 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final NettyClientHandler clientHandler;
 
+    @Getter
+    private final IRpcSerializer rpcSerializer;
+
+    /**
+     * Used to limit the in-flight async requests.
+     */
+    private final Semaphore asyncSemaphore;
+
+    private final ExecutorService callbackExecutor;
+
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
+        this.rpcSerializer = RpcSerializers.getSerializer(clientConfig.getSerializer());
+        this.asyncSemaphore = new Semaphore(clientConfig.getAsyncRequestPermits(), true);
+        this.callbackExecutor = ThreadUtils.newDaemonFixedThreadExecutor("NettyClientCallbackThread-%d",
+                clientConfig.getCallbackThreads());
         ThreadFactory nettyClientThreadFactory = ThreadUtils.newDaemonThreadFactory("NettyClientThread-");
         if (Epoll.isAvailable()) {
             this.workerGroup = new EpollEventLoopGroup(clientConfig.getWorkerThreads(), nettyClientThreadFactory);
@@ -103,13 +129,89 @@ public class NettyRemotingClient implements AutoCloseable {
                                                 0,
                                                 clientConfig.getHeartBeatIntervalMillis(),
                                                 0,
-                                                TimeUnit.MILLISECONDS))
-                                .addLast(new TransporterDecoder(), clientHandler, new TransporterEncoder());
+                                                TimeUnit.MILLISECONDS));
+                        // The server will response with the same codec as the request
+                        if (clientConfig.isFrameCodecEnabled()) {
+                            ch.pipeline().addLast(new TransporterFrameDecoder(clientConfig.getMaxFrameLength()),
+                                    clientHandler, new TransporterFrameEncoder());
+                        } else {
+                            ch.pipeline().addLast(new TransporterDecoder(), clientHandler, new TransporterEncoder());
+                        }
                     }
                 });
+        ResponseFuture.startFutureTableScanner();
         isStarted.compareAndSet(false, true);
     }
 
+    /**
+     * Send the request without waiting for the response, the {@link InvokeCallback} will be executed in the callback
+     * executor once the response is received, or the request is failed/timeout.
+     * <p> The in-flight async requests are limited by {@link NettyClientConfig#getAsyncRequestPermits()}, the caller
+     * will be blocked until the request timeout if there is no permit.
+     */
+    public void sendAsync(AsyncRequestDto asyncRequestDto,
+                          InvokeCallback invokeCallback) throws RemotingException {
+        final Host host = asyncRequestDto.getServerHost();
+        final Transporter transporter = asyncRequestDto.getTransporter();
+        final long timeoutMillis = asyncRequestDto.getTimeoutMillis() < 0 ? clientConfig.getConnectTimeoutMillis()
+                : asyncRequestDto.getTimeoutMillis();
+        final long opaque = transporter.getHeader().getOpaque();
+
+        try {
+            if (!asyncSemaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RemotingTooMuchRequestException(String.format(
+                        "Send async request to %s failed, the in-flight requests exceed %s, wait timeout: %s/ms",
+                        host, clientConfig.getAsyncRequestPermits(), timeoutMillis));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemotingException("Send async request to " + host + " interrupted", e);
+        }
+
+        final ReleaseSemaphore releaseSemaphore = new ReleaseSemaphore(asyncSemaphore);
+        try {
+            final Channel channel = getOrCreateChannel(host);
+            if (channel == null) {
+                throw new RemotingException(String.format("connect to : %s fail", host));
+            }
+            final ResponseFuture responseFuture =
+                    new ResponseFuture(opaque, timeoutMillis, invokeCallback, releaseSemaphore);
+            channel.writeAndFlush(transporter).addListener(future -> {
+                if (future.isSuccess()) {
+                    responseFuture.setSendOk(true);
+                    return;
+                }
+                responseFuture.setSendOk(false);
+                responseFuture.setCause(future.cause());
+                responseFuture.putResponse(null);
+                executeInvokeCallback(responseFuture);
+                log.error("Send async request {} to host {} failed", transporter, host, future.cause());
+            });
+        } catch (Exception ex) {
+            releaseSemaphore.release();
+            if (ex instanceof RemotingException) {
+                throw (RemotingException) ex;
+            }
+            throw new RemotingException(ex);
+        }
+    }
+
+    /**
+     * Execute the {@link InvokeCallback} of the async request in the callback executor, if the executor is rejected
+     * then execute it in the current thread.
+     */
+    void executeInvokeCallback(ResponseFuture responseFuture) {
+        if (responseFuture.getInvokeCallback() == null) {
+            return;
+        }
+        try {
+            callbackExecutor.execute(responseFuture::executeInvokeCallback);
+        } catch (RejectedExecutionException ex) {
+            log.warn("The callback executor is busy, will execute the InvokeCallback in current thread");
+            responseFuture.executeInvokeCallback();
+        }
+    }
+
     public IRpcResponse sendSync(SyncRequestDto syncRequestDto) throws RemotingException {
         long start = System.currentTimeMillis();
 
@@ -214,6 +316,7 @@ public class NettyRemotingClient implements AutoCloseable {
                 if (workerGroup != null) {
                     this.workerGroup.shutdownGracefully();
                 }
+                callbackExecutor.shutdown();
                 log.info("netty client closed");
             } catch (Exception ex) {
                 log.error("netty client close exception", ex);
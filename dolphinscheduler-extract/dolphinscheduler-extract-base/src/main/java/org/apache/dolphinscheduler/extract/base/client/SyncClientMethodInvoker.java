@@ -24,7 +24,7 @@ import org.apache.dolphinscheduler.extract.base.SyncRequestDto;
 import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import java.lang.reflect.Method;
@@ -38,9 +38,11 @@ class SyncClientMethodInvoker extends AbstractClientMethodInvoker {
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         RpcMethod sync = method.getAnnotation(RpcMethod.class);
-        Transporter transporter = new Transporter();
-        transporter.setBody(JsonSerializer.serialize(StandardRpcRequest.of(args)));
-        transporter.setHeader(TransporterHeader.of(methodIdentifier));
+        IRpcSerializer rpcSerializer = nettyRemotingClient.getRpcSerializer();
+        Transporter transporter = Transporter.of(
+                TransporterHeader.of(methodIdentifier),
+                StandardRpcRequest.of(args, rpcSerializer),
+                rpcSerializer);
 
         SyncRequestDto syncRequestDto = SyncRequestDto.builder()
                 .timeoutMillis(sync.timeout())
@@ -54,7 +56,7 @@ class SyncClientMethodInvoker extends AbstractClientMethodInvoker {
         if (iRpcResponse.getBody() == null) {
             return null;
         }
-        Class<?> responseClass = method.getReturnType();
-        return JsonSerializer.deserialize(iRpcResponse.getBody(), responseClass);
+        Class<?> responseClass = getBodyClass(iRpcResponse, method.getReturnType());
+        return rpcSerializer.deserialize(iRpcResponse.getBody(), responseClass);
     }
 }
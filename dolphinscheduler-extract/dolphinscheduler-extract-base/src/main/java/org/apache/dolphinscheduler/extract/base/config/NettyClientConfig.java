@@ -17,6 +17,9 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterFrameDecoder;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
+
 import java.time.Duration;
 
 import lombok.AllArgsConstructor;
@@ -76,4 +79,42 @@ public class NettyClientConfig {
     @Builder.Default
     private int defaultRpcTimeoutMillis = 10_000;
 
+    /**
+     * The max in-flight async requests of the client, the caller will be blocked until the request timeout if the
+     * in-flight requests exceed this value.
+     */
+    @Builder.Default
+    private int asyncRequestPermits = 1024;
+
+    /**
+     * The threads used to execute the callback of the async requests, avoid blocking the netty io threads.
+     */
+    @Builder.Default
+    private int callbackThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The serializer used to encode the request, the server will response with the same serializer.
+     * <p> Default is {@link org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer#NAME} which is
+     * supported by all the servers, only set to
+     * {@link org.apache.dolphinscheduler.extract.base.serialize.KryoRpcSerializer#NAME} once all the servers support
+     * the binary protocol, otherwise the request will be rejected during rolling upgrade.
+     */
+    @Builder.Default
+    private String serializer = RpcSerializers.DEFAULT_SERIALIZER;
+
+    /**
+     * Whether to use the length field based frame codec, which decodes the packet without copying the body.
+     * <p> Default is false, since the server before the frame codec is introduced can't decode the frame, only enable
+     * it once all the servers are upgraded, otherwise the request will be rejected during rolling upgrade.
+     */
+    @Builder.Default
+    private boolean frameCodecEnabled = false;
+
+    /**
+     * The max length of the frame received by the frame codec, the channel will be closed once it receives a larger
+     * frame, see {@link org.apache.dolphinscheduler.extract.base.protocal.TransporterFrameDecoder}.
+     */
+    @Builder.Default
+    private int maxFrameLength = TransporterFrameDecoder.DEFAULT_MAX_FRAME_LENGTH;
+
 }
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterFrameDecoder;
+
 import java.time.Duration;
 
 import lombok.AllArgsConstructor;
@@ -74,6 +76,13 @@ public class NettyServerConfig {
     @Builder.Default
     private long connectionIdleTime = Duration.ofSeconds(60).toMillis();
 
+    /**
+     * The max length of the frame received by the frame codec, the channel will be closed once it receives a larger
+     * frame, see {@link org.apache.dolphinscheduler.extract.base.protocal.TransporterFrameDecoder}.
+     */
+    @Builder.Default
+    private int maxFrameLength = TransporterFrameDecoder.DEFAULT_MAX_FRAME_LENGTH;
+
     /**
      * listen port
      */
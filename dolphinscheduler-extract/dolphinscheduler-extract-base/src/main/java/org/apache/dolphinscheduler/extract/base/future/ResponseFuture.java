@@ -17,11 +17,15 @@
 
 package org.apache.dolphinscheduler.extract.base.future;
 
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -34,9 +38,12 @@ public class ResponseFuture {
 
     private static final ConcurrentHashMap<Long, ResponseFuture> FUTURE_TABLE = new ConcurrentHashMap<>();
 
+    private static final AtomicBoolean FUTURE_TABLE_SCANNER_STARTED = new AtomicBoolean(false);
+
     private final long opaque;
 
     // remove the timeout
+    @Getter
     private final long timeoutMillis;
 
     private final CountDownLatch latch = new CountDownLatch(1);
@@ -51,9 +58,28 @@ public class ResponseFuture {
 
     private Throwable cause;
 
+    /**
+     * The callback of the async request, will be executed once the response is received or the request is timeout.
+     */
+    @Getter
+    private final InvokeCallback invokeCallback;
+
+    private final ReleaseSemaphore releaseSemaphore;
+
+    private final AtomicBoolean invokeCallbackExecuted = new AtomicBoolean(false);
+
     public ResponseFuture(long opaque, long timeoutMillis) {
+        this(opaque, timeoutMillis, null, null);
+    }
+
+    public ResponseFuture(long opaque,
+                          long timeoutMillis,
+                          InvokeCallback invokeCallback,
+                          ReleaseSemaphore releaseSemaphore) {
         this.opaque = opaque;
         this.timeoutMillis = timeoutMillis;
+        this.invokeCallback = invokeCallback;
+        this.releaseSemaphore = releaseSemaphore;
         FUTURE_TABLE.put(opaque, this);
     }
 
@@ -72,13 +98,67 @@ public class ResponseFuture {
     public void putResponse(final IRpcResponse iRpcResponse) {
         this.iRpcResponse = iRpcResponse;
         this.latch.countDown();
-        FUTURE_TABLE.remove(opaque);
+        FUTURE_TABLE.remove(opaque, this);
+        release();
+    }
+
+    /**
+     * Execute the {@link InvokeCallback}, the callback will only be executed once.
+     */
+    public void executeInvokeCallback() {
+        if (invokeCallback == null || !invokeCallbackExecuted.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            invokeCallback.operationComplete(this);
+        } catch (Throwable ex) {
+            log.error("Execute the InvokeCallback of request: {} failed", opaque, ex);
+        }
+    }
+
+    public void release() {
+        if (releaseSemaphore != null) {
+            releaseSemaphore.release();
+        }
     }
 
     public static ResponseFuture getFuture(long opaque) {
         return FUTURE_TABLE.get(opaque);
     }
 
+    /**
+     * Start the scanner of the timeout futures. The future table is shared by all the clients in the jvm, so there is
+     * only one scanner no matter how many clients are created.
+     */
+    public static void startFutureTableScanner() {
+        if (FUTURE_TABLE_SCANNER_STARTED.compareAndSet(false, true)) {
+            ThreadUtils.newSingleDaemonScheduledExecutorService("NettyClientResponseFutureScanner")
+                    .scheduleWithFixedDelay(ResponseFuture::scanFutureTable, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Remove the timeout futures from the future table, the callback of the timeout async request will be executed
+     * with an empty response.
+     */
+    public static void scanFutureTable() {
+        final List<ResponseFuture> timeoutFutures = new ArrayList<>();
+        for (ResponseFuture future : FUTURE_TABLE.values()) {
+            if (future.isTimeout() && FUTURE_TABLE.remove(future.opaque, future)) {
+                timeoutFutures.add(future);
+            }
+        }
+        for (ResponseFuture future : timeoutFutures) {
+            try {
+                future.putResponse(null);
+                future.executeInvokeCallback();
+            } catch (Throwable ex) {
+                // Don't break the scheduled scanner
+                log.error("Handle the timeout request: {} failed", future.opaque, ex);
+            }
+        }
+    }
+
     /**
      * whether timeout
      *
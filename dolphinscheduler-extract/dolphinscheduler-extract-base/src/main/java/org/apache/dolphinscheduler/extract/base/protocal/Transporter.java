@@ -19,12 +19,18 @@ package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 import lombok.Data;
 import lombok.NonNull;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.util.ReferenceCountUtil;
 
 @Data
 public class Transporter implements Serializable {
@@ -32,24 +38,77 @@ public class Transporter implements Serializable {
     private static final long serialVersionUID = -1L;
 
     public static final byte MAGIC = (byte) 0xbabe;
-    public static final byte VERSION = 0;
+    /**
+     * The legacy protocol version, the header and body are serialized by json.
+     * <p> The version byte of the packet is the {@link IRpcSerializer#getVersion()} of the serializer which is used to
+     * encode the header and body.
+     */
+    public static final byte VERSION = JsonRpcSerializer.VERSION;
 
+    /**
+     * The magic of the length field based frame, see {@link TransporterFrameEncoder}.
+     */
+    public static final byte FRAME_MAGIC = (byte) 0xbf;
+
+    private byte version = VERSION;
     private TransporterHeader header;
     private byte[] body;
 
+    /**
+     * The body of the received frame, which is a slice of the pooled frame buffer decoded by
+     * {@link TransporterFrameDecoder}, so the body is deserialized without copying.
+     * <p> Should call {@link #release()} once the body has been deserialized.
+     */
+    private transient ByteBuf bodyBuffer;
+
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcResponse iRpcResponse) {
-        return of(header, JsonSerializer.serialize(iRpcResponse));
+        return of(header, iRpcResponse, RpcSerializers.getSerializer(VERSION));
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 StandardRpcResponse iRpcResponse,
+                                 @NonNull IRpcSerializer rpcSerializer) {
+        return of(header, rpcSerializer.serialize(iRpcResponse), rpcSerializer.getVersion());
     }
 
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcRequest iRpcRequest) {
-        return of(header, JsonSerializer.serialize(iRpcRequest));
+        return of(header, iRpcRequest, RpcSerializers.getSerializer(VERSION));
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header,
+                                 StandardRpcRequest iRpcRequest,
+                                 @NonNull IRpcSerializer rpcSerializer) {
+        return of(header, rpcSerializer.serialize(iRpcRequest), rpcSerializer.getVersion());
     }
 
     public static Transporter of(@NonNull TransporterHeader header, byte[] body) {
+        return of(header, body, VERSION);
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header, byte[] body, byte version) {
         Transporter transporter = new Transporter();
+        transporter.setVersion(version);
         transporter.setHeader(header);
         transporter.setBody(body);
         return transporter;
     }
 
+    public <T> T deserializeBody(Class<T> clazz) throws IOException {
+        IRpcSerializer rpcSerializer = RpcSerializers.getSerializer(version);
+        if (bodyBuffer == null) {
+            return rpcSerializer.deserialize(body, clazz);
+        }
+        return rpcSerializer.deserialize(new ByteBufInputStream(bodyBuffer.duplicate()), clazz);
+    }
+
+    /**
+     * Release the received frame buffer, it's safe to call this method multiple times.
+     */
+    public void release() {
+        if (bodyBuffer != null) {
+            ReferenceCountUtil.safeRelease(bodyBuffer);
+            bodyBuffer = null;
+        }
+    }
+
 }
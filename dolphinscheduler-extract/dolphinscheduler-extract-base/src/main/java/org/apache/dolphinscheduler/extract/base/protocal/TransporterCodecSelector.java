@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * Choose the codec of the channel by the magic of the first packet, so that the server can serve both the legacy
+ * client which sends {@link TransporterEncoder} packet and the client which sends {@link TransporterFrameEncoder}
+ * frame. The encoder is replaced as well, the server always responses with the same codec as the client.
+ */
+public class TransporterCodecSelector extends ByteToMessageDecoder {
+
+    private final String decoderName;
+
+    private final String encoderName;
+
+    private final int maxFrameLength;
+
+    public TransporterCodecSelector(String decoderName, String encoderName, int maxFrameLength) {
+        this.decoderName = decoderName;
+        this.encoderName = encoderName;
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        if (!in.isReadable()) {
+            return;
+        }
+        byte magic = in.getByte(in.readerIndex());
+        ChannelPipeline pipeline = ctx.pipeline();
+        if (magic == Transporter.FRAME_MAGIC) {
+            pipeline.replace(encoderName, encoderName, new TransporterFrameEncoder());
+            pipeline.replace(this, decoderName, new TransporterFrameDecoder(maxFrameLength));
+        } else if (magic == Transporter.MAGIC) {
+            pipeline.replace(this, decoderName, new TransporterDecoder());
+        } else {
+            in.skipBytes(in.readableBytes());
+            throw new IllegalArgumentException("illegal packet [magic]" + magic);
+        }
+    }
+
+}
@@ -17,7 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.protocal;
 
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
 
 import java.util.List;
 
@@ -33,6 +34,7 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
         super(State.MAGIC);
     }
 
+    private byte version;
     private int headerLength;
     private byte[] header;
     private int bodyLength;
@@ -45,7 +47,8 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
                 checkMagic(in.readByte());
                 checkpoint(State.VERSION);
             case VERSION:
-                checkVersion(in.readByte());
+                version = in.readByte();
+                checkVersion(version);
                 checkpoint(State.HEADER_LENGTH);
             case HEADER_LENGTH:
                 headerLength = in.readInt();
@@ -60,8 +63,9 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
             case BODY:
                 body = new byte[bodyLength];
                 in.readBytes(body);
+                IRpcSerializer rpcSerializer = RpcSerializers.getSerializer(version);
                 Transporter transporter =
-                        Transporter.of(JsonSerializer.deserialize(header, TransporterHeader.class), body);
+                        Transporter.of(rpcSerializer.deserialize(header, TransporterHeader.class), body, version);
                 out.add(transporter);
                 checkpoint(State.MAGIC);
                 break;
@@ -77,7 +81,7 @@ public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.Stat
     }
 
     private void checkVersion(byte version) {
-        if (version != Transporter.VERSION) {
+        if (!RpcSerializers.isSupported(version)) {
             throw new IllegalArgumentException("illegal protocol [version]" + version);
         }
     }
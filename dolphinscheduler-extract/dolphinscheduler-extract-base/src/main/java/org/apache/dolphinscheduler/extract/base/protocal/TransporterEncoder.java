@@ -18,6 +18,8 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler.Sharable;
@@ -33,10 +35,11 @@ public class TransporterEncoder extends MessageToByteEncoder<Transporter> {
             throw new RemotingException("encode msg is null");
         }
         out.writeByte(Transporter.MAGIC);
-        out.writeByte(Transporter.VERSION);
+        out.writeByte(transporter.getVersion());
 
         // write header
-        byte[] header = transporter.getHeader().toBytes();
+        IRpcSerializer rpcSerializer = RpcSerializers.getSerializer(transporter.getVersion());
+        byte[] header = rpcSerializer.serialize(transporter.getHeader());
         out.writeInt(header.length);
         out.writeBytes(header);
 
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.TooLongFrameException;
+
+/**
+ * Decode the frame encoded by {@link TransporterFrameEncoder}.
+ * <p> Unlike {@link TransporterDecoder}, the decoder waits until the whole frame is received instead of replaying the
+ * decoding on every partial read. The header is deserialized from the frame directly, and the body is kept as a slice
+ * of the pooled frame buffer, see {@link Transporter#getBodyBuffer()}, the handler should release it once the body has
+ * been deserialized.
+ */
+public class TransporterFrameDecoder extends LengthFieldBasedFrameDecoder {
+
+    // MAGIC(1) + VERSION(1)
+    private static final int FRAME_LENGTH_OFFSET = 2;
+
+    private static final int FRAME_LENGTH_SIZE = 4;
+
+    public static final int DEFAULT_MAX_FRAME_LENGTH = 32 * 1024 * 1024;
+
+    public TransporterFrameDecoder() {
+        this(DEFAULT_MAX_FRAME_LENGTH);
+    }
+
+    /**
+     * @param maxFrameLength the max length of the frame, the channel will be closed once it receives a larger frame
+     */
+    public TransporterFrameDecoder(int maxFrameLength) {
+        super(maxFrameLength, FRAME_LENGTH_OFFSET, FRAME_LENGTH_SIZE, 0, 0);
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+        ByteBuf frame;
+        try {
+            frame = (ByteBuf) super.decode(ctx, in);
+        } catch (TooLongFrameException ex) {
+            // Don't keep reading and discarding the oversized frame, the length field might be corrupted
+            ctx.close();
+            throw ex;
+        }
+        if (frame == null) {
+            return null;
+        }
+        try {
+            checkMagic(frame.readByte());
+            byte version = frame.readByte();
+            checkVersion(version);
+            frame.skipBytes(FRAME_LENGTH_SIZE);
+
+            int headerLength = frame.readInt();
+            IRpcSerializer rpcSerializer = RpcSerializers.getSerializer(version);
+            TransporterHeader header = rpcSerializer.deserialize(
+                    new ByteBufInputStream(frame.readSlice(headerLength)), TransporterHeader.class);
+            if (header == null) {
+                throw new IllegalArgumentException("illegal packet [header]");
+            }
+
+            Transporter transporter = Transporter.of(header, null, version);
+            // The body slice shares the reference count with the frame, the frame is released with the transporter
+            transporter.setBodyBuffer(frame.slice());
+            return transporter;
+        } catch (Exception ex) {
+            frame.release();
+            throw ex;
+        }
+    }
+
+    private void checkMagic(byte magic) {
+        if (magic != Transporter.FRAME_MAGIC) {
+            throw new IllegalArgumentException("illegal packet [magic]" + magic);
+        }
+    }
+
+    private void checkVersion(byte version) {
+        if (!RpcSerializers.isSupported(version)) {
+            throw new IllegalArgumentException("illegal protocol [version]" + version);
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * Encode the {@link Transporter} into a length field based frame:
+ * <pre>
+ * +-------+---------+--------------+---------------+--------+------+
+ * | MAGIC | VERSION | FRAME_LENGTH | HEADER_LENGTH | HEADER | BODY |
+ * +-------+---------+--------------+---------------+--------+------+
+ * </pre>
+ * The FRAME_LENGTH is the length of the bytes after it, so that {@link TransporterFrameDecoder} can slice the whole
+ * frame at once. The header is serialized into the pooled buffer directly.
+ */
+@Sharable
+public class TransporterFrameEncoder extends MessageToByteEncoder<Transporter> {
+
+    // MAGIC(1) + VERSION(1) + FRAME_LENGTH(4) + HEADER_LENGTH(4)
+    private static final int FIXED_LENGTH = 10;
+
+    // The estimated size of the header, used to allocate the buffer with enough capacity at once
+    private static final int ESTIMATED_HEADER_LENGTH = 128;
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Transporter transporter, boolean preferDirect) {
+        int bodyLength = transporter.getBody() == null ? 0 : transporter.getBody().length;
+        int initialCapacity = FIXED_LENGTH + ESTIMATED_HEADER_LENGTH + bodyLength;
+        if (preferDirect) {
+            return ctx.alloc().ioBuffer(initialCapacity);
+        }
+        return ctx.alloc().heapBuffer(initialCapacity);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Transporter transporter, ByteBuf out) throws Exception {
+        if (transporter == null) {
+            throw new RemotingException("encode msg is null");
+        }
+        out.writeByte(Transporter.FRAME_MAGIC);
+        out.writeByte(transporter.getVersion());
+        int frameLengthIndex = out.writerIndex();
+        out.writeInt(0);
+
+        // write header
+        int headerLengthIndex = out.writerIndex();
+        out.writeInt(0);
+        IRpcSerializer rpcSerializer = RpcSerializers.getSerializer(transporter.getVersion());
+        rpcSerializer.serialize(transporter.getHeader(), new ByteBufOutputStream(out));
+        out.setInt(headerLengthIndex, out.writerIndex() - headerLengthIndex - 4);
+
+        // write body
+        byte[] body = transporter.getBody();
+        if (body != null) {
+            out.writeBytes(body);
+        }
+        out.setInt(frameLengthIndex, out.writerIndex() - frameLengthIndex - 4);
+    }
+
+}
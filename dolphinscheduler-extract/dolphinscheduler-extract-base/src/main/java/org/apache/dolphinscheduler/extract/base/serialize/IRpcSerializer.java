@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * The serializer used to encode the {@link org.apache.dolphinscheduler.extract.base.protocal.Transporter}.
+ * <p> Each serializer is bound to a protocol version, the version is written in the packet so that the peer can use
+ * the same serializer to decode it. The implementation is loaded by {@link java.util.ServiceLoader}, see
+ * {@link RpcSerializers}.
+ */
+public interface IRpcSerializer {
+
+    /**
+     * The protocol version written in the packet, should be unique among all serializers.
+     */
+    byte getVersion();
+
+    /**
+     * The name of the serializer, used to choose the serializer in the client config.
+     */
+    String getName();
+
+    <T> byte[] serialize(T obj);
+
+    <T> T deserialize(byte[] src, Class<T> clazz);
+
+    /**
+     * Serialize the object into the given stream, e.g. a {@link io.netty.buffer.ByteBufOutputStream} of a pooled
+     * buffer, so that the intermediate byte array can be avoided.
+     */
+    default <T> void serialize(T obj, OutputStream outputStream) throws IOException {
+        byte[] bytes = serialize(obj);
+        if (bytes != null) {
+            outputStream.write(bytes);
+        }
+    }
+
+    /**
+     * Deserialize the object from the given stream, e.g. a {@link io.netty.buffer.ByteBufInputStream} of the
+     * received frame, so that the intermediate byte array can be avoided.
+     */
+    default <T> T deserialize(InputStream inputStream, Class<T> clazz) throws IOException {
+        return deserialize(ByteStreams.toByteArray(inputStream), clazz);
+    }
+
+}
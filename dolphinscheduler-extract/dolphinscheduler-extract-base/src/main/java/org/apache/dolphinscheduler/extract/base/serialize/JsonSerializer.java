@@ -26,6 +26,8 @@ import static org.apache.dolphinscheduler.common.constants.DateConstants.YYYY_MM
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
@@ -33,6 +35,8 @@ import java.util.TimeZone;
 
 import lombok.extern.slf4j.Slf4j;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
@@ -54,6 +58,9 @@ public class JsonSerializer {
                     .addDeserializer(LocalDateTime.class, new JSONUtils.LocalDateTimeDeserializer()))
             .defaultTimeZone(TimeZone.getDefault())
             .defaultDateFormat(new SimpleDateFormat(YYYY_MM_DD_HH_MM_SS))
+            // The stream is owned by the caller, e.g. the netty ByteBuf stream
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+            .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false)
             .build();
 
     private JsonSerializer() {
@@ -79,6 +86,20 @@ public class JsonSerializer {
         }
     }
 
+    /**
+     * serialize to the output stream
+     *
+     * @param obj          object
+     * @param outputStream output stream
+     * @param <T>          object type
+     */
+    public static <T> void serialize(T obj, OutputStream outputStream) throws IOException {
+        if (obj == null) {
+            return;
+        }
+        objectMapper.writeValue(outputStream, obj);
+    }
+
     /**
      * serialize to string
      *
@@ -110,9 +131,28 @@ public class JsonSerializer {
             return null;
         }
 
-        String json = new String(src, StandardCharsets.UTF_8);
         try {
-            return objectMapper.readValue(json, clazz);
+            return objectMapper.readValue(src, clazz);
+        } catch (IOException e) {
+            log.error("deserialize exception!", e);
+            return null;
+        }
+    }
+
+    /**
+     * deserialize from the input stream
+     *
+     * @param inputStream input stream
+     * @param clazz       class
+     * @param <T>         deserialize type
+     * @return deserialize type
+     */
+    public static <T> T deserialize(InputStream inputStream, Class<T> clazz) {
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(inputStream, clazz);
         } catch (IOException e) {
             log.error("deserialize exception!", e);
             return null;
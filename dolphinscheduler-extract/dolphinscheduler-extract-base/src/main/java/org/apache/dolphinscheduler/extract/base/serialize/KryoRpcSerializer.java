@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.CompatibleFieldSerializer;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.Pool;
+import com.google.auto.service.AutoService;
+
+/**
+ * The binary protocol based on kryo.
+ * <p> The fields are written with {@link CompatibleFieldSerializer}, so adding or removing a field of the rpc
+ * parameter is still compatible between different versions of the server.
+ * <p> The root object is read as the declared type, and the classes of the nested values which are written by name
+ * must be in the allow list, see {@link #isAllowedClass(Class)}, so that the bytes from the network cannot
+ * instantiate an arbitrary class.
+ */
+@AutoService(IRpcSerializer.class)
+public class KryoRpcSerializer implements IRpcSerializer {
+
+    public static final byte VERSION = 1;
+
+    public static final String NAME = "kryo";
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private static final String ALLOWED_PACKAGE_PREFIX = "org.apache.dolphinscheduler.";
+
+    private static final Set<String> ALLOWED_PACKAGES = new HashSet<>(Arrays.asList(
+            "java.math",
+            "java.time",
+            "java.util",
+            "java.util.concurrent",
+            "java.util.concurrent.atomic",
+            "com.google.common.collect"));
+
+    private static final Set<Class<?>> ALLOWED_CLASSES = new HashSet<>(Arrays.asList(
+            Object.class,
+            String.class,
+            Boolean.class,
+            Character.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            Void.class,
+            Class.class,
+            java.sql.Date.class,
+            java.sql.Time.class,
+            java.sql.Timestamp.class));
+
+    private static final ClassValue<Boolean> ALLOWED_CLASS_CACHE = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isAllowedClass(type);
+        }
+    };
+
+    // Kryo is not thread safe, each thread borrow an instance from the pool
+    private static final Pool<Kryo> KRYO_POOL = new Pool<Kryo>(true, false, 64) {
+
+        @Override
+        protected Kryo create() {
+            Kryo kryo = new AllowListKryo();
+            // The rpc parameters are not registered one by one, the allow list is checked at AllowListKryo instead
+            kryo.setRegistrationRequired(false);
+            kryo.setReferences(true);
+            kryo.setDefaultSerializer(CompatibleFieldSerializer.class);
+            kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+            return kryo;
+        }
+    };
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public <T> byte[] serialize(T obj) {
+        if (obj == null) {
+            return null;
+        }
+        Kryo kryo = KRYO_POOL.obtain();
+        try (Output output = new Output(INITIAL_BUFFER_SIZE, -1)) {
+            kryo.writeObject(output, obj);
+            return output.toBytes();
+        } finally {
+            KRYO_POOL.free(kryo);
+        }
+    }
+
+    @Override
+    public <T> void serialize(T obj, OutputStream outputStream) {
+        if (obj == null) {
+            return;
+        }
+        Kryo kryo = KRYO_POOL.obtain();
+        try {
+            // Don't close the output, the stream is owned by the caller
+            Output output = new Output(outputStream, INITIAL_BUFFER_SIZE);
+            kryo.writeObject(output, obj);
+            output.flush();
+        } finally {
+            KRYO_POOL.free(kryo);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(byte[] src, Class<T> clazz) {
+        if (src == null) {
+            return null;
+        }
+        Kryo kryo = KRYO_POOL.obtain();
+        try (Input input = new Input(src)) {
+            return kryo.readObject(input, clazz);
+        } finally {
+            KRYO_POOL.free(kryo);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(InputStream inputStream, Class<T> clazz) {
+        if (inputStream == null) {
+            return null;
+        }
+        Kryo kryo = KRYO_POOL.obtain();
+        try {
+            return kryo.readObject(new Input(inputStream, INITIAL_BUFFER_SIZE), clazz);
+        } finally {
+            KRYO_POOL.free(kryo);
+        }
+    }
+
+    /**
+     * Whether the class can be written or read by the serializer, the rpc parameters should only contain the classes
+     * of DolphinScheduler, the primitive types and the common value or collection types of the jdk.
+     */
+    static boolean isAllowedClass(Class<?> type) {
+        if (type.isArray()) {
+            return isAllowedClass(type.getComponentType());
+        }
+        if (type.isPrimitive() || ALLOWED_CLASSES.contains(type)) {
+            return true;
+        }
+        final String className = type.getName();
+        if (className.startsWith(ALLOWED_PACKAGE_PREFIX)) {
+            return true;
+        }
+        final int lastDotIndex = className.lastIndexOf('.');
+        return lastDotIndex > 0 && ALLOWED_PACKAGES.contains(className.substring(0, lastDotIndex));
+    }
+
+    /**
+     * All the classes are resolved through {@link Kryo#getRegistration(Class)}, including the root type, the class
+     * names read from the input and the values of {@link Class} fields.
+     */
+    private static class AllowListKryo extends Kryo {
+
+        @Override
+        public Registration getRegistration(Class type) {
+            if (type != null && !ALLOWED_CLASS_CACHE.get(type)) {
+                throw new KryoException("Class is not allowed to be serialized by rpc: " + type.getName());
+            }
+            return super.getRegistration(type);
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The registry of {@link IRpcSerializer} loaded by {@link ServiceLoader}.
+ */
+@Slf4j
+public class RpcSerializers {
+
+    /**
+     * Keep the legacy json protocol as default, so that the upgraded client can still talk to the old server.
+     */
+    public static final String DEFAULT_SERIALIZER = JsonRpcSerializer.NAME;
+
+    private static final Map<Byte, IRpcSerializer> SERIALIZER_VERSION_MAP = new HashMap<>();
+
+    private static final Map<String, IRpcSerializer> SERIALIZER_NAME_MAP = new HashMap<>();
+
+    static {
+        for (IRpcSerializer rpcSerializer : ServiceLoader.load(IRpcSerializer.class)) {
+            IRpcSerializer exist = SERIALIZER_VERSION_MAP.putIfAbsent(rpcSerializer.getVersion(), rpcSerializer);
+            if (exist != null) {
+                throw new IllegalStateException("Duplicate rpc serializer version: " + rpcSerializer.getVersion()
+                        + " between " + exist.getName() + " and " + rpcSerializer.getName());
+            }
+            SERIALIZER_NAME_MAP.put(rpcSerializer.getName(), rpcSerializer);
+            log.info("Registered rpc serializer: {}, version: {}", rpcSerializer.getName(),
+                    rpcSerializer.getVersion());
+        }
+    }
+
+    private RpcSerializers() {
+    }
+
+    public static boolean isSupported(byte version) {
+        return SERIALIZER_VERSION_MAP.containsKey(version);
+    }
+
+    public static IRpcSerializer getSerializer(byte version) {
+        IRpcSerializer rpcSerializer = SERIALIZER_VERSION_MAP.get(version);
+        if (rpcSerializer == null) {
+            throw new IllegalArgumentException("Unsupported rpc serializer version: " + version);
+        }
+        return rpcSerializer;
+    }
+
+    public static IRpcSerializer getSerializer(String name) {
+        IRpcSerializer rpcSerializer = SERIALIZER_NAME_MAP.get(name);
+        if (rpcSerializer == null) {
+            throw new IllegalArgumentException(
+                    "Unsupported rpc serializer: " + name + ", supported: " + SERIALIZER_NAME_MAP.keySet());
+        }
+        return rpcSerializer;
+    }
+
+}
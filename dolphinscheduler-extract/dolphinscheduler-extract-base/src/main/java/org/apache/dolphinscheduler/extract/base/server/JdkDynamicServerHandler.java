@@ -24,10 +24,13 @@ import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -61,7 +64,13 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        processReceived(ctx.channel(), (Transporter) msg);
+        Transporter transporter = (Transporter) msg;
+        try {
+            processReceived(ctx.channel(), transporter);
+        } catch (Throwable e) {
+            transporter.release();
+            throw e;
+        }
     }
 
     public void registerMethodInvoker(ServerMethodInvoker methodInvoker) {
@@ -77,61 +86,88 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
             if (log.isDebugEnabled()) {
                 log.debug("server receive heart beat from: host: {}", ChannelUtils.getRemoteAddress(channel));
             }
+            transporter.release();
             return;
         }
+        // Response with the same serializer as the request, so the client can always decode it
+        final IRpcSerializer rpcSerializer = RpcSerializers.getSerializer(transporter.getVersion());
         ServerMethodInvoker methodInvoker = methodInvokerMap.get(methodIdentifier);
         try {
             if (methodInvoker == null) {
                 log.error("Cannot find the ServerMethodInvoker of : {}", transporter);
                 StandardRpcResponse iRpcResponse =
                         StandardRpcResponse.fail("Cannot find the ServerMethodInvoker of " + methodIdentifier);
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                transporter.release();
+                writeResponse(channel, transporter, iRpcResponse, rpcSerializer);
                 return;
             }
             methodInvokeExecutor.execute(() -> {
-                StandardRpcResponse iRpcResponse;
                 try {
-                    StandardRpcRequest standardRpcRequest =
-                            JsonSerializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
+                    StandardRpcRequest standardRpcRequest;
+                    try {
+                        standardRpcRequest = transporter.deserializeBody(StandardRpcRequest.class);
+                    } finally {
+                        transporter.release();
+                    }
                     Object[] args;
                     if (standardRpcRequest.getArgs() == null || standardRpcRequest.getArgs().length == 0) {
                         args = null;
                     } else {
                         args = new Object[standardRpcRequest.getArgs().length];
                         for (int i = 0; i < standardRpcRequest.getArgs().length; i++) {
-                            args[i] = JsonSerializer.deserialize(standardRpcRequest.getArgs()[i],
+                            args[i] = rpcSerializer.deserialize(standardRpcRequest.getArgs()[i],
                                     standardRpcRequest.getArgsTypes()[i]);
                         }
                     }
                     Object result = methodInvoker.invoke(args);
-                    if (result == null) {
-                        iRpcResponse = StandardRpcResponse.success(null, null);
-                    } else {
-                        iRpcResponse = StandardRpcResponse.success(JsonSerializer.serialize(result), result.getClass());
+                    if (result instanceof CompletableFuture) {
+                        // The method is async, response once the future is completed
+                        ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+                            if (ex != null) {
+                                Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                                        ? ex.getCause()
+                                        : ex;
+                                log.error("Invoke method {} failed, {}.", methodIdentifier, cause.getMessage(), cause);
+                                writeResponse(channel, transporter, StandardRpcResponse.fail(cause.getMessage()),
+                                        rpcSerializer);
+                            } else {
+                                writeResponse(channel, transporter, toSuccessResponse(value, rpcSerializer),
+                                        rpcSerializer);
+                            }
+                        });
+                        return;
                     }
+                    writeResponse(channel, transporter, toSuccessResponse(result, rpcSerializer), rpcSerializer);
                 } catch (Throwable e) {
                     log.error("Invoke method {} failed, {}.", methodIdentifier, e.getMessage(), e);
-                    iRpcResponse = StandardRpcResponse.fail(e.getMessage());
+                    writeResponse(channel, transporter, StandardRpcResponse.fail(e.getMessage()), rpcSerializer);
                 }
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
             });
         } catch (RejectedExecutionException e) {
             log.warn("NettyRemotingServer's thread pool is full, discard msg {} from {}", transporter,
                     ChannelUtils.getRemoteAddress(channel));
+            transporter.release();
             StandardRpcResponse iRpcResponse = StandardRpcResponse.fail("NettyRemotingServer's thread pool is full");
-            TransporterHeader transporterHeader =
-                    TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-            Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-            channel.writeAndFlush(response);
+            writeResponse(channel, transporter, iRpcResponse, rpcSerializer);
         }
     }
 
+    private StandardRpcResponse toSuccessResponse(Object result, IRpcSerializer rpcSerializer) {
+        if (result == null) {
+            return StandardRpcResponse.success(null, null);
+        }
+        return StandardRpcResponse.success(rpcSerializer.serialize(result), result.getClass());
+    }
+
+    private void writeResponse(Channel channel,
+                               Transporter request,
+                               StandardRpcResponse iRpcResponse,
+                               IRpcSerializer rpcSerializer) {
+        final String methodIdentifier = request.getHeader().getMethodIdentifier();
+        TransporterHeader transporterHeader = TransporterHeader.of(request.getHeader().getOpaque(), methodIdentifier);
+        channel.writeAndFlush(Transporter.of(transporterHeader, iRpcResponse, rpcSerializer));
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         log.error("exceptionCaught : {}", cause.getMessage(), cause);
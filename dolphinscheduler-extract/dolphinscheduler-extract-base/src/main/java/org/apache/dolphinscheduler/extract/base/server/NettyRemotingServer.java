@@ -20,7 +20,7 @@ package org.apache.dolphinscheduler.extract.base.server;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
 import org.apache.dolphinscheduler.extract.base.exception.RemoteException;
-import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterCodecSelector;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
 import org.apache.dolphinscheduler.extract.base.utils.NettyUtils;
 
@@ -132,7 +132,9 @@ class NettyRemotingServer {
     private void initNettyChannel(SocketChannel ch) {
         ch.pipeline()
                 .addLast("encoder", new TransporterEncoder())
-                .addLast("decoder", new TransporterDecoder())
+                // The codec is decided by the first packet sent by the client
+                .addLast("decoder",
+                        new TransporterCodecSelector("decoder", "encoder", serverConfig.getMaxFrameLength()))
                 .addLast("server-idle-handle",
                         new IdleStateHandler(serverConfig.getConnectionIdleTime(), 0, 0, TimeUnit.MILLISECONDS))
                 .addLast("handler", channelHandler);
@@ -52,6 +52,12 @@ public class Constants {
      */
     public static final String OS_NAME = System.getProperty("os.name");
 
+    /**
+     * Whether the rpc client uses the frame codec, see
+     * {@link org.apache.dolphinscheduler.extract.base.config.NettyClientConfig#isFrameCodecEnabled()}
+     */
+    public static final String RPC_CLIENT_FRAME_CODEC_ENABLED = "rpc.client.frame-codec.enabled";
+
     /**
      * warm up time
      */
@@ -22,13 +22,24 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
 import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.KryoRpcSerializer;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -73,6 +84,50 @@ public class ClientsTest {
         assertEquals("ping: null is illegal", methodInvocationException.getMessage());
     }
 
+    @Test
+    public void testPingWithLegacyCodec() {
+        NettyClientConfig nettyClientConfig = NettyClientConfig.builder()
+                .frameCodecEnabled(false)
+                .serializer(JsonRpcSerializer.NAME)
+                .build();
+        try (NettyRemotingClient nettyRemotingClient = new NettyRemotingClient(nettyClientConfig)) {
+            // Don't use the JdkDynamicRpcClientProxyFactory, the proxy client is cached by host
+            IService proxyClient = (IService) Proxy.newProxyInstance(
+                    IService.class.getClassLoader(),
+                    new Class[]{IService.class},
+                    new ClientInvocationHandler(Host.of(serverAddress), nettyRemotingClient));
+            assertEquals("pong", proxyClient.ping("ping"));
+        }
+    }
+
+    @Test
+    public void testPingWithFrameCodec() {
+        NettyClientConfig nettyClientConfig = NettyClientConfig.builder()
+                .frameCodecEnabled(true)
+                .build();
+        try (NettyRemotingClient nettyRemotingClient = new NettyRemotingClient(nettyClientConfig)) {
+            IService proxyClient = (IService) Proxy.newProxyInstance(
+                    IService.class.getClassLoader(),
+                    new Class[]{IService.class},
+                    new ClientInvocationHandler(Host.of(serverAddress), nettyRemotingClient));
+            assertEquals("pong", proxyClient.ping("ping"));
+        }
+    }
+
+    @Test
+    public void testPingWithBinaryProtocol() {
+        NettyClientConfig nettyClientConfig = NettyClientConfig.builder()
+                .serializer(KryoRpcSerializer.NAME)
+                .build();
+        try (NettyRemotingClient nettyRemotingClient = new NettyRemotingClient(nettyClientConfig)) {
+            IService proxyClient = (IService) Proxy.newProxyInstance(
+                    IService.class.getClassLoader(),
+                    new Class[]{IService.class},
+                    new ClientInvocationHandler(Host.of(serverAddress), nettyRemotingClient));
+            assertEquals("pong", proxyClient.ping("ping"));
+        }
+    }
+
     @Test
     public void testVoid() {
         IService proxyClient = Clients
@@ -81,6 +136,26 @@ public class ClientsTest {
         assertDoesNotThrow(proxyClient::voidMethod);
     }
 
+    @Test
+    public void testAsyncPing() throws Exception {
+        IService proxyClient = Clients
+                .withService(IService.class)
+                .withHost(serverAddress);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(proxyClient.pingAsync("ping"));
+        }
+        for (CompletableFuture<String> future : futures) {
+            assertEquals("pong", future.get(10, TimeUnit.SECONDS));
+        }
+
+        ExecutionException executionException =
+                Assertions.assertThrows(ExecutionException.class,
+                        () -> proxyClient.pingAsync(null).get(10, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(MethodInvocationException.class, executionException.getCause());
+        assertEquals("ping: null is illegal", executionException.getCause().getMessage());
+    }
+
     @AfterEach
     public void tearDown() {
         springServerMethodInvokerDiscovery.close();
@@ -94,6 +169,9 @@ public class ClientsTest {
 
         @RpcMethod
         void voidMethod();
+
+        @RpcMethod
+        CompletableFuture<String> pingAsync(String ping);
     }
 
     public static class IServiceImpl implements IService {
@@ -110,6 +188,11 @@ public class ClientsTest {
         public void voidMethod() {
             System.out.println("void method");
         }
+
+        @Override
+        public CompletableFuture<String> pingAsync(String ping) {
+            return CompletableFuture.supplyAsync(() -> ping(ping));
+        }
     }
 
 }
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.KryoRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
+
+class TransporterFrameCodecTest {
+
+    @Test
+    void decodeFrame() throws Exception {
+        decodeFrame(RpcSerializers.getSerializer(JsonRpcSerializer.NAME));
+        decodeFrame(RpcSerializers.getSerializer(KryoRpcSerializer.NAME));
+    }
+
+    @Test
+    void selectLegacyCodec() throws Exception {
+        IRpcSerializer rpcSerializer = RpcSerializers.getSerializer(JsonRpcSerializer.NAME);
+        ByteBuf packet = encode(new TransporterEncoder(), createRequest(rpcSerializer));
+
+        EmbeddedChannel serverChannel = createServerChannel();
+        serverChannel.writeInbound(packet);
+        assertThat(serverChannel.pipeline().get("encoder")).isInstanceOf(TransporterEncoder.class);
+        assertThat(serverChannel.pipeline().get("decoder")).isInstanceOf(TransporterDecoder.class);
+
+        Transporter transporter = serverChannel.readInbound();
+        assertThat(transporter.getHeader().getMethodIdentifier()).isEqualTo("ping");
+        assertThat(transporter.getBodyBuffer()).isNull();
+        StandardRpcRequest request = transporter.deserializeBody(StandardRpcRequest.class);
+        assertThat(rpcSerializer.deserialize(request.getArgs()[0], String.class)).isEqualTo("hello");
+        serverChannel.finishAndReleaseAll();
+    }
+
+    @Test
+    void closeChannelIfFrameTooLong() {
+        ByteBuf frame = Unpooled.buffer();
+        frame.writeByte(Transporter.FRAME_MAGIC);
+        frame.writeByte(RpcSerializers.getSerializer(JsonRpcSerializer.NAME).getVersion());
+        // Only the length field is sent, the channel is closed without waiting for the remaining bytes
+        frame.writeInt(2048);
+
+        EmbeddedChannel serverChannel = createServerChannel(1024);
+        assertThrows(TooLongFrameException.class, () -> serverChannel.writeInbound(frame));
+        assertThat(serverChannel.isOpen()).isFalse();
+        assertThat(serverChannel.<Object>readInbound()).isNull();
+        serverChannel.finishAndReleaseAll();
+    }
+
+    private void decodeFrame(IRpcSerializer rpcSerializer) throws Exception {
+        ByteBuf frame = encode(new TransporterFrameEncoder(), createRequest(rpcSerializer));
+
+        EmbeddedChannel serverChannel = createServerChannel();
+        // Write the frame byte by byte to simulate the partial read
+        while (frame.isReadable()) {
+            serverChannel.writeInbound(frame.readRetainedSlice(1));
+        }
+        assertThat(serverChannel.pipeline().get("encoder")).isInstanceOf(TransporterFrameEncoder.class);
+        assertThat(serverChannel.pipeline().get("decoder")).isInstanceOf(TransporterFrameDecoder.class);
+
+        Transporter transporter = serverChannel.readInbound();
+        assertThat(transporter.getVersion()).isEqualTo(rpcSerializer.getVersion());
+        assertThat(transporter.getHeader().getMethodIdentifier()).isEqualTo("ping");
+        assertThat(serverChannel.<Object>readInbound()).isNull();
+
+        ByteBuf bodyBuffer = transporter.getBodyBuffer();
+        StandardRpcRequest request = transporter.deserializeBody(StandardRpcRequest.class);
+        assertThat(rpcSerializer.deserialize(request.getArgs()[0], String.class)).isEqualTo("hello");
+
+        transporter.release();
+        assertThat(bodyBuffer.refCnt()).isEqualTo(0);
+        assertThat(transporter.getBodyBuffer()).isNull();
+        frame.release();
+        serverChannel.finishAndReleaseAll();
+    }
+
+    private Transporter createRequest(IRpcSerializer rpcSerializer) {
+        StandardRpcRequest request = StandardRpcRequest.of(new Object[]{"hello"}, rpcSerializer);
+        return Transporter.of(TransporterHeader.of("ping"), request, rpcSerializer);
+    }
+
+    private EmbeddedChannel createServerChannel() {
+        return createServerChannel(TransporterFrameDecoder.DEFAULT_MAX_FRAME_LENGTH);
+    }
+
+    private EmbeddedChannel createServerChannel(int maxFrameLength) {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline()
+                .addLast("encoder", new TransporterEncoder())
+                .addLast("decoder", new TransporterCodecSelector("decoder", "encoder", maxFrameLength));
+        return channel;
+    }
+
+    private ByteBuf encode(ChannelHandler encoder, Transporter transporter) {
+        EmbeddedChannel clientChannel = new EmbeddedChannel(encoder);
+        clientChannel.writeOutbound(transporter);
+        ByteBuf packet = clientChannel.readOutbound();
+        clientChannel.finishAndReleaseAll();
+        return packet;
+    }
+
+}
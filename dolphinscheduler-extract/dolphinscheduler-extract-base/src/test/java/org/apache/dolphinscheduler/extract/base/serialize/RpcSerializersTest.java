@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.junit.jupiter.api.Test;
+
+import com.esotericsoftware.kryo.KryoException;
+
+class RpcSerializersTest {
+
+    @Test
+    void getSerializer() {
+        assertThat(RpcSerializers.getSerializer(JsonRpcSerializer.NAME).getVersion())
+                .isEqualTo(JsonRpcSerializer.VERSION);
+        assertThat(RpcSerializers.getSerializer(KryoRpcSerializer.NAME).getVersion())
+                .isEqualTo(KryoRpcSerializer.VERSION);
+        assertThat(RpcSerializers.isSupported((byte) 100)).isFalse();
+        assertThrows(IllegalArgumentException.class, () -> RpcSerializers.getSerializer((byte) 100));
+        assertThrows(IllegalArgumentException.class, () -> RpcSerializers.getSerializer("unknown"));
+    }
+
+    @Test
+    void serializeRpcRequest() {
+        serializeRpcRequest(RpcSerializers.getSerializer(JsonRpcSerializer.NAME));
+        serializeRpcRequest(RpcSerializers.getSerializer(KryoRpcSerializer.NAME));
+    }
+
+    @Test
+    void serializeRpcResponse() {
+        serializeRpcResponse(RpcSerializers.getSerializer(JsonRpcSerializer.NAME));
+        serializeRpcResponse(RpcSerializers.getSerializer(KryoRpcSerializer.NAME));
+    }
+
+    @Test
+    void kryoRejectNotAllowedClass() {
+        IRpcSerializer rpcSerializer = RpcSerializers.getSerializer(KryoRpcSerializer.NAME);
+        Param param = new Param(1, "task", Collections.singletonList(new ProcessBuilder("ls")), null);
+
+        assertThrows(KryoException.class, () -> rpcSerializer.serialize(param));
+        assertThrows(KryoException.class, () -> rpcSerializer.serialize(ProcessBuilder.class));
+    }
+
+    @Test
+    void kryoThrowExceptionOnCorruptedBytes() {
+        IRpcSerializer rpcSerializer = RpcSerializers.getSerializer(KryoRpcSerializer.NAME);
+        byte[] bytes = rpcSerializer.serialize(
+                new Param(1, "task", Collections.singletonList("a"), Collections.singletonMap("k", "v")));
+
+        assertThrows(KryoException.class,
+                () -> rpcSerializer.deserialize(Arrays.copyOf(bytes, bytes.length / 2), Param.class));
+    }
+
+    @Test
+    void isAllowedClass() {
+        assertThat(KryoRpcSerializer.isAllowedClass(int[].class)).isTrue();
+        assertThat(KryoRpcSerializer.isAllowedClass(String[].class)).isTrue();
+        assertThat(KryoRpcSerializer.isAllowedClass(Param.class)).isTrue();
+        assertThat(KryoRpcSerializer.isAllowedClass(Collections.emptyList().getClass())).isTrue();
+        assertThat(KryoRpcSerializer.isAllowedClass(ProcessBuilder.class)).isFalse();
+        assertThat(KryoRpcSerializer.isAllowedClass(Runtime[].class)).isFalse();
+        assertThat(KryoRpcSerializer.isAllowedClass(java.lang.reflect.Method.class)).isFalse();
+    }
+
+    private void serializeRpcRequest(IRpcSerializer rpcSerializer) {
+        Param param = new Param(1, "task", Collections.singletonList("a"), Collections.singletonMap("k", "v"));
+
+        StandardRpcRequest rpcRequest = StandardRpcRequest.of(new Object[]{param, null}, rpcSerializer);
+        StandardRpcRequest deserialized =
+                rpcSerializer.deserialize(rpcSerializer.serialize(rpcRequest), StandardRpcRequest.class);
+
+        assertThat(deserialized.getArgsTypes()).asList().containsExactly(Param.class, null).inOrder();
+        assertThat(rpcSerializer.deserialize(deserialized.getArgs()[0], Param.class)).isEqualTo(param);
+        assertThat(deserialized.getArgs()[1]).isNull();
+    }
+
+    private void serializeRpcResponse(IRpcSerializer rpcSerializer) {
+        StandardRpcResponse rpcResponse = StandardRpcResponse.success(rpcSerializer.serialize(true), Boolean.class);
+
+        StandardRpcResponse deserialized =
+                rpcSerializer.deserialize(rpcSerializer.serialize(rpcResponse), StandardRpcResponse.class);
+
+        assertThat(deserialized.isSuccess()).isTrue();
+        assertThat(deserialized.getBodyType()).isEqualTo(Boolean.class);
+        assertThat(rpcSerializer.deserialize(deserialized.getBody(), Boolean.class)).isTrue();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Param {
+
+        private int id;
+
+        private String name;
+
+        private List<?> values;
+
+        private Map<String, String> properties;
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.common.transportor;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Download a chunk of the task instance log file, the whole file is downloaded by requesting the chunks one by one.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskInstanceLogFileChunkDownloadRequest {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    public static final int MAX_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private long taskInstanceId;
+
+    private String taskInstanceLogAbsolutePath;
+
+    /**
+     * The byte offset of the chunk in the log file.
+     */
+    private long offset;
+
+    /**
+     * The max bytes of the chunk before compression, {@link #DEFAULT_CHUNK_SIZE} is used if it's not positive.
+     */
+    private int chunkSize;
+
+    /**
+     * Whether to compress the chunk by gzip.
+     */
+    private boolean gzip;
+
+    /**
+     * Get the chunk size to read, the default size is used if it's not positive, and it's capped at
+     * {@link #MAX_CHUNK_SIZE}.
+     */
+    public static int normalizeChunkSize(int chunkSize) {
+        return chunkSize > 0 ? Math.min(chunkSize, MAX_CHUNK_SIZE) : DEFAULT_CHUNK_SIZE;
+    }
+
+}
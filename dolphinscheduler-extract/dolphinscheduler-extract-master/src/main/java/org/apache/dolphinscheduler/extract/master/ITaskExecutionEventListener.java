@@ -20,12 +20,15 @@ package org.apache.dolphinscheduler.extract.master;
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionDispatchEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionEventBatch;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionFailedEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionKilledEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionPausedEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionRunningEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionSuccessEvent;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ITaskExecutionEventListener {
 
@@ -47,4 +50,11 @@ public interface ITaskExecutionEventListener {
     @RpcMethod
     void onTaskInstanceExecutionPaused(final TaskExecutionPausedEvent taskInstanceExecutionPausedEvent);
 
+    /**
+     * Receive a batch of task execution events, the events are handled in order and acked by
+     * {@code ITaskInstanceExecutionEventAckListener#handleTaskExecutionEventBatchAck}.
+     */
+    @RpcMethod
+    CompletableFuture<Void> onTaskInstanceExecutionEvents(final TaskExecutionEventBatch taskExecutionEventBatch);
+
 }
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.master.transportor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * A batch of task execution events sent from one worker to one master.
+ * <p> The events of the same task instance are kept in the order they happened, the master handles the events one by
+ * one and then sends back a {@code TaskExecutionEventBatchAck} with the same batchId to the worker.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskExecutionEventBatch {
+
+    private static final AtomicLong BATCH_ID = new AtomicLong(1);
+
+    private long batchId;
+
+    /**
+     * The worker which sends the batch, the ack will be sent to this host.
+     */
+    private String workerHost;
+
+    // The events are declared by the interface, so the class is needed to deserialize them
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+    private List<ITaskExecutionEvent> events;
+
+    public static TaskExecutionEventBatch of(String workerHost, List<ITaskExecutionEvent> events) {
+        return new TaskExecutionEventBatch(BATCH_ID.getAndIncrement(), workerHost, events);
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.extract.worker;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionEventBatchAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionFailedEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionKilledEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionPausedEventAck;
@@ -26,6 +27,8 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionSucce
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionDispatchedEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecutionRunningEventAck;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ITaskInstanceExecutionEventAckListener {
 
@@ -48,4 +51,7 @@ public interface ITaskInstanceExecutionEventAckListener {
     @RpcMethod
     void handleTaskExecutionKilledEventAck(TaskExecutionKilledEventAck taskExecutionKilledEventAck);
 
+    @RpcMethod
+    CompletableFuture<Void> handleTaskExecutionEventBatchAck(TaskExecutionEventBatchAck taskExecutionEventBatchAck);
+
 }
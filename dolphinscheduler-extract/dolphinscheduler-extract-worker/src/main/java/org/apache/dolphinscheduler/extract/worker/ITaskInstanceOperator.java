@@ -28,12 +28,20 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceKillRe
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ITaskInstanceOperator {
 
     @RpcMethod
     TaskInstanceDispatchResponse dispatchTask(final TaskInstanceDispatchRequest taskInstanceDispatchRequest);
 
+    /**
+     * Dispatch the task asynchronously, the caller will not be blocked until the worker response.
+     */
+    @RpcMethod
+    CompletableFuture<TaskInstanceDispatchResponse> dispatchTaskAsync(final TaskInstanceDispatchRequest taskInstanceDispatchRequest);
+
     @RpcMethod
     TaskInstanceKillResponse killTask(final TaskInstanceKillRequest taskInstanceKillRequest);
 
@@ -26,7 +26,9 @@ import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
 import org.apache.commons.collections4.list.UnmodifiableList;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -48,6 +50,12 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
     private final List<IClustersChangeListener<WorkerServerMetadata>> workerClusterChangeListeners =
             new CopyOnWriteArrayList<>();
 
+    // WorkerGroup -> normal workers, the snapshot is immutable and only rebuilt when the worker or worker group changed
+    private volatile Map<String, List<WorkerServerMetadata>> normalWorkerServerSnapshot = Collections.emptyMap();
+
+    // WorkerGroup -> normal WorkerIdentifier(workerAddress), keep the same order with normalWorkerServerSnapshot
+    private volatile Map<String, List<String>> normalWorkerAddressSnapshot = Collections.emptyMap();
+
     @Override
     public List<WorkerServerMetadata> getServers() {
         return UnmodifiableList.unmodifiableList(new ArrayList<>(workerMapping.values()));
@@ -60,15 +68,20 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
         return workerGroupMapping.getOrDefault(workerGroup, Collections.emptyList());
     }
 
+    /**
+     * Get the normal worker addresses of the given worker group, the returned list is an immutable snapshot which will
+     * not be copied at each call.
+     */
     public List<String> getNormalWorkerServerAddressByGroup(String workerGroup) {
-        List<String> normalWorkerAddresses = getWorkerServerAddressByGroup(workerGroup)
-                .stream()
-                .map(workerMapping::get)
-                .filter(Objects::nonNull)
-                .filter(workerServer -> workerServer.getServerStatus() == ServerStatus.NORMAL)
-                .map(WorkerServerMetadata::getAddress)
-                .collect(Collectors.toList());
-        return UnmodifiableList.unmodifiableList(normalWorkerAddresses);
+        return normalWorkerAddressSnapshot.getOrDefault(workerGroup, Collections.emptyList());
+    }
+
+    /**
+     * Get the normal workers of the given worker group, the returned list is an immutable snapshot which will not be
+     * copied at each call, and the same list instance is returned until the worker or worker group changed.
+     */
+    public List<WorkerServerMetadata> getNormalWorkerServerByGroup(String workerGroup) {
+        return normalWorkerServerSnapshot.getOrDefault(workerGroup, Collections.emptyList());
     }
 
     public boolean containsWorkerGroup(String workerGroup) {
@@ -86,6 +99,7 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
         for (WorkerGroup workerGroup : workerGroups) {
             workerGroupMapping.remove(workerGroup.getName());
         }
+        refreshNormalWorkerSnapshot();
     }
 
     @Override
@@ -106,6 +120,7 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
                     .collect(Collectors.toList());
             workerGroupMapping.put(workerGroup.getName(), activeWorkers);
         }
+        refreshNormalWorkerSnapshot();
     }
 
     @Override
@@ -120,6 +135,7 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
     @Override
     public void onServerAdded(WorkerServerMetadata workerServer) {
         workerMapping.put(workerServer.getAddress(), workerServer);
+        refreshNormalWorkerSnapshot();
         for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
             listener.onServerAdded(workerServer);
         }
@@ -128,6 +144,7 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
     @Override
     public void onServerRemove(WorkerServerMetadata workerServer) {
         workerMapping.remove(workerServer.getAddress(), workerServer);
+        refreshNormalWorkerSnapshot();
         for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
             listener.onServerRemove(workerServer);
         }
@@ -136,8 +153,45 @@ public class WorkerClusters extends AbstractClusterSubscribeListener<WorkerServe
     @Override
     public void onServerUpdate(WorkerServerMetadata workerServer) {
         workerMapping.put(workerServer.getAddress(), workerServer);
+        refreshNormalWorkerSnapshot();
         for (IClustersChangeListener<WorkerServerMetadata> listener : workerClusterChangeListeners) {
             listener.onServerUpdate(workerServer);
         }
     }
+
+    private synchronized void refreshNormalWorkerSnapshot() {
+        final Map<String, List<WorkerServerMetadata>> workerServerSnapshot = new HashMap<>();
+        final Map<String, List<String>> workerAddressSnapshot = new HashMap<>();
+        workerGroupMapping.forEach((workerGroup, workerAddresses) -> {
+            final List<WorkerServerMetadata> normalWorkerServers = getNormalWorkerServers(workerAddresses);
+            workerServerSnapshot.put(workerGroup, normalWorkerServers);
+            workerAddressSnapshot.put(workerGroup, getWorkerAddresses(normalWorkerServers));
+        });
+        // The default worker group contains all the workers
+        final List<WorkerServerMetadata> normalWorkerServers = getNormalWorkerServers(workerMapping.keySet());
+        workerServerSnapshot.put(WorkerGroupUtils.getDefaultWorkerGroup(), normalWorkerServers);
+        workerAddressSnapshot.put(WorkerGroupUtils.getDefaultWorkerGroup(), getWorkerAddresses(normalWorkerServers));
+
+        normalWorkerServerSnapshot = Collections.unmodifiableMap(workerServerSnapshot);
+        normalWorkerAddressSnapshot = Collections.unmodifiableMap(workerAddressSnapshot);
+    }
+
+    private List<WorkerServerMetadata> getNormalWorkerServers(Collection<String> workerAddresses) {
+        final List<WorkerServerMetadata> normalWorkerServers = new ArrayList<>(workerAddresses.size());
+        for (String workerAddress : workerAddresses) {
+            final WorkerServerMetadata workerServer = workerMapping.get(workerAddress);
+            if (workerServer != null && workerServer.getServerStatus() == ServerStatus.NORMAL) {
+                normalWorkerServers.add(workerServer);
+            }
+        }
+        return Collections.unmodifiableList(normalWorkerServers);
+    }
+
+    private List<String> getWorkerAddresses(List<WorkerServerMetadata> workerServers) {
+        final List<String> workerAddresses = new ArrayList<>(workerServers.size());
+        for (WorkerServerMetadata workerServer : workerServers) {
+            workerAddresses.add(workerServer.getAddress());
+        }
+        return Collections.unmodifiableList(workerAddresses);
+    }
 }
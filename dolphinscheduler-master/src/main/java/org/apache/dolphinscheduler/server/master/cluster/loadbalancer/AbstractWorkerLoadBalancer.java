@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The base worker load balancer which selects a worker from the {@link WorkerSelectionSnapshot} of the worker group.
+ * <p>
+ * The {@link WorkerSelectionSnapshot} is only rebuilt when the worker snapshot of {@link WorkerClusters} is changed,
+ * which happens when the worker or the worker group changed, so the selection doesn't need to copy the worker list or
+ * calculate the weights.
+ */
+public abstract class AbstractWorkerLoadBalancer implements IWorkerLoadBalancer {
+
+    protected final WorkerClusters workerClusters;
+
+    private final Map<String, WorkerSelectionSnapshot> workerSelectionSnapshots = new ConcurrentHashMap<>();
+
+    protected AbstractWorkerLoadBalancer(WorkerClusters workerClusters) {
+        this.workerClusters = workerClusters;
+    }
+
+    @Override
+    public Optional<String> select(@NotNull String workerGroup) {
+        final List<WorkerServerMetadata> workerServers = workerClusters.getNormalWorkerServerByGroup(workerGroup);
+        if (workerServers.isEmpty()) {
+            workerSelectionSnapshots.remove(workerGroup);
+            return Optional.empty();
+        }
+        WorkerSelectionSnapshot workerSelectionSnapshot = workerSelectionSnapshots.get(workerGroup);
+        if (workerSelectionSnapshot == null || !workerSelectionSnapshot.isBuiltFrom(workerServers)) {
+            workerSelectionSnapshot = new WorkerSelectionSnapshot(workerServers, this::getWeight,
+                    workerSelectionSnapshot);
+            workerSelectionSnapshots.put(workerGroup, workerSelectionSnapshot);
+        }
+        return select(workerSelectionSnapshot);
+    }
+
+    /**
+     * Get the weight of the worker, the worker with higher weight will be selected more times.
+     */
+    protected abstract double getWeight(WorkerServerMetadata workerServer);
+
+    protected abstract Optional<String> select(WorkerSelectionSnapshot workerSelectionSnapshot);
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This load balancer selects the worker with less outstanding tasks by the power-of-two-choices algorithm, the
+ * outstanding tasks are the tasks dispatched to the worker by the current master but not finished yet, which are
+ * tracked by {@link WorkerOutstandingTaskTracker} in real time.
+ * <p>
+ * Two workers are picked randomly from the worker group, and the one with the lower score is selected, the score is
+ * {@code (outstandingTasks + 1) * (1 + heartbeatLoadFactor * heartbeatLoad)}, the heartbeat load is the max usage of
+ * cpu/memory/task thread pool reported by the worker heartbeat. Unlike the heartbeat based load balancers, this will
+ * not flood the same worker between two heartbeats.
+ */
+public class LeastOutstandingTasksWorkerLoadBalancer extends AbstractWorkerLoadBalancer {
+
+    private final WorkerOutstandingTaskTracker workerOutstandingTaskTracker;
+
+    private final double heartbeatLoadFactor;
+
+    public LeastOutstandingTasksWorkerLoadBalancer(WorkerClusters workerClusters,
+                                                   WorkerOutstandingTaskTracker workerOutstandingTaskTracker,
+                                                   WorkerLoadBalancerConfigurationProperties.LeastOutstandingTasksConfigProperties leastOutstandingTasksConfigProperties) {
+        super(workerClusters);
+        this.workerOutstandingTaskTracker = workerOutstandingTaskTracker;
+        this.heartbeatLoadFactor = leastOutstandingTasksConfigProperties.getHeartbeatLoadFactor();
+    }
+
+    @Override
+    protected double getWeight(WorkerServerMetadata workerServer) {
+        return 1;
+    }
+
+    @Override
+    protected Optional<String> select(WorkerSelectionSnapshot workerSelectionSnapshot) {
+        final int workerCount = workerSelectionSnapshot.getWorkerCount();
+        if (workerCount == 1) {
+            return workerSelectionSnapshot.getWorkerAddress(0);
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(workerCount);
+        int second = random.nextInt(workerCount - 1);
+        if (second >= first) {
+            second++;
+        }
+        final double firstScore = getScore(workerSelectionSnapshot.getWorkerServer(first));
+        final double secondScore = getScore(workerSelectionSnapshot.getWorkerServer(second));
+        return workerSelectionSnapshot.getWorkerAddress(firstScore <= secondScore ? first : second);
+    }
+
+    private double getScore(WorkerServerMetadata workerServer) {
+        final int outstandingTaskCount =
+                workerOutstandingTaskTracker.getOutstandingTaskCount(workerServer.getAddress());
+        if (heartbeatLoadFactor <= 0) {
+            return outstandingTaskCount;
+        }
+        final double heartbeatLoad = Math.max(workerServer.getCpuUsage(),
+                Math.max(workerServer.getMemoryUsage(), workerServer.getTaskThreadPoolUsage()));
+        return (outstandingTaskCount + 1) * (1 + heartbeatLoadFactor * heartbeatLoad);
+    }
+
+    @Override
+    public WorkerLoadBalancerType getType() {
+        return WorkerLoadBalancerType.LEAST_OUTSTANDING_TASKS;
+    }
+}
@@ -18,37 +18,27 @@
 package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
 
 import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
 
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.security.SecureRandom;
-import java.util.List;
 import java.util.Optional;
 
-import org.jetbrains.annotations.NotNull;
-
 /**
  * The worker load balancer used to select a worker from the {@link WorkerClusters} by random algorithm.
  */
-public class RandomWorkerLoadBalancer implements IWorkerLoadBalancer {
-
-    private final WorkerClusters workerClusters;
-
-    private final SecureRandom secureRandom;
+public class RandomWorkerLoadBalancer extends AbstractWorkerLoadBalancer {
 
     public RandomWorkerLoadBalancer(WorkerClusters workerClusters) {
-        this.workerClusters = workerClusters;
-        this.secureRandom = new SecureRandom();
+        super(workerClusters);
+    }
+
+    @Override
+    protected double getWeight(WorkerServerMetadata workerServer) {
+        return 1;
     }
 
     @Override
-    public Optional<String> select(@NotNull String workerGroup) {
-        List<String> workerServerAddresses = workerClusters.getNormalWorkerServerAddressByGroup(workerGroup);
-        if (CollectionUtils.isEmpty(workerServerAddresses)) {
-            return Optional.empty();
-        }
-        int index = secureRandom.nextInt(workerServerAddresses.size());
-        return Optional.of(workerServerAddresses.get(index));
+    protected Optional<String> select(WorkerSelectionSnapshot workerSelectionSnapshot) {
+        return workerSelectionSnapshot.selectByRandom();
     }
 
     @Override
@@ -18,35 +18,27 @@
 package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
 
 import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
 
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
-
-import org.jetbrains.annotations.NotNull;
 
 /**
  * The worker load balancer used to select a worker from the {@link WorkerClusters} by round-robin algorithm.
  */
-public class RoundRobinWorkerLoadBalancer implements IWorkerLoadBalancer {
-
-    private final WorkerClusters workerClusters;
-
-    private final AtomicInteger robinIndex = new AtomicInteger(0);
+public class RoundRobinWorkerLoadBalancer extends AbstractWorkerLoadBalancer {
 
     public RoundRobinWorkerLoadBalancer(WorkerClusters workerClusters) {
-        this.workerClusters = workerClusters;
+        super(workerClusters);
+    }
+
+    @Override
+    protected double getWeight(WorkerServerMetadata workerServer) {
+        return 1;
     }
 
     @Override
-    public Optional<String> select(@NotNull String workerGroup) {
-        List<String> workerServerAddresses = workerClusters.getNormalWorkerServerAddressByGroup(workerGroup);
-        if (CollectionUtils.isEmpty(workerServerAddresses)) {
-            return Optional.empty();
-        }
-        return Optional.of(workerServerAddresses.get(robinIndex.getAndIncrement() % workerServerAddresses.size()));
+    protected Optional<String> select(WorkerSelectionSnapshot workerSelectionSnapshot) {
+        return workerSelectionSnapshot.selectByRoundRobin();
     }
 
     @Override
@@ -27,7 +27,11 @@ import org.springframework.context.annotation.Configuration;
 public class WorkerLoadBalancerConfiguration {
 
     @Bean
-    public IWorkerLoadBalancer randomWorkerLoadBalancer(MasterConfig masterConfig, ClusterManager clusterManager) {
+    public IWorkerLoadBalancer randomWorkerLoadBalancer(MasterConfig masterConfig,
+                                                        ClusterManager clusterManager,
+                                                        WorkerOutstandingTaskTracker workerOutstandingTaskTracker) {
+        // The outstanding tasks are tracked whatever the load balancer type is, purge them once the worker is removed
+        clusterManager.getWorkerClusters().registerListener(workerOutstandingTaskTracker);
         WorkerLoadBalancerConfigurationProperties workerLoadBalancerConfigurationProperties =
                 masterConfig.getWorkerLoadBalancerConfigurationProperties();
         switch (workerLoadBalancerConfigurationProperties.getType()) {
@@ -41,6 +45,11 @@ public class WorkerLoadBalancerConfiguration {
                 return new DynamicWeightedRoundRobinWorkerLoadBalancer(
                         clusterManager.getWorkerClusters(),
                         workerLoadBalancerConfigurationProperties.getDynamicWeightConfigProperties());
+            case LEAST_OUTSTANDING_TASKS:
+                return new LeastOutstandingTasksWorkerLoadBalancer(
+                        clusterManager.getWorkerClusters(),
+                        workerOutstandingTaskTracker,
+                        workerLoadBalancerConfigurationProperties.getLeastOutstandingTasksConfigProperties());
             default:
                 throw new IllegalArgumentException(
                         "unSupport worker load balancer type " + workerLoadBalancerConfigurationProperties.getType());
@@ -28,8 +28,12 @@ public class WorkerLoadBalancerConfigurationProperties {
 
     private DynamicWeightConfigProperties dynamicWeightConfigProperties = new DynamicWeightConfigProperties();
 
+    private LeastOutstandingTasksConfigProperties leastOutstandingTasksConfigProperties =
+            new LeastOutstandingTasksConfigProperties();
+
     public void validate(Errors errors) {
         dynamicWeightConfigProperties.validated(errors);
+        leastOutstandingTasksConfigProperties.validated(errors);
     }
 
     @Data
@@ -58,4 +62,18 @@ public class WorkerLoadBalancerConfigurationProperties {
         }
 
     }
+
+    @Data
+    public static class LeastOutstandingTasksConfigProperties {
+
+        // How much the heartbeat load affects the score of the worker, 0 means only the outstanding tasks are used
+        private double heartbeatLoadFactor = 0;
+
+        public void validated(Errors errors) {
+            if (heartbeatLoadFactor < 0) {
+                errors.rejectValue("heartbeatLoadFactor", "heartbeatLoadFactor", "heartbeatLoadFactor must >= 0");
+            }
+        }
+
+    }
 }
@@ -22,4 +22,5 @@ public enum WorkerLoadBalancerType {
     ROUND_ROBIN,
     FIXED_WEIGHTED_ROUND_ROBIN,
     DYNAMIC_WEIGHTED_ROUND_ROBIN,
+    LEAST_OUTSTANDING_TASKS,
 }
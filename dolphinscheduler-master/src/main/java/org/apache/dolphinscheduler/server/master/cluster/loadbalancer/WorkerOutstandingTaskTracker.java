@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+
+import org.apache.dolphinscheduler.server.master.cluster.IClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.NonNull;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Track the tasks which are dispatched to the worker by the current master but not finished yet.
+ * <p>
+ * The task is tracked once it is sent to the worker, rather than once the dispatched event is handled, so the count is
+ * up-to-date between two worker heartbeats, and can be used by {@link LeastOutstandingTasksWorkerLoadBalancer}. Once
+ * the worker is removed, the tasks tracked under it are purged.
+ */
+@Component
+public class WorkerOutstandingTaskTracker implements IClusters.ServerRemovedListener<WorkerServerMetadata> {
+
+    private final Map<ITaskExecutionRunnable, String> taskExecutionRunnableWorkerMap = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> workerOutstandingTaskCountMap = new ConcurrentHashMap<>();
+
+    /**
+     * Track the task under the given worker, if it's already tracked under another worker, it will be moved.
+     */
+    public void track(@NonNull final ITaskExecutionRunnable taskExecutionRunnable, @NonNull final String workerAddress) {
+        final String previousWorkerAddress = taskExecutionRunnableWorkerMap.put(taskExecutionRunnable, workerAddress);
+        if (workerAddress.equals(previousWorkerAddress)) {
+            return;
+        }
+        if (previousWorkerAddress != null) {
+            decrement(previousWorkerAddress);
+        }
+        workerOutstandingTaskCountMap.computeIfAbsent(workerAddress, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Untrack the task, should be called when the task is finished or failed to dispatch.
+     */
+    public void untrack(@NonNull final ITaskExecutionRunnable taskExecutionRunnable) {
+        final String workerAddress = taskExecutionRunnableWorkerMap.remove(taskExecutionRunnable);
+        if (workerAddress != null) {
+            decrement(workerAddress);
+        }
+    }
+
+    /**
+     * Get the number of the tasks dispatched to the given worker by the current master and not finished yet.
+     */
+    public int getOutstandingTaskCount(final String workerAddress) {
+        final AtomicInteger outstandingTaskCount = workerOutstandingTaskCountMap.get(workerAddress);
+        return outstandingTaskCount == null ? 0 : Math.max(outstandingTaskCount.get(), 0);
+    }
+
+    public void clear() {
+        taskExecutionRunnableWorkerMap.clear();
+        workerOutstandingTaskCountMap.clear();
+    }
+
+    @Override
+    public void onServerRemove(final WorkerServerMetadata workerServer) {
+        final String workerAddress = workerServer.getAddress();
+        taskExecutionRunnableWorkerMap.values().removeIf(workerAddress::equals);
+        workerOutstandingTaskCountMap.remove(workerAddress);
+    }
+
+    private void decrement(final String workerAddress) {
+        final AtomicInteger outstandingTaskCount = workerOutstandingTaskCountMap.get(workerAddress);
+        if (outstandingTaskCount != null) {
+            outstandingTaskCount.decrementAndGet();
+        }
+    }
+}
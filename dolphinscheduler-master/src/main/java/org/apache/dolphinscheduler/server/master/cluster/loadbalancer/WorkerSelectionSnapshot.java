@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The immutable selection snapshot of the normal workers in a worker group, which is built from the worker snapshot of
+ * {@link WorkerClusters}.
+ * <p>
+ * The selection sequence is precomputed by the smooth weighted round robin algorithm when the snapshot is built, e.g.
+ * if there are 3 workers a, b, c with weight 5, 1, 1, the sequence will be a, a, b, a, c, a, a. So the selection is
+ * only an atomic increment and an array lookup, which is lock-free and allocation-free.
+ */
+final class WorkerSelectionSnapshot {
+
+    // The weights are normalized into [0, 100] to bound the length of the selection sequence
+    private static final int MAX_NORMALIZED_WEIGHT = 100;
+
+    private final List<WorkerServerMetadata> workerServers;
+
+    private final Optional<String>[] workerAddresses;
+
+    private final int[] selectionSequence;
+
+    private final AtomicInteger robinIndex;
+
+    @SuppressWarnings("unchecked")
+    WorkerSelectionSnapshot(final List<WorkerServerMetadata> workerServers,
+                            final ToDoubleFunction<WorkerServerMetadata> weightFunction,
+                            final WorkerSelectionSnapshot previousSnapshot) {
+        this.workerServers = workerServers;
+        this.workerAddresses = new Optional[workerServers.size()];
+        for (int i = 0; i < workerServers.size(); i++) {
+            workerAddresses[i] = Optional.of(workerServers.get(i).getAddress());
+        }
+        this.selectionSequence = createSelectionSequence(normalizeWeights(workerServers, weightFunction));
+        // Continue with the previous index, so that the workers at the head of the sequence will not be preferred
+        this.robinIndex = new AtomicInteger(previousSnapshot == null ? 0 : previousSnapshot.robinIndex.get());
+    }
+
+    /**
+     * Whether the snapshot is built from the given worker snapshot of {@link WorkerClusters}.
+     */
+    boolean isBuiltFrom(final List<WorkerServerMetadata> workerServers) {
+        return this.workerServers == workerServers;
+    }
+
+    Optional<String> selectByRoundRobin() {
+        final int index = Math.floorMod(robinIndex.getAndIncrement(), selectionSequence.length);
+        return workerAddresses[selectionSequence[index]];
+    }
+
+    Optional<String> selectByRandom() {
+        final int index = ThreadLocalRandom.current().nextInt(selectionSequence.length);
+        return workerAddresses[selectionSequence[index]];
+    }
+
+    int getWorkerCount() {
+        return workerServers.size();
+    }
+
+    WorkerServerMetadata getWorkerServer(final int index) {
+        return workerServers.get(index);
+    }
+
+    Optional<String> getWorkerAddress(final int index) {
+        return workerAddresses[index];
+    }
+
+    int getSelectionSequenceLength() {
+        return selectionSequence.length;
+    }
+
+    private static int[] normalizeWeights(final List<WorkerServerMetadata> workerServers,
+                                          final ToDoubleFunction<WorkerServerMetadata> weightFunction) {
+        final double[] weights = new double[workerServers.size()];
+        double maxWeight = 0;
+        boolean integral = true;
+        for (int i = 0; i < weights.length; i++) {
+            // The worker with non-positive weight will never be selected
+            weights[i] = Math.max(weightFunction.applyAsDouble(workerServers.get(i)), 0);
+            maxWeight = Math.max(maxWeight, weights[i]);
+            integral &= weights[i] == Math.rint(weights[i]);
+        }
+
+        final int[] normalizedWeights = new int[weights.length];
+        if (maxWeight <= 0) {
+            // All the workers are overloaded, fallback to round robin
+            Arrays.fill(normalizedWeights, 1);
+            return normalizedWeights;
+        }
+        final double scale = integral && maxWeight <= MAX_NORMALIZED_WEIGHT ? 1 : MAX_NORMALIZED_WEIGHT / maxWeight;
+        int gcd = 0;
+        for (int i = 0; i < weights.length; i++) {
+            normalizedWeights[i] = (int) Math.round(weights[i] * scale);
+            gcd = gcd(gcd, normalizedWeights[i]);
+        }
+        for (int i = 0; i < normalizedWeights.length; i++) {
+            normalizedWeights[i] /= gcd;
+        }
+        return normalizedWeights;
+    }
+
+    private static int[] createSelectionSequence(final int[] weights) {
+        int totalWeight = 0;
+        for (int weight : weights) {
+            totalWeight += weight;
+        }
+        final int[] selectionSequence = new int[totalWeight];
+        final int[] currentWeights = new int[weights.length];
+        for (int i = 0; i < totalWeight; i++) {
+            int selected = -1;
+            for (int j = 0; j < weights.length; j++) {
+                currentWeights[j] += weights[j];
+                if (selected < 0 || currentWeights[j] > currentWeights[selected]) {
+                    selected = j;
+                }
+            }
+            currentWeights[selected] -= totalWeight;
+            selectionSequence[i] = selected;
+        }
+        return selectionSequence;
+    }
+
+    private static int gcd(final int a, final int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
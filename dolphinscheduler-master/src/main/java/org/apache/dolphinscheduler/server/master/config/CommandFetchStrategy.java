@@ -34,6 +34,7 @@ public class CommandFetchStrategy {
 
     public enum CommandFetchStrategyType {
         ID_SLOT_BASED,
+        ID_SLOT_CURSOR_BASED,
         ;
     }
 
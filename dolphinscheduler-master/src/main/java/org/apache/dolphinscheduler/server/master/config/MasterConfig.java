@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.registry.api.ConnectStrategyProperties;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerLoadBalancerConfigurationProperties;
+import org.apache.dolphinscheduler.server.master.engine.assigner.WorkflowEventBusFireWorkerAssignerConfigurationProperties;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -49,6 +50,9 @@ public class MasterConfig implements Validator {
 
     private int workflowEventBusFireThreadCount = Runtime.getRuntime().availableProcessors() * 2 + 1;
 
+    private WorkflowEventBusFireWorkerAssignerConfigurationProperties workflowEventBusFireWorkerAssignerConfigurationProperties =
+            new WorkflowEventBusFireWorkerAssignerConfigurationProperties();
+
     // todo: change to sync thread pool/ async thread pool ?
     private int masterSyncTaskExecutorThreadPoolSize = Runtime.getRuntime().availableProcessors();
 
@@ -69,6 +73,12 @@ public class MasterConfig implements Validator {
     private WorkerLoadBalancerConfigurationProperties workerLoadBalancerConfigurationProperties =
             new WorkerLoadBalancerConfigurationProperties();
 
+    private TaskInstanceWriteBehindConfig taskInstanceWriteBehindConfig = new TaskInstanceWriteBehindConfig();
+
+    private MasterFailoverConfig masterFailoverConfig = new MasterFailoverConfig();
+
+    private TaskDispatchConfig taskDispatchConfig = new TaskDispatchConfig();
+
     /**
      * The IP address and listening port of the master server in the format 'ip:listenPort'.
      */
@@ -107,6 +117,10 @@ public class MasterConfig implements Validator {
         }
         commandFetchStrategy.validate(errors);
         workerLoadBalancerConfigurationProperties.validate(errors);
+        workflowEventBusFireWorkerAssignerConfigurationProperties.validate(errors);
+        taskInstanceWriteBehindConfig.validate(errors);
+        masterFailoverConfig.validate(errors);
+        taskDispatchConfig.validate(errors);
 
         masterConfig.setMasterRegistryPath(
                 RegistryNodeType.MASTER.getRegistryPath() + "/" + masterConfig.getMasterAddress());
@@ -118,6 +132,8 @@ public class MasterConfig implements Validator {
                 "\n****************************Master Configuration**************************************" +
                         "\n  listen-port -> " + listenPort +
                         "\n  workflow-event-bus-fire-thread-count -> " + workflowEventBusFireThreadCount +
+                        "\n  workflow-event-bus-fire-worker-assigner-configuration-properties -> "
+                        + workflowEventBusFireWorkerAssignerConfigurationProperties +
                         "\n  max-heartbeat-interval -> " + maxHeartbeatInterval +
                         "\n  server-load-protection -> " + serverLoadProtection +
                         "\n  registry-disconnect-strategy -> " + registryDisconnectStrategy +
@@ -127,6 +143,9 @@ public class MasterConfig implements Validator {
                         "\n  command-fetch-strategy: " + commandFetchStrategy +
                         "\n  worker-load-balancer-configuration-properties: "
                         + workerLoadBalancerConfigurationProperties +
+                        "\n  task-instance-write-behind-config: " + taskInstanceWriteBehindConfig +
+                        "\n  master-failover-config: " + masterFailoverConfig +
+                        "\n  task-dispatch-config: " + taskDispatchConfig +
                         "\n****************************Master Configuration**************************************";
         log.info(config);
     }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The config of failover the workflow instances of a crashed master.
+ */
+@Data
+public class MasterFailoverConfig {
+
+    /**
+     * The number of workflow instances fetched from DB in one page.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * The number of threads used to failover the workflow instances of a page concurrently.
+     */
+    private int parallelism = 8;
+
+    public void validate(Errors errors) {
+        if (fetchSize <= 0) {
+            errors.rejectValue("master-failover-config.fetch-size", null, "should be a positive value");
+        }
+        if (parallelism <= 0) {
+            errors.rejectValue("master-failover-config.parallelism", null, "should be a positive value");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The config of dispatching the tasks, the waiting tasks are dispatched by a lane per worker group.
+ */
+@Data
+public class TaskDispatchConfig {
+
+    /**
+     * The max number of in-flight dispatch requests of a worker group lane.
+     */
+    private int laneConcurrency = 16;
+
+    /**
+     * The max number of in-flight dispatch requests of the given worker group lanes, overrides the laneConcurrency.
+     */
+    private Map<String, Integer> workerGroupLaneConcurrency = new HashMap<>();
+
+    /**
+     * The interval before retrying a failed dispatch at the first time, will be doubled at each failure.
+     */
+    private Duration retryInitialInterval = Duration.ofSeconds(1);
+
+    /**
+     * The max interval before retrying a failed dispatch.
+     */
+    private Duration retryMaxInterval = Duration.ofSeconds(60);
+
+    public int getLaneConcurrency(final String workerGroup) {
+        return workerGroupLaneConcurrency.getOrDefault(workerGroup, laneConcurrency);
+    }
+
+    public void validate(Errors errors) {
+        if (laneConcurrency <= 0) {
+            errors.rejectValue("task-dispatch-config.lane-concurrency", null, "should be a positive value");
+        }
+        if (retryInitialInterval == null || retryInitialInterval.toMillis() <= 0) {
+            errors.rejectValue("task-dispatch-config.retry-initial-interval", null, "should be a positive duration");
+        }
+        if (retryMaxInterval == null || retryInitialInterval != null
+                && retryMaxInterval.compareTo(retryInitialInterval) < 0) {
+            errors.rejectValue("task-dispatch-config.retry-max-interval", null,
+                    "should not be less than retry-initial-interval");
+        }
+        workerGroupLaneConcurrency.forEach((workerGroup, concurrency) -> {
+            if (concurrency == null || concurrency <= 0) {
+                errors.rejectValue("task-dispatch-config.worker-group-lane-concurrency", null,
+                        "the concurrency of worker group: " + workerGroup + " should be a positive value");
+            }
+        });
+    }
+}
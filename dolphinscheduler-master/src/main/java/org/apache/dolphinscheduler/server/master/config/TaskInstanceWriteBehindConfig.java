@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The config of persisting the task instance state changes to DB in batches, out of the workflow event bus fire thread.
+ */
+@Data
+public class TaskInstanceWriteBehindConfig {
+
+    /**
+     * Whether to persist the task instance in the background, if false the task instance will be persisted synchronously.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The max number of task instances updated in a JDBC batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * The max time a task instance change waits before it is flushed to DB.
+     */
+    private Duration flushInterval = Duration.ofMillis(100);
+
+    /**
+     * The max number of task instances waiting to be persisted, the workflow event bus fire thread will be blocked when
+     * the pending task instances exceed this value.
+     */
+    private int maxPendingSize = 10000;
+
+    /**
+     * The max time to wait for the task instance changes to be persisted when flushing, e.g. before finishing the
+     * workflow, an error is thrown once timeout and the waiting operation will be retried.
+     */
+    private Duration flushTimeout = Duration.ofSeconds(30);
+
+    public void validate(Errors errors) {
+        if (batchSize <= 0) {
+            errors.rejectValue("task-instance-write-behind-config.batch-size", null, "should be a positive value");
+        }
+        if (flushInterval.toMillis() <= 0) {
+            errors.rejectValue("task-instance-write-behind-config.flush-interval", null, "should be a positive value");
+        }
+        if (flushTimeout.toMillis() <= 0) {
+            errors.rejectValue("task-instance-write-behind-config.flush-timeout", null, "should be a positive value");
+        }
+        if (maxPendingSize < batchSize) {
+            errors.rejectValue("task-instance-write-behind-config.max-pending-size", null, "should >= batch-size");
+        }
+    }
+}
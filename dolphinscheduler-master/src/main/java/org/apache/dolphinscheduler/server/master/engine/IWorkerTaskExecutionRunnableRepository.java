@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine;
+
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.util.Collection;
+
+import lombok.NonNull;
+
+/**
+ * The index of the active TaskExecutionRunnable by the worker host which the task is dispatched to.
+ * <p> Used to find the tasks need to failover once a worker crashed, without scanning all the active tasks.
+ */
+public interface IWorkerTaskExecutionRunnableRepository {
+
+    /**
+     * Index the given TaskExecutionRunnable under the worker host, if it's already indexed under another worker host,
+     * it will be moved.
+     */
+    void put(@NonNull String workerHost, @NonNull ITaskExecutionRunnable taskExecutionRunnable);
+
+    /**
+     * Get the TaskExecutionRunnables indexed under the given worker host.
+     */
+    Collection<ITaskExecutionRunnable> get(String workerHost);
+
+    void remove(@NonNull ITaskExecutionRunnable taskExecutionRunnable);
+
+    /**
+     * Get the number of indexed TaskExecutionRunnables.
+     */
+    int size();
+
+    void clear();
+}
@@ -44,9 +44,13 @@ import org.apache.dolphinscheduler.server.master.utils.TaskGroupUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.time.StopWatch;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -76,6 +80,11 @@ import org.springframework.stereotype.Component;
  *         taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
  *     }
  * </pre>
+ * <p>
+ * The master which hold the coordinator lock arbitrates the slots by the in-memory {@link TaskGroupSlotArbiter}, a
+ * released slot is granted to the next waiting {@link TaskGroupQueue} right away, and the grants are persisted in
+ * batches. The {@link TaskGroupQueue} changed at other masters are collected incrementally from db. The lock is
+ * released periodically, and the amend passes run as the reconciliation when the lock is acquired.
  */
 @Slf4j
 @Component
@@ -100,6 +109,22 @@ public class TaskGroupCoordinator extends BaseDaemonThread implements AutoClosea
 
     private static int DEFAULT_LIMIT = 1000;
 
+    // How long the lock is hold before released, the amend passes run once per lease
+    private static final long RECONCILIATION_INTERVAL_MILLIS = Constants.SLEEP_TIME_MILLIS * 60;
+
+    // How long to wait for the TaskGroupQueue changed at this master before collecting changes from db
+    private static final long COLLECT_CHANGE_INTERVAL_MILLIS = Constants.SLEEP_TIME_MILLIS;
+
+    // How often to scan the force start TaskGroupQueues, the same as the interval before the arbiter is introduced
+    private static final long FORCE_START_SCAN_INTERVAL_MILLIS = Constants.SLEEP_TIME_MILLIS * 5;
+
+    private final TaskGroupSlotArbiter taskGroupSlotArbiter = new TaskGroupSlotArbiter();
+
+    private final Semaphore taskGroupQueueChangedSignal = new Semaphore(0);
+
+    // The max id of the TaskGroupQueue which has been offered to the arbiter
+    private int maxCollectedTaskGroupQueueId = -1;
+
     public TaskGroupCoordinator() {
         super("TaskGroupCoordinator");
     }
@@ -118,23 +143,36 @@ public class TaskGroupCoordinator extends BaseDaemonThread implements AutoClosea
             try {
                 registryClient.getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
                 try {
-                    StopWatch taskGroupCoordinatorRoundCost = StopWatch.createStarted();
+                    final long leaseEndTime = System.currentTimeMillis() + RECONCILIATION_INTERVAL_MILLIS;
+                    StopWatch taskGroupCoordinatorReconcileCost = StopWatch.createStarted();
 
                     amendTaskGroupUseSize();
                     amendTaskGroupQueueStatus();
-                    dealWithForceStartTaskGroupQueue();
-                    dealWithWaitingTaskGroupQueue();
-
-                    taskGroupCoordinatorRoundCost.stop();
-                    log.info("TaskGroupCoordinator round cost: {}/ms", taskGroupCoordinatorRoundCost.getTime());
+                    activateTaskGroupSlotArbiter();
+
+                    taskGroupCoordinatorReconcileCost.stop();
+                    log.info("TaskGroupCoordinator reconcile cost: {}/ms", taskGroupCoordinatorReconcileCost.getTime());
+
+                    long nextForceStartScanTime = 0;
+                    while (flag && System.currentTimeMillis() < leaseEndTime) {
+                        collectTaskGroupQueueChanges();
+                        if (System.currentTimeMillis() >= nextForceStartScanTime) {
+                            dealWithForceStartTaskGroupQueue();
+                            nextForceStartScanTime = System.currentTimeMillis() + FORCE_START_SCAN_INTERVAL_MILLIS;
+                        }
+                        dealWithWaitingTaskGroupQueue();
+                        persistTaskGroupUseSize();
+                        awaitTaskGroupQueueChanged();
+                    }
                 } finally {
+                    taskGroupSlotArbiter.deactivate();
                     registryClient.releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
                 }
             } catch (Throwable e) {
                 log.error("TaskGroupCoordinator error", e);
             } finally {
-                // sleep 5s
-                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS * 5);
+                // sleep 1s, give other masters a chance to take the lock
+                ThreadUtils.sleep(Constants.SLEEP_TIME_MILLIS);
             }
         }
     }
@@ -271,66 +309,131 @@ public class TaskGroupCoordinator extends BaseDaemonThread implements AutoClosea
         }
     }
 
-    private void dealWithWaitingTaskGroupQueue() {
-        // Find the TaskGroup which usage < maxSize.
-        // Find the highest priority inQueue task group queue(Which is inQueue and status is Waiting and force start is
-        // NO) belong to the
-        // task group.
-        List<TaskGroup> taskGroups = taskGroupDao.queryAvailableTaskGroups();
-        if (CollectionUtils.isEmpty(taskGroups)) {
-            log.debug("There is no available task group");
-            return;
-        }
-        for (TaskGroup taskGroup : taskGroups) {
-            int availableSize = taskGroup.getGroupSize() - taskGroup.getUseSize();
-            if (availableSize <= 0) {
-                log.info("TaskGroup {} is full, available size is {}", taskGroup, availableSize);
-                continue;
+    /**
+     * Rebuild the {@link TaskGroupSlotArbiter} from db, the TaskGroupQueues are loaded page by page.
+     */
+    private void activateTaskGroupSlotArbiter() {
+        final List<TaskGroupQueue> inQueueTaskGroupQueues = new ArrayList<>();
+        int minTaskGroupQueueId = -1;
+        while (true) {
+            List<TaskGroupQueue> taskGroupQueues =
+                    taskGroupQueueDao.queryInQueueTaskGroupQueue(minTaskGroupQueueId, DEFAULT_LIMIT);
+            if (CollectionUtils.isEmpty(taskGroupQueues)) {
+                break;
+            }
+            inQueueTaskGroupQueues.addAll(taskGroupQueues);
+            minTaskGroupQueueId = taskGroupQueues.get(taskGroupQueues.size() - 1).getId();
+            if (taskGroupQueues.size() < DEFAULT_LIMIT) {
+                break;
             }
+        }
+        maxCollectedTaskGroupQueueId = minTaskGroupQueueId;
+        taskGroupSlotArbiter.activate(taskGroupDao.queryAllTaskGroups(), inQueueTaskGroupQueues);
+        log.info("Success activate TaskGroupSlotArbiter with {} waiting TaskGroupQueue",
+                taskGroupSlotArbiter.getWaitingSize());
+    }
+
+    /**
+     * Collect the TaskGroupQueue changed at other masters, the TaskGroupQueue changed at this master has already
+     * been offered to the arbiter.
+     * <p>
+     * The new TaskGroupQueues are scanned by id from the last collected one. Only the TaskGroups which have waiting
+     * TaskGroupQueues can grant slots, so only these TaskGroups are refreshed, and the released slots are only looked
+     * for in them by checking whether their acquired TaskGroupQueues still exist. The cost is decided by the busy
+     * TaskGroups rather than all the TaskGroups and acquired slots. A TaskGroupQueue missed here, e.g. inserted with a
+     * smaller id but committed later, will be loaded at the next reconciliation.
+     */
+    private void collectTaskGroupQueueChanges() {
+        while (true) {
             List<TaskGroupQueue> taskGroupQueues =
-                    taskGroupQueueDao.queryAllInQueueTaskGroupQueueByGroupId(taskGroup.getId())
-                            .stream()
-                            .filter(taskGroupQueue -> Flag.NO.getCode() == taskGroupQueue.getForceStart())
-                            .filter(taskGroupQueue -> TaskGroupQueueStatus.WAIT_QUEUE == taskGroupQueue.getStatus())
-                            .limit(availableSize)
-                            .collect(Collectors.toList());
+                    taskGroupQueueDao.queryInQueueTaskGroupQueue(maxCollectedTaskGroupQueueId, DEFAULT_LIMIT);
             if (CollectionUtils.isEmpty(taskGroupQueues)) {
-                log.debug("There is no waiting task group queue for task group {}", taskGroup.getName());
-                continue;
+                break;
             }
-            for (TaskGroupQueue taskGroupQueue : taskGroupQueues) {
-                try {
-                    LogUtils.setTaskInstanceIdMDC(taskGroupQueue.getTaskId());
-                    // Reduce the taskGroupSize
-                    boolean acquireResult = taskGroupDao.acquireTaskGroupSlot(taskGroup.getId());
-                    if (!acquireResult) {
-                        log.error("Failed to acquire task group slot for task group {}", taskGroup);
-                        continue;
-                    }
-                    // Notify the waiting task instance
-                    // We notify first, it notify failed, the taskGroupQueue will be in queue, and then we will retry it
-                    // next time.
-                    notifyWaitingTaskInstance(taskGroupQueue);
-
-                    // Set the taskGroupQueue status to RUNNING and remove from queue
-                    taskGroupQueue.setInQueue(Flag.YES.getCode());
-                    taskGroupQueue.setStatus(TaskGroupQueueStatus.ACQUIRE_SUCCESS);
-                    taskGroupQueue.setUpdateTime(new Date());
-                    taskGroupQueueDao.updateById(taskGroupQueue);
-                } catch (UnsupportedOperationException unsupportedOperationException) {
-                    deleteTaskGroupQueueSlot(taskGroupQueue);
-                    log.info(
-                            "Notify the Waiting TaskInstance: {} for taskGroupQueue: {} failed, will release the taskGroupQueue",
-                            taskGroupQueue.getTaskName(), taskGroupQueue.getId(), unsupportedOperationException);
-                } catch (Throwable throwable) {
-                    log.error("Notify Waiting TaskGroupQueue: {} failed", taskGroupQueue, throwable);
-                } finally {
-                    LogUtils.removeTaskInstanceIdMDC();
-                }
+            taskGroupQueues.forEach(taskGroupSlotArbiter::offer);
+            maxCollectedTaskGroupQueueId = taskGroupQueues.get(taskGroupQueues.size() - 1).getId();
+            if (taskGroupQueues.size() < DEFAULT_LIMIT) {
+                break;
+            }
+        }
+
+        final Set<Integer> waitingTaskGroupIds = taskGroupSlotArbiter.getWaitingTaskGroupIds();
+        if (CollectionUtils.isEmpty(waitingTaskGroupIds)) {
+            return;
+        }
+        taskGroupSlotArbiter.refreshTaskGroups(taskGroupDao.queryByIds(waitingTaskGroupIds));
+        final List<Integer> acquiredTaskGroupQueueIds =
+                taskGroupSlotArbiter.getAcquiredTaskGroupQueueIds(waitingTaskGroupIds);
+        if (CollectionUtils.isEmpty(acquiredTaskGroupQueueIds)) {
+            return;
+        }
+        final Set<Integer> existTaskGroupQueueIds = taskGroupQueueDao.queryByIds(acquiredTaskGroupQueueIds)
+                .stream()
+                .filter(taskGroupQueue -> Flag.YES.getCode() == taskGroupQueue.getInQueue())
+                .map(TaskGroupQueue::getId)
+                .collect(Collectors.toSet());
+        for (Integer acquiredTaskGroupQueueId : acquiredTaskGroupQueueIds) {
+            if (!existTaskGroupQueueIds.contains(acquiredTaskGroupQueueId)) {
+                log.info("The TaskGroupQueue: {} has been released by other master", acquiredTaskGroupQueueId);
+                taskGroupSlotArbiter.release(acquiredTaskGroupQueueId);
             }
         }
     }
 
+    private void dealWithWaitingTaskGroupQueue() {
+        // Grant the available slots to the highest priority waiting task group queue(Which is inQueue and status is
+        // Waiting and force start is NO) in memory.
+        // Notify the waiting task instances, and then persist the grants in batch.
+        final List<TaskGroupQueue> grantedTaskGroupQueues = taskGroupSlotArbiter.grant();
+        if (CollectionUtils.isEmpty(grantedTaskGroupQueues)) {
+            log.debug("There is no waiting task group queue can acquire slot");
+            return;
+        }
+        final List<Integer> notifiedTaskGroupQueueIds = new ArrayList<>();
+        for (TaskGroupQueue taskGroupQueue : grantedTaskGroupQueues) {
+            try {
+                LogUtils.setTaskInstanceIdMDC(taskGroupQueue.getTaskId());
+                // Notify the waiting task instance
+                // We notify first, it notify failed, the taskGroupQueue will be put back to waiting, and then we will
+                // retry it next time.
+                notifyWaitingTaskInstance(taskGroupQueue);
+                notifiedTaskGroupQueueIds.add(taskGroupQueue.getId());
+            } catch (UnsupportedOperationException unsupportedOperationException) {
+                deleteTaskGroupQueueSlot(taskGroupQueue);
+                log.info(
+                        "Notify the Waiting TaskInstance: {} for taskGroupQueue: {} failed, will release the taskGroupQueue",
+                        taskGroupQueue.getTaskName(), taskGroupQueue.getId(), unsupportedOperationException);
+            } catch (Throwable throwable) {
+                taskGroupSlotArbiter.revoke(taskGroupQueue);
+                log.error("Notify Waiting TaskGroupQueue: {} failed", taskGroupQueue, throwable);
+            } finally {
+                LogUtils.removeTaskInstanceIdMDC();
+            }
+        }
+        // Set the taskGroupQueue status to ACQUIRE_SUCCESS
+        taskGroupQueueDao.updateStatusByIds(notifiedTaskGroupQueueIds, TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        log.info("Success grant task group slot to {} TaskGroupQueue", notifiedTaskGroupQueueIds.size());
+    }
+
+    /**
+     * Write the use size of the TaskGroups which is changed by the arbiter back to db.
+     */
+    private void persistTaskGroupUseSize() {
+        taskGroupSlotArbiter.drainChangedUseSize().forEach(taskGroupDao::updateUseSize);
+    }
+
+    private void awaitTaskGroupQueueChanged() throws InterruptedException {
+        if (taskGroupQueueChangedSignal.tryAcquire(COLLECT_CHANGE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            taskGroupQueueChangedSignal.drainPermits();
+        }
+    }
+
+    private void signalTaskGroupQueueChanged() {
+        if (taskGroupQueueChangedSignal.availablePermits() == 0) {
+            taskGroupQueueChangedSignal.release();
+        }
+    }
+
     /**
      * If the {@link TaskInstance#getTaskGroupId()} > 0, and the TaskGroup flag is {@link Flag#YES} then the task instance need to use task group.
      *
@@ -389,8 +492,12 @@ public class TaskGroupCoordinator extends BaseDaemonThread implements AutoClosea
                 .createTime(now)
                 .updateTime(now)
                 .build();
-        log.info("Success insert TaskGroupQueue: {} for TaskInstance: {}", taskGroupQueue, taskInstance.getName());
         taskGroupQueueDao.insert(taskGroupQueue);
+        log.info("Success insert TaskGroupQueue: {} for TaskInstance: {}", taskGroupQueue, taskInstance.getName());
+        if (taskGroupSlotArbiter.isActive()) {
+            taskGroupSlotArbiter.offer(taskGroupQueue);
+            signalTaskGroupQueueChanged();
+        }
     }
 
     /**
@@ -485,11 +592,16 @@ public class TaskGroupCoordinator extends BaseDaemonThread implements AutoClosea
     private void deleteTaskGroupQueueSlot(TaskGroupQueue taskGroupQueue) {
         taskGroupQueueDao.deleteById(taskGroupQueue);
         log.info("Success release TaskGroupQueue: {}", taskGroupQueue);
+        if (taskGroupSlotArbiter.isActive()) {
+            taskGroupSlotArbiter.release(taskGroupQueue.getId());
+            signalTaskGroupQueueChanged();
+        }
     }
 
     @Override
     public void close() throws Exception {
         flag = false;
+        signalTaskGroupQueueChanged();
         log.info("TaskGroupCoordinator closed");
     }
 }
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
+import org.apache.dolphinscheduler.dao.entity.TaskGroup;
+import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The in-memory arbiter of the task group slots, only used at the master which hold the task group coordinator lock.
+ * <p>
+ * The arbiter keeps a priority queue of the waiting {@link TaskGroupQueue} and the acquired {@link TaskGroupQueue} for
+ * each {@link TaskGroup}, so that a slot can be granted to the next waiting task once it is released, without counting
+ * and scanning the queue in db. The db is only the journal of the arbitration result, which is used to rebuild the
+ * arbiter when the lock is taken by another master.
+ */
+public class TaskGroupSlotArbiter {
+
+    // The higher priority first, the earlier created first
+    private static final Comparator<TaskGroupQueue> WAITING_ORDER = Comparator
+            .comparingInt(TaskGroupQueue::getPriority)
+            .reversed()
+            .thenComparing(TaskGroupQueue::getId);
+
+    private final Map<Integer, TaskGroupSlots> taskGroupSlotsMap = new HashMap<>();
+
+    private final Map<Integer, TaskGroupQueue> taskGroupQueueMap = new HashMap<>();
+
+    private final Set<Integer> dirtyTaskGroupIds = new HashSet<>();
+
+    private boolean active;
+
+    /**
+     * Rebuild the arbiter from db and start to accept events, the given TaskGroupQueues should be in queue.
+     */
+    public synchronized void activate(final Collection<TaskGroup> taskGroups,
+                                      final Collection<TaskGroupQueue> inQueueTaskGroupQueues) {
+        taskGroupSlotsMap.clear();
+        taskGroupQueueMap.clear();
+        dirtyTaskGroupIds.clear();
+        refreshTaskGroups(taskGroups);
+        inQueueTaskGroupQueues.forEach(this::offer);
+        // The use size in db may be stale, write back the arbitrated one
+        dirtyTaskGroupIds.addAll(taskGroupSlotsMap.keySet());
+        active = true;
+    }
+
+    /**
+     * Stop accepting events and drop the in-memory state, this should be called once the lock is released.
+     */
+    public synchronized void deactivate() {
+        active = false;
+        taskGroupSlotsMap.clear();
+        taskGroupQueueMap.clear();
+        dirtyTaskGroupIds.clear();
+    }
+
+    public synchronized boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Refresh the TaskGroup definition, e.g. the group size might be changed by the user.
+     */
+    public synchronized void refreshTaskGroups(final Collection<TaskGroup> taskGroups) {
+        for (TaskGroup taskGroup : taskGroups) {
+            taskGroupSlotsMap.computeIfAbsent(taskGroup.getId(), TaskGroupSlots::new).taskGroup = taskGroup;
+        }
+    }
+
+    /**
+     * Offer the TaskGroupQueue to the arbiter, the TaskGroupQueue which is already known will be ignored.
+     */
+    public synchronized void offer(final TaskGroupQueue taskGroupQueue) {
+        if (taskGroupQueue.getId() == null || taskGroupQueueMap.containsKey(taskGroupQueue.getId())) {
+            return;
+        }
+        if (Flag.YES.getCode() != taskGroupQueue.getInQueue()
+                || Flag.YES.getCode() == taskGroupQueue.getForceStart()) {
+            // The force start TaskGroupQueue doesn't use the slot, will be notified by the coordinator directly
+            return;
+        }
+        final TaskGroupSlots taskGroupSlots =
+                taskGroupSlotsMap.computeIfAbsent(taskGroupQueue.getGroupId(), TaskGroupSlots::new);
+        taskGroupQueueMap.put(taskGroupQueue.getId(), taskGroupQueue);
+        if (TaskGroupQueueStatus.ACQUIRE_SUCCESS == taskGroupQueue.getStatus()) {
+            taskGroupSlots.acquiredTaskGroupQueueIds.add(taskGroupQueue.getId());
+            dirtyTaskGroupIds.add(taskGroupQueue.getGroupId());
+        } else {
+            taskGroupSlots.waitingTaskGroupQueues.add(taskGroupQueue);
+        }
+    }
+
+    /**
+     * Release the slot or the waiting position of the given TaskGroupQueue.
+     */
+    public synchronized void release(final Integer taskGroupQueueId) {
+        final TaskGroupQueue taskGroupQueue = taskGroupQueueMap.remove(taskGroupQueueId);
+        if (taskGroupQueue == null) {
+            return;
+        }
+        final TaskGroupSlots taskGroupSlots = taskGroupSlotsMap.get(taskGroupQueue.getGroupId());
+        if (taskGroupSlots.acquiredTaskGroupQueueIds.remove(taskGroupQueueId)) {
+            dirtyTaskGroupIds.add(taskGroupQueue.getGroupId());
+        } else {
+            taskGroupSlots.waitingTaskGroupQueues.remove(taskGroupQueue);
+        }
+    }
+
+    /**
+     * Put the granted TaskGroupQueue back to the waiting queue, used when the grant cannot be notified right now.
+     */
+    public synchronized void revoke(final TaskGroupQueue taskGroupQueue) {
+        final TaskGroupSlots taskGroupSlots = taskGroupSlotsMap.get(taskGroupQueue.getGroupId());
+        if (taskGroupSlots == null || !taskGroupSlots.acquiredTaskGroupQueueIds.remove(taskGroupQueue.getId())) {
+            return;
+        }
+        taskGroupQueue.setStatus(TaskGroupQueueStatus.WAIT_QUEUE);
+        taskGroupSlots.waitingTaskGroupQueues.add(taskGroupQueue);
+        dirtyTaskGroupIds.add(taskGroupQueue.getGroupId());
+    }
+
+    /**
+     * Grant the available slots to the highest priority waiting TaskGroupQueues.
+     *
+     * @return the granted TaskGroupQueues, whose status is {@link TaskGroupQueueStatus#ACQUIRE_SUCCESS}.
+     */
+    public synchronized List<TaskGroupQueue> grant() {
+        final List<TaskGroupQueue> grantedTaskGroupQueues = new ArrayList<>();
+        for (TaskGroupSlots taskGroupSlots : taskGroupSlotsMap.values()) {
+            if (taskGroupSlots.taskGroup == null) {
+                // The TaskGroup is not exist, the TaskGroupQueue will be cleared by reconciliation
+                continue;
+            }
+            while (!taskGroupSlots.waitingTaskGroupQueues.isEmpty()
+                    && taskGroupSlots.acquiredTaskGroupQueueIds.size() < taskGroupSlots.taskGroup.getGroupSize()) {
+                final TaskGroupQueue taskGroupQueue = taskGroupSlots.waitingTaskGroupQueues.poll();
+                taskGroupQueue.setStatus(TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+                taskGroupSlots.acquiredTaskGroupQueueIds.add(taskGroupQueue.getId());
+                dirtyTaskGroupIds.add(taskGroupSlots.taskGroupId);
+                grantedTaskGroupQueues.add(taskGroupQueue);
+            }
+        }
+        return grantedTaskGroupQueues;
+    }
+
+    /**
+     * Get the ids of the TaskGroupQueue which acquired slot.
+     */
+    public synchronized List<Integer> getAcquiredTaskGroupQueueIds() {
+        final List<Integer> acquiredTaskGroupQueueIds = new ArrayList<>();
+        for (TaskGroupSlots taskGroupSlots : taskGroupSlotsMap.values()) {
+            acquiredTaskGroupQueueIds.addAll(taskGroupSlots.acquiredTaskGroupQueueIds);
+        }
+        return acquiredTaskGroupQueueIds;
+    }
+
+    /**
+     * Get the ids of the TaskGroupQueue which acquired slot of the given TaskGroups.
+     */
+    public synchronized List<Integer> getAcquiredTaskGroupQueueIds(final Collection<Integer> taskGroupIds) {
+        final List<Integer> acquiredTaskGroupQueueIds = new ArrayList<>();
+        for (Integer taskGroupId : taskGroupIds) {
+            final TaskGroupSlots taskGroupSlots = taskGroupSlotsMap.get(taskGroupId);
+            if (taskGroupSlots != null) {
+                acquiredTaskGroupQueueIds.addAll(taskGroupSlots.acquiredTaskGroupQueueIds);
+            }
+        }
+        return acquiredTaskGroupQueueIds;
+    }
+
+    /**
+     * Get the ids of the TaskGroups which have waiting TaskGroupQueues, only these TaskGroups may grant slots.
+     */
+    public synchronized Set<Integer> getWaitingTaskGroupIds() {
+        final Set<Integer> waitingTaskGroupIds = new HashSet<>();
+        for (TaskGroupSlots taskGroupSlots : taskGroupSlotsMap.values()) {
+            if (!taskGroupSlots.waitingTaskGroupQueues.isEmpty()) {
+                waitingTaskGroupIds.add(taskGroupSlots.taskGroupId);
+            }
+        }
+        return waitingTaskGroupIds;
+    }
+
+    /**
+     * Get and reset the use size of the TaskGroups changed since the last call, the key is TaskGroup id.
+     */
+    public synchronized Map<Integer, Integer> drainChangedUseSize() {
+        final Map<Integer, Integer> changedUseSize = new HashMap<>();
+        for (Integer taskGroupId : dirtyTaskGroupIds) {
+            final TaskGroupSlots taskGroupSlots = taskGroupSlotsMap.get(taskGroupId);
+            if (taskGroupSlots != null && taskGroupSlots.taskGroup != null) {
+                changedUseSize.put(taskGroupId, taskGroupSlots.acquiredTaskGroupQueueIds.size());
+            }
+        }
+        dirtyTaskGroupIds.clear();
+        return changedUseSize;
+    }
+
+    public synchronized int getWaitingSize() {
+        return taskGroupSlotsMap.values().stream().mapToInt(slots -> slots.waitingTaskGroupQueues.size()).sum();
+    }
+
+    private static class TaskGroupSlots {
+
+        private final Integer taskGroupId;
+
+        private TaskGroup taskGroup;
+
+        private final Set<Integer> acquiredTaskGroupQueueIds = new HashSet<>();
+
+        private final PriorityQueue<TaskGroupQueue> waitingTaskGroupQueues = new PriorityQueue<>(WAITING_ORDER);
+
+        private TaskGroupSlots(final Integer taskGroupId) {
+            this.taskGroupId = taskGroupId;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine;
+
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import lombok.NonNull;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.ImmutableList;
+
+@Component
+public class WorkerTaskExecutionRunnableCacheRepository implements IWorkerTaskExecutionRunnableRepository {
+
+    private final Map<String, Set<ITaskExecutionRunnable>> workerTaskExecutionRunnableMap = new ConcurrentHashMap<>();
+
+    // Used to find the previous worker host when the task is moved or removed
+    private final Map<ITaskExecutionRunnable, String> taskExecutionRunnableWorkerMap = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void registerMetrics() {
+        TaskMetrics.registerWorkerTaskIndexSizeGauge(this::size);
+    }
+
+    @Override
+    public synchronized void put(@NonNull final String workerHost,
+                                 @NonNull final ITaskExecutionRunnable taskExecutionRunnable) {
+        final String previousWorkerHost = taskExecutionRunnableWorkerMap.put(taskExecutionRunnable, workerHost);
+        if (workerHost.equals(previousWorkerHost)) {
+            return;
+        }
+        if (previousWorkerHost != null) {
+            removeFromWorker(previousWorkerHost, taskExecutionRunnable);
+        }
+        workerTaskExecutionRunnableMap
+                .computeIfAbsent(workerHost, k -> ConcurrentHashMap.newKeySet())
+                .add(taskExecutionRunnable);
+    }
+
+    @Override
+    public Collection<ITaskExecutionRunnable> get(final String workerHost) {
+        final Set<ITaskExecutionRunnable> taskExecutionRunnables = workerTaskExecutionRunnableMap.get(workerHost);
+        if (taskExecutionRunnables == null) {
+            return Collections.emptyList();
+        }
+        return ImmutableList.copyOf(taskExecutionRunnables);
+    }
+
+    @Override
+    public synchronized void remove(@NonNull final ITaskExecutionRunnable taskExecutionRunnable) {
+        final String workerHost = taskExecutionRunnableWorkerMap.remove(taskExecutionRunnable);
+        if (workerHost != null) {
+            removeFromWorker(workerHost, taskExecutionRunnable);
+        }
+    }
+
+    @Override
+    public int size() {
+        return taskExecutionRunnableWorkerMap.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+        workerTaskExecutionRunnableMap.clear();
+        taskExecutionRunnableWorkerMap.clear();
+    }
+
+    private void removeFromWorker(final String workerHost, final ITaskExecutionRunnable taskExecutionRunnable) {
+        final Set<ITaskExecutionRunnable> taskExecutionRunnables = workerTaskExecutionRunnableMap.get(workerHost);
+        if (taskExecutionRunnables == null) {
+            return;
+        }
+        taskExecutionRunnables.remove(taskExecutionRunnable);
+        if (taskExecutionRunnables.isEmpty()) {
+            workerTaskExecutionRunnableMap.remove(workerHost);
+        }
+    }
+}
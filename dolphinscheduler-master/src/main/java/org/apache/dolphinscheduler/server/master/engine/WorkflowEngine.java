@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.master.engine;
 
 import org.apache.dolphinscheduler.server.master.engine.command.CommandEngine;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceWriteBehindPersister;
 import org.apache.dolphinscheduler.server.master.runner.MasterTaskExecutorBootstrap;
 
 import lombok.extern.slf4j.Slf4j;
@@ -41,8 +42,13 @@ public class WorkflowEngine implements AutoCloseable {
     @Autowired
     private CommandEngine commandEngine;
 
+    @Autowired
+    private TaskInstanceWriteBehindPersister taskInstanceWriteBehindPersister;
+
     public void start() {
 
+        taskInstanceWriteBehindPersister.start();
+
         taskGroupCoordinator.start();
 
         masterTaskExecutorBootstrap.start();
@@ -57,6 +63,8 @@ public class WorkflowEngine implements AutoCloseable {
     @Override
     public void close() throws Exception {
         try (
+                final TaskInstanceWriteBehindPersister taskInstanceWriteBehindPersister1 =
+                        taskInstanceWriteBehindPersister;
                 final CommandEngine commandEngine1 = commandEngine;
                 final WorkflowEventBusCoordinator workflowEventBusCoordinator1 = workflowEventBusCoordinator;
                 final MasterTaskExecutorBootstrap masterTaskExecutorBootstrap1 = masterTaskExecutorBootstrap;
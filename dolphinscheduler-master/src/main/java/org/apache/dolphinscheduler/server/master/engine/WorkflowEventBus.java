@@ -20,10 +20,13 @@ package org.apache.dolphinscheduler.server.master.engine;
 import org.apache.dolphinscheduler.eventbus.AbstractDelayEventBus;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -35,10 +38,36 @@ public class WorkflowEventBus extends AbstractDelayEventBus<AbstractLifecycleEve
 
     private final WorkflowEventBusSummary workflowEventBusSummary = new WorkflowEventBusSummary();
 
+    /**
+     * The lock used to make sure the events of the workflow are fired by one thread at the same time, the workflow
+     * might be moved between {@link WorkflowEventBusFireWorker}s.
+     */
+    private final ReentrantLock fireLock = new ReentrantLock();
+
+    /**
+     * The listener will be notified after an event is published, this is used to wake up the
+     * {@link WorkflowEventBusFireWorker} which the event bus is registered to.
+     */
+    @Setter
+    private volatile Consumer<AbstractLifecycleEvent> eventPublishedListener;
+
     public void publish(final AbstractLifecycleEvent event) {
         super.publish(event);
         workflowEventBusSummary.increaseEventCount();
         log.info("Publish event: {}", event);
+        final Consumer<AbstractLifecycleEvent> listener = eventPublishedListener;
+        if (listener != null) {
+            listener.accept(event);
+        }
+    }
+
+    /**
+     * Put back the event which failed to fire, the listener will not be notified, the caller decides when to fire
+     * the workflow again.
+     */
+    public void republish(final AbstractLifecycleEvent event) {
+        super.publish(event);
+        log.info("Republish event: {}", event);
     }
 
     @Data
@@ -17,9 +17,10 @@
 
 package org.apache.dolphinscheduler.server.master.engine;
 
-import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.server.master.engine.assigner.IWorkflowEventBusFireWorkerAssigner;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
-import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
+
+import java.util.concurrent.locks.ReentrantLock;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -35,42 +36,42 @@ public class WorkflowEventBusCoordinator implements AutoCloseable {
     @Autowired
     private WorkflowEventBusFireWorkers workflowEventBusFireWorkers;
 
+    @Autowired
+    private IWorkflowEventBusFireWorkerAssigner workflowEventBusFireWorkerAssigner;
+
     public void start() {
         workflowEventBusFireWorkers.start();
         log.info("WorkflowEventBusCoordinator started");
     }
 
     /**
-     * Register a WorkflowExecuteRunnable to the corresponding WorkflowEventBusFireWorker, once the WorkflowExecuteRunnable has been registered,
+     * Register a WorkflowExecuteRunnable to the WorkflowEventBusFireWorker chosen by the
+     * {@link IWorkflowEventBusFireWorkerAssigner}, once the WorkflowExecuteRunnable has been registered,
      * then the event will auto handler by the WorkflowEventBusFireWorker
      */
     public void registerWorkflowEventBus(IWorkflowExecutionRunnable workflowExecutionRunnable) {
-        final int workerSlot = calculateWorkflowEventBusFireWorkerSlot(workflowExecutionRunnable);
+        final int workerSlot = workflowEventBusFireWorkerAssigner.assign(
+                workflowExecutionRunnable, workflowEventBusFireWorkers.getWorkers());
         final WorkflowEventBusFireWorker workflowEventBusFireWorker = workflowEventBusFireWorkers.getWorker(workerSlot);
         workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
     }
 
     /**
-     * UeRegister a WorkflowExecuteRunnable to the corresponding WorkflowEventBusFireWorker, once the WorkflowExecuteRunnable has been deregistered,
-     * then the EventBus will be removed from the WorkflowEventBusFireWorker.
+     * UeRegister a WorkflowExecuteRunnable from the WorkflowEventBusFireWorker which it belongs to, once the
+     * WorkflowExecuteRunnable has been deregistered, then the EventBus will be removed from the WorkflowEventBusFireWorker.
+     * <p> The workflow might be stolen by other worker, so we cannot calculate the worker by the workflow.
      */
     public void unRegisterWorkflowEventBus(IWorkflowExecutionRunnable workflowExecutionRunnable) {
-        final int workerSlot = calculateWorkflowEventBusFireWorkerSlot(workflowExecutionRunnable);
-        final WorkflowEventBusFireWorker workflowEventBusFireWorker = workflowEventBusFireWorkers.getWorker(workerSlot);
-        workflowEventBusFireWorker.unRegisterWorkflowEventBus(workflowExecutionRunnable);
-    }
-
-    /**
-     * Calculate the slot of the WorkflowEventBusFireWorker which the WorkflowExecuteRunnable should be registered.
-     * <p> The slot is calculated by the workflowInstanceId % workerSize.
-     * <p> e.g. If the workflowInstanceId is 1, and the workerSize is 3, then the slot is 1, the workflow will be registered to the worker[1].
-     * <p> If the workflowInstanceIds are not consecutive numbers, these will cause some worker busy.
-     */
-    private int calculateWorkflowEventBusFireWorkerSlot(IWorkflowExecutionRunnable workflowExecutionRunnable) {
-        final IWorkflowExecuteContext workflowExecuteContext = workflowExecutionRunnable.getWorkflowExecuteContext();
-        final WorkflowInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
-        final Integer workflowInstanceId = workflowInstance.getId();
-        return workflowInstanceId % workflowEventBusFireWorkers.getWorkerSize();
+        // Hold the fire lock to avoid the workflow being transferred between workers during unregister
+        final ReentrantLock fireLock = workflowExecutionRunnable.getWorkflowEventBus().getFireLock();
+        fireLock.lock();
+        try {
+            for (WorkflowEventBusFireWorker workflowEventBusFireWorker : workflowEventBusFireWorkers.getWorkers()) {
+                workflowEventBusFireWorker.unRegisterWorkflowEventBus(workflowExecutionRunnable);
+            }
+        } finally {
+            fireLock.unlock();
+        }
     }
 
     @Override
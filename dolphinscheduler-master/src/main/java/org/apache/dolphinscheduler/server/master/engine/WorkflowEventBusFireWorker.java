@@ -20,35 +20,62 @@ package org.apache.dolphinscheduler.server.master.engine;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
-import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.eventbus.AbstractDelayEvent;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.server.master.engine.exceptions.WorkflowEventFireException;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.WorkflowInstanceMetrics;
 import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
 import org.apache.dolphinscheduler.server.master.utils.ExceptionUtils;
 
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
-
-import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * The worker used to fire the events of the registered workflows.
+ * <p> Once an event is published to a registered {@link WorkflowEventBus}, the workflow will be put into the
+ * trigger queue of the worker and the worker thread will be woken up, if the event is a delay event, the workflow will
+ * be triggered when the event expired. So the worker thread will block when there is no event need to fire.
+ */
 @Slf4j
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class WorkflowEventBusFireWorker {
 
+    private static final long DATABASE_FAILED_RETRY_INTERVAL_MILLS = 5_000;
+
+    @Getter
+    private final int workerSlot;
+
     private final Map<Integer, IWorkflowExecutionRunnable> registeredWorkflowExecuteRunnableMap =
             new ConcurrentHashMap<>();
 
     private final Map<ILifecycleEventType, ILifecycleEventHandler> eventHandlerMap = new ConcurrentHashMap<>();
 
+    private final DelayQueue<WorkflowFireTrigger> workflowFireTriggerQueue = new DelayQueue<>();
+
+    /**
+     * The workflows which already have a non-delayed trigger in the queue, used to avoid duplicate triggers.
+     */
+    private final Set<Integer> readyWorkflowInstanceIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The earliest pending delayed trigger of each workflow, the workflow only keeps one delayed trigger in the queue.
+     */
+    private final Map<Integer, WorkflowFireTrigger> delayedWorkflowFireTriggers = new ConcurrentHashMap<>();
+
+    public WorkflowEventBusFireWorker(int workerSlot) {
+        this.workerSlot = workerSlot;
+    }
+
     public void registerEventHandler(ILifecycleEventHandler eventHandler) {
         checkArgument(eventHandler != null, "event handler cannot be null");
         checkArgument(eventHandler.matchEventType() != null, "event type cannot be null");
@@ -64,50 +91,182 @@ public class WorkflowEventBusFireWorker {
                 "WorkflowExecuteRunnable(%s/%s already registered at WorkflowEventBusFireWorker", workflowInstanceId,
                 workflowInstanceName);
         registeredWorkflowExecuteRunnableMap.put(workflowInstanceId, workflowExecutionRunnable);
+
+        final WorkflowEventBus workflowEventBus = workflowExecutionRunnable.getWorkflowEventBus();
+        workflowEventBus.setEventPublishedListener(
+                event -> triggerWorkflow(workflowInstanceId, event.getDelay(TimeUnit.MILLISECONDS)));
+        // The events might be published before the workflow registered
+        if (!workflowEventBus.isEmpty()) {
+            triggerWorkflow(workflowInstanceId, 0);
+        }
     }
 
     public void unRegisterWorkflowEventBus(IWorkflowExecutionRunnable workflowExecutionRunnable) {
         final IWorkflowExecuteContext workflowExecuteContext = workflowExecutionRunnable.getWorkflowExecuteContext();
         final WorkflowInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
         final Integer workflowInstanceId = workflowInstance.getId();
-        registeredWorkflowExecuteRunnableMap.remove(workflowInstanceId, workflowExecutionRunnable);
+        if (registeredWorkflowExecuteRunnableMap.remove(workflowInstanceId, workflowExecutionRunnable)) {
+            workflowExecutionRunnable.getWorkflowEventBus().setEventPublishedListener(null);
+            cancelDelayedTrigger(workflowInstanceId);
+        }
     }
 
-    public void fireAllRegisteredEvent() {
-        final List<IWorkflowExecutionRunnable> workflowExecutionRunnables = getWaitingFireWorkflowExecutionRunnables();
-        if (CollectionUtils.isEmpty(workflowExecutionRunnables)) {
+    /**
+     * Put the workflow into the trigger queue, the workflow will be fired after the given delay.
+     * <p> A delayed trigger is dropped if the workflow already has a pending delayed trigger which is not later than
+     * it, since the remaining events will be re-checked once the workflow is fired.
+     */
+    public void triggerWorkflow(Integer workflowInstanceId, long delayMills) {
+        if (delayMills <= 0) {
+            if (readyWorkflowInstanceIds.add(workflowInstanceId)) {
+                workflowFireTriggerQueue.add(new WorkflowFireTrigger(workflowInstanceId, 0));
+            }
             return;
         }
-        for (IWorkflowExecutionRunnable workflowExecutionRunnable : workflowExecutionRunnables) {
-            final Integer workflowInstanceId = workflowExecutionRunnable.getId();
-            final String workflowInstanceName = workflowExecutionRunnable.getName();
+        final WorkflowFireTrigger workflowFireTrigger = new WorkflowFireTrigger(workflowInstanceId, delayMills);
+        delayedWorkflowFireTriggers.compute(workflowInstanceId, (id, pendingTrigger) -> {
+            if (pendingTrigger != null) {
+                if (pendingTrigger.getTriggerTimeInMillis() <= workflowFireTrigger.getTriggerTimeInMillis()) {
+                    return pendingTrigger;
+                }
+                workflowFireTriggerQueue.remove(pendingTrigger);
+            }
+            workflowFireTriggerQueue.add(workflowFireTrigger);
+            return workflowFireTrigger;
+        });
+    }
+
+    /**
+     * Block until there is a workflow need to be fired, and then fire all the expired events of the workflow.
+     */
+    public void fireTriggeredEvent() throws InterruptedException {
+        doFireTriggeredEvent(workflowFireTriggerQueue.take());
+    }
+
+    /**
+     * Wait at most the given timeout until there is a workflow need to be fired, and then fire all the expired events
+     * of the workflow.
+     *
+     * @return false if there is no workflow need to be fired in the given timeout
+     */
+    public boolean fireTriggeredEvent(long timeoutMills) throws InterruptedException {
+        final WorkflowFireTrigger workflowFireTrigger =
+                workflowFireTriggerQueue.poll(timeoutMills, TimeUnit.MILLISECONDS);
+        if (workflowFireTrigger == null) {
+            return false;
+        }
+        doFireTriggeredEvent(workflowFireTrigger);
+        return true;
+    }
+
+    /**
+     * Transfer one workflow which is waiting to be fired to the given worker, the workflow which is firing will not be
+     * transferred.
+     *
+     * @return the transferred workflow, or empty if there is no workflow can be transferred
+     */
+    public Optional<IWorkflowExecutionRunnable> transferReadyWorkflow(WorkflowEventBusFireWorker targetWorker) {
+        for (Integer workflowInstanceId : readyWorkflowInstanceIds) {
+            final IWorkflowExecutionRunnable workflowExecutionRunnable =
+                    registeredWorkflowExecuteRunnableMap.get(workflowInstanceId);
+            if (workflowExecutionRunnable == null) {
+                continue;
+            }
+            final ReentrantLock fireLock = workflowExecutionRunnable.getWorkflowEventBus().getFireLock();
+            if (!fireLock.tryLock()) {
+                continue;
+            }
             try {
-                LogUtils.setWorkflowInstanceIdMDC(workflowInstanceId);
-                doFireSingleWorkflowEventBus(workflowExecutionRunnable);
-            } catch (Exception ex) {
-                log.error("Fire event failed for WorkflowExecuteRunnable: {}", workflowInstanceName, ex);
+                if (!registeredWorkflowExecuteRunnableMap.remove(workflowInstanceId, workflowExecutionRunnable)) {
+                    continue;
+                }
+                // The trigger of the workflow is left in the queue, it will be ignored since the workflow is removed
+                readyWorkflowInstanceIds.remove(workflowInstanceId);
+                cancelDelayedTrigger(workflowInstanceId);
+                targetWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+                return Optional.of(workflowExecutionRunnable);
             } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
+                fireLock.unlock();
             }
         }
+        return Optional.empty();
+    }
+
+    public int getRegisteredWorkflowCount() {
+        return registeredWorkflowExecuteRunnableMap.size();
+    }
+
+    public int getReadyWorkflowCount() {
+        return readyWorkflowInstanceIds.size();
+    }
+
+    public int getPendingTriggerCount() {
+        return workflowFireTriggerQueue.size();
+    }
+
+    public boolean isWorkflowRegistered(Integer workflowInstanceId) {
+        return registeredWorkflowExecuteRunnableMap.containsKey(workflowInstanceId);
+    }
+
+    private void cancelDelayedTrigger(Integer workflowInstanceId) {
+        final WorkflowFireTrigger pendingTrigger = delayedWorkflowFireTriggers.remove(workflowInstanceId);
+        if (pendingTrigger != null) {
+            workflowFireTriggerQueue.remove(pendingTrigger);
+        }
     }
 
-    private List<IWorkflowExecutionRunnable> getWaitingFireWorkflowExecutionRunnables() {
-        if (MapUtils.isEmpty(registeredWorkflowExecuteRunnableMap)) {
-            return Collections.emptyList();
+    private void doFireTriggeredEvent(final WorkflowFireTrigger workflowFireTrigger) {
+        final Integer workflowInstanceId = workflowFireTrigger.getWorkflowInstanceId();
+        // Remove before fire, so that the events published during firing will trigger the workflow again
+        readyWorkflowInstanceIds.remove(workflowInstanceId);
+        delayedWorkflowFireTriggers.remove(workflowInstanceId, workflowFireTrigger);
+
+        final IWorkflowExecutionRunnable workflowExecutionRunnable =
+                registeredWorkflowExecuteRunnableMap.get(workflowInstanceId);
+        if (workflowExecutionRunnable == null) {
+            return;
+        }
+        final WorkflowEventBus workflowEventBus = workflowExecutionRunnable.getWorkflowEventBus();
+        final ReentrantLock fireLock = workflowEventBus.getFireLock();
+        boolean databaseFailed = false;
+        fireLock.lock();
+        try {
+            // The workflow might be released to other worker before get the lock
+            if (registeredWorkflowExecuteRunnableMap.get(workflowInstanceId) != workflowExecutionRunnable) {
+                return;
+            }
+            WorkflowInstanceMetrics.recordWorkflowEventBusFireLatency(
+                    workerSlot, System.currentTimeMillis() - workflowFireTrigger.getTriggerTimeInMillis());
+            LogUtils.setWorkflowInstanceIdMDC(workflowInstanceId);
+            databaseFailed = !doFireSingleWorkflowEventBus(workflowExecutionRunnable);
+        } catch (Exception ex) {
+            log.error("Fire event failed for WorkflowExecuteRunnable: {}", workflowExecutionRunnable.getName(), ex);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
+            fireLock.unlock();
+        }
+        if (databaseFailed) {
+            // Retry by a delayed trigger rather than sleeping, so the fire thread can serve other workflows
+            triggerWorkflow(workflowInstanceId, DATABASE_FAILED_RETRY_INTERVAL_MILLS);
+            return;
         }
-        return registeredWorkflowExecuteRunnableMap.values()
-                .stream()
-                .filter(workflowExecuteRunnable -> !workflowExecuteRunnable.getWorkflowEventBus().isEmpty())
-                .collect(Collectors.toList());
+        // The remaining events are not expired or not fired due to failure, trigger the workflow again
+        workflowEventBus.peek().ifPresent(
+                event -> triggerWorkflow(workflowInstanceId, event.getDelay(TimeUnit.MILLISECONDS)));
     }
 
-    private void doFireSingleWorkflowEventBus(final IWorkflowExecutionRunnable workflowExecutionRunnable) {
+    /**
+     * Fire the expired events of the workflow one by one.
+     *
+     * @return false if the database connection failed, the failed event is put back to the event bus and should be
+     * fired again later
+     */
+    private boolean doFireSingleWorkflowEventBus(final IWorkflowExecutionRunnable workflowExecutionRunnable) {
         final WorkflowEventBus workflowEventBus = workflowExecutionRunnable.getWorkflowEventBus();
         while (!workflowEventBus.isEmpty()) {
             Optional<AbstractLifecycleEvent> eventOptional = workflowEventBus.poll();
             if (!eventOptional.isPresent()) {
-                return;
+                return true;
             }
             final AbstractLifecycleEvent lifecycleEvent = eventOptional.get();
             try {
@@ -120,15 +279,16 @@ public class WorkflowEventBusFireWorker {
                 // If the database connection is failed, do not remove the event from the event bus
                 // so that the event can be fired again when the database connection is recovered
                 if (ExceptionUtils.isDatabaseConnectedFailedException(ex)) {
-                    workflowEventBus.publish(lifecycleEvent);
-                    ThreadUtils.sleep(5_000);
-                    return;
+                    workflowEventBus.getWorkflowEventBusSummary().decreaseFireSuccessEventCount();
+                    workflowEventBus.republish(lifecycleEvent);
+                    return false;
                 }
                 workflowEventBus.getWorkflowEventBusSummary().decreaseFireSuccessEventCount();
                 workflowEventBus.getWorkflowEventBusSummary().increaseFireFailedEventCount();
                 throw new WorkflowEventFireException(lifecycleEvent, ex);
             }
         }
+        return true;
     }
 
     private void doFireSingleEvent(final IWorkflowExecutionRunnable workflowExecutionRunnable,
@@ -140,4 +300,22 @@ public class WorkflowEventBusFireWorker {
         lifecycleEventHandler.handle(workflowExecutionRunnable, event);
     }
 
+    private static class WorkflowFireTrigger extends AbstractDelayEvent {
+
+        private final Integer workflowInstanceId;
+
+        WorkflowFireTrigger(Integer workflowInstanceId, long delayMills) {
+            super(delayMills);
+            this.workflowInstanceId = workflowInstanceId;
+        }
+
+        Integer getWorkflowInstanceId() {
+            return workflowInstanceId;
+        }
+
+        long getTriggerTimeInMillis() {
+            return triggerTimeInMillis;
+        }
+    }
+
 }
@@ -19,11 +19,13 @@ package org.apache.dolphinscheduler.server.master.engine;
 
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.engine.assigner.WorkflowEventBusFireWorkerAssignerConfigurationProperties;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.WorkflowInstanceMetrics;
 
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,33 +42,96 @@ public class WorkflowEventBusFireWorkers implements AutoCloseable {
     @Autowired
     private MasterConfig masterConfig;
 
-    private static final long DEFAULT_FIRE_INTERVAL = 100;
-
     private WorkflowEventBusFireWorker[] workflowEventBusFireWorkers;
 
-    private ScheduledExecutorService workflowEventBusFireThreadPool;
+    private ExecutorService workflowEventBusFireThreadPool;
+
+    private volatile boolean running;
+
+    /**
+     * The busy worker should have at least this number of workflows waiting to be fired, then the idle worker can steal
+     * from it, one of the waiting workflows may be taken by the busy worker itself soon.
+     */
+    private static final int MIN_STEALABLE_READY_WORKFLOW_COUNT = 2;
+
+    private boolean workStealingEnabled;
+
+    private long workStealingIntervalMills;
 
     public void start() {
         final int workflowEventBusFireThreadCount = masterConfig.getWorkflowEventBusFireThreadCount();
-        workflowEventBusFireThreadPool = Executors.newScheduledThreadPool(
-                workflowEventBusFireThreadCount,
-                ThreadUtils.newDaemonThreadFactory("DS-WorkflowEventBusFireWorker-%d"));
+        final WorkflowEventBusFireWorkerAssignerConfigurationProperties assignerConfigurationProperties =
+                masterConfig.getWorkflowEventBusFireWorkerAssignerConfigurationProperties();
+        workStealingEnabled = assignerConfigurationProperties.isWorkStealingEnabled();
+        workStealingIntervalMills = assignerConfigurationProperties.getWorkStealingInterval().toMillis();
+        workflowEventBusFireThreadPool = ThreadUtils.newDaemonFixedThreadExecutor(
+                "DS-WorkflowEventBusFireWorker-%d", workflowEventBusFireThreadCount);
         workflowEventBusFireWorkers = new WorkflowEventBusFireWorker[workflowEventBusFireThreadCount];
+        running = true;
 
         for (int i = 0; i < workflowEventBusFireThreadCount; i++) {
-            final WorkflowEventBusFireWorker workflowEventBusFireWorker = new WorkflowEventBusFireWorker();
+            final WorkflowEventBusFireWorker workflowEventBusFireWorker = new WorkflowEventBusFireWorker(i);
             eventHandlers.forEach(workflowEventBusFireWorker::registerEventHandler);
             workflowEventBusFireWorkers[i] = workflowEventBusFireWorker;
+            WorkflowInstanceMetrics.registerWorkflowEventBusFireWorkerQueueDepthGauge(
+                    i, workflowEventBusFireWorker::getReadyWorkflowCount);
+            WorkflowInstanceMetrics.registerWorkflowEventBusFireWorkerWorkflowGauge(
+                    i, workflowEventBusFireWorker::getRegisteredWorkflowCount);
+            workflowEventBusFireThreadPool.execute(() -> fireLoop(workflowEventBusFireWorker));
+        }
+        log.info("WorkflowEventBusFireWorkers started, worker size: {}, work stealing enabled: {}",
+                workflowEventBusFireThreadCount, workStealingEnabled);
+    }
 
-            workflowEventBusFireThreadPool.scheduleWithFixedDelay(
-                    workflowEventBusFireWorker::fireAllRegisteredEvent,
-                    DEFAULT_FIRE_INTERVAL,
-                    // todo: do not use a fixed interval for all worker, each worker use wait notify to control the fire
-                    // interval
-                    DEFAULT_FIRE_INTERVAL,
-                    TimeUnit.MILLISECONDS);
+    private void fireLoop(WorkflowEventBusFireWorker workflowEventBusFireWorker) {
+        while (running) {
+            try {
+                if (!workStealingEnabled) {
+                    workflowEventBusFireWorker.fireTriggeredEvent();
+                    continue;
+                }
+                final boolean fired = workflowEventBusFireWorker.fireTriggeredEvent(workStealingIntervalMills);
+                if (!fired || workflowEventBusFireWorker.getReadyWorkflowCount() == 0) {
+                    stealWorkflow(workflowEventBusFireWorker);
+                }
+            } catch (InterruptedException interruptedException) {
+                log.info("WorkflowEventBusFireWorker interrupted, close the fire loop");
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable throwable) {
+                log.error("WorkflowEventBusFireWorker fire event error", throwable);
+            }
         }
-        log.info("WorkflowEventBusFireWorkers started, worker size: {}", workflowEventBusFireThreadCount);
+    }
+
+    /**
+     * Steal a waiting workflow from the busiest worker to the given idle worker.
+     */
+    private void stealWorkflow(WorkflowEventBusFireWorker idleWorker) {
+        WorkflowEventBusFireWorker busiestWorker = null;
+        for (WorkflowEventBusFireWorker workflowEventBusFireWorker : workflowEventBusFireWorkers) {
+            if (workflowEventBusFireWorker == idleWorker
+                    || workflowEventBusFireWorker.getReadyWorkflowCount() < MIN_STEALABLE_READY_WORKFLOW_COUNT) {
+                continue;
+            }
+            if (busiestWorker == null
+                    || workflowEventBusFireWorker.getReadyWorkflowCount() > busiestWorker.getReadyWorkflowCount()) {
+                busiestWorker = workflowEventBusFireWorker;
+            }
+        }
+        if (busiestWorker == null) {
+            return;
+        }
+        final Optional<IWorkflowExecutionRunnable> stolenWorkflow = busiestWorker.transferReadyWorkflow(idleWorker);
+        if (stolenWorkflow.isPresent()) {
+            WorkflowInstanceMetrics.incWorkflowEventBusFireWorkerSteal(idleWorker.getWorkerSlot());
+            log.debug("WorkflowEventBusFireWorker-{} steal workflow: {} from WorkflowEventBusFireWorker-{}",
+                    idleWorker.getWorkerSlot(), stolenWorkflow.get().getName(), busiestWorker.getWorkerSlot());
+        }
+    }
+
+    public WorkflowEventBusFireWorker[] getWorkers() {
+        return workflowEventBusFireWorkers;
     }
 
     public WorkflowEventBusFireWorker getWorker(Integer workerSlot) {
@@ -79,8 +144,9 @@ public class WorkflowEventBusFireWorkers implements AutoCloseable {
 
     @Override
     public void close() throws Exception {
+        running = false;
         if (workflowEventBusFireThreadPool != null) {
-            workflowEventBusFireThreadPool.shutdown();
+            workflowEventBusFireThreadPool.shutdownNow();
         }
         log.info("WorkflowEventBusFireWorkers closed");
     }
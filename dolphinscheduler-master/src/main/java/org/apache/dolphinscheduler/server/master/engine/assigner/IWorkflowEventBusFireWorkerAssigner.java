@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.assigner;
+
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorker;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+
+/**
+ * The assigner used to choose a {@link WorkflowEventBusFireWorker} which the workflow event bus will be registered to.
+ */
+public interface IWorkflowEventBusFireWorkerAssigner {
+
+    /**
+     * Choose a worker for the given workflow.
+     *
+     * @param workflowExecutionRunnable the workflow need to be registered.
+     * @param workflowEventBusFireWorkers all the workers, the index of the worker is the worker slot.
+     * @return the worker slot.
+     */
+    int assign(IWorkflowExecutionRunnable workflowExecutionRunnable,
+               WorkflowEventBusFireWorker[] workflowEventBusFireWorkers);
+
+    WorkflowEventBusFireWorkerAssignerType getType();
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.assigner;
+
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusFireWorker;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+
+/**
+ * Choose the worker which has the least workflows waiting to be fired, if there are multiple workers have the same
+ * waiting workflows, choose the one which has the least registered workflows.
+ */
+public class LeastLoadWorkerAssigner implements IWorkflowEventBusFireWorkerAssigner {
+
+    @Override
+    public int assign(IWorkflowExecutionRunnable workflowExecutionRunnable,
+                      WorkflowEventBusFireWorker[] workflowEventBusFireWorkers) {
+        int selectedSlot = 0;
+        int selectedReadyWorkflowCount = Integer.MAX_VALUE;
+        int selectedRegisteredWorkflowCount = Integer.MAX_VALUE;
+        for (int i = 0; i < workflowEventBusFireWorkers.length; i++) {
+            final int readyWorkflowCount = workflowEventBusFireWorkers[i].getReadyWorkflowCount();
+            final int registeredWorkflowCount = workflowEventBusFireWorkers[i].getRegisteredWorkflowCount();
+            if (readyWorkflowCount < selectedReadyWorkflowCount
+                    || (readyWorkflowCount == selectedReadyWorkflowCount
+                            && registeredWorkflowCount < selectedRegisteredWorkflowCount)) {
+                selectedSlot = i;
+                selectedReadyWorkflowCount = readyWorkflowCount;
+                selectedRegisteredWorkflowCount = registeredWorkflowCount;
+            }
+        }
+        return selectedSlot;
+    }
+
+    @Override
+    public WorkflowEventBusFireWorkerAssignerType getType() {
+        return WorkflowEventBusFireWorkerAssignerType.LEAST_LOAD;
+    }
+}
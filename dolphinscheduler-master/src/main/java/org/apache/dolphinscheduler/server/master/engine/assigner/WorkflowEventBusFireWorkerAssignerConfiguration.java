@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.assigner;
+
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WorkflowEventBusFireWorkerAssignerConfiguration {
+
+    @Bean
+    public IWorkflowEventBusFireWorkerAssigner workflowEventBusFireWorkerAssigner(MasterConfig masterConfig) {
+        WorkflowEventBusFireWorkerAssignerConfigurationProperties properties =
+                masterConfig.getWorkflowEventBusFireWorkerAssignerConfigurationProperties();
+        switch (properties.getType()) {
+            case WORKFLOW_INSTANCE_ID_MODULO:
+                return new WorkflowInstanceIdModuloWorkerAssigner();
+            case LEAST_LOAD:
+                return new LeastLoadWorkerAssigner();
+            default:
+                throw new IllegalArgumentException(
+                        "unSupport workflow event bus fire worker assigner type " + properties.getType());
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.assigner;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+@Data
+public class WorkflowEventBusFireWorkerAssignerConfigurationProperties {
+
+    private WorkflowEventBusFireWorkerAssignerType type =
+            WorkflowEventBusFireWorkerAssignerType.WORKFLOW_INSTANCE_ID_MODULO;
+
+    /**
+     * Whether the idle worker can steal the waiting workflows from the busy workers.
+     */
+    private boolean workStealingEnabled = false;
+
+    /**
+     * The interval of the idle worker try to steal workflows from the busy workers.
+     */
+    private Duration workStealingInterval = Duration.ofSeconds(1);
+
+    public void validate(Errors errors) {
+        if (workStealingInterval == null || workStealingInterval.toMillis() <= 0) {
+            errors.rejectValue("workStealingInterval", "workStealingInterval", "workStealingInterval must > 0");
+        }
+    }
+}
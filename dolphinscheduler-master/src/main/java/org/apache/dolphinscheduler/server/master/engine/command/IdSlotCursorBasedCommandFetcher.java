@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.command;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.server.master.cluster.MasterSlotManager;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.metrics.WorkflowInstanceMetrics;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The command fetcher which is fetch commands by command id and slot, and remember the max fetched command id of the
+ * current slot as a cursor.
+ * <p>
+ * Different from {@link IdSlotBasedCommandFetcher}, the commands are scanned in id order start from the cursor, so the
+ * query can be served by the primary key and the cost will not grow with the size of t_ds_command. The cursor will be
+ * reset once the slot changed or the tail of the table is reached, so the commands which are committed late or failed
+ * to be handled will be fetched in the next round.
+ * <p>
+ * The priority of the command is only respected inside the fetched batch.
+ */
+@Slf4j
+public class IdSlotCursorBasedCommandFetcher implements ICommandFetcher {
+
+    private static final int INITIAL_CURSOR = 0;
+
+    private final CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig;
+
+    private final CommandDao commandDao;
+
+    private final MasterSlotManager masterSlotManager;
+
+    private int cursorSlotIndex = -1;
+
+    private int cursorTotalSlot = -1;
+
+    private int cursor = INITIAL_CURSOR;
+
+    public IdSlotCursorBasedCommandFetcher(CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig,
+                                           MasterSlotManager masterSlotManager,
+                                           CommandDao commandDao) {
+        this.idSlotBasedFetchConfig = idSlotBasedFetchConfig;
+        this.masterSlotManager = masterSlotManager;
+        this.commandDao = commandDao;
+    }
+
+    @Override
+    public List<Command> fetchCommands() {
+        long scheduleStartTime = System.currentTimeMillis();
+        if (!masterSlotManager.checkSlotValid()) {
+            log.warn("MasterSlotManager check slot ({} -> {})is invalidated.",
+                    masterSlotManager.getCurrentMasterSlot(), masterSlotManager.getTotalMasterSlots());
+            return Collections.emptyList();
+        }
+        int currentSlotIndex = masterSlotManager.getCurrentMasterSlot();
+        int totalSlot = masterSlotManager.getTotalMasterSlots();
+        if (currentSlotIndex != cursorSlotIndex || totalSlot != cursorTotalSlot) {
+            log.info("[Slot-{}/{}] The master slot changed, reset the command cursor from {}",
+                    currentSlotIndex, totalSlot, cursor);
+            cursorSlotIndex = currentSlotIndex;
+            cursorTotalSlot = totalSlot;
+            cursor = INITIAL_CURSOR;
+        }
+        int fetchSize = idSlotBasedFetchConfig.getFetchSize();
+        List<Command> commands = commandDao.queryCommandByIdSlotAfterId(
+                currentSlotIndex,
+                totalSlot,
+                idSlotBasedFetchConfig.getIdStep(),
+                cursor,
+                fetchSize);
+        long cost = System.currentTimeMillis() - scheduleStartTime;
+        log.info("[Slot-{}/{}] Fetch {} commands after id {} in {}ms.",
+                currentSlotIndex, totalSlot, commands.size(), cursor, cost);
+        WorkflowInstanceMetrics.recordCommandQueryTime(cost);
+
+        if (commands.size() < fetchSize) {
+            // Reach the tail, rewind to make sure the commands which are committed late will not be missed
+            cursor = INITIAL_CURSOR;
+        } else {
+            cursor = commands.get(commands.size() - 1).getId();
+        }
+        commands.sort(Comparator.comparingInt(IdSlotCursorBasedCommandFetcher::getPriorityCode));
+        return commands;
+    }
+
+    private static int getPriorityCode(Command command) {
+        Priority priority = command.getWorkflowInstancePriority();
+        return priority == null ? Priority.MEDIUM.getCode() : priority.getCode();
+    }
+
+}
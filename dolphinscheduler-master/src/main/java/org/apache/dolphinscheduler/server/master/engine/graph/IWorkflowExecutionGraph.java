@@ -75,6 +75,12 @@ public interface IWorkflowExecutionGraph {
      */
     ITaskExecutionRunnable getTaskExecutionRunnableByTaskCode(final Long taskCode);
 
+    /**
+     * Refresh the task instance id index of the given TaskExecutionRunnable.
+     * <p> Should be called once the TaskExecutionRunnable switch to a new task instance, e.g. first run, retry, failover.
+     */
+    void refreshTaskInstanceIndex(final ITaskExecutionRunnable taskExecutionRunnable);
+
     /**
      * Whether the given task is active.
      */
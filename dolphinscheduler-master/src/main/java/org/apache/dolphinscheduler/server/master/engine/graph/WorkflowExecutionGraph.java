@@ -25,11 +25,13 @@ import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecu
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
@@ -50,6 +52,15 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
 
     private final Set<String> activeTaskExecutionRunnable;
 
+    private final Map<String, GraphNode> graphNodes;
+
+    private final List<GraphNode> graphNodeIndex;
+
+    private final Map<Long, ITaskExecutionRunnable> taskCodeIndex;
+
+    // Looked up from the rpc threads while the workflow event thread is refreshing it.
+    private final Map<Integer, ITaskExecutionRunnable> taskInstanceIdIndex;
+
     public WorkflowExecutionGraph() {
         this.failureTaskChains = new HashSet<>();
         this.pausedTaskChains = new HashSet<>();
@@ -59,6 +70,10 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
         this.successors = new HashMap<>();
         this.totalTaskExecuteRunnableMap = new HashMap<>();
         this.activeTaskExecutionRunnable = new HashSet<>();
+        this.graphNodes = new HashMap<>();
+        this.graphNodeIndex = new ArrayList<>();
+        this.taskCodeIndex = new HashMap<>();
+        this.taskInstanceIdIndex = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -66,12 +81,30 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
         totalTaskExecuteRunnableMap.put(taskExecutionRunnable.getName(), taskExecutionRunnable);
         predecessors.computeIfAbsent(taskExecutionRunnable.getName(), k -> new HashSet<>());
         successors.computeIfAbsent(taskExecutionRunnable.getName(), k -> new HashSet<>());
+
+        getOrCreateGraphNode(taskExecutionRunnable.getName()).taskExecutionRunnable = taskExecutionRunnable;
+        if (taskExecutionRunnable.getTaskDefinition() != null) {
+            taskCodeIndex.put(taskExecutionRunnable.getTaskDefinition().getCode(), taskExecutionRunnable);
+        }
+        refreshTaskInstanceIndex(taskExecutionRunnable);
     }
 
     @Override
     public void addEdge(String fromTaskName, Set<String> toTaskNames) {
-        successors.computeIfAbsent(fromTaskName, k -> new HashSet<>()).addAll(toTaskNames);
-        toTaskNames.forEach(toTask -> predecessors.computeIfAbsent(toTask, k -> new HashSet<>()).add(fromTaskName));
+        final Set<String> fromTaskSuccessors = successors.computeIfAbsent(fromTaskName, k -> new HashSet<>());
+        final GraphNode fromNode = getOrCreateGraphNode(fromTaskName);
+        for (String toTaskName : toTaskNames) {
+            predecessors.computeIfAbsent(toTaskName, k -> new HashSet<>()).add(fromTaskName);
+            if (!fromTaskSuccessors.add(toTaskName)) {
+                continue;
+            }
+            final GraphNode toNode = getOrCreateGraphNode(toTaskName);
+            fromNode.addSuccessor(toNode.index);
+            toNode.addPredecessor(fromNode.index);
+            if (fromNode.blocking) {
+                toNode.blockingPredecessorCount++;
+            }
+        }
     }
 
     @Override
@@ -88,11 +121,8 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
         if (!predecessors.containsKey(taskName)) {
             throw new IllegalArgumentException("Cannot find the task: " + taskName + " in graph");
         }
-        return predecessors
-                .get(taskName)
-                .stream()
-                .map(this::getTaskExecutionRunnableByName)
-                .collect(Collectors.toList());
+        final GraphNode graphNode = graphNodes.get(taskName);
+        return toTaskExecutionRunnables(graphNode.predecessorIndexes, graphNode.predecessorCount);
     }
 
     @Override
@@ -100,11 +130,8 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
         if (!successors.containsKey(taskName)) {
             throw new IllegalArgumentException("Cannot find the task code in graph");
         }
-        return successors
-                .get(taskName)
-                .stream()
-                .map(this::getTaskExecutionRunnableByName)
-                .collect(Collectors.toList());
+        final GraphNode graphNode = graphNodes.get(taskName);
+        return toTaskExecutionRunnables(graphNode.successorIndexes, graphNode.successorCount);
     }
 
     @Override
@@ -119,27 +146,42 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
 
     @Override
     public ITaskExecutionRunnable getTaskExecutionRunnableById(final Integer taskInstanceId) {
-        return totalTaskExecuteRunnableMap.values()
-                .stream()
-                .filter(taskExecutionRunnable -> taskExecutionRunnable.getTaskInstance() != null
-                        && taskInstanceId.equals(taskExecutionRunnable.getTaskInstance().getId()))
-                .findFirst()
-                .orElse(null);
+        final ITaskExecutionRunnable taskExecutionRunnable = taskInstanceIdIndex.get(taskInstanceId);
+        if (taskExecutionRunnable == null) {
+            return null;
+        }
+        // Double check the task instance, the index is refreshed after the task instance is switched.
+        final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
+        if (taskInstance == null || !taskInstanceId.equals(taskInstance.getId())) {
+            return null;
+        }
+        return taskExecutionRunnable;
     }
 
     @Override
     public ITaskExecutionRunnable getTaskExecutionRunnableByTaskCode(final Long taskCode) {
-        return totalTaskExecuteRunnableMap.values()
-                .stream()
-                .filter(taskExecutionRunnable -> taskExecutionRunnable.getTaskDefinition() != null
-                        && taskCode.equals(taskExecutionRunnable.getTaskDefinition().getCode()))
-                .findFirst()
-                .orElse(null);
+        return taskCodeIndex.get(taskCode);
+    }
+
+    @Override
+    public void refreshTaskInstanceIndex(final ITaskExecutionRunnable taskExecutionRunnable) {
+        final GraphNode graphNode = getOrCreateGraphNode(taskExecutionRunnable.getName());
+        if (graphNode.indexedTaskInstanceId != null) {
+            taskInstanceIdIndex.remove(graphNode.indexedTaskInstanceId);
+            graphNode.indexedTaskInstanceId = null;
+        }
+        final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
+        if (taskInstance != null && taskInstance.getId() != null) {
+            taskInstanceIdIndex.put(taskInstance.getId(), taskExecutionRunnable);
+            graphNode.indexedTaskInstanceId = taskInstance.getId();
+        }
     }
 
     @Override
     public boolean isTaskExecutionRunnableActive(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return activeTaskExecutionRunnable.add(taskExecutionRunnable.getName());
+        final boolean added = activeTaskExecutionRunnable.add(taskExecutionRunnable.getName());
+        refreshBlockingState(taskExecutionRunnable.getName());
+        return added;
     }
 
     @Override
@@ -162,12 +204,11 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
 
     @Override
     public boolean isTriggerConditionMet(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return getPredecessors(taskExecutionRunnable.getName())
-                .stream()
-                .allMatch(predecessor -> isTaskFinish(predecessor)
-                        && !isTaskFailure(predecessor)
-                        && !isTaskPaused(predecessor)
-                        && !isTaskKilled(predecessor));
+        final String taskName = taskExecutionRunnable.getName();
+        if (!predecessors.containsKey(taskName)) {
+            throw new IllegalArgumentException("Cannot find the task: " + taskName + " in graph");
+        }
+        return graphNodes.get(taskName).blockingPredecessorCount == 0;
     }
 
     @Override
@@ -203,29 +244,34 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
     @Override
     public void markTaskExecutionRunnableActive(final ITaskExecutionRunnable taskExecutionRunnable) {
         activeTaskExecutionRunnable.add(taskExecutionRunnable.getName());
+        refreshBlockingState(taskExecutionRunnable.getName());
     }
 
     @Override
     public void markTaskExecutionRunnableInActive(final ITaskExecutionRunnable taskExecutionRunnable) {
         activeTaskExecutionRunnable.remove(taskExecutionRunnable.getName());
+        refreshBlockingState(taskExecutionRunnable.getName());
     }
 
     @Override
     public void markTaskExecutionRunnableChainFailure(final ITaskExecutionRunnable taskExecutionRunnable) {
         assertTaskExecutionRunnableState(taskExecutionRunnable, TaskExecutionStatus.FAILURE);
         failureTaskChains.add(taskExecutionRunnable.getName());
+        refreshBlockingState(taskExecutionRunnable.getName());
     }
 
     @Override
     public void markTaskExecutionRunnableChainPause(final ITaskExecutionRunnable taskExecutionRunnable) {
         assertTaskExecutionRunnableState(taskExecutionRunnable, TaskExecutionStatus.PAUSE);
         pausedTaskChains.add(taskExecutionRunnable.getName());
+        refreshBlockingState(taskExecutionRunnable.getName());
     }
 
     @Override
     public void markTaskExecutionRunnableChainKill(final ITaskExecutionRunnable taskExecutionRunnable) {
         assertTaskExecutionRunnableState(taskExecutionRunnable, TaskExecutionStatus.KILL);
         killedTaskChains.add(taskExecutionRunnable.getName());
+        refreshBlockingState(taskExecutionRunnable.getName());
     }
 
     @Override
@@ -280,20 +326,40 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
                         || TaskTypeUtils.isConditionTask(taskExecutionRunnable.getTaskInstance().getTaskType()));
     }
 
-    private boolean isTaskFinish(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return !activeTaskExecutionRunnable.contains(taskExecutionRunnable.getName());
+    private GraphNode getOrCreateGraphNode(final String taskName) {
+        return graphNodes.computeIfAbsent(taskName, k -> {
+            final GraphNode graphNode = new GraphNode(graphNodeIndex.size());
+            graphNodeIndex.add(graphNode);
+            return graphNode;
+        });
     }
 
-    private boolean isTaskFailure(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return failureTaskChains.contains(taskExecutionRunnable.getName());
-    }
-
-    private boolean isTaskPaused(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return pausedTaskChains.contains(taskExecutionRunnable.getName());
+    private List<ITaskExecutionRunnable> toTaskExecutionRunnables(final int[] nodeIndexes, final int size) {
+        final List<ITaskExecutionRunnable> taskExecutionRunnables = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            taskExecutionRunnables.add(graphNodeIndex.get(nodeIndexes[i]).taskExecutionRunnable);
+        }
+        return taskExecutionRunnables;
     }
 
-    private boolean isTaskKilled(final ITaskExecutionRunnable taskExecutionRunnable) {
-        return killedTaskChains.contains(taskExecutionRunnable.getName());
+    /**
+     * A task blocks its successors while it is active or its chain is failure/pause/kill, once the blocking state of
+     * the task changed, the blocking predecessor counter of its successors will be adjusted.
+     */
+    private void refreshBlockingState(final String taskName) {
+        final GraphNode graphNode = getOrCreateGraphNode(taskName);
+        final boolean blocking = activeTaskExecutionRunnable.contains(taskName)
+                || failureTaskChains.contains(taskName)
+                || pausedTaskChains.contains(taskName)
+                || killedTaskChains.contains(taskName);
+        if (graphNode.blocking == blocking) {
+            return;
+        }
+        graphNode.blocking = blocking;
+        final int delta = blocking ? 1 : -1;
+        for (int i = 0; i < graphNode.successorCount; i++) {
+            graphNodeIndex.get(graphNode.successorIndexes[i]).blockingPredecessorCount += delta;
+        }
     }
 
     private void assertTaskExecutionRunnableState(final ITaskExecutionRunnable taskExecutionRunnable,
@@ -307,4 +373,52 @@ public class WorkflowExecutionGraph implements IWorkflowExecutionGraph {
                         + taskExecutionStatus);
     }
 
+    /**
+     * The node of the graph, the adjacency is kept as node index arrays.
+     */
+    private static class GraphNode {
+
+        private static final int[] EMPTY_INDEXES = new int[0];
+
+        private final int index;
+
+        private ITaskExecutionRunnable taskExecutionRunnable;
+
+        private Integer indexedTaskInstanceId;
+
+        private int[] predecessorIndexes = EMPTY_INDEXES;
+
+        private int predecessorCount;
+
+        private int[] successorIndexes = EMPTY_INDEXES;
+
+        private int successorCount;
+
+        private boolean blocking;
+
+        // The count of predecessors which are active or whose chain is failure/pause/kill.
+        private int blockingPredecessorCount;
+
+        private GraphNode(final int index) {
+            this.index = index;
+        }
+
+        private void addPredecessor(final int predecessorIndex) {
+            predecessorIndexes = ensureCapacity(predecessorIndexes, predecessorCount);
+            predecessorIndexes[predecessorCount++] = predecessorIndex;
+        }
+
+        private void addSuccessor(final int successorIndex) {
+            successorIndexes = ensureCapacity(successorIndexes, successorCount);
+            successorIndexes[successorCount++] = successorIndex;
+        }
+
+        private static int[] ensureCapacity(final int[] indexes, final int size) {
+            if (size < indexes.length) {
+                return indexes;
+            }
+            return Arrays.copyOf(indexes, Math.max(4, indexes.length << 1));
+        }
+    }
+
 }
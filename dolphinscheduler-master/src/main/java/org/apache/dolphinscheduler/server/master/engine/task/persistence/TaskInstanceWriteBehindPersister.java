@@ -0,0 +1,389 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.persistence;
+
+import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskInstanceWriteBehindConfig;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persist the {@link TaskInstance} changes to DB in the background, so that the workflow event bus fire thread will not
+ * be blocked by the DB round trip of each task state transition.
+ * <p> The changes of the same task instance are coalesced, only the latest snapshot is written, and the pending
+ * task instances are flushed in JDBC batches every {@link TaskInstanceWriteBehindConfig#getFlushInterval()} or once
+ * there are {@link TaskInstanceWriteBehindConfig#getBatchSize()} pending task instances.
+ * <p> All the updates of an existing task instance in the engine should go through {@link #persist(TaskInstance)} or
+ * {@link #persistImmediately(TaskInstance)}, otherwise a pending snapshot may overwrite the update. Use
+ * {@link #flush(int)} or {@link #flush()} when the changes need to be durable before going on, e.g. before finishing
+ * the workflow. The flush waits at most {@link TaskInstanceWriteBehindConfig#getFlushTimeout()}.
+ */
+@Slf4j
+@Component
+public class TaskInstanceWriteBehindPersister extends BaseDaemonThread implements AutoCloseable {
+
+    private final TaskInstanceDao taskInstanceDao;
+
+    private final TaskInstanceWriteBehindConfig taskInstanceWriteBehindConfig;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Make sure the batches are written one by one, so that a stale snapshot will not overwrite a newer one
+    private final Object flushLock = new Object();
+
+    private final Condition pendingFullCondition = lock.newCondition();
+
+    private final Condition persistedCondition = lock.newCondition();
+
+    // guarded by lock
+    private final Map<Integer, PendingTaskInstance> pendingTaskInstances = new LinkedHashMap<>();
+
+    // The batch which is being written to DB, guarded by lock
+    private List<PendingTaskInstance> persistingTaskInstances = Collections.emptyList();
+
+    // The sequence of the latest submitted change, guarded by lock
+    private long submittedSequence;
+
+    // All the changes whose sequence <= persistedSequence have been persisted, guarded by lock
+    private long persistedSequence;
+
+    // Whether some threads are waiting for the pending task instances to be persisted, guarded by lock
+    private boolean flushRequested;
+
+    private volatile boolean running;
+
+    public TaskInstanceWriteBehindPersister(final TaskInstanceDao taskInstanceDao, final MasterConfig masterConfig) {
+        super("TaskInstanceWriteBehindPersister");
+        this.taskInstanceDao = taskInstanceDao;
+        this.taskInstanceWriteBehindConfig = masterConfig.getTaskInstanceWriteBehindConfig();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!taskInstanceWriteBehindConfig.isEnabled()) {
+            log.info("TaskInstanceWriteBehindPersister is disabled, the task instance will be persisted synchronously");
+            return;
+        }
+        log.info("TaskInstanceWriteBehindPersister starting...");
+        running = true;
+        TaskMetrics.registerTaskInstancePersistPendingGauge(this::getPendingSize);
+        super.start();
+        log.info("TaskInstanceWriteBehindPersister started...");
+    }
+
+    /**
+     * Submit the change of the task instance, the task instance will be persisted later.
+     * <p> The task instance should have been inserted into DB, the caller will be blocked if there are too many
+     * pending task instances.
+     */
+    public void persist(final TaskInstance taskInstance) {
+        if (!running) {
+            // Make sure the pending snapshots will not overwrite this update
+            flushPendingTaskInstances();
+            taskInstanceDao.updateById(taskInstance);
+            return;
+        }
+        // Take a snapshot, since the task instance might be changed during persisting
+        final TaskInstance snapshot = new TaskInstance();
+        BeanUtils.copyProperties(taskInstance, snapshot);
+
+        lock.lock();
+        try {
+            while (pendingTaskInstances.size() >= taskInstanceWriteBehindConfig.getMaxPendingSize()
+                    && !pendingTaskInstances.containsKey(snapshot.getId())
+                    && running) {
+                flushRequested = true;
+                pendingFullCondition.signal();
+                persistedCondition.awaitUninterruptibly();
+            }
+            final PendingTaskInstance pendingTaskInstance = pendingTaskInstances.get(snapshot.getId());
+            if (pendingTaskInstance == null) {
+                pendingTaskInstances.put(snapshot.getId(),
+                        new PendingTaskInstance(snapshot, System.currentTimeMillis()));
+            } else {
+                pendingTaskInstance.taskInstance = snapshot;
+            }
+            submittedSequence++;
+            if (pendingTaskInstances.size() >= taskInstanceWriteBehindConfig.getBatchSize()) {
+                pendingFullCondition.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Persist the task instance synchronously, e.g. in a transaction which needs to be atomic, the pending snapshot of
+     * the task instance will be discarded.
+     */
+    public void persistImmediately(final TaskInstance taskInstance) {
+        synchronized (flushLock) {
+            lock.lock();
+            try {
+                pendingTaskInstances.remove(taskInstance.getId());
+            } finally {
+                lock.unlock();
+            }
+            taskInstanceDao.updateById(taskInstance);
+        }
+    }
+
+    /**
+     * Block until all the task instance changes submitted before this call are persisted.
+     *
+     * @throws DataAccessResourceFailureException if the changes are not persisted in the flush timeout
+     */
+    public void flush() {
+        if (!running) {
+            return;
+        }
+        lock.lock();
+        try {
+            final long targetSequence = submittedSequence;
+            awaitPersisted(() -> persistedSequence < targetSequence, "all task instances");
+        } finally {
+            lock.unlock();
+        }
+        if (!running) {
+            // The persister is closed, the pending task instances are flushed by close
+            flushPendingTaskInstances();
+        }
+    }
+
+    /**
+     * Block until the submitted changes of the task instances of the given workflow instance are persisted, the changes
+     * of other workflow instances are not waited.
+     *
+     * @throws DataAccessResourceFailureException if the changes are not persisted in the flush timeout
+     */
+    public void flush(final int workflowInstanceId) {
+        if (!running) {
+            return;
+        }
+        lock.lock();
+        try {
+            awaitPersisted(() -> hasUnpersistedTaskInstance(workflowInstanceId),
+                    "the task instances of workflow instance " + workflowInstanceId);
+        } finally {
+            lock.unlock();
+        }
+        if (!running) {
+            flushPendingTaskInstances();
+        }
+    }
+
+    // guarded by lock
+    private void awaitPersisted(final BooleanSupplier unpersisted, final String target) {
+        final Duration flushTimeout = taskInstanceWriteBehindConfig.getFlushTimeout();
+        long remainingNanos = flushTimeout.toNanos();
+        while (unpersisted.getAsBoolean() && running) {
+            if (remainingNanos <= 0) {
+                throw new DataAccessResourceFailureException(
+                        String.format("Wait for %s to be persisted timeout after %s", target, flushTimeout));
+            }
+            flushRequested = true;
+            pendingFullCondition.signal();
+            try {
+                remainingNanos = persistedCondition.awaitNanos(remainingNanos);
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new DataAccessResourceFailureException(
+                        String.format("Interrupted when waiting for %s to be persisted", target),
+                        interruptedException);
+            }
+        }
+    }
+
+    // guarded by lock
+    private boolean hasUnpersistedTaskInstance(final int workflowInstanceId) {
+        for (PendingTaskInstance pendingTaskInstance : pendingTaskInstances.values()) {
+            if (pendingTaskInstance.taskInstance.getWorkflowInstanceId() == workflowInstanceId) {
+                return true;
+            }
+        }
+        for (PendingTaskInstance pendingTaskInstance : persistingTaskInstances) {
+            if (pendingTaskInstance.taskInstance.getWorkflowInstanceId() == workflowInstanceId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getPendingSize() {
+        lock.lock();
+        try {
+            return pendingTaskInstances.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        final long flushIntervalMills = taskInstanceWriteBehindConfig.getFlushInterval().toMillis();
+        while (running) {
+            try {
+                lock.lock();
+                try {
+                    if (pendingTaskInstances.size() < taskInstanceWriteBehindConfig.getBatchSize() && !flushRequested) {
+                        pendingFullCondition.await(flushIntervalMills, TimeUnit.MILLISECONDS);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (!flushPendingTaskInstances()) {
+                    // Back off if the DB is unavailable
+                    Thread.sleep(flushIntervalMills);
+                }
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable ex) {
+                log.error("TaskInstanceWriteBehindPersister error", ex);
+            }
+        }
+    }
+
+    /**
+     * Write the pending task instances to DB.
+     *
+     * @return false if the pending task instances failed to be persisted, they will be retried in the next round.
+     */
+    private boolean flushPendingTaskInstances() {
+        synchronized (flushLock) {
+            return doFlushPendingTaskInstances();
+        }
+    }
+
+    private boolean doFlushPendingTaskInstances() {
+        final List<PendingTaskInstance> batch;
+        final long batchSequence;
+        lock.lock();
+        try {
+            flushRequested = false;
+            if (pendingTaskInstances.isEmpty()) {
+                // The pending task instances might be persisted by persistImmediately
+                persistedSequence = submittedSequence;
+                persistedCondition.signalAll();
+                return true;
+            }
+            batch = new ArrayList<>(pendingTaskInstances.values());
+            batchSequence = submittedSequence;
+            pendingTaskInstances.clear();
+            persistingTaskInstances = batch;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            taskInstanceDao.batchUpdateById(
+                    batch.stream().map(pendingTaskInstance -> pendingTaskInstance.taskInstance)
+                            .collect(Collectors.toList()),
+                    taskInstanceWriteBehindConfig.getBatchSize());
+        } catch (Exception ex) {
+            log.error("Persist {} task instances failed, will retry later", batch.size(), ex);
+            TaskMetrics.incTaskInstancePersistFailure();
+            lock.lock();
+            try {
+                // Put back the task instances which are not changed again during persisting
+                final Map<Integer, PendingTaskInstance> newerPendingTaskInstances =
+                        new LinkedHashMap<>(pendingTaskInstances);
+                pendingTaskInstances.clear();
+                for (PendingTaskInstance pendingTaskInstance : batch) {
+                    pendingTaskInstances.put(pendingTaskInstance.taskInstance.getId(), pendingTaskInstance);
+                }
+                pendingTaskInstances.putAll(newerPendingTaskInstances);
+                persistingTaskInstances = Collections.emptyList();
+            } finally {
+                lock.unlock();
+            }
+            return false;
+        }
+
+        final long now = System.currentTimeMillis();
+        TaskMetrics.recordTaskInstancePersistBatchSize(batch.size());
+        for (PendingTaskInstance pendingTaskInstance : batch) {
+            TaskMetrics.recordTaskInstancePersistLatency(now - pendingTaskInstance.submitTime);
+        }
+        lock.lock();
+        try {
+            persistedSequence = Math.max(persistedSequence, batchSequence);
+            persistingTaskInstances = Collections.emptyList();
+            persistedCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        lock.lock();
+        try {
+            // Wake up the persister thread and the threads waiting for flush
+            pendingFullCondition.signalAll();
+            persistedCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            this.join(taskInstanceWriteBehindConfig.getFlushInterval().toMillis() * 10);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        if (!flushPendingTaskInstances()) {
+            log.error("There are {} task instances not persisted when closing TaskInstanceWriteBehindPersister",
+                    getPendingSize());
+        }
+        log.info("TaskInstanceWriteBehindPersister closed...");
+    }
+
+    @AllArgsConstructor
+    private static class PendingTaskInstance {
+
+        private TaskInstance taskInstance;
+
+        // The submit time of the earliest not persisted change
+        private final long submitTime;
+    }
+}
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceWriteBehindPersister;
 
 import java.util.Date;
 
@@ -36,6 +37,9 @@ public class FailedRecoverTaskInstanceFactory
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    private TaskInstanceWriteBehindPersister taskInstanceWriteBehindPersister;
+
     @Override
     public FailedRecoverTaskInstanceFactory.FailedRecoverTaskInstanceBuilder builder() {
         return new FailedRecoverTaskInstanceBuilder(this);
@@ -56,7 +60,7 @@ public class FailedRecoverTaskInstanceFactory
         taskInstanceDao.insert(taskInstance);
 
         needRecoverTaskInstance.setFlag(Flag.NO);
-        taskInstanceDao.updateById(needRecoverTaskInstance);
+        taskInstanceWriteBehindPersister.persistImmediately(needRecoverTaskInstance);
         return taskInstance;
     }
 
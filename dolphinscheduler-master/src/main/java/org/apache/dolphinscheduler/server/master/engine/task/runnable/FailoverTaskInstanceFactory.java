@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceWriteBehindPersister;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.FailoverTaskInstanceFactory.FailoverTaskInstanceBuilder;
 
 import java.util.Date;
@@ -35,6 +36,9 @@ public class FailoverTaskInstanceFactory extends AbstractTaskInstanceFactory<Fai
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    private TaskInstanceWriteBehindPersister taskInstanceWriteBehindPersister;
+
     @Override
     public FailoverTaskInstanceFactory.FailoverTaskInstanceBuilder builder() {
         return new FailoverTaskInstanceBuilder(this);
@@ -56,7 +60,7 @@ public class FailoverTaskInstanceFactory extends AbstractTaskInstanceFactory<Fai
 
         needFailoverTaskInstance.setFlag(Flag.NO);
         needFailoverTaskInstance.setState(TaskExecutionStatus.NEED_FAULT_TOLERANCE);
-        taskInstanceDao.updateById(needFailoverTaskInstance);
+        taskInstanceWriteBehindPersister.persistImmediately(needFailoverTaskInstance);
         return taskInstance;
     }
 
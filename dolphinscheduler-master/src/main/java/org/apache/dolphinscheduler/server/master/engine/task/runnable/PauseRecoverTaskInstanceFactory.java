@@ -18,8 +18,8 @@
 package org.apache.dolphinscheduler.server.master.engine.task.runnable;
 
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceWriteBehindPersister;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -31,7 +31,7 @@ public class PauseRecoverTaskInstanceFactory
             AbstractTaskInstanceFactory<PauseRecoverTaskInstanceFactory.PauseRecoverTaskInstanceBuilder> {
 
     @Autowired
-    private TaskInstanceDao taskInstanceDao;
+    private TaskInstanceWriteBehindPersister taskInstanceWriteBehindPersister;
 
     @Override
     public PauseRecoverTaskInstanceFactory.PauseRecoverTaskInstanceBuilder builder() {
@@ -43,7 +43,7 @@ public class PauseRecoverTaskInstanceFactory
     public TaskInstance createTaskInstance(PauseRecoverTaskInstanceBuilder builder) {
         final TaskInstance needRecoverTaskInstance = builder.needRecoverTaskInstance;
         needRecoverTaskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
-        taskInstanceDao.updateById(needRecoverTaskInstance);
+        taskInstanceWriteBehindPersister.persistImmediately(needRecoverTaskInstance);
         return needRecoverTaskInstance;
     }
 
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceWriteBehindPersister;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.RetryTaskInstanceFactory.RetryTaskInstanceBuilder;
 
 import java.util.Date;
@@ -35,6 +36,9 @@ public class RetryTaskInstanceFactory extends AbstractTaskInstanceFactory<RetryT
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    private TaskInstanceWriteBehindPersister taskInstanceWriteBehindPersister;
+
     @Override
     public RetryTaskInstanceBuilder builder() {
         return new RetryTaskInstanceBuilder(this);
@@ -59,7 +63,7 @@ public class RetryTaskInstanceFactory extends AbstractTaskInstanceFactory<RetryT
         taskInstanceDao.insert(taskInstance);
 
         needRetryTaskInstance.setFlag(Flag.NO);
-        taskInstanceDao.updateById(needRetryTaskInstance);
+        taskInstanceWriteBehindPersister.persistImmediately(needRetryTaskInstance);
         return taskInstance;
     }
 
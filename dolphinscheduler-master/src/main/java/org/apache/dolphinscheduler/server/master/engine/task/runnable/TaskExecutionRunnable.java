@@ -93,6 +93,7 @@ public class TaskExecutionRunnable implements ITaskExecutionRunnable {
                 .withTaskDefinition(taskDefinition)
                 .withWorkflowInstance(workflowInstance)
                 .build();
+        workflowExecutionGraph.refreshTaskInstanceIndex(this);
         initializeTaskExecutionContext();
     }
 
@@ -109,6 +110,7 @@ public class TaskExecutionRunnable implements ITaskExecutionRunnable {
                 .builder()
                 .withTaskInstance(taskInstance)
                 .build();
+        workflowExecutionGraph.refreshTaskInstanceIndex(this);
         initializeTaskExecutionContext();
         getWorkflowEventBus().publish(TaskStartLifecycleEvent.of(this));
     }
@@ -125,6 +127,7 @@ public class TaskExecutionRunnable implements ITaskExecutionRunnable {
                 .builder()
                 .withTaskInstance(taskInstance)
                 .build();
+        workflowExecutionGraph.refreshTaskInstanceIndex(this);
         initializeTaskExecutionContext();
 
         getWorkflowEventBus().publish(TaskStartLifecycleEvent.of(this));
@@ -25,8 +25,10 @@ import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.utils.VarPoolUtils;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerOutstandingTaskTracker;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.AbstractLifecycleEvent;
+import org.apache.dolphinscheduler.server.master.engine.IWorkerTaskExecutionRunnableRepository;
 import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
 import org.apache.dolphinscheduler.server.master.engine.TaskGroupCoordinator;
 import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
@@ -39,6 +41,7 @@ import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.Tas
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskRetryLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskRunningLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskSuccessLifecycleEvent;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceWriteBehindPersister;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.TaskInstanceFactories;
 import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.event.WorkflowTopologyLogicalTransitionWithTaskFinishLifecycleEvent;
@@ -61,12 +64,21 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
     @Autowired
     protected TaskInstanceDao taskInstanceDao;
 
+    @Autowired
+    protected TaskInstanceWriteBehindPersister taskInstanceWriteBehindPersister;
+
     @Autowired
     protected TaskInstanceFactories taskInstanceFactories;
 
     @Autowired
     protected IWorkflowRepository workflowRepository;
 
+    @Autowired
+    protected IWorkerTaskExecutionRunnableRepository workerTaskExecutionRunnableRepository;
+
+    @Autowired
+    protected WorkerOutstandingTaskTracker workerOutstandingTaskTracker;
+
     @Autowired
     private MasterConfig masterConfig;
 
@@ -107,7 +119,8 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(DISPATCH);
         taskInstance.setHost(taskDispatchedEvent.getExecutorHost());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+        workerTaskExecutionRunnableRepository.put(taskInstance.getHost(), taskExecutionRunnable);
     }
 
     protected void persistentTaskInstanceStartedEventToDB(final ITaskExecutionRunnable taskExecutionRunnable,
@@ -119,7 +132,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         if (StringUtils.isNotEmpty(taskRunningEvent.getRuntimeContext())) {
             taskInstance.setAppLink(taskRunningEvent.getRuntimeContext());
         }
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
     }
 
     @Override
@@ -136,7 +149,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
                                                        final TaskPausedLifecycleEvent taskPausedEvent) {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(TaskExecutionStatus.PAUSE);
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
     }
 
     @Override
@@ -154,7 +167,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(TaskExecutionStatus.KILL);
         taskInstance.setEndTime(taskKilledEvent.getEndTime());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
 
     }
 
@@ -185,7 +198,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(TaskExecutionStatus.FAILURE);
         taskInstance.setEndTime(taskFailedEvent.getEndTime());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
     }
 
     @Override
@@ -213,7 +226,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         taskInstance.setState(TaskExecutionStatus.SUCCESS);
         taskInstance.setEndTime(taskSuccessEvent.getEndTime());
         taskInstance.setVarPool(taskSuccessEvent.getVarPool());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
     }
 
     /**
@@ -223,6 +236,15 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
      */
     protected void failoverTask(final ITaskExecutionRunnable taskExecutionRunnable) {
         taskExecutionRunnable.failover();
+        // If take-over success the task is still running at the same worker, otherwise a new task instance is
+        // generated which will be indexed again once it is dispatched
+        final String host = taskExecutionRunnable.getTaskInstance().getHost();
+        if (StringUtils.isNotEmpty(host)) {
+            workerTaskExecutionRunnableRepository.put(host, taskExecutionRunnable);
+        } else {
+            workerTaskExecutionRunnableRepository.remove(taskExecutionRunnable);
+            workerOutstandingTaskTracker.untrack(taskExecutionRunnable);
+        }
     }
 
     protected void tryToDispatchTask(final ITaskExecutionRunnable taskExecutionRunnable) {
@@ -237,6 +259,8 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final Integer workflowInstanceId = taskExecutionRunnable.getWorkflowInstance().getId();
         final IWorkflowExecutionRunnable workflowExecutionRunnable = workflowRepository.get(workflowInstanceId);
         taskExecutionRunnable.getWorkflowExecutionGraph().markTaskExecutionRunnableInActive(taskExecutionRunnable);
+        workerTaskExecutionRunnableRepository.remove(taskExecutionRunnable);
+        workerOutstandingTaskTracker.untrack(taskExecutionRunnable);
         taskExecutionRunnable
                 .getWorkflowEventBus()
                 .publish(
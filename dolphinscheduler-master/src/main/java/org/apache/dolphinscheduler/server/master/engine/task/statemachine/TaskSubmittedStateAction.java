@@ -19,7 +19,6 @@ package org.apache.dolphinscheduler.server.master.engine.task.statemachine;
 
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.server.master.engine.TaskGroupCoordinator;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskDispatchLifecycleEvent;
@@ -56,9 +55,6 @@ public class TaskSubmittedStateAction extends AbstractTaskStateAction {
     @Autowired
     private TaskGroupCoordinator taskGroupCoordinator;
 
-    @Autowired
-    private TaskInstanceDao taskInstanceDao;
-
     @Override
     public void startEventAction(final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                  final ITaskExecutionRunnable taskExecutionRunnable,
@@ -105,7 +101,7 @@ public class TaskSubmittedStateAction extends AbstractTaskStateAction {
                 taskInstance.getDelayTime() * 60L) * 1_000;
         if (remainTimeMills > 0) {
             taskInstance.setState(TaskExecutionStatus.DELAY_EXECUTION);
-            taskInstanceDao.updateById(taskInstance);
+            taskInstanceWriteBehindPersister.persist(taskInstance);
             log.info("Current taskInstance: {} is choose delay execution, delay time: {}/min, remainTime: {}/ms",
                     taskInstance.getName(),
                     taskInstance.getDelayTime(),
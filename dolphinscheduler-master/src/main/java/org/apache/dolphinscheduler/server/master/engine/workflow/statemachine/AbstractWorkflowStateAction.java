@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusCoordina
 import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
 import org.apache.dolphinscheduler.server.master.engine.graph.SuccessorFlowAdjuster;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskStartLifecycleEvent;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceWriteBehindPersister;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.event.WorkflowFinalizeLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.event.WorkflowTopologyLogicalTransitionWithTaskFinishLifecycleEvent;
@@ -60,6 +61,9 @@ public abstract class AbstractWorkflowStateAction implements IWorkflowStateActio
     @Autowired
     protected WorkflowEventBusCoordinator workflowEventBusCoordinator;
 
+    @Autowired
+    protected TaskInstanceWriteBehindPersister taskInstanceWriteBehindPersister;
+
     /**
      * Try to trigger the tasks if the trigger condition is met.
      * <p> If all the given tasks trigger condition is not met then will try to emit workflow finish event.
@@ -104,6 +108,9 @@ public abstract class AbstractWorkflowStateAction implements IWorkflowStateActio
 
     protected void workflowFinish(final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                   final WorkflowExecutionStatus workflowExecutionStatus) {
+        // Make sure the task instances are persisted before the workflow instance is marked as finished, the event will be
+        // fired again if the task instances are not persisted in time
+        taskInstanceWriteBehindPersister.flush(workflowExecutionRunnable.getId());
         final WorkflowInstance workflowInstance = workflowExecutionRunnable.getWorkflowInstance();
         workflowInstance.setEndTime(new Date());
         workflowInstance.setState(workflowExecutionStatus);
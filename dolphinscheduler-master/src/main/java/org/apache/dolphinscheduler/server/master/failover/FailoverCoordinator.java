@@ -17,23 +17,32 @@
 
 package org.apache.dolphinscheduler.server.master.failover;
 
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
 import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.MasterFailoverConfig;
+import org.apache.dolphinscheduler.server.master.engine.IWorkerTaskExecutionRunnableRepository;
 import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
 import org.apache.dolphinscheduler.server.master.engine.system.event.GlobalMasterFailoverEvent;
 import org.apache.dolphinscheduler.server.master.engine.system.event.MasterFailoverEvent;
 import org.apache.dolphinscheduler.server.master.engine.system.event.WorkerFailoverEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
-import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -52,6 +61,9 @@ public class FailoverCoordinator implements IFailoverCoordinator {
     @Autowired
     private IWorkflowRepository workflowRepository;
 
+    @Autowired
+    private IWorkerTaskExecutionRunnableRepository workerTaskExecutionRunnableRepository;
+
     @Autowired
     private TaskFailover taskFailover;
 
@@ -64,6 +76,9 @@ public class FailoverCoordinator implements IFailoverCoordinator {
     @Autowired
     private WorkflowFailover workflowFailover;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
     @Override
     public void globalMasterFailover(GlobalMasterFailoverEvent globalMasterFailoverEvent) {
         final StopWatch failoverTimeCost = StopWatch.createStarted();
@@ -89,24 +104,104 @@ public class FailoverCoordinator implements IFailoverCoordinator {
         log.info("Master[{}] failover starting", masterAddress);
 
         registryClient.getLock(RegistryNodeType.MASTER_FAILOVER_LOCK.getRegistryPath());
+        final MasterFailoverConfig masterFailoverConfig = masterConfig.getMasterFailoverConfig();
+        final ExecutorService failoverThreadPool = ThreadUtils.newDaemonFixedThreadExecutor(
+                "MasterFailoverThreadPool", masterFailoverConfig.getParallelism());
         try {
-            final List<WorkflowInstance> needFailoverWorkflows = getFailoverWorkflowsForMaster(masterFailoverEvent);
-            needFailoverWorkflows.forEach(workflowFailover::failoverWorkflow);
+            // The workflow instances whose id <= checkpoint have been failover by the previous failover which is broken
+            int checkpoint = getFailoverCheckpoint(masterAddress);
+            if (checkpoint > 0) {
+                log.info("Master[{}] failover resume from checkpoint: {}", masterAddress, checkpoint);
+            }
+            int failoverWorkflowCount = 0;
+            while (true) {
+                final List<WorkflowInstance> workflowInstances = workflowInstanceDao
+                        .queryNeedFailoverWorkflowInstances(masterAddress, checkpoint,
+                                masterFailoverConfig.getFetchSize());
+                if (CollectionUtils.isEmpty(workflowInstances)) {
+                    break;
+                }
+                final List<WorkflowInstance> needFailoverWorkflows =
+                        getFailoverWorkflowsForMaster(masterFailoverEvent, workflowInstances);
+                failoverWorkflows(failoverThreadPool, needFailoverWorkflows);
+                failoverWorkflowCount += needFailoverWorkflows.size();
+                MasterServerMetrics.incMasterFailoverWorkflowCount(needFailoverWorkflows.size());
+
+                // Only move the checkpoint after the whole page is failover
+                checkpoint = workflowInstances.get(workflowInstances.size() - 1).getId();
+                saveFailoverCheckpoint(masterAddress, checkpoint);
+                if (workflowInstances.size() < masterFailoverConfig.getFetchSize()) {
+                    break;
+                }
+            }
+            removeFailoverCheckpoint(masterAddress);
 
             failoverTimeCost.stop();
+            MasterServerMetrics.recordMasterFailoverDuration(failoverTimeCost.getTime());
             log.info("Master[{}] failover {} workflows finished, cost: {}/ms",
                     masterAddress,
-                    needFailoverWorkflows.size(),
+                    failoverWorkflowCount,
                     failoverTimeCost.getTime());
         } finally {
+            failoverThreadPool.shutdownNow();
             registryClient.releaseLock(RegistryNodeType.MASTER_FAILOVER_LOCK.getRegistryPath());
         }
     }
 
-    private List<WorkflowInstance> getFailoverWorkflowsForMaster(final MasterFailoverEvent masterFailoverEvent) {
-        // todo: use page query
-        final List<WorkflowInstance> workflowInstances = workflowInstanceDao.queryNeedFailoverWorkflowInstances(
-                masterFailoverEvent.getMasterAddress());
+    /**
+     * Failover the given workflow instances concurrently and wait until all of them are finished.
+     * <p> Each workflow instance is failover in its own transaction by one thread, so the workflow state change and its
+     * failover command are still in order.
+     */
+    private void failoverWorkflows(final ExecutorService failoverThreadPool,
+                                   final List<WorkflowInstance> workflowInstances) {
+        final List<Future<?>> failoverFutures = new ArrayList<>(workflowInstances.size());
+        for (WorkflowInstance workflowInstance : workflowInstances) {
+            failoverFutures.add(failoverThreadPool.submit(() -> workflowFailover.failoverWorkflow(workflowInstance)));
+        }
+        RuntimeException failoverException = null;
+        for (Future<?> failoverFuture : failoverFutures) {
+            try {
+                failoverFuture.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the workflow failover", e);
+            } catch (ExecutionException e) {
+                if (failoverException == null) {
+                    failoverException = new IllegalStateException("Failover workflow instance failed", e.getCause());
+                } else {
+                    failoverException.addSuppressed(e.getCause());
+                }
+            }
+        }
+        if (failoverException != null) {
+            throw failoverException;
+        }
+    }
+
+    private int getFailoverCheckpoint(final String masterAddress) {
+        final String checkpointPath = getFailoverCheckpointPath(masterAddress);
+        if (!registryClient.exists(checkpointPath)) {
+            return 0;
+        }
+        final String checkpoint = registryClient.get(checkpointPath);
+        return StringUtils.isNumeric(checkpoint) ? Integer.parseInt(checkpoint) : 0;
+    }
+
+    private void saveFailoverCheckpoint(final String masterAddress, final int checkpoint) {
+        registryClient.persist(getFailoverCheckpointPath(masterAddress), String.valueOf(checkpoint));
+    }
+
+    private void removeFailoverCheckpoint(final String masterAddress) {
+        registryClient.remove(getFailoverCheckpointPath(masterAddress));
+    }
+
+    public static String getFailoverCheckpointPath(final String masterAddress) {
+        return RegistryNodeType.MASTER_FAILOVER_CHECKPOINT.getRegistryPath() + "/" + masterAddress;
+    }
+
+    private List<WorkflowInstance> getFailoverWorkflowsForMaster(final MasterFailoverEvent masterFailoverEvent,
+                                                                 final List<WorkflowInstance> workflowInstances) {
         return workflowInstances.stream()
                 .filter(workflowInstance -> {
 
@@ -146,10 +241,8 @@ public class FailoverCoordinator implements IFailoverCoordinator {
     private List<ITaskExecutionRunnable> getFailoverTaskForWorker(final WorkerFailoverEvent workerFailoverEvent) {
         final String workerAddress = workerFailoverEvent.getWorkerAddress();
         final Date workerCrashTime = workerFailoverEvent.getEventTime();
-        return workflowRepository.getAll()
+        return workerTaskExecutionRunnableRepository.get(workerAddress)
                 .stream()
-                .map(IWorkflowExecutionRunnable::getWorkflowExecutionGraph)
-                .flatMap(workflowExecutionGraph -> workflowExecutionGraph.getActiveTaskExecutionRunnable().stream())
                 .filter(ITaskExecutionRunnable::isTaskInstanceInitialized)
                 .filter(taskExecutionRunnable -> workerAddress
                         .equals(taskExecutionRunnable.getTaskInstance().getHost()))
@@ -17,12 +17,14 @@
 
 package org.apache.dolphinscheduler.server.master.metrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class MasterServerMetrics {
@@ -48,6 +50,19 @@ public class MasterServerMetrics {
                     .description("master heartbeat count")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * Used to measure the failover throughput, the number of workflow instances failed over from crashed masters.
+     */
+    private final Counter masterFailoverWorkflowCounter =
+            Counter.builder("ds.master.failover.workflow.count")
+                    .description("Workflow instances failed over from crashed masters count")
+                    .register(Metrics.globalRegistry);
+
+    private final Timer masterFailoverTimer =
+            Timer.builder("ds.master.failover.duration")
+                    .description("Master failover duration")
+                    .register(Metrics.globalRegistry);
+
     public void registerMasterMemoryAvailableGauge(Supplier<Number> supplier) {
         Gauge.builder("ds.master.memory.available", supplier)
                 .description("Master memory available")
@@ -83,4 +98,12 @@ public class MasterServerMetrics {
     public void incMasterHeartbeatCount() {
         masterHeartBeatCounter.increment();
     }
+
+    public void incMasterFailoverWorkflowCount(int workflowCount) {
+        masterFailoverWorkflowCounter.increment(workflowCount);
+    }
+
+    public void recordMasterFailoverDuration(long milliseconds) {
+        masterFailoverTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
 }
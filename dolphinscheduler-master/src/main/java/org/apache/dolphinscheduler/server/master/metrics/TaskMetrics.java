@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.server.master.metrics;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
@@ -27,8 +29,10 @@ import lombok.experimental.UtilityClass;
 import com.facebook.presto.jdbc.internal.guava.collect.ImmutableSet;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class TaskMetrics {
@@ -65,12 +69,72 @@ public class TaskMetrics {
                     .description("Number of errors during task dispatch")
                     .register(Metrics.globalRegistry);
 
+    private final DistributionSummary taskInstancePersistBatchSizeSummary =
+            DistributionSummary.builder("ds.task.instance.persist.batch.size")
+                    .description("The number of task instances persisted in a batch")
+                    .register(Metrics.globalRegistry);
+
+    private final Timer taskInstancePersistLatencyTimer =
+            Timer.builder("ds.task.instance.persist.latency")
+                    .description("The time from a task instance change is submitted to it is persisted")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter taskInstancePersistFailureCounter =
+            Counter.builder("ds.task.instance.persist.failure.count")
+                    .description("The number of task instance persist batches failed")
+                    .register(Metrics.globalRegistry);
+
+    private final Map<String, Timer> taskDispatchLagTimers = new ConcurrentHashMap<>();
+
+    public synchronized void registerTaskInstancePersistPendingGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.task.instance.persist.pending", supplier)
+                .description("The number of task instances waiting to be persisted")
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void registerWorkerTaskIndexSizeGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.task.worker.index.size", supplier)
+                .description("The number of active tasks indexed by the worker host they are dispatched to")
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void registerTaskDispatchParkedGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.task.dispatch.parked", supplier)
+                .description("The number of tasks parked because their worker group is unavailable")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordTaskInstancePersistBatchSize(int batchSize) {
+        taskInstancePersistBatchSizeSummary.record(batchSize);
+    }
+
+    public void recordTaskInstancePersistLatency(long milliseconds) {
+        taskInstancePersistLatencyTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void incTaskInstancePersistFailure() {
+        taskInstancePersistFailureCounter.increment();
+    }
+
     public synchronized void registerTaskPrepared(Supplier<Number> consumer) {
         Gauge.builder("ds.task.prepared", consumer)
                 .description("Task prepared count")
                 .register(Metrics.globalRegistry);
     }
 
+    /**
+     * Record the time from a task can be dispatched to it is taken by the dispatch lane of the worker group.
+     */
+    public void recordTaskDispatchLag(final String workerGroup, final long milliseconds) {
+        taskDispatchLagTimers.computeIfAbsent(workerGroup, key -> Timer.builder("ds.task.dispatch.lag")
+                .tag("worker_group", key)
+                .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .description("The time from a task can be dispatched to it is dispatched")
+                .register(Metrics.globalRegistry))
+                .record(Math.max(milliseconds, 0), TimeUnit.MILLISECONDS);
+    }
+
     public void incTaskDispatchFailed(int failedCount) {
         taskDispatchFailCounter.increment(failedCount);
     }
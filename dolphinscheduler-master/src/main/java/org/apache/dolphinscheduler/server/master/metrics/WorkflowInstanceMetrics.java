@@ -78,6 +78,36 @@ public class WorkflowInstanceMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public synchronized void registerWorkflowEventBusFireWorkerQueueDepthGauge(final int workerSlot,
+                                                                               final Supplier<Number> function) {
+        Gauge.builder("ds.workflow.eventbus.fire.worker.queue.depth", function)
+                .tag("worker.slot", String.valueOf(workerSlot))
+                .description("The workflow count waiting to be fired in the workflow event bus fire worker")
+                .register(Metrics.globalRegistry);
+    }
+
+    public synchronized void registerWorkflowEventBusFireWorkerWorkflowGauge(final int workerSlot,
+                                                                             final Supplier<Number> function) {
+        Gauge.builder("ds.workflow.eventbus.fire.worker.workflow.count", function)
+                .tag("worker.slot", String.valueOf(workerSlot))
+                .description("The workflow count registered in the workflow event bus fire worker")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordWorkflowEventBusFireLatency(final int workerSlot, final long milliseconds) {
+        Metrics.globalRegistry.timer(
+                "ds.workflow.eventbus.fire.latency",
+                "worker.slot", String.valueOf(workerSlot))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    public void incWorkflowEventBusFireWorkerSteal(final int workerSlot) {
+        Metrics.globalRegistry.counter(
+                "ds.workflow.eventbus.fire.worker.steal.count",
+                "worker.slot", String.valueOf(workerSlot))
+                .increment();
+    }
+
     public void incWorkflowInstanceByStateAndWorkflowDefinitionCode(final String state,
                                                                     final String workflowDefinitionCode) {
         // When tags need to be determined from local context,
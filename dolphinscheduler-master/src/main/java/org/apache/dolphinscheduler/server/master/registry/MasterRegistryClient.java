@@ -30,6 +30,7 @@ import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.RegistryException;
 import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.failover.FailoverCoordinator;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -99,6 +100,10 @@ public class MasterRegistryClient implements AutoCloseable {
             ThreadUtils.sleep(SLEEP_TIME_MILLIS);
         }
 
+        // The workflows taken over by this master after restart might be skipped by the failover checkpoint left by
+        // the previous broken failover, so the checkpoint should be removed once this master is back.
+        registryClient.remove(FailoverCoordinator.getFailoverCheckpointPath(masterConfig.getMasterAddress()));
+
         // remove before persist
         registryClient.remove(masterRegistryPath);
         registryClient.persistEphemeral(masterRegistryPath, JSONUtils.toJsonString(masterHeartBeatTask.getHeartBeat()));
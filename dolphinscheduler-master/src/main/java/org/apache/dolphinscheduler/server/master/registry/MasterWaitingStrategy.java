@@ -24,8 +24,11 @@ import org.apache.dolphinscheduler.registry.api.Registry;
 import org.apache.dolphinscheduler.registry.api.RegistryClient;
 import org.apache.dolphinscheduler.registry.api.RegistryException;
 import org.apache.dolphinscheduler.registry.api.StrategyType;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerOutstandingTaskTracker;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.engine.IWorkerTaskExecutionRunnableRepository;
 import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceWriteBehindPersister;
 
 import java.time.Duration;
 
@@ -49,6 +52,12 @@ public class MasterWaitingStrategy implements MasterConnectStrategy {
     private RegistryClient registryClient;
     @Autowired
     private IWorkflowRepository IWorkflowRepository;
+    @Autowired
+    private IWorkerTaskExecutionRunnableRepository workerTaskExecutionRunnableRepository;
+    @Autowired
+    private WorkerOutstandingTaskTracker workerOutstandingTaskTracker;
+    @Autowired
+    private TaskInstanceWriteBehindPersister taskInstanceWriteBehindPersister;
 
     @Override
     public void disconnect() {
@@ -107,8 +116,13 @@ public class MasterWaitingStrategy implements MasterConnectStrategy {
     }
 
     private void clearMasterResource() {
+        // The workflows will be failover by other masters, make sure they can see the latest task instance state, the
+        // server will be stopped if the task instances can't be persisted in time
+        taskInstanceWriteBehindPersister.flush();
         log.warn("Master clear workflow event queue due to lost registry connection");
         IWorkflowRepository.clear();
+        workerTaskExecutionRunnableRepository.clear();
+        workerOutstandingTaskTracker.clear();
         log.warn("Master clear workflow instance cache due to lost registry connection");
 
     }
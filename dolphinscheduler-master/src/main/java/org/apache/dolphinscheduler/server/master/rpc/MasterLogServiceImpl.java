@@ -17,15 +17,21 @@
 
 package org.apache.dolphinscheduler.server.master.rpc;
 
+import org.apache.dolphinscheduler.common.log.LogFileBytesChunk;
+import org.apache.dolphinscheduler.common.log.LogFileChunk;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.extract.common.ILogService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryResponse;
 
 import java.util.Collections;
 import java.util.List;
@@ -46,6 +52,18 @@ public class MasterLogServiceImpl implements ILogService {
         return new TaskInstanceLogFileDownloadResponse(bytes);
     }
 
+    @Override
+    public TaskInstanceLogFileChunkDownloadResponse downloadTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest) {
+        final LogFileBytesChunk logFileBytesChunk = LogUtils.readFileBytesChunk(
+                taskInstanceLogFileChunkDownloadRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogFileChunkDownloadRequest.getOffset(),
+                TaskInstanceLogFileChunkDownloadRequest
+                        .normalizeChunkSize(taskInstanceLogFileChunkDownloadRequest.getChunkSize()),
+                taskInstanceLogFileChunkDownloadRequest.isGzip());
+        return new TaskInstanceLogFileChunkDownloadResponse(logFileBytesChunk.getChunk(),
+                logFileBytesChunk.getNextOffset(), logFileBytesChunk.isFinished());
+    }
+
     @Override
     public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
 
@@ -58,6 +76,15 @@ public class MasterLogServiceImpl implements ILogService {
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
+    @Override
+    public TaskInstanceLogTailQueryResponse tailQueryTaskInstanceLog(TaskInstanceLogTailQueryRequest taskInstanceLogTailQueryRequest) {
+        LogFileChunk logFileChunk = LogUtils.readFileContentFromOffset(
+                taskInstanceLogTailQueryRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogTailQueryRequest.getOffset(),
+                taskInstanceLogTailQueryRequest.getLimitBytes());
+        return new TaskInstanceLogTailQueryResponse(logFileChunk.getContent(), logFileChunk.getNextOffset());
+    }
+
     @Override
     public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
         return new GetAppIdResponse(Collections.emptyList());
@@ -66,5 +93,6 @@ public class MasterLogServiceImpl implements ILogService {
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
         FileUtils.deleteFile(taskInstanceLogAbsolutePath);
+        LogUtils.removeLogFileLineIndex(taskInstanceLogAbsolutePath);
     }
 }
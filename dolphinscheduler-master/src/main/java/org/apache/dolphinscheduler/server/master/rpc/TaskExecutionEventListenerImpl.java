@@ -21,12 +21,14 @@ import org.apache.dolphinscheduler.extract.base.client.Clients;
 import org.apache.dolphinscheduler.extract.master.ITaskExecutionEventListener;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionDispatchEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionEventBatch;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionFailedEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionKilledEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionPausedEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionRunningEvent;
 import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionSuccessEvent;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionEventBatchAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionFailedEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionKilledEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionPausedEventAck;
@@ -45,6 +47,9 @@ import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecu
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
 
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -60,13 +65,8 @@ public class TaskExecutionEventListenerImpl implements ITaskExecutionEventListen
 
     @Override
     public void onTaskInstanceDispatched(TaskExecutionDispatchEvent taskExecutionDispatchEvent) {
-        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionDispatchEvent);
-        final TaskDispatchedLifecycleEvent taskDispatchedLifecycleEvent = TaskDispatchedLifecycleEvent.builder()
-                .taskExecutionRunnable(taskExecutionRunnable)
-                .executorHost(taskExecutionDispatchEvent.getTaskInstanceHost())
-                .build();
-
-        taskExecutionRunnable.getWorkflowEventBus().publish(taskDispatchedLifecycleEvent);
+        final ITaskExecutionRunnable taskExecutionRunnable =
+                publishTaskDispatchedLifecycleEvent(taskExecutionDispatchEvent);
         // Once the master receive the event, then will send ack to the worker
         // This means the worker will not retry to send the event to the master
         // So once the master failover and we take over the task instance success, then we should fetch the latest task
@@ -84,15 +84,8 @@ public class TaskExecutionEventListenerImpl implements ITaskExecutionEventListen
 
     @Override
     public void onTaskInstanceExecutionRunning(TaskExecutionRunningEvent taskExecutionRunningEvent) {
-        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionRunningEvent);
-        final TaskRunningLifecycleEvent taskRunningEvent = TaskRunningLifecycleEvent.builder()
-                .taskExecutionRunnable(taskExecutionRunnable)
-                .startTime(new Date(taskExecutionRunningEvent.getStartTime()))
-                .logPath(taskExecutionRunningEvent.getLogPath())
-                .runtimeContext(taskExecutionRunningEvent.getAppIds())
-                .build();
-
-        taskExecutionRunnable.getWorkflowEventBus().publish(taskRunningEvent);
+        final ITaskExecutionRunnable taskExecutionRunnable =
+                publishTaskRunningLifecycleEvent(taskExecutionRunningEvent);
         // Once the master receive the event, then will send ack to the worker
         // This means the worker will not retry to send the event to the master
         // So once the master failover and we take over the task instance success, then we should fetch the latest task
@@ -110,13 +103,8 @@ public class TaskExecutionEventListenerImpl implements ITaskExecutionEventListen
 
     @Override
     public void onTaskInstanceExecutionSuccess(final TaskExecutionSuccessEvent taskExecutionSuccessEvent) {
-        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionSuccessEvent);
-        final TaskSuccessLifecycleEvent taskSuccessEvent = TaskSuccessLifecycleEvent.builder()
-                .taskExecutionRunnable(taskExecutionRunnable)
-                .endTime(new Date(taskExecutionSuccessEvent.getEndTime()))
-                .varPool(taskExecutionSuccessEvent.getVarPool())
-                .build();
-        taskExecutionRunnable.getWorkflowEventBus().publish(taskSuccessEvent);
+        final ITaskExecutionRunnable taskExecutionRunnable =
+                publishTaskSuccessLifecycleEvent(taskExecutionSuccessEvent);
         // Once the master receive the event, then will send ack to the worker
         // This means the worker will not retry to send the event to the master
         // So once the master failover and we take over the task instance success, then we should fetch the latest task
@@ -132,12 +120,7 @@ public class TaskExecutionEventListenerImpl implements ITaskExecutionEventListen
 
     @Override
     public void onTaskInstanceExecutionFailed(TaskExecutionFailedEvent taskExecutionFailedEvent) {
-        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionFailedEvent);
-        final TaskFailedLifecycleEvent taskFailedEvent = TaskFailedLifecycleEvent.builder()
-                .taskExecutionRunnable(taskExecutionRunnable)
-                .endTime(new Date(taskExecutionFailedEvent.getEndTime()))
-                .build();
-        taskExecutionRunnable.getWorkflowEventBus().publish(taskFailedEvent);
+        final ITaskExecutionRunnable taskExecutionRunnable = publishTaskFailedLifecycleEvent(taskExecutionFailedEvent);
         // Once the master receive the event, then will send ack to the worker
         // This means the worker will not retry to send the event to the master
         // So once the master failover and we take over the task instance success, then we should fetch the latest task
@@ -153,12 +136,7 @@ public class TaskExecutionEventListenerImpl implements ITaskExecutionEventListen
 
     @Override
     public void onTaskInstanceExecutionKilled(TaskExecutionKilledEvent taskExecutionKilledEvent) {
-        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionKilledEvent);
-        final TaskKilledLifecycleEvent taskKilledEvent = TaskKilledLifecycleEvent.builder()
-                .taskExecutionRunnable(taskExecutionRunnable)
-                .endTime(new Date(taskExecutionKilledEvent.getEndTime()))
-                .build();
-        taskExecutionRunnable.getWorkflowEventBus().publish(taskKilledEvent);
+        final ITaskExecutionRunnable taskExecutionRunnable = publishTaskKilledLifecycleEvent(taskExecutionKilledEvent);
         // Once the master receive the event, then will send ack to the worker
         // This means the worker will not retry to send the event to the master
         // So once the master failover and we take over the task instance success, then we should fetch the latest task
@@ -174,9 +152,7 @@ public class TaskExecutionEventListenerImpl implements ITaskExecutionEventListen
 
     @Override
     public void onTaskInstanceExecutionPaused(TaskExecutionPausedEvent taskExecutionPausedEvent) {
-        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionPausedEvent);
-        final TaskPausedLifecycleEvent taskPausedEvent = TaskPausedLifecycleEvent.of(taskExecutionRunnable);
-        taskExecutionRunnable.getWorkflowEventBus().publish(taskPausedEvent);
+        final ITaskExecutionRunnable taskExecutionRunnable = publishTaskPausedLifecycleEvent(taskExecutionPausedEvent);
         // Once the master receive the event, then will send ack to the worker
         // This means the worker will not retry to send the event to the master
         // So once the master failover and we take over the task instance success, then we should fetch the latest task
@@ -190,6 +166,124 @@ public class TaskExecutionEventListenerImpl implements ITaskExecutionEventListen
         }
     }
 
+    @Override
+    public CompletableFuture<Void> onTaskInstanceExecutionEvents(final TaskExecutionEventBatch taskExecutionEventBatch) {
+        final Set<Integer> failedTaskInstanceIds = new HashSet<>();
+        for (ITaskExecutionEvent taskExecutionEvent : taskExecutionEventBatch.getEvents()) {
+            final int taskInstanceId = taskExecutionEvent.getTaskInstanceId();
+            if (failedTaskInstanceIds.contains(taskInstanceId)) {
+                // Skip the following events of the failed task instance to keep the order, the worker will resend them
+                continue;
+            }
+            try {
+                publishTaskLifecycleEvent(taskExecutionEvent);
+            } catch (Exception ex) {
+                log.error("Handle the task execution event: {} failed", taskExecutionEvent, ex);
+                failedTaskInstanceIds.add(taskInstanceId);
+            }
+        }
+        // Ack the whole batch at once, the worker will stop retrying the events which are handled
+        Clients
+                .withService(ITaskInstanceExecutionEventAckListener.class)
+                .withHost(taskExecutionEventBatch.getWorkerHost())
+                .handleTaskExecutionEventBatchAck(
+                        TaskExecutionEventBatchAck.of(taskExecutionEventBatch.getBatchId(), failedTaskInstanceIds))
+                .whenComplete((unused, ex) -> {
+                    if (ex != null) {
+                        log.warn("Send the ack of task execution event batch: {} to {} failed",
+                                taskExecutionEventBatch.getBatchId(), taskExecutionEventBatch.getWorkerHost(), ex);
+                    }
+                });
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void publishTaskLifecycleEvent(final ITaskExecutionEvent taskExecutionEvent) {
+        switch (taskExecutionEvent.getEventType()) {
+            case DISPATCH:
+                publishTaskDispatchedLifecycleEvent((TaskExecutionDispatchEvent) taskExecutionEvent);
+                break;
+            case RUNNING:
+                publishTaskRunningLifecycleEvent((TaskExecutionRunningEvent) taskExecutionEvent);
+                break;
+            case SUCCESS:
+                publishTaskSuccessLifecycleEvent((TaskExecutionSuccessEvent) taskExecutionEvent);
+                break;
+            case FAILED:
+                publishTaskFailedLifecycleEvent((TaskExecutionFailedEvent) taskExecutionEvent);
+                break;
+            case KILLED:
+                publishTaskKilledLifecycleEvent((TaskExecutionKilledEvent) taskExecutionEvent);
+                break;
+            case PAUSED:
+                publishTaskPausedLifecycleEvent((TaskExecutionPausedEvent) taskExecutionEvent);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported task execution event: " + taskExecutionEvent);
+        }
+    }
+
+    private ITaskExecutionRunnable publishTaskDispatchedLifecycleEvent(final TaskExecutionDispatchEvent taskExecutionDispatchEvent) {
+        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionDispatchEvent);
+        final TaskDispatchedLifecycleEvent taskDispatchedLifecycleEvent = TaskDispatchedLifecycleEvent.builder()
+                .taskExecutionRunnable(taskExecutionRunnable)
+                .executorHost(taskExecutionDispatchEvent.getTaskInstanceHost())
+                .build();
+
+        taskExecutionRunnable.getWorkflowEventBus().publish(taskDispatchedLifecycleEvent);
+        return taskExecutionRunnable;
+    }
+
+    private ITaskExecutionRunnable publishTaskRunningLifecycleEvent(final TaskExecutionRunningEvent taskExecutionRunningEvent) {
+        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionRunningEvent);
+        final TaskRunningLifecycleEvent taskRunningEvent = TaskRunningLifecycleEvent.builder()
+                .taskExecutionRunnable(taskExecutionRunnable)
+                .startTime(new Date(taskExecutionRunningEvent.getStartTime()))
+                .logPath(taskExecutionRunningEvent.getLogPath())
+                .runtimeContext(taskExecutionRunningEvent.getAppIds())
+                .build();
+
+        taskExecutionRunnable.getWorkflowEventBus().publish(taskRunningEvent);
+        return taskExecutionRunnable;
+    }
+
+    private ITaskExecutionRunnable publishTaskSuccessLifecycleEvent(final TaskExecutionSuccessEvent taskExecutionSuccessEvent) {
+        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionSuccessEvent);
+        final TaskSuccessLifecycleEvent taskSuccessEvent = TaskSuccessLifecycleEvent.builder()
+                .taskExecutionRunnable(taskExecutionRunnable)
+                .endTime(new Date(taskExecutionSuccessEvent.getEndTime()))
+                .varPool(taskExecutionSuccessEvent.getVarPool())
+                .build();
+        taskExecutionRunnable.getWorkflowEventBus().publish(taskSuccessEvent);
+        return taskExecutionRunnable;
+    }
+
+    private ITaskExecutionRunnable publishTaskFailedLifecycleEvent(final TaskExecutionFailedEvent taskExecutionFailedEvent) {
+        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionFailedEvent);
+        final TaskFailedLifecycleEvent taskFailedEvent = TaskFailedLifecycleEvent.builder()
+                .taskExecutionRunnable(taskExecutionRunnable)
+                .endTime(new Date(taskExecutionFailedEvent.getEndTime()))
+                .build();
+        taskExecutionRunnable.getWorkflowEventBus().publish(taskFailedEvent);
+        return taskExecutionRunnable;
+    }
+
+    private ITaskExecutionRunnable publishTaskKilledLifecycleEvent(final TaskExecutionKilledEvent taskExecutionKilledEvent) {
+        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionKilledEvent);
+        final TaskKilledLifecycleEvent taskKilledEvent = TaskKilledLifecycleEvent.builder()
+                .taskExecutionRunnable(taskExecutionRunnable)
+                .endTime(new Date(taskExecutionKilledEvent.getEndTime()))
+                .build();
+        taskExecutionRunnable.getWorkflowEventBus().publish(taskKilledEvent);
+        return taskExecutionRunnable;
+    }
+
+    private ITaskExecutionRunnable publishTaskPausedLifecycleEvent(final TaskExecutionPausedEvent taskExecutionPausedEvent) {
+        final ITaskExecutionRunnable taskExecutionRunnable = getTaskExecutionRunnable(taskExecutionPausedEvent);
+        final TaskPausedLifecycleEvent taskPausedEvent = TaskPausedLifecycleEvent.of(taskExecutionRunnable);
+        taskExecutionRunnable.getWorkflowEventBus().publish(taskPausedEvent);
+        return taskExecutionRunnable;
+    }
+
     private ITaskExecutionRunnable getTaskExecutionRunnable(final ITaskExecutionEvent taskExecutionEvent) {
         final int workflowInstanceId = taskExecutionEvent.getWorkflowInstanceId();
         final int taskInstanceId = taskExecutionEvent.getTaskInstanceId();
@@ -17,23 +17,28 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.queue.DelayEntry;
 import org.apache.dolphinscheduler.server.master.runner.queue.PriorityDelayQueue;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
 /**
  * The class is used to store {@link ITaskExecutionRunnable} which needs to be dispatched. The {@link ITaskExecutionRunnable}
- * will be stored in {@link PriorityDelayQueue}, if the {@link ITaskExecutionRunnable}'s delay time is 0, then it will be
- * consumed by {@link GlobalTaskDispatchWaitingQueueLooper}.
+ * will be stored in the {@link PriorityDelayQueue} of its worker group lane, if the {@link ITaskExecutionRunnable}'s delay
+ * time is 0, then it will be consumed by the lane of {@link GlobalTaskDispatchWaitingQueueLooper}.
  * <p>
+ * The lanes are isolated with each other, so that a slow worker group will not block dispatching the tasks of others.
  * The order of {@link ITaskExecutionRunnable} in the {@link PriorityDelayQueue} is determined by {@link ITaskExecutionRunnable#compareTo}.
  */
 @Slf4j
@@ -41,42 +46,130 @@ import org.springframework.stereotype.Component;
 public class GlobalTaskDispatchWaitingQueue {
 
     private final Set<Integer> waitingTaskInstanceIds = ConcurrentHashMap.newKeySet();
-    private final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue =
-            new PriorityDelayQueue<>();
+
+    private final Map<String, PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>>> lanes =
+            new ConcurrentHashMap<>();
+
+    private final CopyOnWriteArrayList<Consumer<String>> laneCreatedListeners = new CopyOnWriteArrayList<>();
+
+    private final CopyOnWriteArrayList<Consumer<ITaskExecutionRunnable>> taskRemovedListeners =
+            new CopyOnWriteArrayList<>();
 
     /**
      * Submit a {@link ITaskExecutionRunnable} with delay time 0, it will be consumed immediately.
      */
-    public synchronized void dispatchTaskExecuteRunnable(ITaskExecutionRunnable ITaskExecutionRunnable) {
+    public void dispatchTaskExecuteRunnable(ITaskExecutionRunnable ITaskExecutionRunnable) {
         dispatchTaskExecuteRunnableWithDelay(ITaskExecutionRunnable, 0);
     }
 
     /**
      * Submit a {@link ITaskExecutionRunnable} with delay time, if the delay time <= 0 then it can be consumed.
      */
-    public synchronized void dispatchTaskExecuteRunnableWithDelay(ITaskExecutionRunnable taskExecutionRunnable,
-                                                                  long delayTimeMills) {
+    public void dispatchTaskExecuteRunnableWithDelay(ITaskExecutionRunnable taskExecutionRunnable,
+                                                     long delayTimeMills) {
         waitingTaskInstanceIds.add(taskExecutionRunnable.getTaskInstance().getId());
-        priorityDelayQueue.add(new DelayEntry<>(delayTimeMills, taskExecutionRunnable));
+        getOrCreateLane(getLane(taskExecutionRunnable))
+                .add(new DelayEntry<>(delayTimeMills, taskExecutionRunnable));
     }
 
     /**
-     * Consume {@link ITaskExecutionRunnable} from the {@link PriorityDelayQueue}, only the delay time <= 0 can be consumed.
+     * Consume {@link ITaskExecutionRunnable} from the {@link PriorityDelayQueue} of the given lane, only the delay time <= 0 can be consumed.
      */
-    @SneakyThrows
-    public ITaskExecutionRunnable takeTaskExecuteRunnable() {
-        ITaskExecutionRunnable taskExecutionRunnable = priorityDelayQueue.take().getData();
-        while (!markTaskExecutionRunnableRemoved(taskExecutionRunnable)) {
-            taskExecutionRunnable = priorityDelayQueue.take().getData();
+    public ITaskExecutionRunnable takeTaskExecuteRunnable(String lane) {
+        final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue = getOrCreateLane(lane);
+        DelayEntry<ITaskExecutionRunnable> delayEntry = priorityDelayQueue.take();
+        while (!markTaskExecutionRunnableTaken(delayEntry.getData())) {
+            delayEntry = priorityDelayQueue.take();
         }
-        return taskExecutionRunnable;
+        TaskMetrics.recordTaskDispatchLag(lane, System.currentTimeMillis() - delayEntry.getTriggerTimeMills());
+        return delayEntry.getData();
+    }
+
+    /**
+     * Get the lane of the {@link ITaskExecutionRunnable}, the tasks are sharded by the worker group.
+     */
+    public String getLane(ITaskExecutionRunnable taskExecutionRunnable) {
+        return WorkerGroupUtils.getWorkerGroupOrDefault(taskExecutionRunnable.getTaskInstance().getWorkerGroup());
+    }
+
+    public Set<String> getLanes() {
+        return lanes.keySet();
+    }
+
+    /**
+     * Register a listener which will be notified with the lane name once a new lane is created.
+     */
+    public void registerLaneCreatedListener(Consumer<String> laneCreatedListener) {
+        laneCreatedListeners.add(laneCreatedListener);
+    }
+
+    /**
+     * Register a listener which will be notified once a waiting {@link ITaskExecutionRunnable} is removed by
+     * {@link #markTaskExecutionRunnableRemoved}, e.g. the task is killed before dispatch.
+     */
+    public void registerTaskRemovedListener(Consumer<ITaskExecutionRunnable> taskRemovedListener) {
+        taskRemovedListeners.add(taskRemovedListener);
+    }
+
+    /**
+     * Submit a parked {@link ITaskExecutionRunnable} which is still waiting, it will be consumed immediately unless it
+     * has been removed when parking.
+     */
+    public void dispatchParkedTaskExecuteRunnable(ITaskExecutionRunnable taskExecutionRunnable) {
+        getOrCreateLane(getLane(taskExecutionRunnable)).add(new DelayEntry<>(0, taskExecutionRunnable));
+    }
+
+    /**
+     * Mark the taken {@link ITaskExecutionRunnable} as waiting again, e.g. it's parked out of the queue, so it can
+     * still be removed before dispatch.
+     */
+    public void markTaskExecutionRunnableWaiting(ITaskExecutionRunnable taskExecutionRunnable) {
+        waitingTaskInstanceIds.add(taskExecutionRunnable.getTaskInstance().getId());
+    }
+
+    /**
+     * Mark the {@link ITaskExecutionRunnable} as taken to dispatch.
+     *
+     * @return false if the task has been removed, it should not be dispatched.
+     */
+    public boolean markTaskExecutionRunnableTaken(ITaskExecutionRunnable taskExecutionRunnable) {
+        return waitingTaskInstanceIds.remove(taskExecutionRunnable.getTaskInstance().getId());
     }
 
     public int getWaitingDispatchTaskNumber() {
         return waitingTaskInstanceIds.size();
     }
 
-    public synchronized boolean markTaskExecutionRunnableRemoved(ITaskExecutionRunnable taskExecutionRunnable) {
-        return waitingTaskInstanceIds.remove(taskExecutionRunnable.getTaskInstance().getId());
+    /**
+     * Remove the waiting {@link ITaskExecutionRunnable}, so it will not be dispatched.
+     *
+     * @return false if the task is not waiting, e.g. it has been taken to dispatch.
+     */
+    public boolean markTaskExecutionRunnableRemoved(ITaskExecutionRunnable taskExecutionRunnable) {
+        if (!waitingTaskInstanceIds.remove(taskExecutionRunnable.getTaskInstance().getId())) {
+            return false;
+        }
+        for (Consumer<ITaskExecutionRunnable> taskRemovedListener : taskRemovedListeners) {
+            taskRemovedListener.accept(taskExecutionRunnable);
+        }
+        return true;
+    }
+
+    private PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> getOrCreateLane(String lane) {
+        final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue = lanes.get(lane);
+        if (priorityDelayQueue != null) {
+            return priorityDelayQueue;
+        }
+        final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> newPriorityDelayQueue = new PriorityDelayQueue<>();
+        final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> existPriorityDelayQueue =
+                lanes.putIfAbsent(lane, newPriorityDelayQueue);
+        if (existPriorityDelayQueue != null) {
+            return existPriorityDelayQueue;
+        }
+        log.info("Created the task dispatch lane: {}", lane);
+        for (Consumer<String> laneCreatedListener : laneCreatedListeners) {
+            laneCreatedListener.accept(lane);
+        }
+        return newPriorityDelayQueue;
     }
 }
@@ -17,13 +17,28 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.utils.TaskTypeUtils;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.IClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskDispatchConfig;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.WorkerGroupUnavailableException;
+import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
+import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchRetryPolicy;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.extern.slf4j.Slf4j;
@@ -31,9 +46,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Dispatch the tasks in {@link GlobalTaskDispatchWaitingQueue}, each lane of the queue is consumed by a dedicated
+ * {@link TaskDispatchLaneLooper}, which keeps at most the configured number of dispatch requests in-flight.
+ * <p>
+ * The failed dispatch is retried by {@link TaskDispatchRetryPolicy}, and if there is no available worker in the worker
+ * group, the tasks of the worker group are parked by the {@link WorkerGroupDispatchCircuitBreaker} until a worker comes
+ * back.
+ */
 @Slf4j
 @Component
-public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread implements AutoCloseable {
+public class GlobalTaskDispatchWaitingQueueLooper implements AutoCloseable {
 
     @Autowired
     private GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue;
@@ -41,61 +64,250 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
     @Autowired
     private TaskDispatchFactory taskDispatchFactory;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private ClusterManager clusterManager;
+
+    private final Map<String, TaskDispatchLaneLooper> taskDispatchLaneLoopers = new ConcurrentHashMap<>();
+
+    private final Map<String, WorkerGroupDispatchCircuitBreaker> workerGroupDispatchCircuitBreakers =
+            new ConcurrentHashMap<>();
+
     private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
-    public GlobalTaskDispatchWaitingQueueLooper() {
-        super("GlobalTaskDispatchWaitingQueueLooper");
-    }
+    private TaskDispatchRetryPolicy taskDispatchRetryPolicy;
 
-    @Override
     public synchronized void start() {
         if (!RUNNING_FLAG.compareAndSet(false, true)) {
             log.error("The GlobalTaskDispatchWaitingQueueLooper already started, will not start again");
             return;
         }
         log.info("GlobalTaskDispatchWaitingQueueLooper starting...");
-        super.start();
+        final TaskDispatchConfig taskDispatchConfig = masterConfig.getTaskDispatchConfig();
+        taskDispatchRetryPolicy = new TaskDispatchRetryPolicy(
+                taskDispatchConfig.getRetryInitialInterval(), taskDispatchConfig.getRetryMaxInterval());
+        globalTaskDispatchWaitingQueue.registerTaskRemovedListener(this::onTaskExecutionRunnableRemoved);
+        globalTaskDispatchWaitingQueue.registerLaneCreatedListener(this::startTaskDispatchLaneLooper);
+        globalTaskDispatchWaitingQueue.getLanes().forEach(this::startTaskDispatchLaneLooper);
+        clusterManager.getWorkerClusters().registerListener(new WorkerAvailableListener());
+        TaskMetrics.registerTaskDispatchParkedGauge(() -> workerGroupDispatchCircuitBreakers.values()
+                .stream()
+                .mapToInt(WorkerGroupDispatchCircuitBreaker::getParkedSize)
+                .sum());
         log.info("GlobalTaskDispatchWaitingQueueLooper started...");
     }
 
-    @Override
-    public void run() {
-        while (RUNNING_FLAG.get()) {
-            doDispatch();
+    private void startTaskDispatchLaneLooper(final String lane) {
+        if (!RUNNING_FLAG.get()) {
+            return;
         }
+        taskDispatchLaneLoopers.computeIfAbsent(lane, key -> {
+            final int concurrency = masterConfig.getTaskDispatchConfig().getLaneConcurrency(key);
+            final TaskDispatchLaneLooper taskDispatchLaneLooper = new TaskDispatchLaneLooper(key, concurrency);
+            taskDispatchLaneLooper.start();
+            log.info("Started TaskDispatchLaneLooper for lane: {} with concurrency: {}", key, concurrency);
+            return taskDispatchLaneLooper;
+        });
     }
 
-    void doDispatch() {
-        final ITaskExecutionRunnable taskExecutionRunnable = globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable();
+    /**
+     * Take a task from the given lane and dispatch it asynchronously, the in-flight permit is released once the
+     * dispatch request is completed.
+     */
+    void doDispatch(final String lane, final Semaphore inFlightDispatchPermits) {
+        inFlightDispatchPermits.acquireUninterruptibly();
+        boolean inFlight = false;
+        try {
+            final ITaskExecutionRunnable taskExecutionRunnable =
+                    globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(lane);
+            inFlight = doDispatch(taskExecutionRunnable, inFlightDispatchPermits);
+        } finally {
+            if (!inFlight) {
+                inFlightDispatchPermits.release();
+            }
+        }
+    }
+
+    private boolean doDispatch(final ITaskExecutionRunnable taskExecutionRunnable,
+                               final Semaphore inFlightDispatchPermits) {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         try {
             final TaskExecutionStatus status = taskInstance.getState();
             if (status != TaskExecutionStatus.SUBMITTED_SUCCESS && status != TaskExecutionStatus.DELAY_EXECUTION) {
                 log.warn("The TaskInstance {} state is : {}, will not dispatch", taskInstance.getName(), status);
-                return;
+                // The probe will not be retried, release the parked tasks to probe again
+                final WorkerGroupDispatchCircuitBreaker circuitBreaker = getCircuitBreaker(taskExecutionRunnable);
+                if (circuitBreaker.isProbe(taskExecutionRunnable)) {
+                    releaseParkedTasks(circuitBreaker);
+                }
+                return false;
+            }
+            final WorkerGroupDispatchCircuitBreaker circuitBreaker = getCircuitBreaker(taskExecutionRunnable);
+            if (circuitBreaker.isOpen() && isDispatchToWorker(taskInstance)
+                    && tryPark(circuitBreaker, taskExecutionRunnable)) {
+                return false;
             }
             final TaskDispatcher taskDispatcher = taskDispatchFactory.getTaskDispatcher(taskInstance);
-            taskDispatcher.dispatchTask(taskExecutionRunnable);
+            // Don't wait for the executor response, so that the lane can keep multiple dispatch requests in-flight
+            taskDispatcher.dispatchTaskAsync(taskExecutionRunnable).whenComplete((unused, ex) -> {
+                inFlightDispatchPermits.release();
+                if (ex == null) {
+                    if (circuitBreaker.isOpen()) {
+                        releaseParkedTasks(circuitBreaker);
+                    }
+                    return;
+                }
+                final Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                if (cause instanceof WorkerGroupUnavailableException && isDispatchToWorker(taskInstance)) {
+                    onWorkerGroupUnavailable(taskExecutionRunnable, cause);
+                    return;
+                }
+                retryDispatch(taskExecutionRunnable, cause);
+            });
+            return true;
         } catch (Exception e) {
-            // If dispatch failed, will put the task back to the queue
-            // The task will be dispatched after waiting time.
-            // the waiting time will increase multiple of times, but will not exceed 60 seconds
-            long waitingTimeMills = Math.max(
-                    taskExecutionRunnable.getTaskExecutionContext().increaseDispatchFailTimes() * 1_000L, 60_000L);
-            globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(taskExecutionRunnable,
-                    waitingTimeMills);
-            log.error("Dispatch Task: {} failed will retry after: {}/ms", taskInstance.getName(), waitingTimeMills, e);
+            retryDispatch(taskExecutionRunnable, e);
+            return false;
+        }
+    }
+
+    private void onWorkerGroupUnavailable(final ITaskExecutionRunnable taskExecutionRunnable, final Throwable cause) {
+        final WorkerGroupDispatchCircuitBreaker circuitBreaker = getCircuitBreaker(taskExecutionRunnable);
+        if (tryPark(circuitBreaker, taskExecutionRunnable)) {
+            return;
+        }
+        // The task becomes the probe of the worker group
+        circuitBreaker.open(taskExecutionRunnable);
+        retryDispatch(taskExecutionRunnable, cause);
+    }
+
+    /**
+     * Park the task if the breaker is opened, the parked task is still waiting in the queue's view, so it can be
+     * removed before dispatch.
+     *
+     * @return true if the task is parked, or it's removed meanwhile, the task should not be dispatched now.
+     */
+    private boolean tryPark(final WorkerGroupDispatchCircuitBreaker circuitBreaker,
+                            final ITaskExecutionRunnable taskExecutionRunnable) {
+        // Mark it waiting before parking, otherwise the task may be released before it's waiting and then dropped
+        globalTaskDispatchWaitingQueue.markTaskExecutionRunnableWaiting(taskExecutionRunnable);
+        if (circuitBreaker.tryPark(taskExecutionRunnable)) {
+            log.info("The worker group of TaskInstance {} is unavailable, park it until a worker comes back",
+                    taskExecutionRunnable.getTaskInstance().getName());
+            return true;
+        }
+        return !globalTaskDispatchWaitingQueue.markTaskExecutionRunnableTaken(taskExecutionRunnable);
+    }
+
+    private void onTaskExecutionRunnableRemoved(final ITaskExecutionRunnable taskExecutionRunnable) {
+        // If the probe is removed, release the parked tasks so that one of them becomes the new probe
+        final WorkerGroupDispatchCircuitBreaker circuitBreaker = getCircuitBreaker(taskExecutionRunnable);
+        for (ITaskExecutionRunnable parkedTaskExecutionRunnable : circuitBreaker.remove(taskExecutionRunnable)) {
+            globalTaskDispatchWaitingQueue.dispatchParkedTaskExecuteRunnable(parkedTaskExecutionRunnable);
+        }
+    }
+
+    private void onWorkerAvailable() {
+        final WorkerClusters workerClusters = clusterManager.getWorkerClusters();
+        for (Map.Entry<String, WorkerGroupDispatchCircuitBreaker> entry : workerGroupDispatchCircuitBreakers
+                .entrySet()) {
+            final WorkerGroupDispatchCircuitBreaker circuitBreaker = entry.getValue();
+            if (circuitBreaker.isOpen()
+                    && !workerClusters.getNormalWorkerServerAddressByGroup(entry.getKey()).isEmpty()) {
+                releaseParkedTasks(circuitBreaker);
+            }
+        }
+    }
+
+    private void releaseParkedTasks(final WorkerGroupDispatchCircuitBreaker circuitBreaker) {
+        for (ITaskExecutionRunnable parkedTaskExecutionRunnable : circuitBreaker.close()) {
+            globalTaskDispatchWaitingQueue.dispatchParkedTaskExecuteRunnable(parkedTaskExecutionRunnable);
         }
     }
 
+    private WorkerGroupDispatchCircuitBreaker getCircuitBreaker(final ITaskExecutionRunnable taskExecutionRunnable) {
+        return workerGroupDispatchCircuitBreakers.computeIfAbsent(
+                globalTaskDispatchWaitingQueue.getLane(taskExecutionRunnable),
+                WorkerGroupDispatchCircuitBreaker::new);
+    }
+
+    private boolean isDispatchToWorker(final TaskInstance taskInstance) {
+        return !TaskTypeUtils.isLogicTask(taskInstance.getTaskType());
+    }
+
+    private void retryDispatch(final ITaskExecutionRunnable taskExecutionRunnable, final Throwable cause) {
+        // If dispatch failed, will put the task back to the queue
+        // The task will be dispatched after waiting time.
+        // the waiting time will increase exponentially with jitter, but will not exceed the retry max interval
+        final long waitingTimeMills = taskDispatchRetryPolicy.getRetryDelayMills(
+                taskExecutionRunnable.getTaskExecutionContext().increaseDispatchFailTimes());
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(taskExecutionRunnable,
+                waitingTimeMills);
+        log.error("Dispatch Task: {} failed will retry after: {}/ms",
+                taskExecutionRunnable.getTaskInstance().getName(), waitingTimeMills, cause);
+    }
+
     @Override
     public void close() throws Exception {
         if (RUNNING_FLAG.compareAndSet(true, false)) {
             log.info("GlobalTaskDispatchWaitingQueueLooper stopping...");
+            taskDispatchLaneLoopers.values().forEach(Thread::interrupt);
+            taskDispatchLaneLoopers.clear();
             log.info("GlobalTaskDispatchWaitingQueueLooper stopped...");
         } else {
             log.error("GlobalTaskDispatchWaitingQueueLooper is not started");
         }
     }
 
+    /**
+     * Release the parked tasks of the worker groups which have available worker again.
+     */
+    private class WorkerAvailableListener implements IClusters.IClustersChangeListener<WorkerServerMetadata> {
+
+        @Override
+        public void onServerAdded(WorkerServerMetadata server) {
+            onWorkerAvailable();
+        }
+
+        @Override
+        public void onServerRemove(WorkerServerMetadata server) {
+            // The circuit breaker is opened by the dispatch failure
+        }
+
+        @Override
+        public void onServerUpdate(WorkerServerMetadata server) {
+            if (server.getServerStatus() == ServerStatus.NORMAL) {
+                onWorkerAvailable();
+            }
+        }
+    }
+
+    private class TaskDispatchLaneLooper extends BaseDaemonThread {
+
+        private final String lane;
+
+        private final Semaphore inFlightDispatchPermits;
+
+        private TaskDispatchLaneLooper(final String lane, final int concurrency) {
+            super("TaskDispatchLaneLooper-" + lane);
+            this.lane = lane;
+            this.inFlightDispatchPermits = new Semaphore(concurrency);
+        }
+
+        @Override
+        public void run() {
+            while (RUNNING_FLAG.get()) {
+                try {
+                    doDispatch(lane, inFlightDispatchPermits);
+                } catch (Throwable e) {
+                    if (RUNNING_FLAG.get()) {
+                        log.error("TaskDispatchLaneLooper: {} dispatch task failed", lane, e);
+                    }
+                }
+            }
+        }
+    }
+
 }
@@ -29,6 +29,7 @@ import static org.apache.dolphinscheduler.plugin.task.api.utils.DataQualityConst
 import static org.apache.dolphinscheduler.plugin.task.api.utils.DataQualityConstants.TARGET_DATASOURCE_ID;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.CacheType;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.dao.entity.DataSource;
@@ -58,6 +59,7 @@ import org.apache.dolphinscheduler.plugin.task.spark.SparkParameters;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.TaskExecutionContextBuilder;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.TaskExecutionContextCreateRequest;
+import org.apache.dolphinscheduler.service.cache.MetadataCacheManager;
 import org.apache.dolphinscheduler.service.expand.CuringParamsService;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.spi.datasource.BaseConnectionParam;
@@ -95,6 +97,9 @@ public class TaskExecutionContextFactory {
     @Autowired
     private HikariDataSource hikariDataSource;
 
+    @Autowired
+    private MetadataCacheManager metadataCacheManager;
+
     public TaskExecutionContext createTaskExecutionContext(TaskExecutionContextCreateRequest request) {
         TaskInstance taskInstance = request.getTaskInstance();
         WorkflowInstance workflowInstance = request.getWorkflowInstance();
@@ -163,7 +168,7 @@ public class TaskExecutionContextFactory {
         }
 
         map.forEach((code, parameters) -> {
-            DataSource datasource = processService.findDataSourceById(code);
+            DataSource datasource = findDataSourceById(code);
             if (Objects.isNull(datasource)) {
                 return;
             }
@@ -242,7 +247,8 @@ public class TaskExecutionContextFactory {
 
         if (StringUtils.isNotEmpty(namespace)) {
             String clusterName = JSONUtils.toMap(namespace).get(CLUSTER);
-            String configYaml = processService.findConfigYamlByName(clusterName);
+            String configYaml = metadataCacheManager.get(CacheType.CLUSTER_CONFIG, clusterName,
+                    () -> processService.findConfigYamlByName(clusterName));
             if (configYaml != null) {
                 k8sTaskExecutionContext =
                         new K8sTaskExecutionContext(configYaml, JSONUtils.toMap(namespace).get(NAMESPACE_NAME));
@@ -261,7 +267,7 @@ public class TaskExecutionContextFactory {
     private void setSourceConfig(DataQualityTaskExecutionContext dataQualityTaskExecutionContext,
                                  Map<String, String> config) {
         if (StringUtils.isNotEmpty(config.get(SRC_DATASOURCE_ID))) {
-            DataSource dataSource = processService.findDataSourceById(Integer.parseInt(config.get(SRC_DATASOURCE_ID)));
+            DataSource dataSource = findDataSourceById(Integer.parseInt(config.get(SRC_DATASOURCE_ID)));
             if (dataSource != null) {
                 ConnectorType srcConnectorType = ConnectorType.of(
                         DbType.of(Integer.parseInt(config.get(SRC_CONNECTOR_TYPE))).isHive() ? 1 : 0);
@@ -333,8 +339,7 @@ public class TaskExecutionContextFactory {
     private void setTargetConfig(DataQualityTaskExecutionContext dataQualityTaskExecutionContext,
                                  Map<String, String> config) {
         if (StringUtils.isNotEmpty(config.get(TARGET_DATASOURCE_ID))) {
-            DataSource dataSource =
-                    processService.findDataSourceById(Integer.parseInt(config.get(TARGET_DATASOURCE_ID)));
+            DataSource dataSource = findDataSourceById(Integer.parseInt(config.get(TARGET_DATASOURCE_ID)));
             if (dataSource != null) {
                 ConnectorType targetConnectorType = ConnectorType.of(
                         DbType.of(Integer.parseInt(config.get(TARGET_CONNECTOR_TYPE))).isHive() ? 1 : 0);
@@ -402,4 +407,9 @@ public class TaskExecutionContextFactory {
         dataQualityTaskExecutionContext.setStatisticsValueTable("t_ds_dq_task_statistics_value");
     }
 
+    private DataSource findDataSourceById(int dataSourceId) {
+        return metadataCacheManager.get(CacheType.DATASOURCE, dataSourceId,
+                () -> processService.findDataSourceById(dataSourceId));
+    }
+
 }
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The circuit breaker of dispatching the tasks to a worker group.
+ * <p>
+ * The breaker is opened once a task failed to dispatch since there is no available worker in the worker group, the
+ * task becomes the probe which is retried with backoff, and the other tasks of the worker group are parked rather than
+ * retried one by one. The breaker is closed once the probe is dispatched successfully or a worker of the worker group
+ * comes back, then all the parked tasks are released at once. If the probe leaves without being dispatched, e.g. it's
+ * killed, the breaker is closed as well, so one of the released tasks becomes the new probe.
+ */
+@Slf4j
+public class WorkerGroupDispatchCircuitBreaker {
+
+    private final String workerGroup;
+
+    private ITaskExecutionRunnable probeTaskExecutionRunnable;
+
+    private final List<ITaskExecutionRunnable> parkedTaskExecutionRunnables = new ArrayList<>();
+
+    public WorkerGroupDispatchCircuitBreaker(final String workerGroup) {
+        this.workerGroup = workerGroup;
+    }
+
+    public synchronized boolean isOpen() {
+        return probeTaskExecutionRunnable != null;
+    }
+
+    public synchronized boolean isProbe(final ITaskExecutionRunnable taskExecutionRunnable) {
+        return probeTaskExecutionRunnable == taskExecutionRunnable;
+    }
+
+    /**
+     * Open the breaker with the given task as the probe, if the breaker is already opened this will do nothing.
+     */
+    public synchronized void open(final ITaskExecutionRunnable taskExecutionRunnable) {
+        if (probeTaskExecutionRunnable != null) {
+            return;
+        }
+        probeTaskExecutionRunnable = taskExecutionRunnable;
+        log.warn("Open the dispatch circuit breaker of worker group: {}, probe task: {}",
+                workerGroup, taskExecutionRunnable.getTaskInstance().getName());
+    }
+
+    /**
+     * Park the given task if the breaker is opened and the task is not the probe.
+     *
+     * @return true if the task is parked.
+     */
+    public synchronized boolean tryPark(final ITaskExecutionRunnable taskExecutionRunnable) {
+        if (probeTaskExecutionRunnable == null || probeTaskExecutionRunnable == taskExecutionRunnable) {
+            return false;
+        }
+        parkedTaskExecutionRunnables.add(taskExecutionRunnable);
+        return true;
+    }
+
+    /**
+     * Close the breaker and return the parked tasks, the parked tasks should be dispatched again.
+     */
+    public synchronized List<ITaskExecutionRunnable> close() {
+        if (probeTaskExecutionRunnable == null) {
+            return Collections.emptyList();
+        }
+        probeTaskExecutionRunnable = null;
+        final List<ITaskExecutionRunnable> releasedTaskExecutionRunnables =
+                new ArrayList<>(parkedTaskExecutionRunnables);
+        parkedTaskExecutionRunnables.clear();
+        log.info("Close the dispatch circuit breaker of worker group: {}, release {} parked tasks",
+                workerGroup, releasedTaskExecutionRunnables.size());
+        return releasedTaskExecutionRunnables;
+    }
+
+    /**
+     * Forget the task which is removed before dispatch, if it's the probe the breaker is closed and the parked tasks
+     * are returned to be dispatched again.
+     */
+    public synchronized List<ITaskExecutionRunnable> remove(final ITaskExecutionRunnable taskExecutionRunnable) {
+        if (probeTaskExecutionRunnable == taskExecutionRunnable) {
+            log.info("The probe task: {} of worker group: {} is removed",
+                    taskExecutionRunnable.getTaskInstance().getName(), workerGroup);
+            return close();
+        }
+        parkedTaskExecutionRunnables.remove(taskExecutionRunnable);
+        return Collections.emptyList();
+    }
+
+    public synchronized int getParkedSize() {
+        return parkedTaskExecutionRunnables.size();
+    }
+}
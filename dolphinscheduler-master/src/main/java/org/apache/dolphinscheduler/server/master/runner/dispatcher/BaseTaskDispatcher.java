@@ -22,8 +22,10 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
 import org.apache.dolphinscheduler.server.master.exception.dispatch.WorkerGroupNotFoundException;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.WorkerGroupUnavailableException;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,28 +34,67 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
 
     @Override
     public void dispatchTask(ITaskExecutionRunnable taskExecutionRunnable) throws TaskDispatchException {
-        final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
+        final String taskName = taskExecutionRunnable.getTaskExecutionContext().getTaskName();
+        final String taskInstanceDispatchAddress = injectTaskInstanceDispatchHost(taskExecutionRunnable);
+        doDispatch(taskExecutionRunnable);
+        // todo: update the task state and host here, otherwise when the master failover the task host is null
+        // but it already dispatched to worker
+        // Or when the worker receive the task, it should wait the master send a start event to it.
+        // the second solution is better
+        log.info("Success dispatch task {} to {}.", taskName, taskInstanceDispatchAddress);
+    }
+
+    @Override
+    public CompletableFuture<Void> dispatchTaskAsync(ITaskExecutionRunnable taskExecutionRunnable) {
         final String taskName = taskExecutionRunnable.getTaskExecutionContext().getTaskName();
         final String taskInstanceDispatchAddress;
+        try {
+            taskInstanceDispatchAddress = injectTaskInstanceDispatchHost(taskExecutionRunnable);
+        } catch (TaskDispatchException e) {
+            return failedFuture(e);
+        }
+        return doDispatchAsync(taskExecutionRunnable)
+                .thenRun(() -> log.info("Success dispatch task {} to {}.", taskName, taskInstanceDispatchAddress));
+    }
+
+    private String injectTaskInstanceDispatchHost(ITaskExecutionRunnable taskExecutionRunnable) throws TaskDispatchException {
+        final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
+        final String taskName = taskExecutionContext.getTaskName();
+        final String taskInstanceDispatchAddress;
         try {
             taskInstanceDispatchAddress = getTaskInstanceDispatchHost(taskExecutionRunnable)
                     .map(Host::getAddress)
-                    .orElseThrow(() -> new TaskDispatchException("Cannot find the host to execute task: " + taskName));
+                    .orElseThrow(() -> new WorkerGroupUnavailableException(
+                            "Cannot find the host to execute task: " + taskName));
         } catch (WorkerGroupNotFoundException workerGroupNotFoundException) {
             // todo: this is a temporary solution, we should refactor the ServerNodeManager to make sure there won't
             // throw WorkerGroupNotFoundException unless the worker group is not exist in database
-            throw new TaskDispatchException("Dispatch task: " + taskName + " failed", workerGroupNotFoundException);
+            throw new WorkerGroupUnavailableException("Dispatch task: " + taskName + " failed",
+                    workerGroupNotFoundException);
         }
         // We inject the host here to avoid when we dispatched the task to worker, but the worker is crash.
         // Then we can use the host to do worker failover.
         taskExecutionContext.setHost(taskInstanceDispatchAddress);
         taskExecutionRunnable.getTaskInstance().setHost(taskInstanceDispatchAddress);
-        doDispatch(taskExecutionRunnable);
-        // todo: update the task state and host here, otherwise when the master failover the task host is null
-        // but it already dispatched to worker
-        // Or when the worker receive the task, it should wait the master send a start event to it.
-        // the second solution is better
-        log.info("Success dispatch task {} to {}.", taskName, taskInstanceDispatchAddress);
+        return taskInstanceDispatchAddress;
+    }
+
+    /**
+     * Dispatch the task asynchronously, by default this will dispatch the task synchronously in the caller thread.
+     */
+    protected CompletableFuture<Void> doDispatchAsync(ITaskExecutionRunnable taskExecutionRunnable) {
+        try {
+            doDispatch(taskExecutionRunnable);
+            return CompletableFuture.completedFuture(null);
+        } catch (TaskDispatchException e) {
+            return failedFuture(e);
+        }
+    }
+
+    protected static CompletableFuture<Void> failedFuture(Throwable throwable) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
     }
 
     protected abstract void doDispatch(ITaskExecutionRunnable ITaskExecutionRunnable) throws TaskDispatchException;
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.runner.dispatcher;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The retry policy of the failed task dispatch, the retry interval is increased exponentially with the dispatch fail
+ * times and is capped at the max interval.
+ * <p>
+ * A random jitter, half of the interval at most, is applied so that the tasks failed at the same time will not be
+ * retried at the same time.
+ */
+public class TaskDispatchRetryPolicy {
+
+    // Avoid overflow when shifting the initial interval
+    private static final int MAX_BACKOFF_EXPONENT = 30;
+
+    private final long initialIntervalMills;
+
+    private final long maxIntervalMills;
+
+    public TaskDispatchRetryPolicy(final Duration initialInterval, final Duration maxInterval) {
+        this.initialIntervalMills = initialInterval.toMillis();
+        this.maxIntervalMills = maxInterval.toMillis();
+    }
+
+    /**
+     * Get the delay time before retrying the task dispatch.
+     *
+     * @param dispatchFailTimes the times the task has failed to dispatch, start from 1.
+     * @return the delay time in milliseconds, within [interval / 2, interval].
+     */
+    public long getRetryDelayMills(final int dispatchFailTimes) {
+        final int exponent = Math.min(Math.max(dispatchFailTimes - 1, 0), MAX_BACKOFF_EXPONENT);
+        final long intervalMills = Math.min(initialIntervalMills << exponent, maxIntervalMills);
+        final long halfIntervalMills = intervalMills / 2;
+        return halfIntervalMills + ThreadLocalRandom.current().nextLong(intervalMills - halfIntervalMills + 1);
+    }
+}
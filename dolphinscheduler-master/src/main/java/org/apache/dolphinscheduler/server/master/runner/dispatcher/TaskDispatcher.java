@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Used to do task dispatcher.
  */
@@ -27,4 +29,10 @@ public interface TaskDispatcher {
 
     void dispatchTask(ITaskExecutionRunnable ITaskExecutionRunnable) throws TaskDispatchException;
 
+    /**
+     * Dispatch the task without waiting for the executor response, the returned future will be completed
+     * exceptionally with {@link TaskDispatchException} if dispatch failed.
+     */
+    CompletableFuture<Void> dispatchTaskAsync(ITaskExecutionRunnable ITaskExecutionRunnable);
+
 }
@@ -26,10 +26,13 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispat
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.IWorkerLoadBalancer;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerOutstandingTaskTracker;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,8 +44,12 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
 
     private final IWorkerLoadBalancer workerLoadBalancer;
 
-    public WorkerTaskDispatcher(IWorkerLoadBalancer workerLoadBalancer) {
+    private final WorkerOutstandingTaskTracker workerOutstandingTaskTracker;
+
+    public WorkerTaskDispatcher(IWorkerLoadBalancer workerLoadBalancer,
+                                WorkerOutstandingTaskTracker workerOutstandingTaskTracker) {
         this.workerLoadBalancer = checkNotNull(workerLoadBalancer);
+        this.workerOutstandingTaskTracker = checkNotNull(workerOutstandingTaskTracker);
     }
 
     @Override
@@ -50,6 +57,7 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
         final TaskExecutionContext taskExecutionContext = ITaskExecutionRunnable.getTaskExecutionContext();
         final String taskName = taskExecutionContext.getTaskName();
         final String workerAddress = taskExecutionContext.getHost();
+        workerOutstandingTaskTracker.track(ITaskExecutionRunnable, workerAddress);
         try {
             final TaskInstanceDispatchResponse taskInstanceDispatchResponse = Clients
                     .withService(ITaskInstanceOperator.class)
@@ -60,12 +68,50 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
                         + taskInstanceDispatchResponse);
             }
         } catch (TaskDispatchException e) {
+            workerOutstandingTaskTracker.untrack(ITaskExecutionRunnable);
             throw e;
         } catch (Exception e) {
+            workerOutstandingTaskTracker.untrack(ITaskExecutionRunnable);
             throw new TaskDispatchException("Dispatch task: " + taskName + " to " + workerAddress + " failed", e);
         }
     }
 
+    @Override
+    protected CompletableFuture<Void> doDispatchAsync(ITaskExecutionRunnable taskExecutionRunnable) {
+        final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
+        final String taskName = taskExecutionContext.getTaskName();
+        final String workerAddress = taskExecutionContext.getHost();
+        // Track the task before the worker receives it, so that the next selection can see it
+        workerOutstandingTaskTracker.track(taskExecutionRunnable, workerAddress);
+        try {
+            return Clients
+                    .withService(ITaskInstanceOperator.class)
+                    .withHost(workerAddress)
+                    .dispatchTaskAsync(new TaskInstanceDispatchRequest(taskExecutionContext))
+                    .handle((taskInstanceDispatchResponse, ex) -> {
+                        if (ex != null) {
+                            Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                            throw new CompletionException(new TaskDispatchException(
+                                    "Dispatch task: " + taskName + " to " + workerAddress + " failed", cause));
+                        }
+                        if (!taskInstanceDispatchResponse.isDispatchSuccess()) {
+                            throw new CompletionException(new TaskDispatchException("Dispatch task: " + taskName
+                                    + " to " + workerAddress + " failed: " + taskInstanceDispatchResponse));
+                        }
+                        return null;
+                    })
+                    .whenComplete((unused, ex) -> {
+                        if (ex != null) {
+                            workerOutstandingTaskTracker.untrack(taskExecutionRunnable);
+                        }
+                    });
+        } catch (Exception e) {
+            workerOutstandingTaskTracker.untrack(taskExecutionRunnable);
+            return failedFuture(
+                    new TaskDispatchException("Dispatch task: " + taskName + " to " + workerAddress + " failed", e));
+        }
+    }
+
     @Override
     protected Optional<Host> getTaskInstanceDispatchHost(ITaskExecutionRunnable ITaskExecutionRunnable) {
         String workerGroup = ITaskExecutionRunnable.getTaskExecutionContext().getWorkerGroup();
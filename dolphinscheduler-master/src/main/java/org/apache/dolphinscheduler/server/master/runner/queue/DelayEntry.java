@@ -31,6 +31,7 @@ public class DelayEntry<V extends Comparable<V>> implements Delayed {
 
     private final long delayTimeMills;
 
+    @Getter
     private final long triggerTimeMills;
 
     @Getter
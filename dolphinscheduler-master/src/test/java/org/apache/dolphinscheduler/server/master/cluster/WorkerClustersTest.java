@@ -22,6 +22,8 @@ import static com.google.common.truth.Truth.assertThat;
 import org.apache.dolphinscheduler.common.enums.ServerStatus;
 import org.apache.dolphinscheduler.dao.entity.WorkerGroup;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.Lists;
@@ -144,6 +146,30 @@ class WorkerClustersTest {
         assertThat(workerClusters.getServers()).containsExactly(normalWorkerServerMetadata, workerServerMetadata);
     }
 
+    @Test
+    void testGetNormalWorkerServerByGroup_snapshot() {
+        WorkerServerMetadata normalWorkerServerMetadata = getNormalWorkerServerMetadata();
+        WorkerServerMetadata busyWorkerServerMetadata = getBusyWorkerServerMetadata();
+
+        WorkerClusters workerClusters = new WorkerClusters();
+        workerClusters.onServerAdded(normalWorkerServerMetadata);
+        workerClusters.onServerAdded(busyWorkerServerMetadata);
+        workerClusters.onWorkerGroupAdd(Lists.newArrayList(WorkerGroup.builder()
+                .name("flinkCluster")
+                .addrList(normalWorkerServerMetadata.getAddress() + "," + busyWorkerServerMetadata.getAddress())
+                .build()));
+
+        List<WorkerServerMetadata> normalWorkerServers = workerClusters.getNormalWorkerServerByGroup("flinkCluster");
+        assertThat(normalWorkerServers).containsExactly(normalWorkerServerMetadata);
+        // The same snapshot should be returned until the worker changed
+        assertThat(workerClusters.getNormalWorkerServerByGroup("flinkCluster")).isSameInstanceAs(normalWorkerServers);
+        assertThat(workerClusters.getNormalWorkerServerByGroup("notExistCluster")).isEmpty();
+
+        workerClusters.onServerRemove(normalWorkerServerMetadata);
+        assertThat(workerClusters.getNormalWorkerServerByGroup("flinkCluster")).isEmpty();
+        assertThat(workerClusters.getNormalWorkerServerAddressByGroup("flinkCluster")).isEmpty();
+    }
+
     private WorkerServerMetadata getNormalWorkerServerMetadata() {
         return WorkerServerMetadata.builder()
                 .address("127.0.0.1:1235")
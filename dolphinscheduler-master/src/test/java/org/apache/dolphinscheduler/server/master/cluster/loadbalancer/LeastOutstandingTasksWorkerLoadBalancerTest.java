@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+
+import static org.mockito.Mockito.mock;
+
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.truth.Truth;
+
+class LeastOutstandingTasksWorkerLoadBalancerTest extends BaseWorkerLoadBalancerTest {
+
+    @Test
+    void select_defaultWorkerGroup() {
+        WorkerClusters defaultWorkerClusters = getDefaultWorkerClusters();
+        WorkerOutstandingTaskTracker workerOutstandingTaskTracker = new WorkerOutstandingTaskTracker();
+        LeastOutstandingTasksWorkerLoadBalancer loadBalancer = new LeastOutstandingTasksWorkerLoadBalancer(
+                defaultWorkerClusters, workerOutstandingTaskTracker,
+                new WorkerLoadBalancerConfigurationProperties.LeastOutstandingTasksConfigProperties());
+
+        // Track each selected task, the outstanding tasks of the three workers should be balanced
+        for (int i = 0; i < 3000; i++) {
+            Optional<String> selectedWorker = loadBalancer.select("default");
+            Truth.assertThat(selectedWorker).isPresent();
+            workerOutstandingTaskTracker.track(mock(ITaskExecutionRunnable.class), selectedWorker.get());
+        }
+        int times1 = workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.1:1234");
+        int times2 = workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.2:1234");
+        int times3 = workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.3:1234");
+        Truth.assertThat(times1 + times2 + times3).isEqualTo(3000);
+        Truth.assertThat(Math.max(times1, Math.max(times2, times3))
+                - Math.min(times1, Math.min(times2, times3))).isAtMost(30);
+    }
+
+    @Test
+    void select_preferTheWorkerWithLessOutstandingTasks() {
+        WorkerClusters defaultWorkerClusters = getDefaultWorkerClusters();
+        WorkerOutstandingTaskTracker workerOutstandingTaskTracker = new WorkerOutstandingTaskTracker();
+        LeastOutstandingTasksWorkerLoadBalancer loadBalancer = new LeastOutstandingTasksWorkerLoadBalancer(
+                defaultWorkerClusters, workerOutstandingTaskTracker,
+                new WorkerLoadBalancerConfigurationProperties.LeastOutstandingTasksConfigProperties());
+        for (int i = 0; i < 10; i++) {
+            workerOutstandingTaskTracker.track(mock(ITaskExecutionRunnable.class), "127.0.0.1:1234");
+            workerOutstandingTaskTracker.track(mock(ITaskExecutionRunnable.class), "127.0.0.2:1234");
+        }
+
+        // The idle worker will always win once it is picked, which happens in 2/3 of the selections
+        Map<String, Integer> workerSelectedCount = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            Optional<String> selectedWorker = loadBalancer.select("default");
+            Truth.assertThat(selectedWorker).isPresent();
+            workerSelectedCount.merge(selectedWorker.get(), 1, Integer::sum);
+        }
+        Truth.assertThat(workerSelectedCount.get("127.0.0.3:1234")).isGreaterThan(150);
+        // Only one worker in the worker group
+        Truth.assertThat(loadBalancer.select("sparkCluster")).hasValue("127.0.0.1:1234");
+    }
+
+    @Test
+    void select_emptyWorkerGroup() {
+        WorkerClusters defaultWorkerClusters = getDefaultWorkerClusters();
+        LeastOutstandingTasksWorkerLoadBalancer loadBalancer = new LeastOutstandingTasksWorkerLoadBalancer(
+                defaultWorkerClusters, new WorkerOutstandingTaskTracker(),
+                new WorkerLoadBalancerConfigurationProperties.LeastOutstandingTasksConfigProperties());
+        Truth.assertThat(loadBalancer.select("busyCluster")).isEmpty();
+    }
+
+    @Test
+    void select_workerGroupNotExist() {
+        WorkerClusters defaultWorkerClusters = getDefaultWorkerClusters();
+        LeastOutstandingTasksWorkerLoadBalancer loadBalancer = new LeastOutstandingTasksWorkerLoadBalancer(
+                defaultWorkerClusters, new WorkerOutstandingTaskTracker(),
+                new WorkerLoadBalancerConfigurationProperties.LeastOutstandingTasksConfigProperties());
+        Truth.assertThat(loadBalancer.select("notExistCluster")).isEmpty();
+    }
+}
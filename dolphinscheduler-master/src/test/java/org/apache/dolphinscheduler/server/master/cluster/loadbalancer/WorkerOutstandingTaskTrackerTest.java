@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorkerOutstandingTaskTrackerTest {
+
+    private WorkerOutstandingTaskTracker workerOutstandingTaskTracker;
+
+    @BeforeEach
+    void setUp() {
+        workerOutstandingTaskTracker = new WorkerOutstandingTaskTracker();
+    }
+
+    @Test
+    void testTrack() {
+        final ITaskExecutionRunnable task1 = mock(ITaskExecutionRunnable.class);
+        final ITaskExecutionRunnable task2 = mock(ITaskExecutionRunnable.class);
+        workerOutstandingTaskTracker.track(task1, "127.0.0.1:1234");
+        workerOutstandingTaskTracker.track(task2, "127.0.0.1:1234");
+        // Track twice should be ignored
+        workerOutstandingTaskTracker.track(task2, "127.0.0.1:1234");
+
+        assertThat(workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.1:1234")).isEqualTo(2);
+        assertThat(workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.2:1234")).isEqualTo(0);
+    }
+
+    @Test
+    void testTrack_moveToAnotherWorker() {
+        final ITaskExecutionRunnable task1 = mock(ITaskExecutionRunnable.class);
+        workerOutstandingTaskTracker.track(task1, "127.0.0.1:1234");
+        workerOutstandingTaskTracker.track(task1, "127.0.0.2:1234");
+
+        assertThat(workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.1:1234")).isEqualTo(0);
+        assertThat(workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.2:1234")).isEqualTo(1);
+    }
+
+    @Test
+    void testUntrack() {
+        final ITaskExecutionRunnable task1 = mock(ITaskExecutionRunnable.class);
+        workerOutstandingTaskTracker.track(task1, "127.0.0.1:1234");
+        workerOutstandingTaskTracker.untrack(task1);
+        // Untrack twice should be ignored
+        workerOutstandingTaskTracker.untrack(task1);
+
+        assertThat(workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.1:1234")).isEqualTo(0);
+    }
+
+    @Test
+    void testClear() {
+        final ITaskExecutionRunnable task1 = mock(ITaskExecutionRunnable.class);
+        workerOutstandingTaskTracker.track(task1, "127.0.0.1:1234");
+        workerOutstandingTaskTracker.clear();
+
+        assertThat(workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.1:1234")).isEqualTo(0);
+    }
+
+    @Test
+    void testOnServerRemove() {
+        final ITaskExecutionRunnable task1 = mock(ITaskExecutionRunnable.class);
+        final ITaskExecutionRunnable task2 = mock(ITaskExecutionRunnable.class);
+        workerOutstandingTaskTracker.track(task1, "127.0.0.1:1234");
+        workerOutstandingTaskTracker.track(task2, "127.0.0.2:1234");
+        workerOutstandingTaskTracker.onServerRemove(WorkerServerMetadata.builder().address("127.0.0.1:1234").build());
+
+        assertThat(workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.1:1234")).isEqualTo(0);
+        assertThat(workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.2:1234")).isEqualTo(1);
+        // The purged task should not be counted again once the worker comes back
+        workerOutstandingTaskTracker.untrack(task1);
+        workerOutstandingTaskTracker.track(mock(ITaskExecutionRunnable.class), "127.0.0.1:1234");
+        assertThat(workerOutstandingTaskTracker.getOutstandingTaskCount("127.0.0.1:1234")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cluster.loadbalancer;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Lists;
+
+class WorkerSelectionSnapshotTest {
+
+    @Test
+    void testSelectByRoundRobin_smoothWeighted() {
+        final List<WorkerServerMetadata> workerServers = Lists.newArrayList(
+                createWorkerServer("a", 5),
+                createWorkerServer("b", 1),
+                createWorkerServer("c", 1));
+        final WorkerSelectionSnapshot workerSelectionSnapshot =
+                new WorkerSelectionSnapshot(workerServers, WorkerServerMetadata::getWorkerWeight, null);
+
+        assertThat(select(workerSelectionSnapshot, 14))
+                .containsExactly("a", "a", "b", "a", "c", "a", "a", "a", "a", "b", "a", "c", "a", "a")
+                .inOrder();
+    }
+
+    @Test
+    void testSelectByRoundRobin_tieSelectFirstWorker() {
+        final List<WorkerServerMetadata> workerServers = Lists.newArrayList(
+                createWorkerServer("1", 1),
+                createWorkerServer("2", 2),
+                createWorkerServer("3", 3));
+        final WorkerSelectionSnapshot workerSelectionSnapshot =
+                new WorkerSelectionSnapshot(workerServers, WorkerServerMetadata::getWorkerWeight, null);
+
+        assertThat(select(workerSelectionSnapshot, 12))
+                .containsExactly("3", "2", "1", "3", "2", "3", "3", "2", "1", "3", "2", "3")
+                .inOrder();
+    }
+
+    @Test
+    void testSelectByRoundRobin_reduceWeightsByGcd() {
+        final List<WorkerServerMetadata> workerServers = Lists.newArrayList(
+                createWorkerServer("a", 20),
+                createWorkerServer("b", 40));
+        final WorkerSelectionSnapshot workerSelectionSnapshot =
+                new WorkerSelectionSnapshot(workerServers, WorkerServerMetadata::getWorkerWeight, null);
+
+        assertThat(workerSelectionSnapshot.getSelectionSequenceLength()).isEqualTo(3);
+        assertThat(select(workerSelectionSnapshot, 3)).containsExactly("b", "a", "b").inOrder();
+    }
+
+    @Test
+    void testSelectByRoundRobin_normalizeFractionalWeights() {
+        final List<WorkerServerMetadata> workerServers = Lists.newArrayList(
+                createWorkerServer("a", 0.5),
+                createWorkerServer("b", 1000));
+        final WorkerSelectionSnapshot workerSelectionSnapshot =
+                new WorkerSelectionSnapshot(workerServers, WorkerServerMetadata::getWorkerWeight, null);
+
+        // The weights are normalized to 0 and 100, then reduced by gcd
+        assertThat(workerSelectionSnapshot.getSelectionSequenceLength()).isEqualTo(1);
+        assertThat(select(workerSelectionSnapshot, 3)).containsExactly("b", "b", "b");
+    }
+
+    @Test
+    void testSelectByRoundRobin_allWeightsNonPositive() {
+        final List<WorkerServerMetadata> workerServers = Lists.newArrayList(
+                createWorkerServer("a", 0),
+                createWorkerServer("b", -1));
+        final WorkerSelectionSnapshot workerSelectionSnapshot =
+                new WorkerSelectionSnapshot(workerServers, WorkerServerMetadata::getWorkerWeight, null);
+
+        assertThat(select(workerSelectionSnapshot, 4)).containsExactly("a", "b", "a", "b").inOrder();
+    }
+
+    @Test
+    void testSelectByRoundRobin_continueWithPreviousSnapshot() {
+        final List<WorkerServerMetadata> workerServers = Lists.newArrayList(
+                createWorkerServer("a", 1),
+                createWorkerServer("b", 1));
+        final WorkerSelectionSnapshot previousSnapshot =
+                new WorkerSelectionSnapshot(workerServers, WorkerServerMetadata::getWorkerWeight, null);
+        assertThat(previousSnapshot.selectByRoundRobin()).hasValue("a");
+
+        final List<WorkerServerMetadata> changedWorkerServers = new ArrayList<>(workerServers);
+        final WorkerSelectionSnapshot workerSelectionSnapshot = new WorkerSelectionSnapshot(changedWorkerServers,
+                WorkerServerMetadata::getWorkerWeight, previousSnapshot);
+        assertThat(workerSelectionSnapshot.isBuiltFrom(workerServers)).isFalse();
+        assertThat(workerSelectionSnapshot.isBuiltFrom(changedWorkerServers)).isTrue();
+        assertThat(workerSelectionSnapshot.selectByRoundRobin()).hasValue("b");
+    }
+
+    @Test
+    void testSelectByRandom() {
+        final List<WorkerServerMetadata> workerServers = Lists.newArrayList(
+                createWorkerServer("a", 1),
+                createWorkerServer("b", 1));
+        final WorkerSelectionSnapshot workerSelectionSnapshot =
+                new WorkerSelectionSnapshot(workerServers, WorkerServerMetadata::getWorkerWeight, null);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(workerSelectionSnapshot.selectByRandom().get()).isAnyOf("a", "b");
+        }
+    }
+
+    private List<String> select(final WorkerSelectionSnapshot workerSelectionSnapshot, final int times) {
+        final List<String> selectedWorkers = new ArrayList<>();
+        for (int i = 0; i < times; i++) {
+            selectedWorkers.add(workerSelectionSnapshot.selectByRoundRobin().get());
+        }
+        return selectedWorkers;
+    }
+
+    private WorkerServerMetadata createWorkerServer(final String address, final double workerWeight) {
+        return WorkerServerMetadata.builder()
+                .address(address)
+                .serverStatus(ServerStatus.NORMAL)
+                .workerWeight(workerWeight)
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.common.enums.TaskGroupQueueStatus;
+import org.apache.dolphinscheduler.dao.entity.TaskGroup;
+import org.apache.dolphinscheduler.dao.entity.TaskGroupQueue;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+class TaskGroupSlotArbiterTest {
+
+    private TaskGroupSlotArbiter taskGroupSlotArbiter;
+
+    @BeforeEach
+    void setUp() {
+        taskGroupSlotArbiter = new TaskGroupSlotArbiter();
+    }
+
+    @Test
+    void testActivate_countAcquiredAndIgnoreForceStart() {
+        final TaskGroupQueue acquired = createTaskGroupQueue(1, 0, TaskGroupQueueStatus.ACQUIRE_SUCCESS);
+        final TaskGroupQueue waiting = createTaskGroupQueue(2, 0, TaskGroupQueueStatus.WAIT_QUEUE);
+        final TaskGroupQueue forceStart = createTaskGroupQueue(3, 0, TaskGroupQueueStatus.WAIT_QUEUE);
+        forceStart.setForceStart(Flag.YES.getCode());
+
+        taskGroupSlotArbiter.activate(
+                Lists.newArrayList(createTaskGroup(2)),
+                Lists.newArrayList(acquired, waiting, forceStart));
+
+        assertThat(taskGroupSlotArbiter.isActive()).isTrue();
+        assertThat(taskGroupSlotArbiter.getAcquiredTaskGroupQueueIds()).containsExactly(1);
+        assertThat(taskGroupSlotArbiter.getWaitingSize()).isEqualTo(1);
+        assertThat(taskGroupSlotArbiter.drainChangedUseSize()).isEqualTo(ImmutableMap.of(1, 1));
+    }
+
+    @Test
+    void testGrant_byPriorityAndGroupSize() {
+        taskGroupSlotArbiter.activate(Lists.newArrayList(createTaskGroup(2)), Collections.emptyList());
+        taskGroupSlotArbiter.drainChangedUseSize();
+        taskGroupSlotArbiter.offer(createTaskGroupQueue(1, 0, TaskGroupQueueStatus.WAIT_QUEUE));
+        taskGroupSlotArbiter.offer(createTaskGroupQueue(2, 5, TaskGroupQueueStatus.WAIT_QUEUE));
+        taskGroupSlotArbiter.offer(createTaskGroupQueue(3, 0, TaskGroupQueueStatus.WAIT_QUEUE));
+        // Offer twice should be ignored
+        taskGroupSlotArbiter.offer(createTaskGroupQueue(3, 0, TaskGroupQueueStatus.WAIT_QUEUE));
+
+        assertThat(taskGroupSlotArbiter.grant())
+                .containsExactly(
+                        createTaskGroupQueue(2, 5, TaskGroupQueueStatus.ACQUIRE_SUCCESS),
+                        createTaskGroupQueue(1, 0, TaskGroupQueueStatus.ACQUIRE_SUCCESS))
+                .inOrder();
+        assertThat(taskGroupSlotArbiter.grant()).isEmpty();
+        assertThat(taskGroupSlotArbiter.drainChangedUseSize()).isEqualTo(ImmutableMap.of(1, 2));
+
+        // The released slot should be granted to the next waiting one
+        taskGroupSlotArbiter.release(2);
+        assertThat(taskGroupSlotArbiter.grant())
+                .containsExactly(createTaskGroupQueue(3, 0, TaskGroupQueueStatus.ACQUIRE_SUCCESS));
+        assertThat(taskGroupSlotArbiter.getAcquiredTaskGroupQueueIds()).containsExactly(1, 3);
+        assertThat(taskGroupSlotArbiter.getWaitingSize()).isEqualTo(0);
+    }
+
+    @Test
+    void testRevoke() {
+        taskGroupSlotArbiter.activate(Lists.newArrayList(createTaskGroup(1)), Collections.emptyList());
+        taskGroupSlotArbiter.offer(createTaskGroupQueue(1, 0, TaskGroupQueueStatus.WAIT_QUEUE));
+        final TaskGroupQueue granted = taskGroupSlotArbiter.grant().get(0);
+
+        taskGroupSlotArbiter.revoke(granted);
+        assertThat(granted.getStatus()).isEqualTo(TaskGroupQueueStatus.WAIT_QUEUE);
+        assertThat(taskGroupSlotArbiter.getAcquiredTaskGroupQueueIds()).isEmpty();
+        assertThat(taskGroupSlotArbiter.grant()).containsExactly(granted);
+    }
+
+    @Test
+    void testRefreshTaskGroups_groupSizeChanged() {
+        taskGroupSlotArbiter.activate(Lists.newArrayList(createTaskGroup(1)), Collections.emptyList());
+        taskGroupSlotArbiter.offer(createTaskGroupQueue(1, 0, TaskGroupQueueStatus.WAIT_QUEUE));
+        taskGroupSlotArbiter.offer(createTaskGroupQueue(2, 0, TaskGroupQueueStatus.WAIT_QUEUE));
+        assertThat(taskGroupSlotArbiter.grant()).hasSize(1);
+
+        taskGroupSlotArbiter.refreshTaskGroups(Lists.newArrayList(createTaskGroup(2)));
+        assertThat(taskGroupSlotArbiter.grant()).hasSize(1);
+    }
+
+    @Test
+    void testGetWaitingTaskGroupIds() {
+        taskGroupSlotArbiter.activate(Lists.newArrayList(createTaskGroup(1)), Collections.emptyList());
+        assertThat(taskGroupSlotArbiter.getWaitingTaskGroupIds()).isEmpty();
+
+        taskGroupSlotArbiter.offer(createTaskGroupQueue(1, 0, TaskGroupQueueStatus.WAIT_QUEUE));
+        taskGroupSlotArbiter.offer(createTaskGroupQueue(2, 0, TaskGroupQueueStatus.WAIT_QUEUE));
+        assertThat(taskGroupSlotArbiter.getWaitingTaskGroupIds()).containsExactly(1);
+
+        // The TaskGroup is full, it's still waiting
+        assertThat(taskGroupSlotArbiter.grant()).hasSize(1);
+        assertThat(taskGroupSlotArbiter.getWaitingTaskGroupIds()).containsExactly(1);
+        assertThat(taskGroupSlotArbiter.getAcquiredTaskGroupQueueIds(Collections.singleton(1))).containsExactly(1);
+        assertThat(taskGroupSlotArbiter.getAcquiredTaskGroupQueueIds(Collections.singleton(2))).isEmpty();
+
+        taskGroupSlotArbiter.release(1);
+        assertThat(taskGroupSlotArbiter.grant()).hasSize(1);
+        assertThat(taskGroupSlotArbiter.getWaitingTaskGroupIds()).isEmpty();
+    }
+
+    @Test
+    void testDeactivate() {
+        taskGroupSlotArbiter.activate(Lists.newArrayList(createTaskGroup(1)),
+                Lists.newArrayList(createTaskGroupQueue(1, 0, TaskGroupQueueStatus.WAIT_QUEUE)));
+
+        taskGroupSlotArbiter.deactivate();
+        assertThat(taskGroupSlotArbiter.isActive()).isFalse();
+        assertThat(taskGroupSlotArbiter.grant()).isEmpty();
+        assertThat(taskGroupSlotArbiter.drainChangedUseSize()).isEmpty();
+    }
+
+    private TaskGroup createTaskGroup(int groupSize) {
+        return TaskGroup.builder()
+                .id(1)
+                .name("test")
+                .groupSize(groupSize)
+                .useSize(0)
+                .status(Flag.YES)
+                .build();
+    }
+
+    private TaskGroupQueue createTaskGroupQueue(int id, int priority, TaskGroupQueueStatus status) {
+        return TaskGroupQueue.builder()
+                .id(id)
+                .taskId(id)
+                .taskName("task-" + id)
+                .groupId(1)
+                .priority(priority)
+                .forceStart(Flag.NO.getCode())
+                .inQueue(Flag.YES.getCode())
+                .status(status)
+                .build();
+    }
+}
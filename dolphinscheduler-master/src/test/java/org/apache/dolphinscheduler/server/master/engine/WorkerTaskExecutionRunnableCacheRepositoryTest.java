@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorkerTaskExecutionRunnableCacheRepositoryTest {
+
+    private static final String WORKER_1 = "127.0.0.1:1234";
+
+    private static final String WORKER_2 = "127.0.0.2:1234";
+
+    private WorkerTaskExecutionRunnableCacheRepository workerTaskExecutionRunnableRepository;
+
+    @BeforeEach
+    void setUp() {
+        workerTaskExecutionRunnableRepository = new WorkerTaskExecutionRunnableCacheRepository();
+    }
+
+    @Test
+    void testPutAndGet() {
+        final ITaskExecutionRunnable taskA = mock(ITaskExecutionRunnable.class);
+        final ITaskExecutionRunnable taskB = mock(ITaskExecutionRunnable.class);
+        final ITaskExecutionRunnable taskC = mock(ITaskExecutionRunnable.class);
+        workerTaskExecutionRunnableRepository.put(WORKER_1, taskA);
+        workerTaskExecutionRunnableRepository.put(WORKER_1, taskB);
+        workerTaskExecutionRunnableRepository.put(WORKER_2, taskC);
+        // Put twice should not be counted twice
+        workerTaskExecutionRunnableRepository.put(WORKER_1, taskA);
+
+        assertThat(workerTaskExecutionRunnableRepository.get(WORKER_1)).containsExactly(taskA, taskB);
+        assertThat(workerTaskExecutionRunnableRepository.get(WORKER_2)).containsExactly(taskC);
+        assertThat(workerTaskExecutionRunnableRepository.get("127.0.0.3:1234")).isEmpty();
+        assertThat(workerTaskExecutionRunnableRepository.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testPut_moveToAnotherWorker() {
+        final ITaskExecutionRunnable taskA = mock(ITaskExecutionRunnable.class);
+        workerTaskExecutionRunnableRepository.put(WORKER_1, taskA);
+        workerTaskExecutionRunnableRepository.put(WORKER_2, taskA);
+
+        assertThat(workerTaskExecutionRunnableRepository.get(WORKER_1)).isEmpty();
+        assertThat(workerTaskExecutionRunnableRepository.get(WORKER_2)).containsExactly(taskA);
+        assertThat(workerTaskExecutionRunnableRepository.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testRemoveAndClear() {
+        final ITaskExecutionRunnable taskA = mock(ITaskExecutionRunnable.class);
+        final ITaskExecutionRunnable taskB = mock(ITaskExecutionRunnable.class);
+        workerTaskExecutionRunnableRepository.put(WORKER_1, taskA);
+        workerTaskExecutionRunnableRepository.put(WORKER_2, taskB);
+
+        workerTaskExecutionRunnableRepository.remove(taskA);
+        // Remove a not indexed task should take no effect
+        workerTaskExecutionRunnableRepository.remove(taskA);
+        assertThat(workerTaskExecutionRunnableRepository.get(WORKER_1)).isEmpty();
+        assertThat(workerTaskExecutionRunnableRepository.size()).isEqualTo(1);
+
+        workerTaskExecutionRunnableRepository.clear();
+        assertThat(workerTaskExecutionRunnableRepository.get(WORKER_2)).isEmpty();
+        assertThat(workerTaskExecutionRunnableRepository.size()).isEqualTo(0);
+    }
+
+}
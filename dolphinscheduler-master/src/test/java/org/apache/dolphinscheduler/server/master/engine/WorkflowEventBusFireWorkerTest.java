@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+class WorkflowEventBusFireWorkerTest {
+
+    private static final ILifecycleEventType TEST_EVENT_TYPE = new ILifecycleEventType() {
+    };
+
+    private final List<TestLifecycleEvent> firedEvents = new CopyOnWriteArrayList<>();
+
+    private WorkflowEventBusFireWorker workflowEventBusFireWorker;
+
+    private ExecutorService fireThread;
+
+    @BeforeEach
+    void setUp() {
+        workflowEventBusFireWorker = new WorkflowEventBusFireWorker(0);
+        workflowEventBusFireWorker.registerEventHandler(new ILifecycleEventHandler<TestLifecycleEvent>() {
+
+            @Override
+            public void handle(IWorkflowExecutionRunnable workflowExecutionRunnable, TestLifecycleEvent event) {
+                firedEvents.add(event);
+            }
+
+            @Override
+            public ILifecycleEventType matchEventType() {
+                return TEST_EVENT_TYPE;
+            }
+        });
+        fireThread = Executors.newSingleThreadExecutor();
+        fireThread.execute(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    workflowEventBusFireWorker.fireTriggeredEvent();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        fireThread.shutdownNow();
+    }
+
+    @Test
+    @Timeout(10)
+    void fireEventOnPublish() throws InterruptedException {
+        IWorkflowExecutionRunnable workflowExecutionRunnable = mockWorkflowExecutionRunnable(1);
+        workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+
+        TestLifecycleEvent event = new TestLifecycleEvent(0);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event);
+
+        while (firedEvents.isEmpty()) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertThat(firedEvents).containsExactly(event);
+    }
+
+    @Test
+    @Timeout(10)
+    void fireEventPublishedBeforeRegister() throws InterruptedException {
+        IWorkflowExecutionRunnable workflowExecutionRunnable = mockWorkflowExecutionRunnable(2);
+        TestLifecycleEvent event = new TestLifecycleEvent(0);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event);
+
+        workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+
+        while (firedEvents.isEmpty()) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertThat(firedEvents).containsExactly(event);
+    }
+
+    @Test
+    @Timeout(10)
+    void fireDelayEventAfterExpired() throws InterruptedException {
+        IWorkflowExecutionRunnable workflowExecutionRunnable = mockWorkflowExecutionRunnable(3);
+        workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+
+        long publishTime = System.currentTimeMillis();
+        TestLifecycleEvent event = new TestLifecycleEvent(200);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event);
+
+        while (firedEvents.isEmpty()) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertThat(System.currentTimeMillis() - publishTime).isAtLeast(200L);
+        assertThat(firedEvents).containsExactly(event);
+    }
+
+    @Test
+    @Timeout(10)
+    void keepEarliestDelayedTrigger() throws InterruptedException {
+        IWorkflowExecutionRunnable workflowExecutionRunnable = mockWorkflowExecutionRunnable(5);
+        workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+
+        for (int i = 0; i < 100; i++) {
+            workflowExecutionRunnable.getWorkflowEventBus().publish(new TestLifecycleEvent(60_000));
+        }
+        assertThat(workflowEventBusFireWorker.getPendingTriggerCount()).isEqualTo(1);
+
+        // An earlier delay event replaces the pending trigger
+        TestLifecycleEvent event = new TestLifecycleEvent(200);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event);
+        assertThat(workflowEventBusFireWorker.getPendingTriggerCount()).isEqualTo(1);
+
+        while (firedEvents.isEmpty()) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertThat(firedEvents).containsExactly(event);
+    }
+
+    @Test
+    @Timeout(10)
+    void transferReadyWorkflow() throws InterruptedException {
+        WorkflowEventBusFireWorker busyWorker = new WorkflowEventBusFireWorker(1);
+        WorkflowEventBusFireWorker idleWorker = new WorkflowEventBusFireWorker(2);
+        idleWorker.registerEventHandler(new ILifecycleEventHandler<TestLifecycleEvent>() {
+
+            @Override
+            public void handle(IWorkflowExecutionRunnable workflowExecutionRunnable, TestLifecycleEvent event) {
+                firedEvents.add(event);
+            }
+
+            @Override
+            public ILifecycleEventType matchEventType() {
+                return TEST_EVENT_TYPE;
+            }
+        });
+        IWorkflowExecutionRunnable workflowExecutionRunnable = mockWorkflowExecutionRunnable(4);
+        busyWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+        TestLifecycleEvent event = new TestLifecycleEvent(0);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event);
+        assertThat(busyWorker.getReadyWorkflowCount()).isEqualTo(1);
+
+        assertThat(busyWorker.transferReadyWorkflow(idleWorker)).hasValue(workflowExecutionRunnable);
+        assertThat(busyWorker.isWorkflowRegistered(4)).isFalse();
+        assertThat(busyWorker.getReadyWorkflowCount()).isEqualTo(0);
+        assertThat(idleWorker.isWorkflowRegistered(4)).isTrue();
+
+        assertThat(idleWorker.fireTriggeredEvent(1_000)).isTrue();
+        assertThat(firedEvents).containsExactly(event);
+        // The stale trigger left in the busy worker will be ignored
+        assertThat(busyWorker.fireTriggeredEvent(1_000)).isTrue();
+        assertThat(firedEvents).containsExactly(event);
+    }
+
+    @Test
+    @Timeout(10)
+    void retryEventLaterIfDatabaseFailed() throws InterruptedException {
+        WorkflowEventBusFireWorker worker = new WorkflowEventBusFireWorker(3);
+        worker.registerEventHandler(new ILifecycleEventHandler<TestLifecycleEvent>() {
+
+            @Override
+            public void handle(IWorkflowExecutionRunnable workflowExecutionRunnable, TestLifecycleEvent event) {
+                throw new DataAccessResourceFailureException("database is down");
+            }
+
+            @Override
+            public ILifecycleEventType matchEventType() {
+                return TEST_EVENT_TYPE;
+            }
+        });
+        IWorkflowExecutionRunnable workflowExecutionRunnable = mockWorkflowExecutionRunnable(6);
+        worker.registerWorkflowEventBus(workflowExecutionRunnable);
+        TestLifecycleEvent event = new TestLifecycleEvent(0);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event);
+
+        long fireTime = System.currentTimeMillis();
+        assertThat(worker.fireTriggeredEvent(1_000)).isTrue();
+        // The fire thread is not blocked, the event is kept and the workflow will be triggered again later
+        assertThat(System.currentTimeMillis() - fireTime).isLessThan(5_000L);
+        assertThat(workflowExecutionRunnable.getWorkflowEventBus().peek()).hasValue(event);
+        assertThat(worker.getReadyWorkflowCount()).isEqualTo(0);
+        assertThat(worker.getPendingTriggerCount()).isEqualTo(1);
+        assertThat(worker.fireTriggeredEvent(100)).isFalse();
+    }
+
+    private IWorkflowExecutionRunnable mockWorkflowExecutionRunnable(int workflowInstanceId) {
+        WorkflowInstance workflowInstance = new WorkflowInstance();
+        workflowInstance.setId(workflowInstanceId);
+        workflowInstance.setName("workflow-" + workflowInstanceId);
+        WorkflowEventBus workflowEventBus = new WorkflowEventBus();
+
+        IWorkflowExecuteContext workflowExecuteContext = mock(IWorkflowExecuteContext.class);
+        when(workflowExecuteContext.getWorkflowInstance()).thenReturn(workflowInstance);
+
+        IWorkflowExecutionRunnable workflowExecutionRunnable = mock(IWorkflowExecutionRunnable.class);
+        when(workflowExecutionRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        when(workflowExecutionRunnable.getWorkflowEventBus()).thenReturn(workflowEventBus);
+        when(workflowExecutionRunnable.getId()).thenReturn(workflowInstanceId);
+        when(workflowExecutionRunnable.getName()).thenReturn(workflowInstance.getName());
+        return workflowExecutionRunnable;
+    }
+
+    private static class TestLifecycleEvent extends AbstractLifecycleEvent {
+
+        TestLifecycleEvent(long delayTime) {
+            super(delayTime);
+        }
+
+        @Override
+        public ILifecycleEventType getEventType() {
+            return TEST_EVENT_TYPE;
+        }
+    }
+}
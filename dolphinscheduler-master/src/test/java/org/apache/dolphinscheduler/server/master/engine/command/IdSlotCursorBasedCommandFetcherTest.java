@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.command;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.server.master.cluster.MasterSlotManager;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IdSlotCursorBasedCommandFetcherTest {
+
+    private MasterSlotManager masterSlotManager;
+
+    private CommandDao commandDao;
+
+    private IdSlotCursorBasedCommandFetcher commandFetcher;
+
+    @BeforeEach
+    void setUp() {
+        masterSlotManager = mock(MasterSlotManager.class);
+        commandDao = mock(CommandDao.class);
+        when(masterSlotManager.checkSlotValid()).thenReturn(true);
+        when(masterSlotManager.getCurrentMasterSlot()).thenReturn(0);
+        when(masterSlotManager.getTotalMasterSlots()).thenReturn(2);
+
+        CommandFetchStrategy.IdSlotBasedFetchConfig fetchConfig = new CommandFetchStrategy.IdSlotBasedFetchConfig();
+        fetchConfig.setFetchSize(2);
+        commandFetcher = new IdSlotCursorBasedCommandFetcher(fetchConfig, masterSlotManager, commandDao);
+    }
+
+    @Test
+    void fetchCommands_moveCursorWhenBatchIsFull() {
+        when(commandDao.queryCommandByIdSlotAfterId(0, 2, 1, 0, 2))
+                .thenReturn(commands(command(2, Priority.LOW), command(4, Priority.HIGHEST)));
+        when(commandDao.queryCommandByIdSlotAfterId(0, 2, 1, 4, 2))
+                .thenReturn(commands(command(6, Priority.MEDIUM)));
+
+        assertThat(ids(commandFetcher.fetchCommands())).containsExactly(4, 2).inOrder();
+        assertThat(ids(commandFetcher.fetchCommands())).containsExactly(6);
+
+        verify(commandDao).queryCommandByIdSlotAfterId(0, 2, 1, 4, 2);
+    }
+
+    @Test
+    void fetchCommands_rewindCursorWhenReachTail() {
+        when(commandDao.queryCommandByIdSlotAfterId(eq(0), eq(2), eq(1), anyInt(), eq(2)))
+                .thenReturn(commands(command(2, Priority.MEDIUM)));
+
+        commandFetcher.fetchCommands();
+        commandFetcher.fetchCommands();
+
+        verify(commandDao, times(2)).queryCommandByIdSlotAfterId(0, 2, 1, 0, 2);
+    }
+
+    @Test
+    void fetchCommands_resetCursorWhenSlotChanged() {
+        when(commandDao.queryCommandByIdSlotAfterId(0, 2, 1, 0, 2))
+                .thenReturn(commands(command(2, Priority.MEDIUM), command(4, Priority.MEDIUM)));
+        commandFetcher.fetchCommands();
+
+        when(masterSlotManager.getTotalMasterSlots()).thenReturn(3);
+        when(commandDao.queryCommandByIdSlotAfterId(0, 3, 1, 0, 2)).thenReturn(new ArrayList<>());
+        assertThat(commandFetcher.fetchCommands()).isEmpty();
+
+        verify(commandDao).queryCommandByIdSlotAfterId(0, 3, 1, 0, 2);
+    }
+
+    private static List<Command> commands(Command... commands) {
+        return new ArrayList<>(Arrays.asList(commands));
+    }
+
+    private static Command command(int id, Priority priority) {
+        Command command = new Command();
+        command.setId(id);
+        command.setWorkflowInstancePriority(priority);
+        return command;
+    }
+
+    private static List<Integer> ids(List<Command> commands) {
+        return commands.stream().map(Command::getId).collect(Collectors.toList());
+    }
+}
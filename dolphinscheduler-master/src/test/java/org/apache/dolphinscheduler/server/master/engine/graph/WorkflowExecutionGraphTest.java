@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.graph;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Sets;
+
+class WorkflowExecutionGraphTest {
+
+    private WorkflowExecutionGraph workflowExecutionGraph;
+
+    private ITaskExecutionRunnable taskA;
+
+    private ITaskExecutionRunnable taskB;
+
+    private ITaskExecutionRunnable taskC;
+
+    // A -> C, B -> C
+    @BeforeEach
+    void setUp() {
+        workflowExecutionGraph = new WorkflowExecutionGraph();
+        taskA = mockTaskExecutionRunnable("A", 1L, 11);
+        taskB = mockTaskExecutionRunnable("B", 2L, 12);
+        taskC = mockTaskExecutionRunnable("C", 3L, null);
+        workflowExecutionGraph.addNode(taskA);
+        workflowExecutionGraph.addNode(taskB);
+        workflowExecutionGraph.addNode(taskC);
+        workflowExecutionGraph.addEdge("A", Sets.newHashSet("C"));
+        workflowExecutionGraph.addEdge("B", Sets.newHashSet("C"));
+        workflowExecutionGraph.addEdge("C", Collections.emptySet());
+    }
+
+    @Test
+    void testGetTaskExecutionRunnableByTaskCode() {
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableByTaskCode(2L)).isSameInstanceAs(taskB);
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableByTaskCode(4L)).isNull();
+    }
+
+    @Test
+    void testGetTaskExecutionRunnableById() {
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableById(11)).isSameInstanceAs(taskA);
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableById(13)).isNull();
+    }
+
+    @Test
+    void testGetTaskExecutionRunnableById_afterTaskInstanceSwitched() {
+        final TaskInstance retryTaskInstance = new TaskInstance();
+        retryTaskInstance.setId(21);
+        when(taskA.getTaskInstance()).thenReturn(retryTaskInstance);
+        workflowExecutionGraph.refreshTaskInstanceIndex(taskA);
+
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableById(21)).isSameInstanceAs(taskA);
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableById(11)).isNull();
+
+        final TaskInstance firstRunTaskInstance = new TaskInstance();
+        firstRunTaskInstance.setId(13);
+        when(taskC.getTaskInstance()).thenReturn(firstRunTaskInstance);
+        workflowExecutionGraph.refreshTaskInstanceIndex(taskC);
+        assertThat(workflowExecutionGraph.getTaskExecutionRunnableById(13)).isSameInstanceAs(taskC);
+    }
+
+    @Test
+    void testGetPredecessorsAndSuccessors() {
+        assertThat(workflowExecutionGraph.getPredecessors("C")).containsExactly(taskA, taskB);
+        assertThat(workflowExecutionGraph.getSuccessors("A")).containsExactly(taskC);
+        assertThat(workflowExecutionGraph.getSuccessors("C")).isEmpty();
+        assertThat(workflowExecutionGraph.getStartNodes()).containsExactly(taskA, taskB);
+        assertThrows(IllegalArgumentException.class, () -> workflowExecutionGraph.getPredecessors("D"));
+    }
+
+    @Test
+    void testIsTriggerConditionMet_whenPredecessorsActive() {
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskC)).isTrue();
+
+        workflowExecutionGraph.markTaskExecutionRunnableActive(taskA);
+        assertThat(workflowExecutionGraph.isTaskExecutionRunnableActive(taskB)).isTrue();
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskC)).isFalse();
+
+        workflowExecutionGraph.markTaskExecutionRunnableInActive(taskA);
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskC)).isFalse();
+
+        workflowExecutionGraph.markTaskExecutionRunnableInActive(taskB);
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskC)).isTrue();
+
+        // Mark inactive twice should not break the counter
+        workflowExecutionGraph.markTaskExecutionRunnableInActive(taskB);
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskC)).isTrue();
+    }
+
+    @Test
+    void testIsTriggerConditionMet_whenPredecessorChainFailure() {
+        workflowExecutionGraph.markTaskExecutionRunnableActive(taskA);
+        taskA.getTaskInstance().setState(TaskExecutionStatus.FAILURE);
+        workflowExecutionGraph.markTaskExecutionRunnableChainFailure(taskA);
+        workflowExecutionGraph.markTaskExecutionRunnableInActive(taskA);
+
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskC)).isFalse();
+        assertThat(workflowExecutionGraph.isExistFailureTaskExecutionRunnableChain()).isTrue();
+    }
+
+    @Test
+    void testIsTriggerConditionMet_whenEdgeAddedAfterPredecessorActive() {
+        final ITaskExecutionRunnable taskD = mockTaskExecutionRunnable("D", 4L, 14);
+        workflowExecutionGraph.addNode(taskD);
+        workflowExecutionGraph.markTaskExecutionRunnableActive(taskC);
+        workflowExecutionGraph.addEdge("C", Sets.newHashSet("D"));
+
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskD)).isFalse();
+        workflowExecutionGraph.markTaskExecutionRunnableInActive(taskC);
+        assertThat(workflowExecutionGraph.isTriggerConditionMet(taskD)).isTrue();
+    }
+
+    private ITaskExecutionRunnable mockTaskExecutionRunnable(final String name,
+                                                             final Long taskCode,
+                                                             final Integer taskInstanceId) {
+        final ITaskExecutionRunnable taskExecutionRunnable = mock(ITaskExecutionRunnable.class);
+        final TaskDefinition taskDefinition = new TaskDefinition();
+        taskDefinition.setName(name);
+        taskDefinition.setCode(taskCode);
+        when(taskExecutionRunnable.getName()).thenReturn(name);
+        when(taskExecutionRunnable.getTaskDefinition()).thenReturn(taskDefinition);
+        if (taskInstanceId != null) {
+            final TaskInstance taskInstance = new TaskInstance();
+            taskInstance.setId(taskInstanceId);
+            taskInstance.setName(name);
+            when(taskExecutionRunnable.getTaskInstance()).thenReturn(taskInstance);
+        }
+        return taskExecutionRunnable;
+    }
+
+}
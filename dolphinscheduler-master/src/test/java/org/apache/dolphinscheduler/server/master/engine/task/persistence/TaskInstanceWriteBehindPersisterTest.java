@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.persistence;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+class TaskInstanceWriteBehindPersisterTest {
+
+    private TaskInstanceDao taskInstanceDao;
+
+    private MasterConfig masterConfig;
+
+    private TaskInstanceWriteBehindPersister taskInstanceWriteBehindPersister;
+
+    // The latest persisted state of each task instance
+    private final Map<Integer, TaskExecutionStatus> persistedStates = new ConcurrentHashMap<>();
+
+    private final List<Integer> persistedBatchSizes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        taskInstanceDao = mock(TaskInstanceDao.class);
+        doAnswer(invocation -> {
+            final Collection<TaskInstance> taskInstances = invocation.getArgument(0);
+            taskInstances.forEach(taskInstance -> persistedStates.put(taskInstance.getId(), taskInstance.getState()));
+            persistedBatchSizes.add(taskInstances.size());
+            return null;
+        }).when(taskInstanceDao).batchUpdateById(anyCollection(), anyInt());
+        masterConfig = new MasterConfig();
+        masterConfig.getTaskInstanceWriteBehindConfig().setEnabled(true);
+        masterConfig.getTaskInstanceWriteBehindConfig().setFlushInterval(Duration.ofSeconds(10));
+        masterConfig.getTaskInstanceWriteBehindConfig().setBatchSize(100);
+        taskInstanceWriteBehindPersister = new TaskInstanceWriteBehindPersister(taskInstanceDao, masterConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskInstanceWriteBehindPersister.close();
+    }
+
+    @Test
+    @Timeout(10)
+    void testPersistCoalesceChangesOfTheSameTaskInstance() {
+        taskInstanceWriteBehindPersister.start();
+        final TaskInstance taskInstance = createTaskInstance(1);
+
+        taskInstance.setState(TaskExecutionStatus.DISPATCH);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+        assertThat(taskInstanceWriteBehindPersister.getPendingSize()).isEqualTo(1);
+
+        taskInstanceWriteBehindPersister.flush();
+
+        assertThat(taskInstanceWriteBehindPersister.getPendingSize()).isEqualTo(0);
+        assertThat(persistedBatchSizes).containsExactly(1);
+        assertThat(persistedStates).containsExactly(1, TaskExecutionStatus.SUCCESS);
+        verify(taskInstanceDao, never()).updateById(any());
+    }
+
+    @Test
+    @Timeout(10)
+    void testPersistTakeSnapshot() {
+        taskInstanceWriteBehindPersister.start();
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+
+        // The change without persist should not be written
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        taskInstanceWriteBehindPersister.flush();
+
+        assertThat(persistedStates).containsExactly(1, TaskExecutionStatus.RUNNING_EXECUTION);
+    }
+
+    @Test
+    @Timeout(10)
+    void testFlushWhenBatchIsFull() throws InterruptedException {
+        masterConfig.getTaskInstanceWriteBehindConfig().setBatchSize(10);
+        taskInstanceWriteBehindPersister.start();
+
+        for (int i = 0; i < 10; i++) {
+            final TaskInstance taskInstance = createTaskInstance(i);
+            taskInstance.setState(TaskExecutionStatus.SUCCESS);
+            taskInstanceWriteBehindPersister.persist(taskInstance);
+        }
+
+        // The flush interval is 10s, the batch should be flushed since it's full
+        while (persistedStates.size() < 10) {
+            Thread.sleep(10);
+        }
+        assertThat(persistedBatchSizes).containsExactly(10);
+    }
+
+    @Test
+    @Timeout(10)
+    void testRetryWhenPersistFailed() {
+        masterConfig.getTaskInstanceWriteBehindConfig().setFlushInterval(Duration.ofMillis(10));
+        final List<Integer> failedBatchSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            final Collection<TaskInstance> taskInstances = invocation.getArgument(0);
+            if (failedBatchSizes.isEmpty()) {
+                failedBatchSizes.add(taskInstances.size());
+                throw new RuntimeException("Mock DB error");
+            }
+            taskInstances.forEach(taskInstance -> persistedStates.put(taskInstance.getId(), taskInstance.getState()));
+            return null;
+        }).when(taskInstanceDao).batchUpdateById(anyCollection(), anyInt());
+        taskInstanceWriteBehindPersister.start();
+
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setState(TaskExecutionStatus.FAILURE);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+        taskInstanceWriteBehindPersister.flush();
+
+        assertThat(failedBatchSizes).containsExactly(1);
+        assertThat(persistedStates).containsExactly(1, TaskExecutionStatus.FAILURE);
+    }
+
+    @Test
+    @Timeout(10)
+    void testFlushWorkflowTimeoutWhenPersistFailed() {
+        masterConfig.getTaskInstanceWriteBehindConfig().setFlushInterval(Duration.ofMillis(10));
+        masterConfig.getTaskInstanceWriteBehindConfig().setFlushTimeout(Duration.ofMillis(200));
+        doThrow(new RuntimeException("Mock DB error")).when(taskInstanceDao).batchUpdateById(anyCollection(),
+                anyInt());
+        taskInstanceWriteBehindPersister.start();
+
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setWorkflowInstanceId(1);
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+
+        // Only the task instances of the given workflow are waited
+        taskInstanceWriteBehindPersister.flush(2);
+        assertThrows(DataAccessResourceFailureException.class, () -> taskInstanceWriteBehindPersister.flush(1));
+        assertThrows(DataAccessResourceFailureException.class, () -> taskInstanceWriteBehindPersister.flush());
+        assertThat(taskInstanceWriteBehindPersister.getPendingSize()).isEqualTo(1);
+    }
+
+    @Test
+    @Timeout(10)
+    void testFlushWorkflow() {
+        taskInstanceWriteBehindPersister.start();
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setWorkflowInstanceId(1);
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+
+        taskInstanceWriteBehindPersister.flush(1);
+
+        assertThat(persistedStates).containsExactly(1, TaskExecutionStatus.SUCCESS);
+    }
+
+    @Test
+    @Timeout(10)
+    void testPersistImmediatelyDiscardPendingSnapshot() {
+        taskInstanceWriteBehindPersister.start();
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setState(TaskExecutionStatus.FAILURE);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+
+        taskInstanceWriteBehindPersister.persistImmediately(taskInstance);
+        taskInstanceWriteBehindPersister.flush();
+
+        verify(taskInstanceDao).updateById(taskInstance);
+        assertThat(persistedStates).isEmpty();
+    }
+
+    @Test
+    void testPersistSynchronouslyWhenDisabled() {
+        masterConfig.getTaskInstanceWriteBehindConfig().setEnabled(false);
+        taskInstanceWriteBehindPersister.start();
+        final TaskInstance taskInstance = createTaskInstance(1);
+
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+
+        verify(taskInstanceDao).updateById(taskInstance);
+        assertThat(persistedStates).isEmpty();
+    }
+
+    @Test
+    @Timeout(10)
+    void testCloseFlushPendingTaskInstances() {
+        taskInstanceWriteBehindPersister.start();
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setState(TaskExecutionStatus.KILL);
+        taskInstanceWriteBehindPersister.persist(taskInstance);
+
+        taskInstanceWriteBehindPersister.close();
+
+        assertThat(persistedStates).containsExactly(1, TaskExecutionStatus.KILL);
+    }
+
+    private TaskInstance createTaskInstance(int id) {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(id);
+        taskInstance.setName("task-" + id);
+        return taskInstance;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.failover;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.repository.WorkflowInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.engine.IWorkerTaskExecutionRunnableRepository;
+import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
+import org.apache.dolphinscheduler.server.master.engine.system.event.MasterFailoverEvent;
+import org.apache.dolphinscheduler.server.master.engine.system.event.WorkerFailoverEvent;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FailoverCoordinatorTest {
+
+    private static final String MASTER_ADDRESS = "127.0.0.1:5678";
+
+    private static final String CHECKPOINT_PATH = FailoverCoordinator.getFailoverCheckpointPath(MASTER_ADDRESS);
+
+    @Mock
+    private RegistryClient registryClient;
+
+    @Mock
+    private IWorkflowRepository workflowRepository;
+
+    @Mock
+    private IWorkerTaskExecutionRunnableRepository workerTaskExecutionRunnableRepository;
+
+    @Mock
+    private TaskFailover taskFailover;
+
+    @Mock
+    private WorkflowInstanceDao workflowInstanceDao;
+
+    @Mock
+    private WorkflowFailover workflowFailover;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    @InjectMocks
+    private FailoverCoordinator failoverCoordinator;
+
+    private final Set<Integer> failoverWorkflowInstanceIds = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        masterConfig.getMasterFailoverConfig().setFetchSize(2);
+        masterConfig.getMasterFailoverConfig().setParallelism(2);
+        doAnswer(invocation -> {
+            final WorkflowInstance workflowInstance = invocation.getArgument(0);
+            failoverWorkflowInstanceIds.add(workflowInstance.getId());
+            return null;
+        }).when(workflowFailover).failoverWorkflow(any(WorkflowInstance.class));
+        mockPage(0, 1, 2);
+        mockPage(2, 3, 4);
+        mockPage(4, 5);
+    }
+
+    @Test
+    void testFailoverMaster_pageByPage() {
+        failoverCoordinator.failoverMaster(MasterFailoverEvent.of(MASTER_ADDRESS, new Date()));
+
+        assertThat(failoverWorkflowInstanceIds).containsExactly(1, 2, 3, 4, 5);
+        verify(registryClient).persist(CHECKPOINT_PATH, "2");
+        verify(registryClient).persist(CHECKPOINT_PATH, "4");
+        verify(registryClient).persist(CHECKPOINT_PATH, "5");
+        verify(registryClient).remove(CHECKPOINT_PATH);
+        verify(registryClient).releaseLock(RegistryNodeType.MASTER_FAILOVER_LOCK.getRegistryPath());
+    }
+
+    @Test
+    void testFailoverMaster_skipWorkflowInRepositoryOrStartedAfterCrash() {
+        when(workflowRepository.contains(2)).thenReturn(true);
+        final Date crashTime = new Date();
+        final WorkflowInstance startedAfterCrash = createWorkflowInstance(4);
+        startedAfterCrash.setStartTime(new Date(crashTime.getTime() + 1000));
+        when(workflowInstanceDao.queryNeedFailoverWorkflowInstances(MASTER_ADDRESS, 2, 2))
+                .thenReturn(Arrays.asList(createWorkflowInstance(3), startedAfterCrash));
+
+        failoverCoordinator.failoverMaster(MasterFailoverEvent.of(MASTER_ADDRESS, crashTime));
+
+        assertThat(failoverWorkflowInstanceIds).containsExactly(1, 3, 5);
+        verify(registryClient).remove(CHECKPOINT_PATH);
+    }
+
+    @Test
+    void testFailoverMaster_resumeFromCheckpoint() {
+        when(registryClient.exists(CHECKPOINT_PATH)).thenReturn(true);
+        when(registryClient.get(CHECKPOINT_PATH)).thenReturn("4");
+
+        failoverCoordinator.failoverMaster(MasterFailoverEvent.of(MASTER_ADDRESS, new Date()));
+
+        assertThat(failoverWorkflowInstanceIds).containsExactly(5);
+        verify(workflowInstanceDao, never()).queryNeedFailoverWorkflowInstances(eq(MASTER_ADDRESS), eq(0), eq(2));
+        verify(registryClient).remove(CHECKPOINT_PATH);
+    }
+
+    @Test
+    void testFailoverMaster_keepCheckpointWhenFailoverFailed() {
+        doThrow(new IllegalStateException("Mock failover failed"))
+                .when(workflowFailover)
+                .failoverWorkflow(any(WorkflowInstance.class));
+
+        assertThrows(IllegalStateException.class,
+                () -> failoverCoordinator.failoverMaster(MasterFailoverEvent.of(MASTER_ADDRESS, new Date())));
+
+        verify(registryClient, never()).persist(eq(CHECKPOINT_PATH), any());
+        verify(registryClient, never()).remove(CHECKPOINT_PATH);
+        verify(registryClient, times(1)).releaseLock(RegistryNodeType.MASTER_FAILOVER_LOCK.getRegistryPath());
+    }
+
+    @Test
+    void testFailoverWorker_onlyFailoverTasksIndexedAtTheWorker() {
+        final String workerAddress = "127.0.0.1:1234";
+        final Date crashTime = new Date();
+        final ITaskExecutionRunnable runningTask =
+                mockTaskExecutionRunnable(workerAddress, TaskExecutionStatus.RUNNING_EXECUTION, new Date(0));
+        final ITaskExecutionRunnable dispatchedTask =
+                mockTaskExecutionRunnable(workerAddress, TaskExecutionStatus.DISPATCH, new Date(0));
+        final ITaskExecutionRunnable submittedAfterCrashTask = mockTaskExecutionRunnable(workerAddress,
+                TaskExecutionStatus.RUNNING_EXECUTION, new Date(crashTime.getTime() + 1000));
+        final ITaskExecutionRunnable successTask =
+                mockTaskExecutionRunnable(workerAddress, TaskExecutionStatus.SUCCESS, new Date(0));
+        when(workerTaskExecutionRunnableRepository.get(workerAddress))
+                .thenReturn(Arrays.asList(runningTask, dispatchedTask, submittedAfterCrashTask, successTask));
+
+        failoverCoordinator.failoverWorker(WorkerFailoverEvent.of(workerAddress, crashTime));
+
+        verify(taskFailover).failoverTask(runningTask);
+        verify(taskFailover).failoverTask(dispatchedTask);
+        verify(taskFailover, never()).failoverTask(submittedAfterCrashTask);
+        verify(taskFailover, never()).failoverTask(successTask);
+        verify(workflowRepository, never()).getAll();
+    }
+
+    private ITaskExecutionRunnable mockTaskExecutionRunnable(final String host,
+                                                             final TaskExecutionStatus state,
+                                                             final Date submitTime) {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setHost(host);
+        taskInstance.setState(state);
+        taskInstance.setSubmitTime(submitTime);
+        final ITaskExecutionRunnable taskExecutionRunnable = mock(ITaskExecutionRunnable.class);
+        when(taskExecutionRunnable.isTaskInstanceInitialized()).thenReturn(true);
+        when(taskExecutionRunnable.getTaskInstance()).thenReturn(taskInstance);
+        return taskExecutionRunnable;
+    }
+
+    private void mockPage(final int minWorkflowInstanceId, final Integer... workflowInstanceIds) {
+        final List<WorkflowInstance> workflowInstances = new ArrayList<>();
+        for (Integer workflowInstanceId : workflowInstanceIds) {
+            workflowInstances.add(createWorkflowInstance(workflowInstanceId));
+        }
+        when(workflowInstanceDao.queryNeedFailoverWorkflowInstances(MASTER_ADDRESS, minWorkflowInstanceId, 2))
+                .thenReturn(workflowInstances);
+    }
+
+    private WorkflowInstance createWorkflowInstance(final int workflowInstanceId) {
+        final WorkflowInstance workflowInstance = new WorkflowInstance();
+        workflowInstance.setId(workflowInstanceId);
+        workflowInstance.setStartTime(new Date(0));
+        return workflowInstance;
+    }
+
+}
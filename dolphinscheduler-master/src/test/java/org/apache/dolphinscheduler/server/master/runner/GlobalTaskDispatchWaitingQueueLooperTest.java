@@ -17,11 +17,11 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import static com.google.common.truth.Truth.assertThat;
 import static java.time.Duration.ofSeconds;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -42,6 +42,8 @@ import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchF
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -56,6 +58,8 @@ import org.springframework.context.ApplicationContext;
 @MockitoSettings(strictness = Strictness.LENIENT)
 class GlobalTaskDispatchWaitingQueueLooperTest {
 
+    private static final String LANE = "default";
+
     @InjectMocks
     private GlobalTaskDispatchWaitingQueueLooper globalTaskDispatchWaitingQueueLooper;
 
@@ -76,12 +80,15 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
 
         TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
         when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
-        doNothing().when(taskDispatcher).dispatchTask(any());
+        when(taskDispatcher.dispatchTaskAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
 
-        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(defaultTaskExecuteRunnable);
-        globalTaskDispatchWaitingQueueLooper.doDispatch();
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(LANE)).thenReturn(defaultTaskExecuteRunnable);
+        when(globalTaskDispatchWaitingQueue.getLane(defaultTaskExecuteRunnable)).thenReturn(LANE);
+        final Semaphore inFlightDispatchPermits = new Semaphore(1);
+        globalTaskDispatchWaitingQueueLooper.doDispatch(LANE, inFlightDispatchPermits);
         await().during(ofSeconds(1))
                 .untilAsserted(() -> verify(taskDispatchFactory, never()).getTaskDispatcher(taskInstance));
+        assertThat(inFlightDispatchPermits.availablePermits()).isEqualTo(1);
     }
 
     @Test
@@ -95,15 +102,41 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
 
         TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
         when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
-        doNothing().when(taskDispatcher).dispatchTask(any());
+        when(taskDispatcher.dispatchTaskAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
 
-        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(defaultTaskExecuteRunnable);
-        globalTaskDispatchWaitingQueueLooper.doDispatch();
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(LANE)).thenReturn(defaultTaskExecuteRunnable);
+        when(globalTaskDispatchWaitingQueue.getLane(defaultTaskExecuteRunnable)).thenReturn(LANE);
+        final Semaphore inFlightDispatchPermits = new Semaphore(1);
+        globalTaskDispatchWaitingQueueLooper.doDispatch(LANE, inFlightDispatchPermits);
         await().atMost(ofSeconds(1)).untilAsserted(() -> {
             verify(taskDispatchFactory, atLeastOnce()).getTaskDispatcher(any(TaskInstance.class));
-            verify(taskDispatcher, atLeastOnce()).dispatchTask(any(ITaskExecutionRunnable.class));
+            verify(taskDispatcher, atLeastOnce()).dispatchTaskAsync(any(ITaskExecutionRunnable.class));
         });
+        assertThat(inFlightDispatchPermits.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void testInFlightDispatchPermitIsHeldUntilDispatchCompleted() {
+        WorkflowInstance workflowInstance = new WorkflowInstance();
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstance.setTaskParams(JSONUtils.toJsonString(new HashMap<>()));
+        final ITaskExecutionRunnable defaultTaskExecuteRunnable =
+                createTaskExecuteRunnable(taskInstance, workflowInstance);
+
+        final CompletableFuture<Void> dispatchFuture = new CompletableFuture<>();
+        TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
+        when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
+        when(taskDispatcher.dispatchTaskAsync(any())).thenReturn(dispatchFuture);
+
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(LANE)).thenReturn(defaultTaskExecuteRunnable);
+        when(globalTaskDispatchWaitingQueue.getLane(defaultTaskExecuteRunnable)).thenReturn(LANE);
+        final Semaphore inFlightDispatchPermits = new Semaphore(1);
+        globalTaskDispatchWaitingQueueLooper.doDispatch(LANE, inFlightDispatchPermits);
+        assertThat(inFlightDispatchPermits.availablePermits()).isEqualTo(0);
 
+        dispatchFuture.complete(null);
+        assertThat(inFlightDispatchPermits.availablePermits()).isEqualTo(1);
     }
 
     private ITaskExecutionRunnable createTaskExecuteRunnable(final TaskInstance taskInstance,
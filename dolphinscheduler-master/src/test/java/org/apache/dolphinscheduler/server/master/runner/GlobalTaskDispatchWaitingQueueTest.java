@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.WorkflowDefinition;
 import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
 import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowExecutionGraph;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
@@ -39,7 +40,9 @@ import org.apache.commons.lang3.time.DateUtils;
 
 import java.time.Duration;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.awaitility.Awaitility;
 import org.awaitility.core.ConditionTimeoutException;
@@ -50,6 +53,8 @@ import org.springframework.context.ApplicationContext;
 
 class GlobalTaskDispatchWaitingQueueTest {
 
+    private static final String DEFAULT_LANE = WorkerGroupUtils.getDefaultWorkerGroup();
+
     private GlobalTaskDispatchWaitingQueue globalTaskDispatchWaitingQueue;
 
     @BeforeEach
@@ -64,7 +69,7 @@ class GlobalTaskDispatchWaitingQueueTest {
         Awaitility.await()
                 .atMost(Duration.ofSeconds(1))
                 .untilAsserted(
-                        () -> Assertions.assertNotNull(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()));
+                        () -> Assertions.assertNotNull(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE)));
     }
 
     @Test
@@ -72,18 +77,18 @@ class GlobalTaskDispatchWaitingQueueTest {
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(createTaskExecuteRunnable(), 3_000L);
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(createTaskExecuteRunnable());
 
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).isNotNull();
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE)).isNotNull();
         Awaitility.await()
                 .atLeast(Duration.ofSeconds(2))
                 .atMost(Duration.ofSeconds(4))
                 .untilAsserted(
-                        () -> Assertions.assertNotNull(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()));
+                        () -> Assertions.assertNotNull(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE)));
     }
 
     @Test
     void takeTaskExecuteRunnable_NoElementShouldBlock() {
         CompletableFuture<Void> completableFuture =
-                CompletableFuture.runAsync(() -> globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable());
+                CompletableFuture.runAsync(() -> globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE));
         assertThrowsExactly(ConditionTimeoutException.class,
                 () -> await()
                         .atLeast(Duration.ofSeconds(2))
@@ -108,11 +113,11 @@ class GlobalTaskDispatchWaitingQueueTest {
         ITaskExecutionRunnable3.getTaskInstance().setTaskInstancePriority(Priority.LOW);
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(ITaskExecutionRunnable3);
 
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE).getTaskInstance().getId())
                 .isEqualTo(2);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE).getTaskInstance().getId())
                 .isEqualTo(1);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE).getTaskInstance().getId())
                 .isEqualTo(3);
     }
 
@@ -133,11 +138,11 @@ class GlobalTaskDispatchWaitingQueueTest {
         ITaskExecutionRunnable3.getTaskInstance().setTaskGroupPriority(Priority.LOW.getCode());
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(ITaskExecutionRunnable3);
 
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE).getTaskInstance().getId())
                 .isEqualTo(3);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE).getTaskInstance().getId())
                 .isEqualTo(1);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE).getTaskInstance().getId())
                 .isEqualTo(2);
     }
 
@@ -160,14 +165,37 @@ class GlobalTaskDispatchWaitingQueueTest {
         ITaskExecutionRunnable3.getTaskInstance().setFirstSubmitTime(DateUtils.addMinutes(now, -1));
         globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(ITaskExecutionRunnable3);
 
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE).getTaskInstance().getId())
                 .isEqualTo(3);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE).getTaskInstance().getId())
                 .isEqualTo(1);
-        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable().getTaskInstance().getId())
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE).getTaskInstance().getId())
                 .isEqualTo(2);
     }
 
+    @Test
+    void takeTaskExecuteRunnable_withDifferentWorkerGroup() {
+        final List<String> createdLanes = new CopyOnWriteArrayList<>();
+        globalTaskDispatchWaitingQueue.registerLaneCreatedListener(createdLanes::add);
+
+        ITaskExecutionRunnable taskExecutionRunnable1 = createTaskExecuteRunnable();
+        taskExecutionRunnable1.getTaskInstance().setWorkerGroup("gpu");
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(taskExecutionRunnable1);
+
+        ITaskExecutionRunnable taskExecutionRunnable2 = createTaskExecuteRunnable();
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(taskExecutionRunnable2);
+
+        ITaskExecutionRunnable taskExecutionRunnable3 = createTaskExecuteRunnable();
+        taskExecutionRunnable3.getTaskInstance().setWorkerGroup("gpu");
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(taskExecutionRunnable3);
+
+        assertThat(createdLanes).containsExactly("gpu", DEFAULT_LANE);
+        assertThat(globalTaskDispatchWaitingQueue.getLanes()).containsExactly("gpu", DEFAULT_LANE);
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE))
+                .isSameInstanceAs(taskExecutionRunnable2);
+        assertThat(globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber()).isEqualTo(2);
+    }
+
     @Test
     void getWaitingDispatchTaskNumber() {
         Assertions.assertEquals(0, globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber());
@@ -176,6 +204,34 @@ class GlobalTaskDispatchWaitingQueueTest {
         Assertions.assertEquals(1, globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber());
     }
 
+    @Test
+    void testMarkTaskExecutionRunnableRemoved_notifyListener() {
+        final List<ITaskExecutionRunnable> removedTaskExecutionRunnables = new CopyOnWriteArrayList<>();
+        globalTaskDispatchWaitingQueue.registerTaskRemovedListener(removedTaskExecutionRunnables::add);
+        final ITaskExecutionRunnable taskExecutionRunnable = createTaskExecuteRunnable();
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(taskExecutionRunnable);
+
+        assertThat(globalTaskDispatchWaitingQueue.markTaskExecutionRunnableRemoved(taskExecutionRunnable)).isTrue();
+        assertThat(globalTaskDispatchWaitingQueue.markTaskExecutionRunnableRemoved(taskExecutionRunnable)).isFalse();
+        assertThat(removedTaskExecutionRunnables).containsExactly(taskExecutionRunnable);
+    }
+
+    @Test
+    void testDispatchParkedTaskExecuteRunnable_skipRemovedTask() {
+        final ITaskExecutionRunnable taskExecutionRunnable1 = createTaskExecuteRunnable();
+        final ITaskExecutionRunnable taskExecutionRunnable2 = createTaskExecuteRunnable();
+        globalTaskDispatchWaitingQueue.markTaskExecutionRunnableWaiting(taskExecutionRunnable1);
+        globalTaskDispatchWaitingQueue.markTaskExecutionRunnableWaiting(taskExecutionRunnable2);
+        // The parked task is removed before being released
+        globalTaskDispatchWaitingQueue.markTaskExecutionRunnableRemoved(taskExecutionRunnable1);
+
+        globalTaskDispatchWaitingQueue.dispatchParkedTaskExecuteRunnable(taskExecutionRunnable1);
+        globalTaskDispatchWaitingQueue.dispatchParkedTaskExecuteRunnable(taskExecutionRunnable2);
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable(DEFAULT_LANE))
+                .isSameInstanceAs(taskExecutionRunnable2);
+        assertThat(globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber()).isEqualTo(0);
+    }
+
     private ITaskExecutionRunnable createTaskExecuteRunnable() {
         WorkflowInstance workflowInstance = new WorkflowInstance();
         workflowInstance.setWorkflowInstancePriority(Priority.MEDIUM);
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorkerGroupDispatchCircuitBreakerTest {
+
+    private WorkerGroupDispatchCircuitBreaker workerGroupDispatchCircuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        workerGroupDispatchCircuitBreaker = new WorkerGroupDispatchCircuitBreaker("default");
+    }
+
+    @Test
+    void testTryPark_closed() {
+        assertThat(workerGroupDispatchCircuitBreaker.isOpen()).isFalse();
+        assertThat(workerGroupDispatchCircuitBreaker.tryPark(createTaskExecutionRunnable("task1"))).isFalse();
+        assertThat(workerGroupDispatchCircuitBreaker.getParkedSize()).isEqualTo(0);
+    }
+
+    @Test
+    void testTryPark_opened() {
+        final ITaskExecutionRunnable probe = createTaskExecutionRunnable("probe");
+        final ITaskExecutionRunnable task1 = createTaskExecutionRunnable("task1");
+        workerGroupDispatchCircuitBreaker.open(probe);
+
+        assertThat(workerGroupDispatchCircuitBreaker.isOpen()).isTrue();
+        assertThat(workerGroupDispatchCircuitBreaker.isProbe(probe)).isTrue();
+        // The probe should not be parked
+        assertThat(workerGroupDispatchCircuitBreaker.tryPark(probe)).isFalse();
+        assertThat(workerGroupDispatchCircuitBreaker.tryPark(task1)).isTrue();
+        assertThat(workerGroupDispatchCircuitBreaker.getParkedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void testOpen_keepTheFirstProbe() {
+        final ITaskExecutionRunnable probe = createTaskExecutionRunnable("probe");
+        final ITaskExecutionRunnable task1 = createTaskExecutionRunnable("task1");
+        workerGroupDispatchCircuitBreaker.open(probe);
+        workerGroupDispatchCircuitBreaker.open(task1);
+
+        assertThat(workerGroupDispatchCircuitBreaker.isProbe(probe)).isTrue();
+        assertThat(workerGroupDispatchCircuitBreaker.isProbe(task1)).isFalse();
+    }
+
+    @Test
+    void testClose_releaseParkedTasks() {
+        final ITaskExecutionRunnable probe = createTaskExecutionRunnable("probe");
+        final ITaskExecutionRunnable task1 = createTaskExecutionRunnable("task1");
+        final ITaskExecutionRunnable task2 = createTaskExecutionRunnable("task2");
+        workerGroupDispatchCircuitBreaker.open(probe);
+        workerGroupDispatchCircuitBreaker.tryPark(task1);
+        workerGroupDispatchCircuitBreaker.tryPark(task2);
+
+        assertThat(workerGroupDispatchCircuitBreaker.close()).containsExactly(task1, task2).inOrder();
+        assertThat(workerGroupDispatchCircuitBreaker.isOpen()).isFalse();
+        assertThat(workerGroupDispatchCircuitBreaker.getParkedSize()).isEqualTo(0);
+        assertThat(workerGroupDispatchCircuitBreaker.close()).isEmpty();
+    }
+
+    @Test
+    void testRemove_parkedTask() {
+        final ITaskExecutionRunnable probe = createTaskExecutionRunnable("probe");
+        final ITaskExecutionRunnable task1 = createTaskExecutionRunnable("task1");
+        workerGroupDispatchCircuitBreaker.open(probe);
+        workerGroupDispatchCircuitBreaker.tryPark(task1);
+
+        assertThat(workerGroupDispatchCircuitBreaker.remove(task1)).isEmpty();
+        assertThat(workerGroupDispatchCircuitBreaker.isOpen()).isTrue();
+        assertThat(workerGroupDispatchCircuitBreaker.getParkedSize()).isEqualTo(0);
+    }
+
+    @Test
+    void testRemove_probeReleaseParkedTasks() {
+        final ITaskExecutionRunnable probe = createTaskExecutionRunnable("probe");
+        final ITaskExecutionRunnable task1 = createTaskExecutionRunnable("task1");
+        final ITaskExecutionRunnable task2 = createTaskExecutionRunnable("task2");
+        workerGroupDispatchCircuitBreaker.open(probe);
+        workerGroupDispatchCircuitBreaker.tryPark(task1);
+        workerGroupDispatchCircuitBreaker.tryPark(task2);
+
+        assertThat(workerGroupDispatchCircuitBreaker.remove(probe)).containsExactly(task1, task2).inOrder();
+        assertThat(workerGroupDispatchCircuitBreaker.isOpen()).isFalse();
+        assertThat(workerGroupDispatchCircuitBreaker.getParkedSize()).isEqualTo(0);
+    }
+
+    private ITaskExecutionRunnable createTaskExecutionRunnable(final String name) {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setName(name);
+        final ITaskExecutionRunnable taskExecutionRunnable = mock(ITaskExecutionRunnable.class);
+        when(taskExecutionRunnable.getTaskInstance()).thenReturn(taskInstance);
+        return taskExecutionRunnable;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.dispatcher;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Range;
+
+class TaskDispatchRetryPolicyTest {
+
+    private final TaskDispatchRetryPolicy taskDispatchRetryPolicy =
+            new TaskDispatchRetryPolicy(Duration.ofSeconds(1), Duration.ofSeconds(60));
+
+    @RepeatedTest(10)
+    void testGetRetryDelayMills_increaseExponentially() {
+        assertThat(taskDispatchRetryPolicy.getRetryDelayMills(1)).isIn(Range.closed(500L, 1_000L));
+        assertThat(taskDispatchRetryPolicy.getRetryDelayMills(2)).isIn(Range.closed(1_000L, 2_000L));
+        assertThat(taskDispatchRetryPolicy.getRetryDelayMills(3)).isIn(Range.closed(2_000L, 4_000L));
+        assertThat(taskDispatchRetryPolicy.getRetryDelayMills(6)).isIn(Range.closed(16_000L, 32_000L));
+    }
+
+    @RepeatedTest(10)
+    void testGetRetryDelayMills_cappedAtMaxInterval() {
+        assertThat(taskDispatchRetryPolicy.getRetryDelayMills(7)).isIn(Range.closed(30_000L, 60_000L));
+        assertThat(taskDispatchRetryPolicy.getRetryDelayMills(100)).isIn(Range.closed(30_000L, 60_000L));
+        assertThat(taskDispatchRetryPolicy.getRetryDelayMills(Integer.MAX_VALUE)).isIn(Range.closed(30_000L, 60_000L));
+    }
+
+    @Test
+    void testGetRetryDelayMills_notDispatchedYet() {
+        assertThat(taskDispatchRetryPolicy.getRetryDelayMills(0)).isIn(Range.closed(500L, 1_000L));
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.IWorkerLoadBalancer;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerOutstandingTaskTracker;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 
 import java.util.Optional;
@@ -37,7 +38,8 @@ public class WorkerTaskDispatcherTest {
     public void getTaskInstanceDispatchHost() {
         IWorkerLoadBalancer workerLoadBalancer = Mockito.mock(IWorkerLoadBalancer.class);
         Mockito.when(workerLoadBalancer.select(Mockito.any())).thenReturn(Optional.of("localhost:1234"));
-        WorkerTaskDispatcher workerTaskDispatcher = new WorkerTaskDispatcher(workerLoadBalancer);
+        WorkerTaskDispatcher workerTaskDispatcher =
+                new WorkerTaskDispatcher(workerLoadBalancer, new WorkerOutstandingTaskTracker());
 
         ITaskExecutionRunnable ITaskExecutionRunnable = Mockito.mock(ITaskExecutionRunnable.class);
         Mockito.when(ITaskExecutionRunnable.getTaskExecutionContext()).thenReturn(new TaskExecutionContext());
@@ -74,15 +74,18 @@ class TaskGroupCoordinatorTest {
     private WorkflowInstanceDao workflowInstanceDao;
 
     @Test
-    void start() throws InterruptedException {
+    void start() throws Exception {
         // Get the Lock from Registry
         taskGroupCoordinator.start();
-        Thread.sleep(1_000);
-        verify(registryClient, Mockito.times(1))
+        verify(registryClient, Mockito.timeout(1_000).times(1))
                 .getLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
-        verify(registryClient, Mockito.times(1))
+        // The lock is hold until the lease is over or the coordinator is closed
+        verify(registryClient, Mockito.never())
                 .releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
 
+        taskGroupCoordinator.close();
+        verify(registryClient, Mockito.timeout(3_000).times(1))
+                .releaseLock(RegistryNodeType.MASTER_TASK_GROUP_COORDINATOR_LOCK.getRegistryPath());
     }
 
     @Test
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.common;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.constants.DataSourceConstants;
+import org.apache.dolphinscheduler.common.log.SensitiveDataMasker;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Strings;
+
+/**
+ * Log masking JMH test, the throughput is measured at a single thread, which is the log throughput per worker core.
+ * The legacy masking compiles the patterns at each log message, the masker compiles the patterns only once and skips the
+ * regex for the log message which doesn't contain any sensitive literal.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@Threads(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SensitiveDataConverterBenchMark extends AbstractBaseBenchmark {
+
+    private static final String SQOOP_PASSWORD_REGEX = "(?<=(--password \")).+?(?=\")";
+
+    private static final String POST_JDBC_INFO_REGEX = "(?<=(post jdbc info:)).*(?=)";
+
+    private static final String PLAIN_LOG_MESSAGE =
+            "[INFO] 2024-01-01 00:00:00.000 +0800 - Begin to execute task, the shell script is: echo hello world";
+
+    private static final String SENSITIVE_LOG_MESSAGE =
+            "[INFO] 2024-01-01 00:00:00.000 +0800 - The datasource is: {\"user\":\"root\",\"password\":\"123456\"}";
+
+    @Param({"plain", "sensitive"})
+    private String logType;
+
+    private String logMessage;
+
+    private Set<String> maskPatterns;
+
+    private SensitiveDataMasker sensitiveDataMasker;
+
+    @Setup
+    public void setUp() {
+        logMessage = "plain".equals(logType) ? PLAIN_LOG_MESSAGE : SENSITIVE_LOG_MESSAGE;
+        maskPatterns = new HashSet<>(Arrays.asList(
+                DataSourceConstants.DATASOURCE_PASSWORD_REGEX,
+                Constants.K8S_CONFIG_REGEX,
+                SQOOP_PASSWORD_REGEX,
+                POST_JDBC_INFO_REGEX));
+        sensitiveDataMasker = new SensitiveDataMasker(maskPatterns.toArray(new String[0]));
+    }
+
+    @Benchmark
+    public String legacyMaskTest() {
+        final Pattern multilinePattern = Pattern.compile(String.join("|", maskPatterns), Pattern.MULTILINE);
+        final StringBuffer sb = new StringBuffer(logMessage.length());
+        final Matcher matcher = multilinePattern.matcher(logMessage);
+        while (matcher.find()) {
+            matcher.appendReplacement(sb, Strings.repeat(Constants.STAR, matcher.group().length()));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String maskerTest() {
+        return sensitiveDataMasker.mask(logMessage);
+    }
+
+}
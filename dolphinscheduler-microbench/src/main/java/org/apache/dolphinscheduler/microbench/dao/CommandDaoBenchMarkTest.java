@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.dao;
+
+import org.apache.dolphinscheduler.dao.DaoConfiguration;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compare the latency of the command fetch queries when the t_ds_command grows.
+ * <p>
+ * The cursor based query is measured with the cursor at the head, in the middle and near the tail of the table, the
+ * cursor at the tail fetches a partial batch, which makes the fetcher rewind the cursor.
+ */
+@Slf4j
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommandDaoBenchMarkTest extends AbstractBaseBenchmark {
+
+    private static final int TOTAL_SLOT = 3;
+
+    private static final int CURRENT_SLOT_INDEX = 1;
+
+    private static final int ID_STEP = 1;
+
+    private static final int FETCH_SIZE = 10;
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int commandCount;
+
+    // The position of the cursor in percent of the commands
+    @Param({"0", "50", "90", "100"})
+    private int cursorPercent;
+
+    private int cursor;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private CommandDao commandDao;
+
+    @Setup
+    public void before() throws SQLException {
+        applicationContext = new SpringApplicationBuilder(DaoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties(
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.url=jdbc:h2:mem:dolphinscheduler_" + commandCount
+                                + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=true;",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.sql.init.mode=never",
+                        "mybatis-plus.mapper-locations=classpath:org/apache/dolphinscheduler/dao/mapper/*Mapper.xml",
+                        "mybatis-plus.type-aliases-package=org.apache.dolphinscheduler.dao.entity",
+                        "mybatis-plus.configuration.map-underscore-to-camel-case=true",
+                        "mybatis-plus.global-config.banner=false")
+                .run();
+        commandDao = applicationContext.getBean(CommandDao.class);
+        initCommandTable(applicationContext.getBean(DataSource.class));
+        // Step back one fetch size, so the cursor at the tail fetches a partial batch rather than nothing
+        cursor = Math.max((int) ((long) commandCount * cursorPercent / 100) - FETCH_SIZE, 0);
+        log.info("Initialized t_ds_command with {} commands, the cursor is {}", commandCount, cursor);
+    }
+
+    @Benchmark
+    public void queryCommandByIdSlot(Blackhole bh) {
+        List<Command> commands =
+                commandDao.queryCommandByIdSlot(CURRENT_SLOT_INDEX, TOTAL_SLOT, ID_STEP, FETCH_SIZE);
+        bh.consume(commands);
+    }
+
+    @Benchmark
+    public void queryCommandByIdSlotAfterId(Blackhole bh) {
+        List<Command> commands =
+                commandDao.queryCommandByIdSlotAfterId(CURRENT_SLOT_INDEX, TOTAL_SLOT, ID_STEP, cursor, FETCH_SIZE);
+        bh.consume(commands);
+    }
+
+    @TearDown
+    public void after() {
+        applicationContext.close();
+    }
+
+    private void initCommandTable(DataSource dataSource) throws SQLException {
+        try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS t_ds_command");
+            statement.execute("CREATE TABLE t_ds_command ("
+                    + " id int(11) NOT NULL AUTO_INCREMENT,"
+                    + " command_type tinyint(4) DEFAULT NULL,"
+                    + " workflow_definition_code bigint(20) DEFAULT NULL,"
+                    + " command_param text,"
+                    + " task_depend_type tinyint(4) DEFAULT NULL,"
+                    + " failure_strategy tinyint(4) DEFAULT '0',"
+                    + " warning_type tinyint(4) DEFAULT '0',"
+                    + " warning_group_id int(11) DEFAULT NULL,"
+                    + " schedule_time datetime DEFAULT NULL,"
+                    + " start_time datetime DEFAULT NULL,"
+                    + " executor_id int(11) DEFAULT NULL,"
+                    + " update_time datetime DEFAULT NULL,"
+                    + " workflow_instance_priority int(11) DEFAULT '2',"
+                    + " worker_group varchar(255),"
+                    + " tenant_code varchar(64) DEFAULT 'default',"
+                    + " environment_code bigint(20) DEFAULT '-1',"
+                    + " dry_run int NULL DEFAULT 0,"
+                    + " workflow_instance_id int(11) DEFAULT 0,"
+                    + " workflow_definition_version int(11) DEFAULT 0,"
+                    + " test_flag int NULL DEFAULT 0,"
+                    + " PRIMARY KEY (id),"
+                    + " KEY priority_id_index (workflow_instance_priority, id))");
+        }
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(
+                        "INSERT INTO t_ds_command (id, command_type, workflow_definition_code, "
+                                + "workflow_instance_priority) VALUES (?, 0, ?, ?)")) {
+            for (int id = 1; id <= commandCount; id++) {
+                preparedStatement.setInt(1, id);
+                preparedStatement.setLong(2, id);
+                preparedStatement.setInt(3, id % 5);
+                preparedStatement.addBatch();
+                if (id % INSERT_BATCH_SIZE == 0) {
+                    preparedStatement.executeBatch();
+                }
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.master;
+
+import org.apache.dolphinscheduler.common.enums.ServerStatus;
+import org.apache.dolphinscheduler.dao.entity.WorkerGroup;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.cluster.ClusterManager;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerClusters;
+import org.apache.dolphinscheduler.server.master.cluster.WorkerServerMetadata;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.IWorkerLoadBalancer;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerLoadBalancerConfiguration;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerLoadBalancerType;
+import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.WorkerOutstandingTaskTracker;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Worker load balancer JMH test, the worker is selected by multiple threads at the same time, which is what the task
+ * dispatch lanes do.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class WorkerLoadBalancerBenchMark extends AbstractBaseBenchmark {
+
+    private static final String WORKER_GROUP = "benchmark";
+
+    @Param({"RANDOM", "ROUND_ROBIN", "FIXED_WEIGHTED_ROUND_ROBIN", "DYNAMIC_WEIGHTED_ROUND_ROBIN",
+            "LEAST_OUTSTANDING_TASKS"})
+    private WorkerLoadBalancerType workerLoadBalancerType;
+
+    @Param({"50"})
+    private int workerCount;
+
+    private IWorkerLoadBalancer workerLoadBalancer;
+
+    @Setup
+    public void setUp() {
+        final MasterConfig masterConfig = new MasterConfig();
+        masterConfig.getWorkerLoadBalancerConfigurationProperties().setType(workerLoadBalancerType);
+        final ClusterManager clusterManager = new ClusterManager();
+        final WorkerOutstandingTaskTracker workerOutstandingTaskTracker = new WorkerOutstandingTaskTracker();
+        workerLoadBalancer = new WorkerLoadBalancerConfiguration()
+                .randomWorkerLoadBalancer(masterConfig, clusterManager, workerOutstandingTaskTracker);
+
+        final WorkerClusters workerClusters = clusterManager.getWorkerClusters();
+        final List<String> workerAddresses = new ArrayList<>();
+        for (int i = 0; i < workerCount; i++) {
+            final WorkerServerMetadata workerServer = WorkerServerMetadata.builder()
+                    .address("127.0.0." + i + ":1234")
+                    .serverStatus(ServerStatus.NORMAL)
+                    .cpuUsage(i % 10 / 10.0)
+                    .memoryUsage(i % 5 / 10.0)
+                    .taskThreadPoolUsage(i % 3 / 10.0)
+                    .workerWeight(i % 4 + 1)
+                    .build();
+            workerClusters.onServerAdded(workerServer);
+            workerAddresses.add(workerServer.getAddress());
+        }
+        workerClusters.onWorkerGroupAdd(Collections.singletonList(WorkerGroup.builder()
+                .name(WORKER_GROUP)
+                .addrList(String.join(",", workerAddresses))
+                .build()));
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Optional<String> selectUnderContention() {
+        return workerLoadBalancer.select(WORKER_GROUP);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Optional<String> select() {
+        return workerLoadBalancer.select(WORKER_GROUP);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.master;
+
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.entity.WorkflowInstance;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * WorkflowExecutionGraph JMH test, each task of the graph links to the next {@code fanOut} tasks.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class WorkflowExecutionGraphBenchMark extends AbstractBaseBenchmark {
+
+    @Param({"10000"})
+    private int taskCount;
+
+    @Param({"3"})
+    private int fanOut;
+
+    private WorkflowExecutionGraph workflowExecutionGraph;
+
+    private ITaskExecutionRunnable[] taskExecutionRunnables;
+
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        workflowExecutionGraph = new WorkflowExecutionGraph();
+        taskExecutionRunnables = new ITaskExecutionRunnable[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            taskExecutionRunnables[i] = new FakeTaskExecutionRunnable(i);
+            workflowExecutionGraph.addNode(taskExecutionRunnables[i]);
+        }
+        for (int i = 0; i < taskCount; i++) {
+            final Set<String> successors = new HashSet<>();
+            for (int j = i + 1; j <= i + fanOut && j < taskCount; j++) {
+                successors.add(taskExecutionRunnables[j].getName());
+            }
+            workflowExecutionGraph.addEdge(taskExecutionRunnables[i].getName(), successors);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ITaskExecutionRunnable getTaskExecutionRunnableById() {
+        return workflowExecutionGraph
+                .getTaskExecutionRunnableById(nextTaskExecutionRunnable().getTaskInstance().getId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ITaskExecutionRunnable getTaskExecutionRunnableByTaskCode() {
+        return workflowExecutionGraph
+                .getTaskExecutionRunnableByTaskCode(nextTaskExecutionRunnable().getTaskDefinition().getCode());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isTriggerConditionMet() {
+        return workflowExecutionGraph.isTriggerConditionMet(nextTaskExecutionRunnable());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public List<ITaskExecutionRunnable> getPredecessors() {
+        return workflowExecutionGraph.getPredecessors(nextTaskExecutionRunnable().getName());
+    }
+
+    /**
+     * Finish a task and check whether its successors can be triggered, this is what the workflow does on each task
+     * finish event.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void finishTaskAndTriggerSuccessors(final Blackhole blackhole) {
+        final ITaskExecutionRunnable taskExecutionRunnable = nextTaskExecutionRunnable();
+        workflowExecutionGraph.markTaskExecutionRunnableActive(taskExecutionRunnable);
+        workflowExecutionGraph.markTaskExecutionRunnableInActive(taskExecutionRunnable);
+        for (ITaskExecutionRunnable successor : workflowExecutionGraph.getSuccessors(taskExecutionRunnable)) {
+            blackhole.consume(workflowExecutionGraph.isTriggerConditionMet(successor));
+        }
+    }
+
+    private ITaskExecutionRunnable nextTaskExecutionRunnable() {
+        if (++cursor >= taskCount) {
+            cursor = 0;
+        }
+        return taskExecutionRunnables[cursor];
+    }
+
+    private static class FakeTaskExecutionRunnable implements ITaskExecutionRunnable {
+
+        private final TaskDefinition taskDefinition;
+
+        private final TaskInstance taskInstance;
+
+        private FakeTaskExecutionRunnable(final int index) {
+            taskDefinition = new TaskDefinition();
+            taskDefinition.setName("task-" + index);
+            taskDefinition.setCode(100000L + index);
+            taskInstance = new TaskInstance();
+            taskInstance.setId(index + 1);
+            taskInstance.setName(taskDefinition.getName());
+        }
+
+        @Override
+        public boolean isTaskInstanceInitialized() {
+            return true;
+        }
+
+        @Override
+        public void initializeFirstRunTaskInstance() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isTaskInstanceCanRetry() {
+            return false;
+        }
+
+        @Override
+        public void retry() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void failover() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void pause() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void kill() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public WorkflowEventBus getWorkflowEventBus() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IWorkflowExecutionGraph getWorkflowExecutionGraph() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public WorkflowInstance getWorkflowInstance() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TaskInstance getTaskInstance() {
+            return taskInstance;
+        }
+
+        @Override
+        public TaskDefinition getTaskDefinition() {
+            return taskDefinition;
+        }
+
+        @Override
+        public TaskExecutionContext getTaskExecutionContext() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int compareTo(final ITaskExecutionRunnable other) {
+            return Integer.compare(taskInstance.getId(), other.getTaskInstance().getId());
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the cost of encoding a rpc request between the json and the binary serializer, the payload is similar to
+ * the task execution context which is the biggest request sent from master to worker.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RpcSerializerBenchMarkTest extends AbstractBaseBenchmark {
+
+    @Param({"json", "kryo"})
+    private String serializer;
+
+    @Param({"10", "1000"})
+    private int paramSize;
+
+    private IRpcSerializer rpcSerializer;
+
+    private Object[] args;
+
+    private byte[] serializedRequest;
+
+    @Setup
+    public void before() {
+        rpcSerializer = RpcSerializers.getSerializer(serializer);
+        TaskContext taskContext = new TaskContext();
+        taskContext.setTaskInstanceId(1);
+        taskContext.setTaskName("benchmark-task");
+        taskContext.setTaskParams("{\"rawScript\":\"echo hello world\",\"localParams\":[],\"resourceList\":[]}");
+        taskContext.setFirstSubmitTime(System.currentTimeMillis());
+        List<String> varPool = new ArrayList<>(paramSize);
+        Map<String, String> prepareParams = new HashMap<>(paramSize);
+        for (int i = 0; i < paramSize; i++) {
+            varPool.add("{\"prop\":\"var_" + i + "\",\"direct\":\"IN\",\"type\":\"VARCHAR\",\"value\":\"" + i + "\"}");
+            prepareParams.put("param_" + i, "value_" + i);
+        }
+        taskContext.setVarPool(varPool);
+        taskContext.setPrepareParams(prepareParams);
+        args = new Object[]{taskContext};
+        serializedRequest = rpcSerializer.serialize(StandardRpcRequest.of(args, rpcSerializer));
+    }
+
+    @Benchmark
+    public void serialize(Blackhole bh) {
+        bh.consume(rpcSerializer.serialize(StandardRpcRequest.of(args, rpcSerializer)));
+    }
+
+    @Benchmark
+    public void deserialize(Blackhole bh) {
+        StandardRpcRequest request = rpcSerializer.deserialize(serializedRequest, StandardRpcRequest.class);
+        bh.consume(rpcSerializer.deserialize(request.getArgs()[0], request.getArgsTypes()[0]));
+    }
+
+    @Data
+    public static class TaskContext {
+
+        private int taskInstanceId;
+
+        private String taskName;
+
+        private String taskParams;
+
+        private long firstSubmitTime;
+
+        private List<String> varPool;
+
+        private Map<String, String> prepareParams;
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterFrameDecoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterFrameEncoder;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.IRpcSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.RpcSerializers;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.microbench.rpc.RpcSerializerBenchMarkTest.TaskContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Compare the cost of decoding a received packet between the legacy {@link TransporterDecoder} and the
+ * {@link TransporterFrameDecoder}, the packet is split into several fragments to simulate the partial read.
+ * <p> Run with {@code -prof gc} to see the allocation rate of each decoder.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransporterDecoderBenchMarkTest extends AbstractBaseBenchmark {
+
+    @Param({"legacy", "frame"})
+    private String codec;
+
+    @Param({"kryo", "json"})
+    private String serializer;
+
+    @Param({"1", "8"})
+    private int fragments;
+
+    private ByteBuf packet;
+
+    private EmbeddedChannel channel;
+
+    @Setup
+    public void before() {
+        IRpcSerializer rpcSerializer = RpcSerializers.getSerializer(serializer);
+        TaskContext taskContext = new TaskContext();
+        taskContext.setTaskInstanceId(1);
+        taskContext.setTaskName("benchmark-task");
+        taskContext.setTaskParams("{\"rawScript\":\"echo hello world\",\"localParams\":[],\"resourceList\":[]}");
+        taskContext.setFirstSubmitTime(System.currentTimeMillis());
+        List<String> varPool = new ArrayList<>();
+        Map<String, String> prepareParams = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            varPool.add("{\"prop\":\"var_" + i + "\",\"direct\":\"IN\",\"type\":\"VARCHAR\",\"value\":\"" + i + "\"}");
+            prepareParams.put("param_" + i, "value_" + i);
+        }
+        taskContext.setVarPool(varPool);
+        taskContext.setPrepareParams(prepareParams);
+        Transporter transporter = Transporter.of(
+                TransporterHeader.of("ITaskExecutionEventListener.onTaskInstanceExecutionRunning"),
+                StandardRpcRequest.of(new Object[]{taskContext}, rpcSerializer),
+                rpcSerializer);
+
+        boolean frameCodec = "frame".equals(codec);
+        EmbeddedChannel encodeChannel =
+                new EmbeddedChannel(frameCodec ? new TransporterFrameEncoder() : new TransporterEncoder());
+        encodeChannel.writeOutbound(transporter);
+        packet = encodeChannel.readOutbound();
+        encodeChannel.finishAndReleaseAll();
+
+        channel = new EmbeddedChannel(frameCodec ? new TransporterFrameDecoder() : new TransporterDecoder());
+    }
+
+    @TearDown
+    public void after() {
+        channel.finishAndReleaseAll();
+        packet.release();
+    }
+
+    @Benchmark
+    public void decode(Blackhole bh) throws IOException {
+        int packetLength = packet.readableBytes();
+        int fragmentLength = (packetLength + fragments - 1) / fragments;
+        for (int offset = 0; offset < packetLength; offset += fragmentLength) {
+            channel.writeInbound(packet.retainedSlice(offset, Math.min(fragmentLength, packetLength - offset)));
+        }
+        Transporter transporter = channel.readInbound();
+        try {
+            bh.consume(transporter.deserializeBody(StandardRpcRequest.class));
+        } finally {
+            transporter.release();
+        }
+    }
+
+}
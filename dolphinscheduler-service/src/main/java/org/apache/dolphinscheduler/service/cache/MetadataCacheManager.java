@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.cache;
+
+import org.apache.dolphinscheduler.common.enums.CacheType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+/**
+ * Cache the metadata which is rarely changed but read for each task instance, e.g. datasource, project parameters.
+ * <p> The entries are evicted by the api server when the metadata is changed, and expire after
+ * {@link MetadataCacheProperties#getExpireAfterWrite()} in case the eviction is lost.
+ * <p> Each cache type has a version which is increased by each eviction, a value loaded before the eviction will not
+ * be put into the cache, so a load which is concurrent with the eviction will not cache the stale value.
+ */
+@Slf4j
+@Component
+public class MetadataCacheManager {
+
+    private final MetadataCacheProperties metadataCacheProperties;
+
+    private final Map<CacheType, VersionedCache> caches = new ConcurrentHashMap<>();
+
+    public MetadataCacheManager(MetadataCacheProperties metadataCacheProperties) {
+        this.metadataCacheProperties = metadataCacheProperties;
+    }
+
+    /**
+     * Get the value from the cache, or load it by the loader if it's not cached, the null value will not be cached.
+     * <p> The cached value is shared, the caller should not modify it.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(CacheType cacheType, Object key, Supplier<V> loader) {
+        if (!metadataCacheProperties.isEnabled()) {
+            return loader.get();
+        }
+        final VersionedCache versionedCache = caches.computeIfAbsent(cacheType, this::createCache);
+        final String cacheKey = String.valueOf(key);
+        final Object cachedValue = versionedCache.cache.getIfPresent(cacheKey);
+        if (cachedValue != null) {
+            return (V) cachedValue;
+        }
+        final long version = versionedCache.version;
+        final V value = loader.get();
+        if (value != null) {
+            synchronized (versionedCache) {
+                if (versionedCache.version == version) {
+                    versionedCache.cache.put(cacheKey, value);
+                }
+            }
+        }
+        return value;
+    }
+
+    public void evict(CacheType cacheType, Object key) {
+        final VersionedCache versionedCache = caches.get(cacheType);
+        if (versionedCache == null) {
+            return;
+        }
+        synchronized (versionedCache) {
+            versionedCache.version++;
+            versionedCache.cache.invalidate(String.valueOf(key));
+        }
+    }
+
+    public void evictAll(CacheType cacheType) {
+        final VersionedCache versionedCache = caches.get(cacheType);
+        if (versionedCache == null) {
+            return;
+        }
+        synchronized (versionedCache) {
+            versionedCache.version++;
+            versionedCache.cache.invalidateAll();
+        }
+    }
+
+    private VersionedCache createCache(CacheType cacheType) {
+        final Cache<String, Object> cache = CacheBuilder.newBuilder()
+                .maximumSize(metadataCacheProperties.getMaximumSize())
+                .expireAfterWrite(metadataCacheProperties.getExpireAfterWrite().toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(Metrics.globalRegistry, cache, "ds.metadata." + cacheType.getCacheName());
+        log.info("Created metadata cache: {}", cacheType);
+        return new VersionedCache(cache);
+    }
+
+    private static class VersionedCache {
+
+        private final Cache<String, Object> cache;
+
+        private volatile long version;
+
+        VersionedCache(Cache<String, Object> cache) {
+            this.cache = cache;
+        }
+    }
+
+}
@@ -31,6 +31,7 @@ import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.PARAMETE
 import org.apache.dolphinscheduler.common.constants.CommandKeyConstants;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.constants.DateConstants;
+import org.apache.dolphinscheduler.common.enums.CacheType;
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
@@ -47,6 +48,7 @@ import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters
 import org.apache.dolphinscheduler.plugin.task.api.utils.MapUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.PropertyUtils;
+import org.apache.dolphinscheduler.service.cache.MetadataCacheManager;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -76,6 +78,9 @@ public class CuringParamsServiceImpl implements CuringParamsService {
     @Autowired
     private ProjectParameterMapper projectParameterMapper;
 
+    @Autowired
+    private MetadataCacheManager metadataCacheManager;
+
     @Override
     public String convertParameterPlaceholders(String val, Map<String, Property> allParamMap) {
         Map<String, String> paramMap = allParamMap
@@ -329,7 +334,8 @@ public class CuringParamsServiceImpl implements CuringParamsService {
     @Override
     public Map<String, Property> getProjectParameterMap(long projectCode) {
         Map<String, Property> result = new HashMap<>(16);
-        List<ProjectParameter> projectParameterList = projectParameterMapper.queryByProjectCode(projectCode);
+        List<ProjectParameter> projectParameterList = metadataCacheManager.get(CacheType.PROJECT_PARAMETER,
+                projectCode, () -> projectParameterMapper.queryByProjectCode(projectCode));
 
         projectParameterList.forEach(projectParameter -> {
             Property property = new Property(projectParameter.getParamName(),
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.cache;
+
+import org.apache.dolphinscheduler.common.enums.CacheType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MetadataCacheManagerTest {
+
+    @Test
+    void testGetWhenDisabled() {
+        MetadataCacheManager metadataCacheManager = new MetadataCacheManager(new MetadataCacheProperties());
+        AtomicInteger loadTimes = new AtomicInteger();
+
+        metadataCacheManager.get(CacheType.DATASOURCE, 1, loadTimes::incrementAndGet);
+        metadataCacheManager.get(CacheType.DATASOURCE, 1, loadTimes::incrementAndGet);
+
+        Assertions.assertEquals(2, loadTimes.get());
+    }
+
+    @Test
+    void testGet() {
+        MetadataCacheManager metadataCacheManager = createEnabledMetadataCacheManager();
+        AtomicInteger loadTimes = new AtomicInteger();
+
+        Assertions.assertEquals(1, metadataCacheManager.get(CacheType.DATASOURCE, 1, loadTimes::incrementAndGet));
+        Assertions.assertEquals(1, metadataCacheManager.get(CacheType.DATASOURCE, "1", loadTimes::incrementAndGet));
+        Assertions.assertEquals(2, metadataCacheManager.get(CacheType.DATASOURCE, 2, loadTimes::incrementAndGet));
+        Assertions.assertEquals(3,
+                metadataCacheManager.get(CacheType.PROJECT_PARAMETER, 1, loadTimes::incrementAndGet));
+    }
+
+    @Test
+    void testGetNullValue() {
+        MetadataCacheManager metadataCacheManager = createEnabledMetadataCacheManager();
+        AtomicInteger loadTimes = new AtomicInteger();
+
+        metadataCacheManager.get(CacheType.CLUSTER_CONFIG, "k8s", () -> {
+            loadTimes.incrementAndGet();
+            return null;
+        });
+        metadataCacheManager.get(CacheType.CLUSTER_CONFIG, "k8s", () -> {
+            loadTimes.incrementAndGet();
+            return null;
+        });
+
+        Assertions.assertEquals(2, loadTimes.get());
+    }
+
+    @Test
+    void testEvict() {
+        MetadataCacheManager metadataCacheManager = createEnabledMetadataCacheManager();
+        AtomicInteger loadTimes = new AtomicInteger();
+        metadataCacheManager.get(CacheType.DATASOURCE, 1, loadTimes::incrementAndGet);
+        metadataCacheManager.get(CacheType.DATASOURCE, 2, loadTimes::incrementAndGet);
+
+        metadataCacheManager.evict(CacheType.DATASOURCE, "1");
+
+        Assertions.assertEquals(3, metadataCacheManager.get(CacheType.DATASOURCE, 1, loadTimes::incrementAndGet));
+        Assertions.assertEquals(2, metadataCacheManager.get(CacheType.DATASOURCE, 2, loadTimes::incrementAndGet));
+
+        metadataCacheManager.evictAll(CacheType.DATASOURCE);
+
+        Assertions.assertEquals(4, metadataCacheManager.get(CacheType.DATASOURCE, 2, loadTimes::incrementAndGet));
+    }
+
+    @Test
+    void testEvictDuringLoad() {
+        MetadataCacheManager metadataCacheManager = createEnabledMetadataCacheManager();
+        metadataCacheManager.get(CacheType.DATASOURCE, 2, () -> "init");
+
+        // the value loaded before the eviction is stale, it should not be cached
+        String loadedValue = metadataCacheManager.get(CacheType.DATASOURCE, 1, () -> {
+            metadataCacheManager.evict(CacheType.DATASOURCE, 1);
+            return "stale";
+        });
+        Assertions.assertEquals("stale", loadedValue);
+        Assertions.assertEquals("fresh", metadataCacheManager.get(CacheType.DATASOURCE, 1, () -> "fresh"));
+    }
+
+    private MetadataCacheManager createEnabledMetadataCacheManager() {
+        MetadataCacheProperties metadataCacheProperties = new MetadataCacheProperties();
+        metadataCacheProperties.setEnabled(true);
+        return new MetadataCacheManager(metadataCacheProperties);
+    }
+
+}
@@ -32,6 +32,8 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.SubWorkflowParameters;
+import org.apache.dolphinscheduler.service.cache.MetadataCacheManager;
+import org.apache.dolphinscheduler.service.cache.MetadataCacheProperties;
 
 import org.apache.commons.collections4.MapUtils;
 
@@ -49,6 +51,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.google.common.collect.Lists;
@@ -70,6 +73,9 @@ public class CuringParamsServiceTest {
     @Mock
     private ProjectParameterMapper projectParameterMapper;
 
+    @Spy
+    private MetadataCacheManager metadataCacheManager = new MetadataCacheManager(new MetadataCacheProperties());
+
     @InjectMocks
     private TimePlaceholderResolverExpandServiceImpl timePlaceholderResolverExpandServiceImpl;
 
@@ -17,28 +17,19 @@
 
 package org.apache.dolphinscheduler.plugin.task.api.log;
 
+import org.apache.dolphinscheduler.common.log.SensitiveDataMasker;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 
-import org.apache.commons.lang3.StringUtils;
-
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import ch.qos.logback.classic.pattern.MessageConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 
-import com.google.common.base.Strings;
-
 /**
  * sensitive data log converter
  */
 public class SensitiveDataConverter extends MessageConverter {
 
-    private static Pattern multilinePattern;
-    private static HashSet<String> maskPatterns =
-            new HashSet<>(Collections.singletonList(TaskConstants.DATASOURCE_PASSWORD_REGEX));
+    private static final SensitiveDataMasker SENSITIVE_DATA_MASKER =
+            new SensitiveDataMasker(TaskConstants.DATASOURCE_PASSWORD_REGEX);
 
     @Override
     public String convert(ILoggingEvent event) {
@@ -51,26 +42,11 @@ public class SensitiveDataConverter extends MessageConverter {
     }
 
     public static void addMaskPattern(String maskPattern) {
-        maskPatterns.add(maskPattern);
+        SENSITIVE_DATA_MASKER.addMaskPattern(maskPattern);
     }
 
     public static String maskSensitiveData(final String logMsg) {
-        if (StringUtils.isEmpty(logMsg)) {
-            return logMsg;
-        }
-        multilinePattern = Pattern.compile(String.join("|", maskPatterns), Pattern.MULTILINE);
-
-        StringBuffer sb = new StringBuffer(logMsg.length());
-        Matcher matcher = multilinePattern.matcher(logMsg);
-
-        while (matcher.find()) {
-            String password = matcher.group();
-            String maskPassword = Strings.repeat(TaskConstants.STAR, password.length());
-            matcher.appendReplacement(sb, maskPassword);
-        }
-        matcher.appendTail(sb);
-
-        return sb.toString();
+        return SENSITIVE_DATA_MASKER.mask(logMsg);
     }
 
 }
@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import static org.apache.dolphinscheduler.common.constants.Constants.EMPTY_STRING;
+
+import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The output of a running task, which is pumped by the {@link TaskOutputPipeline}.
+ * <p>
+ * At each pump, the available lines of the polled source and the lines put by the collectors are drained into one batch
+ * and handed off to the log handler, so no line is dropped between handling the buffer and clearing it.
+ * <p>
+ * The backpressure is applied when the task floods output: the polled source is read at most
+ * {@link #MAX_READ_BYTES_PER_PUMP} bytes at each pump, so the producer process will be blocked once its pipe is full,
+ * and the collectors will be blocked once the collected lines reach the limit.
+ */
+@Slf4j
+public final class TaskOutput {
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private static final int MAX_READ_BYTES_PER_PUMP = 1024 * 1024;
+
+    private static final long PUT_LINE_TIMEOUT_MILLS = 1000;
+
+    private final TaskOutputPipeline taskOutputPipeline;
+
+    private final String logPath;
+
+    private final Consumer<LinkedBlockingQueue<String>> logHandler;
+
+    private final LinkedBlockingQueue<String> collectedLines;
+
+    private final List<TaskOutputCollector> taskOutputCollectors = new ArrayList<>();
+
+    private final List<CompletableFuture<Void>> taskOutputCollectorFutures = new ArrayList<>();
+
+    private final AtomicInteger runningCollectorCount = new AtomicInteger();
+
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private PolledLineReader polledLineReader;
+
+    private ScheduledFuture<?> pumpFuture;
+
+    private boolean started;
+
+    TaskOutput(final TaskOutputPipeline taskOutputPipeline,
+               final String logPath,
+               final Consumer<LinkedBlockingQueue<String>> logHandler,
+               final int maxCollectedLines) {
+        this.taskOutputPipeline = taskOutputPipeline;
+        this.logPath = logPath;
+        this.logHandler = logHandler;
+        this.collectedLines = new LinkedBlockingQueue<>(maxCollectedLines);
+    }
+
+    /**
+     * Poll the lines from the given input stream without blocking, the stream is finished once the producer is not alive
+     * and there is no available data.
+     *
+     * @param inputStream the input stream, e.g. the process output
+     * @param producerAlive whether the producer of the input stream is alive, e.g. {@link Process#isAlive()}
+     * @param lineListener the listener which will be notified of each line in order before the line is handled
+     */
+    public synchronized TaskOutput pollFrom(final InputStream inputStream,
+                                            final BooleanSupplier producerAlive,
+                                            final Consumer<String> lineListener) {
+        checkNotStarted();
+        this.polledLineReader = new PolledLineReader(inputStream, producerAlive, lineListener);
+        return this;
+    }
+
+    /**
+     * Collect the lines by the given collector in the shared collector thread pool once the TaskOutput is started.
+     *
+     * @return the future which will be completed once the collector is finished
+     */
+    public synchronized CompletableFuture<Void> collectFrom(final TaskOutputCollector taskOutputCollector) {
+        checkNotStarted();
+        final CompletableFuture<Void> taskOutputCollectorFuture = new CompletableFuture<>();
+        taskOutputCollectors.add(taskOutputCollector);
+        taskOutputCollectorFutures.add(taskOutputCollectorFuture);
+        return taskOutputCollectorFuture;
+    }
+
+    /**
+     * Start to pump the output, the sources cannot be added after started.
+     */
+    public synchronized void start() {
+        checkNotStarted();
+        started = true;
+        runningCollectorCount.set(taskOutputCollectors.size());
+        for (int i = 0; i < taskOutputCollectors.size(); i++) {
+            final TaskOutputCollector taskOutputCollector = taskOutputCollectors.get(i);
+            final CompletableFuture<Void> taskOutputCollectorFuture = taskOutputCollectorFutures.get(i);
+            taskOutputPipeline.executeCollector(() -> collect(taskOutputCollector, taskOutputCollectorFuture));
+        }
+        pumpFuture = taskOutputPipeline.schedulePump(this::pump);
+    }
+
+    /**
+     * Put the line collected by the {@link TaskOutputCollector}, this will be blocked if the collected lines reach the
+     * limit until they are pumped.
+     */
+    public void putLine(final String line) throws InterruptedException {
+        while (!collectedLines.offer(line, PUT_LINE_TIMEOUT_MILLS, TimeUnit.MILLISECONDS)) {
+            if (completion.isDone()) {
+                throw new IllegalStateException("The TaskOutput is already finished");
+            }
+        }
+    }
+
+    /**
+     * Get the future which will be completed once all the sources are finished and all the lines are handled.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    public void awaitCompletion() throws ExecutionException, InterruptedException {
+        completion.get();
+    }
+
+    private void collect(final TaskOutputCollector taskOutputCollector,
+                         final CompletableFuture<Void> taskOutputCollectorFuture) {
+        try {
+            LogUtils.setTaskInstanceLogFullPathMDC(logPath);
+            taskOutputCollector.collect(this);
+            taskOutputCollectorFuture.complete(null);
+        } catch (Throwable ex) {
+            log.error("Collect task output error", ex);
+            taskOutputCollectorFuture.completeExceptionally(ex);
+        } finally {
+            runningCollectorCount.decrementAndGet();
+            LogUtils.removeTaskInstanceLogFullPathMDC();
+        }
+    }
+
+    private void pump() {
+        try {
+            LogUtils.setTaskInstanceLogFullPathMDC(logPath);
+            // The collectors should be checked before draining, the lines put before finished will be drained
+            final boolean collectorsFinished = runningCollectorCount.get() == 0;
+            final LinkedBlockingQueue<String> batch = new LinkedBlockingQueue<>();
+            batch.add(EMPTY_STRING);
+            final boolean polledSourceFinished = readPolledLines(batch);
+            collectedLines.drainTo(batch);
+            if (batch.size() > 1) {
+                logHandler.accept(batch);
+            }
+            if (polledSourceFinished && collectorsFinished && collectedLines.isEmpty()) {
+                finish();
+            }
+        } catch (Throwable ex) {
+            log.error("Output task log error", ex);
+            finish();
+        } finally {
+            LogUtils.removeTaskInstanceLogFullPathMDC();
+        }
+    }
+
+    private boolean readPolledLines(final Collection<String> lines) {
+        if (polledLineReader == null || polledLineReader.isFinished()) {
+            return true;
+        }
+        try {
+            int readBytes = 0;
+            while (readBytes < MAX_READ_BYTES_PER_PUMP) {
+                final int currentReadBytes = polledLineReader.readAvailableLines(lines);
+                if (currentReadBytes <= 0) {
+                    break;
+                }
+                readBytes += currentReadBytes;
+            }
+        } catch (Exception ex) {
+            log.error("Read task output error", ex);
+            polledLineReader.finish(lines);
+        }
+        return polledLineReader.isFinished();
+    }
+
+    private synchronized void finish() {
+        if (polledLineReader != null && !polledLineReader.isFinished()) {
+            polledLineReader.finish(new ArrayList<>());
+        }
+        pumpFuture.cancel(false);
+        completion.complete(null);
+    }
+
+    private void checkNotStarted() {
+        if (started) {
+            throw new IllegalStateException("The TaskOutput is already started");
+        }
+    }
+
+    /**
+     * Split the input stream into lines like {@link java.io.BufferedReader#readLine()}, but never block.
+     */
+    private static class PolledLineReader {
+
+        private final InputStream inputStream;
+
+        private final BooleanSupplier producerAlive;
+
+        private final Consumer<String> lineListener;
+
+        private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+
+        private final ByteArrayOutputStream currentLine = new ByteArrayOutputStream();
+
+        private boolean skipLineFeed;
+
+        private boolean finished;
+
+        private PolledLineReader(final InputStream inputStream,
+                                 final BooleanSupplier producerAlive,
+                                 final Consumer<String> lineListener) {
+            this.inputStream = inputStream;
+            this.producerAlive = producerAlive;
+            this.lineListener = lineListener;
+        }
+
+        /**
+         * Read the available data and split it into lines.
+         *
+         * @return the count of the read bytes, 0 if there is no available data
+         */
+        private int readAvailableLines(final Collection<String> lines) throws IOException {
+            // The producer should be checked before the available data, the data written before exit is available
+            final boolean producerExited = !producerAlive.getAsBoolean();
+            final int availableBytes = inputStream.available();
+            if (availableBytes <= 0) {
+                if (producerExited) {
+                    finish(lines);
+                }
+                return 0;
+            }
+            final int readBytes = inputStream.read(readBuffer, 0, Math.min(availableBytes, readBuffer.length));
+            if (readBytes < 0) {
+                finish(lines);
+                return 0;
+            }
+            for (int i = 0; i < readBytes; i++) {
+                final byte b = readBuffer[i];
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (b == '\n') {
+                        continue;
+                    }
+                }
+                if (b == '\n' || b == '\r') {
+                    skipLineFeed = b == '\r';
+                    addLine(lines);
+                } else {
+                    currentLine.write(b);
+                }
+            }
+            return readBytes;
+        }
+
+        private void finish(final Collection<String> lines) {
+            if (currentLine.size() > 0) {
+                addLine(lines);
+            }
+            finished = true;
+            try {
+                inputStream.close();
+            } catch (IOException ex) {
+                log.warn("Close task output stream error", ex);
+            }
+        }
+
+        private boolean isFinished() {
+            return finished;
+        }
+
+        private void addLine(final Collection<String> lines) {
+            final String line = new String(currentLine.toByteArray(), Charset.defaultCharset());
+            currentLine.reset();
+            lineListener.accept(line);
+            lines.add(line);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The output pipeline shared by all the running tasks in the worker.
+ * <p>
+ * The process output of each task is polled by a few pump threads without blocking, so there is no dedicated thread for
+ * each task. The sources which can only be read by blocking, e.g. the kubernetes pod log, are collected in a shared
+ * cached thread pool.
+ */
+public final class TaskOutputPipeline {
+
+    private static final int DEFAULT_PUMP_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    private static final long DEFAULT_PUMP_INTERVAL_MILLS = 100;
+
+    private static final int DEFAULT_MAX_COLLECTED_LINES = 10000;
+
+    private static final TaskOutputPipeline INSTANCE =
+            new TaskOutputPipeline(DEFAULT_PUMP_THREADS, DEFAULT_PUMP_INTERVAL_MILLS, DEFAULT_MAX_COLLECTED_LINES);
+
+    private final ScheduledExecutorService pumpExecutor;
+
+    private final ExecutorService collectorExecutor;
+
+    private final long pumpIntervalMills;
+
+    private final int maxCollectedLines;
+
+    TaskOutputPipeline(final int pumpThreads, final long pumpIntervalMills, final int maxCollectedLines) {
+        this.pumpExecutor = ThreadUtils.newDaemonScheduledExecutorService("TaskOutputPump-%d", pumpThreads);
+        this.collectorExecutor =
+                Executors.newCachedThreadPool(ThreadUtils.newDaemonThreadFactory("TaskOutputCollector-%d"));
+        this.pumpIntervalMills = pumpIntervalMills;
+        this.maxCollectedLines = maxCollectedLines;
+    }
+
+    public static TaskOutputPipeline getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Create the output of a task, the log lines of the task will be handed off to the given log handler in batch.
+     *
+     * @param logPath the task instance log path, which is used to route the log to the task log file
+     * @param logHandler the log handler, which should consume all the lines in the given queue
+     */
+    public TaskOutput newTaskOutput(final String logPath, final Consumer<LinkedBlockingQueue<String>> logHandler) {
+        return new TaskOutput(this, logPath, logHandler, maxCollectedLines);
+    }
+
+    ScheduledFuture<?> schedulePump(final Runnable pump) {
+        return pumpExecutor.scheduleWithFixedDelay(pump, 0, pumpIntervalMills, TimeUnit.MILLISECONDS);
+    }
+
+    void executeCollector(final Runnable collector) {
+        collectorExecutor.execute(collector);
+    }
+}
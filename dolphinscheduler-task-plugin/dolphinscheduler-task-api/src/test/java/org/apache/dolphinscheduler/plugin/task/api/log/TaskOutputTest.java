@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaskOutputTest {
+
+    private TaskOutputPipeline taskOutputPipeline;
+
+    private List<String> handledLines;
+
+    @BeforeEach
+    void setUp() {
+        taskOutputPipeline = new TaskOutputPipeline(2, 10, 2);
+        handledLines = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @Test
+    void testPollFrom() throws Exception {
+        final List<String> listenedLines = new ArrayList<>();
+        final TaskOutput taskOutput = taskOutputPipeline.newTaskOutput("/tmp/task.log", this::handleLog)
+                .pollFrom(newInputStream("a\r\nb\rc\n\nd"), () -> false, listenedLines::add);
+        taskOutput.start();
+
+        taskOutput.getCompletion().get(10, TimeUnit.SECONDS);
+        assertThat(handledLines).containsExactly("a", "b", "c", "", "d").inOrder();
+        assertThat(listenedLines).containsExactly("a", "b", "c", "", "d").inOrder();
+    }
+
+    @Test
+    void testPollFrom_waitProducerExit() throws Exception {
+        final AtomicBoolean producerAlive = new AtomicBoolean(true);
+        final TaskOutput taskOutput = taskOutputPipeline.newTaskOutput("/tmp/task.log", this::handleLog)
+                .pollFrom(newInputStream("a\nb"), producerAlive::get, line -> {
+                });
+        taskOutput.start();
+
+        Thread.sleep(100);
+        assertThat(taskOutput.getCompletion().isDone()).isFalse();
+        // The unterminated line should be handled once the producer exited
+        assertThat(handledLines).containsExactly("a");
+
+        producerAlive.set(false);
+        taskOutput.getCompletion().get(10, TimeUnit.SECONDS);
+        assertThat(handledLines).containsExactly("a", "b").inOrder();
+    }
+
+    @Test
+    void testCollectFrom_backpressure() throws Exception {
+        final TaskOutput taskOutput = taskOutputPipeline.newTaskOutput("/tmp/task.log", this::handleLog);
+        final CompletableFuture<Void> collectorFuture = taskOutput.collectFrom(output -> {
+            for (int i = 0; i < 100; i++) {
+                output.putLine(String.valueOf(i));
+            }
+        });
+        taskOutput.start();
+
+        taskOutput.getCompletion().get(10, TimeUnit.SECONDS);
+        assertThat(collectorFuture.isDone()).isTrue();
+        assertThat(handledLines).hasSize(100);
+        assertThat(handledLines.get(99)).isEqualTo("99");
+    }
+
+    @Test
+    void testCollectFrom_collectorFailed() throws Exception {
+        final TaskOutput taskOutput = taskOutputPipeline.newTaskOutput("/tmp/task.log", this::handleLog);
+        final CompletableFuture<Void> collectorFuture = taskOutput.collectFrom(output -> {
+            output.putLine("a");
+            throw new IllegalArgumentException("The driver pod does not exist.");
+        });
+        taskOutput.start();
+
+        taskOutput.getCompletion().get(10, TimeUnit.SECONDS);
+        assertThrows(ExecutionException.class, collectorFuture::get);
+        assertThat(handledLines).containsExactly("a");
+    }
+
+    @Test
+    void testStart_twice() {
+        final TaskOutput taskOutput = taskOutputPipeline.newTaskOutput("/tmp/task.log", this::handleLog);
+        taskOutput.start();
+        assertThrows(IllegalStateException.class, taskOutput::start);
+        assertThrows(IllegalStateException.class, () -> taskOutput.collectFrom(output -> {
+        }));
+    }
+
+    private void handleLog(final LinkedBlockingQueue<String> logs) {
+        // The first line of each batch is the empty placeholder
+        assertThat(logs.poll()).isEqualTo(Constants.EMPTY_STRING);
+        logs.drainTo(handledLines);
+    }
+
+    private ByteArrayInputStream newInputStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.plugin.task.sql;
 
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.plugin.datasource.api.constants.DataSourceConstants;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceClientProvider;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceProcessorProvider;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.DataSourceUtils;
@@ -39,6 +41,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.spi.datasource.BaseConnectionParam;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.sql.Connection;
@@ -46,11 +49,13 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -81,12 +86,21 @@ public class SqlTask extends AbstractTask {
      */
     private static final int QUERY_LIMIT = 10000;
 
+    /**
+     * default query fetch size, the rows will be fetched from database in batches rather than all at once
+     */
+    private static final int QUERY_FETCH_SIZE = 1000;
+
     private SQLTaskExecutionContext sqlTaskExecutionContext;
 
     public static final int TEST_FLAG_YES = 1;
 
     private final DbType dbType;
 
+    private volatile Statement currentStatement;
+
+    private volatile boolean cancelled;
+
     public SqlTask(TaskExecutionContext taskRequest) {
         super(taskRequest);
         this.taskExecutionContext = taskRequest;
@@ -161,7 +175,17 @@ public class SqlTask extends AbstractTask {
 
     @Override
     public void cancel() throws TaskException {
-
+        cancelled = true;
+        final Statement statement = currentStatement;
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.cancel();
+            log.info("Cancel the running sql statement success");
+        } catch (SQLException e) {
+            throw new TaskException("Cancel the running sql statement failed", e);
+        }
     }
 
     /**
@@ -174,13 +198,10 @@ public class SqlTask extends AbstractTask {
     public void executeFuncAndSql(List<SqlBinds> mainStatementsBinds,
                                   List<SqlBinds> preStatementsBinds,
                                   List<SqlBinds> postStatementsBinds) throws Exception {
-        try (
-                Connection connection =
-                        DataSourceClientProvider.getAdHocConnection(DbType.valueOf(sqlParameters.getType()),
-                                baseConnectionParam)) {
+        try (Connection connection = getConnection(preStatementsBinds, postStatementsBinds)) {
 
             // pre execute
-            executeUpdate(connection, preStatementsBinds, "pre");
+            executeUpdate(connection, preStatementsBinds, "pre", false);
 
             // main execute
             String result = null;
@@ -190,20 +211,57 @@ public class SqlTask extends AbstractTask {
                 result = executeQuery(connection, mainStatementsBinds.get(0), "main");
             } else if (sqlParameters.getSqlType() == SqlType.NON_QUERY.ordinal()) {
                 // non query statement
-                String updateResult = executeUpdate(connection, mainStatementsBinds, "main");
+                String updateResult = executeUpdate(connection, mainStatementsBinds, "main", hasOutParam());
                 result = setNonQuerySqlReturn(updateResult, sqlParameters.getLocalParams());
             }
             // deal out params
             sqlParameters.dealOutParam(result);
 
             // post execute
-            executeUpdate(connection, postStatementsBinds, "post");
+            executeUpdate(connection, postStatementsBinds, "post", false);
+
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
         } catch (Exception e) {
             log.error("execute sql error: {}", e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Get the connection of the datasource.
+     * <p>
+     * The query task borrows the connection from the pool of the datasource, so the small sql tasks of the same
+     * datasource don't need to setup the connection each time. The other tasks always create a new connection, since
+     * their statements, e.g. `use` and `set`, may change the session, which would pollute the pooled connection.
+     */
+    private Connection getConnection(List<SqlBinds> preStatementsBinds,
+                                     List<SqlBinds> postStatementsBinds) throws SQLException, ExecutionException {
+        final boolean pooled = PropertyUtils.getBoolean(DataSourceConstants.SQL_TASK_CONNECTION_POOLED, true)
+                && sqlParameters.getSqlType() == SqlType.QUERY.ordinal()
+                && preStatementsBinds.isEmpty()
+                && postStatementsBinds.isEmpty();
+        if (pooled) {
+            log.info("Borrow the connection from the pool of the datasource");
+            final Connection connection = DataSourceClientProvider.getPooledConnection(dbType, baseConnectionParam);
+            // Some drivers, e.g. PostgreSQL, only fetch the result by the fetch size when the auto commit is off, the
+            // pool will restore the auto commit once the connection is returned
+            try {
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                log.warn("Turn off the auto commit of the connection failed, the driver may not support it", e);
+            }
+            return connection;
+        }
+        return DataSourceClientProvider.getAdHocConnection(dbType, baseConnectionParam);
+    }
+
+    private boolean hasOutParam() {
+        return CollectionUtils.isNotEmpty(sqlParameters.getLocalParams())
+                && sqlParameters.getLocalParams().stream().anyMatch(property -> Direct.OUT == property.getDirect());
+    }
+
     private String setNonQuerySqlReturn(String updateResult, List<Property> properties) {
         String result = null;
         for (Property info : properties) {
@@ -220,37 +278,46 @@ public class SqlTask extends AbstractTask {
     }
 
     /**
-     * result process
+     * result process, the rows are streamed into the result one by one until the limit is reached
      *
      * @param resultSet resultSet
      * @throws Exception Exception
      */
     private String resultProcess(ResultSet resultSet) throws Exception {
-        ArrayNode resultJSONArray = JSONUtils.createArrayNode();
+        StringBuilder resultJSONArray = new StringBuilder("[");
+        int rowCount = 0;
         if (resultSet != null) {
             ResultSetMetaData md = resultSet.getMetaData();
             int num = md.getColumnCount();
+            int limit = getQueryLimit();
+            int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
+                    : TaskConstants.DEFAULT_DISPLAY_ROWS;
+            List<String> displayedRows = new ArrayList<>();
 
-            while (resultSet.next()) {
+            while (rowCount < limit && resultSet.next()) {
                 ObjectNode mapOfColValues = JSONUtils.createObjectNode();
                 for (int i = 1; i <= num; i++) {
                     mapOfColValues.set(md.getColumnLabel(i), JSONUtils.toJsonNode(resultSet.getObject(i)));
                 }
-                resultJSONArray.add(mapOfColValues);
+                String row = JSONUtils.toJsonString(mapOfColValues);
+                if (rowCount > 0) {
+                    resultJSONArray.append(',');
+                }
+                resultJSONArray.append(row);
+                if (rowCount < displayRows) {
+                    displayedRows.add(row);
+                }
+                rowCount++;
             }
 
-            int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
-                    : TaskConstants.DEFAULT_DISPLAY_ROWS;
-            displayRows = Math.min(displayRows, resultJSONArray.size());
-            log.info("display sql result {} rows as follows:", displayRows);
-            for (int i = 0; i < displayRows; i++) {
-                String row = JSONUtils.toJsonString(resultJSONArray.get(i));
-                log.info("row {} : {}", i + 1, row);
+            log.info("display sql result {} rows as follows:", displayedRows.size());
+            for (int i = 0; i < displayedRows.size(); i++) {
+                log.info("row {} : {}", i + 1, displayedRows.get(i));
             }
         }
 
-        String result = resultJSONArray.isEmpty() ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
-                : JSONUtils.toJsonString(resultJSONArray);
+        String result = rowCount == 0 ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
+                : resultJSONArray.append(']').toString();
 
         if (Boolean.TRUE.equals(sqlParameters.getSendEmail())) {
             sendAttachment(sqlParameters.getGroupId(), StringUtils.isNotEmpty(sqlParameters.getTitle())
@@ -296,27 +363,106 @@ public class SqlTask extends AbstractTask {
         setTaskAlertInfo(taskAlertInfo);
     }
 
+    /**
+     * Execute the query and read at most {@link #getQueryLimit()} rows, which is bounded by the max rows of the
+     * statement as well.
+     * <p>
+     * The fetch size is only a hint, some drivers still load the whole result into memory, e.g. PostgreSQL when the
+     * auto commit is on, and MySQL unless {@code useCursorFetch=true} is set in the other params of the datasource.
+     */
     private String executeQuery(Connection connection, SqlBinds sqlBinds, String handlerType) throws Exception {
         try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBinds)) {
+            try {
+                statement.setFetchSize(Math.min(QUERY_FETCH_SIZE, getQueryLimit()));
+            } catch (SQLException e) {
+                log.warn("Set fetch size of the query statement failed, the driver may not support it", e);
+            }
             log.info("{} statement execute query, for sql: {}", handlerType, sqlBinds.getSql());
             ResultSet resultSet = statement.executeQuery();
             return resultProcess(resultSet);
+        } finally {
+            currentStatement = null;
         }
     }
 
-    private String executeUpdate(Connection connection, List<SqlBinds> statementsBinds,
-                                 String handlerType) throws Exception {
+    private String executeUpdate(Connection connection, List<SqlBinds> statementsBinds, String handlerType,
+                                 boolean updateCountRequired) throws Exception {
+        if (!updateCountRequired && isBatchUpdateAvailable(connection, statementsBinds)) {
+            return executeBatchUpdate(connection, statementsBinds, handlerType);
+        }
         int result = 0;
         for (SqlBinds sqlBind : statementsBinds) {
             try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBind)) {
                 result = statement.executeUpdate();
                 log.info("{} statement execute update result: {}, for sql: {}", handlerType, result,
                         sqlBind.getSql());
+            } finally {
+                currentStatement = null;
             }
         }
         return String.valueOf(result);
     }
 
+    /**
+     * Whether the statements can be sent in one batch, the batch update is disabled by default since some drivers will
+     * continue to execute the rest statements after one of them failed in the batch.
+     */
+    private boolean isBatchUpdateAvailable(Connection connection, List<SqlBinds> statementsBinds) throws SQLException {
+        if (statementsBinds.size() <= 1
+                || !PropertyUtils.getBoolean(DataSourceConstants.SQL_TASK_BATCH_UPDATE_ENABLE, false)) {
+            return false;
+        }
+        for (SqlBinds sqlBinds : statementsBinds) {
+            if (sqlBinds.getParamsMap() != null && !sqlBinds.getParamsMap().isEmpty()) {
+                return false;
+            }
+        }
+        return connection.getMetaData().supportsBatchUpdates();
+    }
+
+    private String executeBatchUpdate(Connection connection, List<SqlBinds> statementsBinds,
+                                      String handlerType) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            setCurrentStatement(statement);
+            setQueryTimeoutIfNeeded(statement);
+            for (SqlBinds sqlBinds : statementsBinds) {
+                statement.addBatch(sqlBinds.getSql());
+            }
+            int[] results = statement.executeBatch();
+            for (int i = 0; i < results.length; i++) {
+                log.info("{} statement execute update result: {}, for sql: {}", handlerType, results[i],
+                        statementsBinds.get(i).getSql());
+            }
+            return String.valueOf(results[results.length - 1]);
+        } finally {
+            currentStatement = null;
+        }
+    }
+
+    private int getQueryLimit() {
+        return sqlParameters.getLimit() <= 0 ? QUERY_LIMIT : sqlParameters.getLimit();
+    }
+
+    private void setQueryTimeoutIfNeeded(Statement statement) throws SQLException {
+        // is the timeout set
+        // todo: we need control the timeout at master side.
+        boolean timeoutFlag = taskExecutionContext.getTaskTimeoutStrategy() == TaskTimeoutStrategy.FAILED
+                || taskExecutionContext.getTaskTimeoutStrategy() == TaskTimeoutStrategy.WARNFAILED;
+        if (timeoutFlag) {
+            statement.setQueryTimeout(taskExecutionContext.getTaskTimeout());
+        }
+    }
+
+    /**
+     * Set the statement which is going to be executed, so that it can be canceled by {@link #cancel()}.
+     */
+    private void setCurrentStatement(Statement statement) {
+        currentStatement = statement;
+        if (cancelled) {
+            throw new TaskException("The sql task has been canceled");
+        }
+    }
+
     /**
      * close jdbc resource
      *
@@ -341,16 +487,12 @@ public class SqlTask extends AbstractTask {
      * @throws Exception Exception
      */
     private PreparedStatement prepareStatementAndBind(Connection connection, SqlBinds sqlBinds) {
-        // is the timeout set
-        // todo: we need control the timeout at master side.
-        boolean timeoutFlag = taskExecutionContext.getTaskTimeoutStrategy() == TaskTimeoutStrategy.FAILED
-                || taskExecutionContext.getTaskTimeoutStrategy() == TaskTimeoutStrategy.WARNFAILED;
+        PreparedStatement stmt = null;
         try {
-            PreparedStatement stmt = connection.prepareStatement(sqlBinds.getSql());
-            if (timeoutFlag) {
-                stmt.setQueryTimeout(taskExecutionContext.getTaskTimeout());
-            }
-            stmt.setMaxRows(sqlParameters.getLimit() <= 0 ? QUERY_LIMIT : sqlParameters.getLimit());
+            stmt = connection.prepareStatement(sqlBinds.getSql());
+            setCurrentStatement(stmt);
+            setQueryTimeoutIfNeeded(stmt);
+            stmt.setMaxRows(getQueryLimit());
             Map<Integer, Property> params = sqlBinds.getParamsMap();
             if (params != null) {
                 for (Map.Entry<Integer, Property> entry : params.entrySet()) {
@@ -362,6 +504,14 @@ public class SqlTask extends AbstractTask {
                     sqlBinds.getParamsMap());
             return stmt;
         } catch (Exception exception) {
+            // The statement will not be returned, e.g. the task has been canceled, so close it here
+            if (stmt != null) {
+                try {
+                    stmt.close();
+                } catch (SQLException e) {
+                    exception.addSuppressed(e);
+                }
+            }
             throw new TaskException("SQL task prepareStatementAndBind error", exception);
         }
     }
@@ -17,8 +17,19 @@
 
 package org.apache.dolphinscheduler.plugin.task.sql;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceClientProvider;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
@@ -29,12 +40,19 @@ import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.ResourceP
 import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 
 import com.google.common.collect.Lists;
 
@@ -44,6 +62,10 @@ class SqlTaskTest {
 
     @BeforeEach
     void setup() {
+        sqlTask = createSqlTask("{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"select 1\"}");
+    }
+
+    private SqlTask createSqlTask(String taskParams) {
         DataSourceParameters parameters = new DataSourceParameters();
         parameters.setType(DbType.HIVE);
         parameters.setResourceType(ResourceType.DATASOURCE.name());
@@ -53,9 +75,9 @@ class SqlTaskTest {
 
         TaskExecutionContext ctx = new TaskExecutionContext();
         ctx.setResourceParametersHelper(resourceParametersHelper);
-        ctx.setTaskParams("{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"select 1\"}");
+        ctx.setTaskParams(taskParams);
 
-        sqlTask = new SqlTask(ctx);
+        return new SqlTask(ctx);
     }
 
     @Test
@@ -173,4 +195,73 @@ class SqlTaskTest {
         Assertions.assertEquals(4, sqlParamsMap.size());
         Assertions.assertEquals(expected, formatSql);
     }
+
+    @Test
+    void testExecuteQuery_streamRowsUntilLimit() throws Exception {
+        SqlTask querySqlTask = createSqlTask(
+                "{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"select id from t\",\"sqlType\":0,\"limit\":3}");
+        try (
+                MockedStatic<DataSourceClientProvider> mockedStaticDataSourceClientProvider =
+                        mockStatic(DataSourceClientProvider.class)) {
+            Connection connection = mock(Connection.class);
+            when(DataSourceClientProvider.getPooledConnection(any(), any())).thenReturn(connection);
+            PreparedStatement stmt = mock(PreparedStatement.class);
+            when(connection.prepareStatement(anyString())).thenReturn(stmt);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(stmt.executeQuery()).thenReturn(resultSet);
+            ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+            when(resultSet.getMetaData()).thenReturn(metaData);
+            when(metaData.getColumnCount()).thenReturn(1);
+            when(metaData.getColumnLabel(1)).thenReturn("id");
+            // The result set has infinite rows
+            when(resultSet.next()).thenReturn(true);
+            when(resultSet.getObject(1)).thenReturn(1);
+
+            querySqlTask.executeFuncAndSql(
+                    Collections.singletonList(new SqlBinds("select id from t", new HashMap<>())),
+                    Collections.emptyList(),
+                    Collections.emptyList());
+
+            mockedStaticDataSourceClientProvider.verify(
+                    () -> DataSourceClientProvider.getAdHocConnection(any(), any()), never());
+            verify(stmt).setFetchSize(3);
+            verify(resultSet, times(3)).next();
+            // The query is executed without auto commit, so that the result can be fetched by the fetch size
+            verify(connection).setAutoCommit(false);
+            verify(connection).commit();
+        }
+    }
+
+    @Test
+    void testCancel() throws Exception {
+        SqlTask nonQuerySqlTask = createSqlTask(
+                "{\"type\":\"HIVE\",\"datasource\":1,\"sql\":\"insert into t values(1)\",\"sqlType\":1}");
+        try (
+                MockedStatic<DataSourceClientProvider> mockedStaticDataSourceClientProvider =
+                        mockStatic(DataSourceClientProvider.class)) {
+            Connection connection = mock(Connection.class);
+            when(DataSourceClientProvider.getAdHocConnection(any(), any())).thenReturn(connection);
+            PreparedStatement stmt = mock(PreparedStatement.class);
+            when(connection.prepareStatement(anyString())).thenReturn(stmt);
+            when(stmt.executeUpdate()).thenAnswer(invocation -> {
+                nonQuerySqlTask.cancel();
+                throw new SQLException("Statement cancelled");
+            });
+
+            Assertions.assertThrows(SQLException.class, () -> nonQuerySqlTask.executeFuncAndSql(
+                    Collections.singletonList(new SqlBinds("insert into t values(1)", new HashMap<>())),
+                    Collections.emptyList(),
+                    Collections.emptyList()));
+            verify(stmt).cancel();
+
+            // The statement should not be executed after canceled
+            Assertions.assertThrows(TaskException.class, () -> nonQuerySqlTask.executeFuncAndSql(
+                    Collections.singletonList(new SqlBinds("insert into t values(2)", new HashMap<>())),
+                    Collections.emptyList(),
+                    Collections.emptyList()));
+            verify(stmt, times(1)).executeUpdate();
+            // The statement prepared after canceled should be closed as well
+            verify(stmt, times(2)).close();
+        }
+    }
 }
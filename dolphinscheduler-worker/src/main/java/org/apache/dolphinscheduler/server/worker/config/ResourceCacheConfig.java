@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import lombok.Data;
+
+import org.springframework.util.unit.DataSize;
+
+@Data
+public class ResourceCacheConfig {
+
+    /**
+     * If set true, the resource files will be cached at the worker and shared by the task instances, otherwise each
+     * task instance will download the resource files from the storage.
+     */
+    private boolean enabled = true;
+
+    /**
+     * If set true, the cached files are hard linked into the task working directory rather than copied, which saves
+     * the disk space and the copy time of large resource files.
+     * <p> The hard linked file is the cached file itself, which is read only but owned by the worker user, so it
+     * should only be enabled if the tasks don't modify their resource files, otherwise the cache will be polluted.
+     */
+    private boolean hardLinkEnabled = false;
+
+    /**
+     * The directory of the cached resource files, if empty will use `${data.basedir.path}/resource-cache`.
+     * <p> If {@link #hardLinkEnabled} is true, this directory should be on the same file system with
+     * `data.basedir.path`, otherwise the files will be copied.
+     */
+    private String cacheDirectory;
+
+    /**
+     * The max total size of the cached resource files, the least recently used files will be evicted once exceeded.
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(10);
+
+    /**
+     * The number of threads used to download the resource files in parallel.
+     */
+    private int downloadThreads = 4;
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+@Data
+public class TaskExecutionEventBatchConfig {
+
+    /**
+     * Whether to send the task execution events in batch, the master before the batch is introduced can't receive the
+     * batch, so only enable it after all the masters are upgraded. If disabled, the events are sent one by one.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The task execution events sent to the same master during this window will be sent in one batch.
+     */
+    private Duration batchWindow = Duration.ofMillis(5);
+
+    /**
+     * The max events in one batch.
+     */
+    private int maxBatchSize = 100;
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent.TaskInstanceExecutionEventType;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class TaskExecutionEventRetryConfig {
+
+    /**
+     * The interval of the first retry if the task execution event is not acked by the master.
+     */
+    private Duration retryInterval = Duration.ofMinutes(1);
+
+    /**
+     * Overwrite the {@link #retryInterval} for the given event type, e.g. retry the terminal events faster.
+     */
+    private Map<TaskInstanceExecutionEventType, Duration> eventTypeRetryInterval =
+            new EnumMap<>(TaskInstanceExecutionEventType.class);
+
+    /**
+     * The retry interval doubles after each retry until it reaches this value.
+     */
+    private Duration maxRetryInterval = Duration.ofMinutes(5);
+
+    public Duration getRetryInterval(TaskInstanceExecutionEventType eventType) {
+        return eventTypeRetryInterval.getOrDefault(eventType, retryInterval);
+    }
+}
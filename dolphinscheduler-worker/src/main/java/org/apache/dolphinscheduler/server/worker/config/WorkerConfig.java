@@ -58,6 +58,12 @@ public class WorkerConfig implements Validator {
 
     private TenantConfig tenantConfig = new TenantConfig();
 
+    private TaskExecutionEventBatchConfig taskExecutionEventBatchConfig = new TaskExecutionEventBatchConfig();
+
+    private TaskExecutionEventRetryConfig taskExecutionEventRetryConfig = new TaskExecutionEventRetryConfig();
+
+    private ResourceCacheConfig resourceCacheConfig = new ResourceCacheConfig();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return WorkerConfig.class.isAssignableFrom(clazz);
@@ -72,6 +78,34 @@ public class WorkerConfig implements Validator {
         if (workerConfig.getMaxHeartbeatInterval().getSeconds() <= 0) {
             errors.rejectValue("max-heartbeat-interval", null, "shoule be a valid duration");
         }
+        if (workerConfig.getTaskExecutionEventBatchConfig().getBatchWindow().isNegative()) {
+            errors.rejectValue("task-execution-event-batch-config.batch-window", null, "should not be negative");
+        }
+        if (workerConfig.getTaskExecutionEventBatchConfig().getMaxBatchSize() <= 0) {
+            errors.rejectValue("task-execution-event-batch-config.max-batch-size", null,
+                    "should be a positive value");
+        }
+        TaskExecutionEventRetryConfig retryConfig = workerConfig.getTaskExecutionEventRetryConfig();
+        if (retryConfig.getRetryInterval().isNegative() || retryConfig.getRetryInterval().isZero()) {
+            errors.rejectValue("task-execution-event-retry-config.retry-interval", null,
+                    "should be a positive duration");
+        }
+        if (retryConfig.getEventTypeRetryInterval().values().stream()
+                .anyMatch(interval -> interval.isNegative() || interval.isZero())) {
+            errors.rejectValue("task-execution-event-retry-config.event-type-retry-interval", null,
+                    "should be positive durations");
+        }
+        if (retryConfig.getMaxRetryInterval().isNegative() || retryConfig.getMaxRetryInterval().isZero()) {
+            errors.rejectValue("task-execution-event-retry-config.max-retry-interval", null,
+                    "should be a positive duration");
+        }
+        ResourceCacheConfig resourceCacheConfig = workerConfig.getResourceCacheConfig();
+        if (resourceCacheConfig.getMaxSize().isNegative()) {
+            errors.rejectValue("resource-cache-config.max-size", null, "should not be negative");
+        }
+        if (resourceCacheConfig.getDownloadThreads() <= 0) {
+            errors.rejectValue("resource-cache-config.download-threads", null, "should be a positive value");
+        }
         if (StringUtils.isEmpty(workerConfig.getWorkerAddress())) {
             workerConfig.setWorkerAddress(NetUtils.getAddr(workerConfig.getListenPort()));
         }
@@ -92,6 +126,9 @@ public class WorkerConfig implements Validator {
                         "\n  server-load-protection -> " + serverLoadProtection +
                         "\n  registry-disconnect-strategy -> " + registryDisconnectStrategy +
                         "\n  task-execute-threads-full-policy: " + taskExecuteThreadsFullPolicy +
+                        "\n  task-execution-event-batch-config: " + taskExecutionEventBatchConfig +
+                        "\n  task-execution-event-retry-config: " + taskExecutionEventRetryConfig +
+                        "\n  resource-cache-config: " + resourceCacheConfig +
                         "\n  address -> " + workerAddress +
                         "\n  registry-path: " + workerRegistryPath +
                         "\n****************************Worker Configuration**************************************";
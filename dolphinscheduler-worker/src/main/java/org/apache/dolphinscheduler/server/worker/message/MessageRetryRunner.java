@@ -17,25 +17,30 @@
 
 package org.apache.dolphinscheduler.server.worker.message;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent;
-import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionEventBatch;
+import org.apache.dolphinscheduler.server.worker.config.TaskExecutionEventRetryConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
 
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
-
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
-import lombok.Data;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
@@ -43,105 +48,153 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
-import com.google.common.base.Objects;
-
+/**
+ * Track the {@link TaskExecutionEventBatch} sent to the master, and resend the events which are not acked by the
+ * master.
+ * <p> Each batch is scheduled in a {@link DelayQueue} at its retry deadline, the retry interval is decided by the
+ * event types in the batch and doubles after each retry until it reaches the max retry interval.
+ * <p> The batches are ordered by the batchId, when a batch is resent, the earlier pending batches of the same master
+ * are resent before it, so the events of the same task instance are resent in the order they happened.
+ * <p> The count of the pending events of each task instance is tracked, so that {@link TaskExecutionEventChannel}
+ * can hold the later events of the task instance until the previous events are acked.
+ */
 @Component
 @Slf4j
 public class MessageRetryRunner extends BaseDaemonThread {
 
-    protected MessageRetryRunner() {
-        super("WorkerMessageRetryRunnerThread");
-    }
-
-    private static final long MESSAGE_RETRY_WINDOW = Duration.ofMinutes(5L).toMillis();
+    private final TaskExecutionEventRetryConfig retryConfig;
 
     @Lazy
     @Autowired
-    private List<TaskInstanceExecutionEventSender> messageSenders;
+    private TaskExecutionEventBatchSender taskExecutionEventBatchSender;
 
-    private final Map<ITaskExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceExecutionEventSender<ITaskExecutionEvent>> messageSenderMap =
-            new HashMap<>();
+    private final ConcurrentNavigableMap<Long, RetryBatch> needToRetryBatches = new ConcurrentSkipListMap<>();
+
+    /**
+     * The deadlines are not removed when the batch is acked, the expired deadline will be skipped when it's polled.
+     */
+    private final DelayQueue<RetryDeadline> retryDeadlines = new DelayQueue<>();
+
+    private final Map<Integer, Integer> pendingEventCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Notified once all the pending events of some task instances are acked or removed.
+     */
+    private volatile Runnable eventsAckedListener;
 
-    private final Map<Integer, List<TaskInstanceMessage>> needToRetryMessages = new ConcurrentHashMap<>();
+    public MessageRetryRunner(WorkerConfig workerConfig) {
+        super("WorkerMessageRetryRunnerThread");
+        this.retryConfig = workerConfig.getTaskExecutionEventRetryConfig();
+    }
 
     @Override
     public synchronized void start() {
         log.info("Message retry runner staring");
-        messageSenders.forEach(messageSender -> {
-            messageSenderMap.put(messageSender.getMessageType(), messageSender);
-            log.info("Injected message sender: {}", messageSender.getClass().getSimpleName());
-        });
+        WorkerServerMetrics.registerWorkerPendingRetryTaskExecutionEventGauge(this::getPendingRetryEventCount);
         super.start();
         log.info("Message retry runner started");
     }
 
-    public void addRetryMessage(int taskInstanceId, @NonNull ITaskExecutionEvent iTaskExecutionEvent) {
-        needToRetryMessages.computeIfAbsent(taskInstanceId, k -> Collections.synchronizedList(new ArrayList<>()))
-                .add(TaskInstanceMessage.of(taskInstanceId, iTaskExecutionEvent.getEventType(),
-                        iTaskExecutionEvent));
+    public void setEventsAckedListener(Runnable eventsAckedListener) {
+        this.eventsAckedListener = eventsAckedListener;
+    }
+
+    public void addRetryBatch(@NonNull TaskExecutionEventBatch taskExecutionEventBatch) {
+        taskExecutionEventBatch.getEvents().forEach(
+                event -> pendingEventCounts.merge(event.getTaskInstanceId(), 1, Integer::sum));
+        putRetryBatch(taskExecutionEventBatch);
+    }
+
+    /**
+     * Whether the task instance has events which are not acked by the master.
+     */
+    public boolean hasPendingEvents(int taskInstanceId) {
+        return pendingEventCounts.containsKey(taskInstanceId);
+    }
+
+    private void putRetryBatch(TaskExecutionEventBatch taskExecutionEventBatch) {
+        // Copy the events, the batch might be serializing by the rpc client when the events are acked
+        final TaskExecutionEventBatch retryBatch = new TaskExecutionEventBatch(
+                taskExecutionEventBatch.getBatchId(),
+                taskExecutionEventBatch.getWorkerHost(),
+                Collections.synchronizedList(new ArrayList<>(taskExecutionEventBatch.getEvents())));
+        final RetryBatch pendingBatch = new RetryBatch(retryBatch);
+        needToRetryBatches.put(retryBatch.getBatchId(), pendingBatch);
+        scheduleRetry(pendingBatch, System.currentTimeMillis());
+    }
+
+    /**
+     * Remove the events which are handled by the master, the events of the failed task instances will be resent.
+     */
+    public void ackRetryBatch(long batchId, @NonNull Collection<Integer> failedTaskInstanceIds) {
+        final RetryBatch pendingBatch = needToRetryBatches.get(batchId);
+        if (pendingBatch == null) {
+            return;
+        }
+        WorkerServerMetrics.recordWorkerTaskExecutionEventAckTime(
+                System.currentTimeMillis() - pendingBatch.getLastSendTime());
+        removeEvents(pendingBatch.getBatch(), event -> !failedTaskInstanceIds.contains(event.getTaskInstanceId()));
     }
 
     public void removeRetryMessage(int taskInstanceId,
                                    @NonNull ITaskExecutionEvent.TaskInstanceExecutionEventType eventType) {
-        List<TaskInstanceMessage> taskInstanceMessages = needToRetryMessages.get(taskInstanceId);
-        if (taskInstanceMessages != null) {
-            taskInstanceMessages.remove(TaskInstanceMessage.of(taskInstanceId, eventType, null));
-        }
+        removeEvents(event -> event.getTaskInstanceId() == taskInstanceId && event.getEventType() == eventType);
     }
 
     public void removeRetryMessages(int taskInstanceId) {
-        needToRetryMessages.remove(taskInstanceId);
+        removeEvents(event -> event.getTaskInstanceId() == taskInstanceId);
     }
 
+    /**
+     * Move the events of the task instance into a new batch which will be sent to the new master.
+     */
     public boolean updateMessageHost(int taskInstanceId, String messageReceiverHost) {
-        List<TaskInstanceMessage> taskInstanceMessages = this.needToRetryMessages.get(taskInstanceId);
-        if (CollectionUtils.isEmpty(taskInstanceMessages)) {
+        final List<ITaskExecutionEvent> taskInstanceEvents = new ArrayList<>();
+        String workerHost = null;
+        for (RetryBatch pendingBatch : needToRetryBatches.values()) {
+            final TaskExecutionEventBatch taskExecutionEventBatch = pendingBatch.getBatch();
+            synchronized (taskExecutionEventBatch.getEvents()) {
+                Iterator<ITaskExecutionEvent> iterator = taskExecutionEventBatch.getEvents().iterator();
+                while (iterator.hasNext()) {
+                    ITaskExecutionEvent event = iterator.next();
+                    if (event.getTaskInstanceId() == taskInstanceId) {
+                        taskInstanceEvents.add(event);
+                        iterator.remove();
+                        workerHost = taskExecutionEventBatch.getWorkerHost();
+                    }
+                }
+                if (taskExecutionEventBatch.getEvents().isEmpty()) {
+                    needToRetryBatches.remove(taskExecutionEventBatch.getBatchId());
+                }
+            }
+        }
+        if (taskInstanceEvents.isEmpty()) {
             return false;
         }
-        taskInstanceMessages.forEach(taskInstanceMessage -> {
-            taskInstanceMessage.getEvent().setWorkflowInstanceHost(messageReceiverHost);
-        });
+        taskInstanceEvents.forEach(event -> event.setWorkflowInstanceHost(messageReceiverHost));
+        // The events are moved, so the pending event count is unchanged
+        putRetryBatch(TaskExecutionEventBatch.of(workerHost, taskInstanceEvents));
         return true;
     }
 
     public void run() {
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                if (MapUtils.isEmpty(needToRetryMessages)) {
-                    Thread.sleep(MESSAGE_RETRY_WINDOW);
+                final RetryDeadline retryDeadline = retryDeadlines.take();
+                final RetryBatch pendingBatch = needToRetryBatches.get(retryDeadline.getBatchId());
+                if (pendingBatch == null || pendingBatch.getNextRetryTime() != retryDeadline.getDeadline()) {
+                    // The batch is acked or has been resent with the earlier batches
+                    continue;
                 }
-
-                long now = System.currentTimeMillis();
-                Iterator<Map.Entry<Integer, List<TaskInstanceMessage>>> iterator =
-                        needToRetryMessages.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    Map.Entry<Integer, List<TaskInstanceMessage>> taskEntry = iterator.next();
-                    Integer taskInstanceId = taskEntry.getKey();
-                    List<TaskInstanceMessage> taskInstanceMessages = taskEntry.getValue();
-                    if (taskInstanceMessages.isEmpty()) {
-                        iterator.remove();
-                        continue;
-                    }
-                    LogUtils.setTaskInstanceIdMDC(taskInstanceId);
-                    try {
-                        for (TaskInstanceMessage taskInstanceMessage : taskInstanceMessages) {
-                            ITaskExecutionEvent.TaskInstanceExecutionEventType eventType =
-                                    taskInstanceMessage.getEventType();
-                            ITaskExecutionEvent event = taskInstanceMessage.getEvent();
-                            if (now - event.getEventSendTime() > MESSAGE_RETRY_WINDOW) {
-                                log.info("Begin retry send message to master, event: {}", event);
-                                event.setEventSendTime(now);
-                                messageSenderMap.get(eventType).sendEvent(event);
-                                log.info("Success send message to master, event: {}", event);
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.warn("Retry send message to master error", e);
-                    } finally {
-                        LogUtils.removeTaskInstanceIdMDC();
+                final String masterHost = pendingBatch.getMasterHost();
+                if (masterHost == null) {
+                    continue;
+                }
+                for (RetryBatch batch : needToRetryBatches.headMap(retryDeadline.getBatchId(), true).values()) {
+                    if (masterHost.equals(batch.getMasterHost())) {
+                        retrySendBatch(batch);
                     }
                 }
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
             } catch (InterruptedException instance) {
                 log.warn("The message retry thread is interrupted, will break this loop", instance);
                 Thread.currentThread().interrupt();
@@ -153,44 +206,179 @@ public class MessageRetryRunner extends BaseDaemonThread {
     }
 
     public void clearMessage() {
-        needToRetryMessages.clear();
+        needToRetryBatches.clear();
+        retryDeadlines.clear();
+        pendingEventCounts.clear();
+        notifyEventsAcked();
     }
 
     /**
-     * If two message has the same taskInstanceId and messageType they will be considered as the same message
+     * Resend the batch asynchronously, the retry thread is only used to schedule the retries. The pending events of a
+     * task instance are in one batch since the channel holds its later events, so the resent batches can't overtake
+     * each other.
      */
-    @Data
-    public static class TaskInstanceMessage {
+    private void retrySendBatch(RetryBatch pendingBatch) {
+        final long now = System.currentTimeMillis();
+        final TaskExecutionEventBatch retryBatch;
+        final TaskExecutionEventBatch taskExecutionEventBatch = pendingBatch.getBatch();
+        synchronized (taskExecutionEventBatch.getEvents()) {
+            final List<ITaskExecutionEvent> events = taskExecutionEventBatch.getEvents();
+            if (events.isEmpty()) {
+                return;
+            }
+            events.forEach(event -> event.setEventSendTime(now));
+            retryBatch = new TaskExecutionEventBatch(taskExecutionEventBatch.getBatchId(),
+                    taskExecutionEventBatch.getWorkerHost(), new ArrayList<>(events));
+        }
+        pendingBatch.retryTimes++;
+        scheduleRetry(pendingBatch, now);
+        WorkerServerMetrics.incWorkerTaskExecutionEventRetryCount();
+        log.info("Begin retry send batch: {} to master, events: {}", retryBatch.getBatchId(), retryBatch.getEvents());
+        CompletableFuture<Void> sendFuture;
+        try {
+            sendFuture = taskExecutionEventBatchSender.send(retryBatch);
+        } catch (Exception ex) {
+            sendFuture = new CompletableFuture<>();
+            sendFuture.completeExceptionally(ex);
+        }
+        sendFuture.whenComplete((unused, ex) -> {
+            if (ex != null) {
+                log.warn("Retry send batch: {} to master error", retryBatch.getBatchId(), ex);
+            } else {
+                log.info("Success send batch: {} to master", retryBatch.getBatchId());
+            }
+        });
+    }
 
-        private long taskInstanceId;
-        private ITaskExecutionEvent.TaskInstanceExecutionEventType eventType;
-        private ITaskExecutionEvent event;
+    private void scheduleRetry(RetryBatch pendingBatch, long sendTime) {
+        final long nextRetryTime = sendTime + getRetryInterval(pendingBatch);
+        pendingBatch.lastSendTime = sendTime;
+        pendingBatch.nextRetryTime = nextRetryTime;
+        retryDeadlines.offer(new RetryDeadline(pendingBatch.getBatch().getBatchId(), nextRetryTime));
+    }
 
-        public static TaskInstanceMessage of(long taskInstanceId,
-                                             ITaskExecutionEvent.TaskInstanceExecutionEventType eventType,
-                                             ITaskExecutionEvent event) {
-            TaskInstanceMessage taskInstanceMessage = new TaskInstanceMessage();
-            taskInstanceMessage.setTaskInstanceId(taskInstanceId);
-            taskInstanceMessage.setEventType(eventType);
-            taskInstanceMessage.setEvent(event);
-            return taskInstanceMessage;
+    /**
+     * The smallest retry interval of the event types in the batch, doubles after each retry.
+     */
+    private long getRetryInterval(RetryBatch pendingBatch) {
+        final long maxRetryInterval = retryConfig.getMaxRetryInterval().toMillis();
+        long retryInterval = maxRetryInterval;
+        final List<ITaskExecutionEvent> events = pendingBatch.getBatch().getEvents();
+        synchronized (events) {
+            for (ITaskExecutionEvent event : events) {
+                retryInterval = Math.min(retryInterval, retryConfig.getRetryInterval(event.getEventType()).toMillis());
+            }
+        }
+        for (int i = 0; i < pendingBatch.getRetryTimes() && retryInterval < maxRetryInterval; i++) {
+            retryInterval <<= 1;
         }
+        return Math.min(retryInterval, maxRetryInterval);
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
+    private int getPendingRetryEventCount() {
+        return needToRetryBatches.values().stream().mapToInt(pendingBatch -> pendingBatch.getBatch().getEvents().size())
+                .sum();
+    }
+
+    private void removeEvents(Predicate<ITaskExecutionEvent> predicate) {
+        boolean taskInstanceAcked = false;
+        for (RetryBatch pendingBatch : needToRetryBatches.values()) {
+            taskInstanceAcked |= doRemoveEvents(pendingBatch.getBatch(), predicate);
+        }
+        if (taskInstanceAcked) {
+            notifyEventsAcked();
+        }
+    }
+
+    private void removeEvents(TaskExecutionEventBatch taskExecutionEventBatch,
+                              Predicate<ITaskExecutionEvent> predicate) {
+        if (doRemoveEvents(taskExecutionEventBatch, predicate)) {
+            notifyEventsAcked();
+        }
+    }
+
+    /**
+     * @return true if there is a task instance whose pending events are all removed
+     */
+    private boolean doRemoveEvents(TaskExecutionEventBatch taskExecutionEventBatch,
+                                   Predicate<ITaskExecutionEvent> predicate) {
+        boolean taskInstanceAcked = false;
+        synchronized (taskExecutionEventBatch.getEvents()) {
+            final Iterator<ITaskExecutionEvent> iterator = taskExecutionEventBatch.getEvents().iterator();
+            while (iterator.hasNext()) {
+                final ITaskExecutionEvent event = iterator.next();
+                if (!predicate.test(event)) {
+                    continue;
+                }
+                iterator.remove();
+                final Integer pendingCount = pendingEventCounts.computeIfPresent(event.getTaskInstanceId(),
+                        (taskInstanceId, count) -> count > 1 ? count - 1 : null);
+                taskInstanceAcked |= pendingCount == null;
             }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
+            if (taskExecutionEventBatch.getEvents().isEmpty()) {
+                needToRetryBatches.remove(taskExecutionEventBatch.getBatchId());
             }
-            TaskInstanceMessage that = (TaskInstanceMessage) o;
-            return taskInstanceId == that.taskInstanceId && eventType == that.eventType;
+        }
+        return taskInstanceAcked;
+    }
+
+    private void notifyEventsAcked() {
+        final Runnable listener = eventsAckedListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.run();
+        } catch (Exception ex) {
+            log.error("Notify the acked events failed", ex);
+        }
+    }
+
+    @Getter
+    private static class RetryBatch {
+
+        private final TaskExecutionEventBatch batch;
+
+        private volatile int retryTimes;
+
+        private volatile long lastSendTime;
+
+        private volatile long nextRetryTime;
+
+        RetryBatch(TaskExecutionEventBatch batch) {
+            this.batch = batch;
+        }
+
+        String getMasterHost() {
+            synchronized (batch.getEvents()) {
+                return batch.getEvents().isEmpty() ? null : batch.getEvents().get(0).getWorkflowInstanceHost();
+            }
+        }
+    }
+
+    @Getter
+    private static class RetryDeadline implements Delayed {
+
+        private final long batchId;
+
+        private final long deadline;
+
+        RetryDeadline(long batchId, long deadline) {
+            this.batchId = batchId;
+            this.deadline = deadline;
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hashCode(taskInstanceId, eventType);
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            final RetryDeadline other = (RetryDeadline) o;
+            final int compare = Long.compare(deadline, other.deadline);
+            return compare != 0 ? compare : Long.compare(batchId, other.batchId);
         }
     }
+
 }
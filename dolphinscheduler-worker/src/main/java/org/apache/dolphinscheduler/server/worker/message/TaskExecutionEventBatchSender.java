@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.client.Clients;
+import org.apache.dolphinscheduler.extract.master.ITaskExecutionEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent.TaskInstanceExecutionEventType;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionEventBatch;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Send the {@link TaskExecutionEventBatch} to the master.
+ * <p> If the batch is enabled, the batch is sent by one rpc and acked by the master at once. Otherwise the events are
+ * sent one by one by the rpc method of their types and acked separately, which is supported by the master before the
+ * batch is introduced.
+ */
+@Slf4j
+@Component
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class TaskExecutionEventBatchSender {
+
+    @Autowired
+    private WorkerConfig workerConfig;
+
+    @Autowired
+    private List<TaskInstanceExecutionEventSender> messageSenders;
+
+    private final Map<TaskInstanceExecutionEventType, TaskInstanceExecutionEventSender> messageSenderMap =
+            new HashMap<>();
+
+    /**
+     * The rpc methods of the single event are synchronous, send them in one thread so that the events are received in
+     * the order they are sent.
+     */
+    private final ExecutorService singleEventSendExecutor =
+            ThreadUtils.newDaemonFixedThreadExecutor("WorkerTaskExecutionEventSendThread", 1);
+
+    @PostConstruct
+    public void init() {
+        messageSenders.forEach(messageSender -> messageSenderMap.put(messageSender.getMessageType(),
+                messageSender));
+    }
+
+    /**
+     * Whether the events are sent in batch, only enable it once all the masters support the batch rpc method.
+     */
+    public boolean isBatchEnabled() {
+        return workerConfig.getTaskExecutionEventBatchConfig().isEnabled();
+    }
+
+    /**
+     * Send the batch asynchronously, the returned future will be completed once the master received the events.
+     */
+    public CompletableFuture<Void> send(TaskExecutionEventBatch taskExecutionEventBatch) {
+        if (isBatchEnabled()) {
+            return Clients
+                    .withService(ITaskExecutionEventListener.class)
+                    .withHost(taskExecutionEventBatch.getEvents().get(0).getWorkflowInstanceHost())
+                    .onTaskInstanceExecutionEvents(taskExecutionEventBatch);
+        }
+        final List<ITaskExecutionEvent> events = new ArrayList<>(taskExecutionEventBatch.getEvents());
+        return CompletableFuture.runAsync(() -> sendEvents(events), singleEventSendExecutor);
+    }
+
+    @PreDestroy
+    public void close() {
+        singleEventSendExecutor.shutdownNow();
+    }
+
+    private void sendEvents(List<ITaskExecutionEvent> events) {
+        final Set<Integer> failedTaskInstanceIds = new HashSet<>();
+        for (ITaskExecutionEvent event : events) {
+            // Skip the later events of the failed task instance, they will be resent in order with the failed one
+            if (failedTaskInstanceIds.contains(event.getTaskInstanceId())) {
+                continue;
+            }
+            try {
+                sendEvent(event);
+            } catch (Exception ex) {
+                failedTaskInstanceIds.add(event.getTaskInstanceId());
+                log.error("Send event: {} to master failed, will be resent later", event, ex);
+            }
+        }
+    }
+
+    private void sendEvent(ITaskExecutionEvent taskExecutionEvent) {
+        final TaskInstanceExecutionEventSender messageSender = messageSenderMap.get(taskExecutionEvent.getEventType());
+        if (messageSender == null) {
+            throw new IllegalArgumentException("The messageSender is invalidated, messageType: "
+                    + taskExecutionEvent.getEventType());
+        }
+        messageSender.sendEvent(taskExecutionEvent);
+    }
+
+}
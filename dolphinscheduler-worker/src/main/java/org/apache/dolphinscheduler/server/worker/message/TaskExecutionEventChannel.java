@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionEventBatch;
+import org.apache.dolphinscheduler.server.worker.config.TaskExecutionEventBatchConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesce the task execution events sent to the same master into {@link TaskExecutionEventBatch}.
+ * <p> Each master has at most one in-flight batch, the next batch is sent once the previous batch is completed. The
+ * sent batches are tracked by {@link MessageRetryRunner} until they are acked.
+ * <p> The events of a task instance are held in the channel while its previous events are not acked, so a failed
+ * batch which is resent by {@link MessageRetryRunner} will not be overtaken by the later events of the same task
+ * instance, and the events of other task instances are not blocked.
+ * <p> If the batch is disabled, the events are still queued in the same way but sent one by one, see
+ * {@link TaskExecutionEventBatchSender}.
+ */
+@Slf4j
+@Component
+public class TaskExecutionEventChannel {
+
+    @Autowired
+    private WorkerConfig workerConfig;
+
+    @Autowired
+    private MessageRetryRunner messageRetryRunner;
+
+    @Autowired
+    private TaskExecutionEventBatchSender taskExecutionEventBatchSender;
+
+    private final Map<String, MasterEventQueue> masterEventQueues = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService flushExecutor =
+            ThreadUtils.newSingleDaemonScheduledExecutorService("WorkerTaskExecutionEventFlushThread");
+
+    @PostConstruct
+    public void init() {
+        messageRetryRunner.setEventsAckedListener(this::flushAll);
+    }
+
+    public void publish(@NonNull ITaskExecutionEvent taskExecutionEvent) {
+        final MasterEventQueue masterEventQueue = masterEventQueues
+                .computeIfAbsent(taskExecutionEvent.getWorkflowInstanceHost(), MasterEventQueue::new);
+        synchronized (masterEventQueue) {
+            masterEventQueue.events.add(taskExecutionEvent);
+            // Don't wait for the batch window if the events are sent one by one
+            final long delayMillis = taskExecutionEventBatchSender.isBatchEnabled()
+                    ? getBatchConfig().getBatchWindow().toMillis()
+                    : 0;
+            scheduleFlush(masterEventQueue, delayMillis);
+        }
+    }
+
+    /**
+     * Move the queued events of the task instance to the new master, e.g. the workflow is taken over by another
+     * master. The moved events are put before the events already queued to the new master, since they happened earlier.
+     *
+     * @return true if there are events moved
+     */
+    public boolean updateMessageHost(int taskInstanceId, @NonNull String messageReceiverHost) {
+        final List<ITaskExecutionEvent> taskInstanceEvents = new ArrayList<>();
+        for (MasterEventQueue masterEventQueue : masterEventQueues.values()) {
+            if (masterEventQueue.masterHost.equals(messageReceiverHost)) {
+                continue;
+            }
+            synchronized (masterEventQueue) {
+                final Iterator<ITaskExecutionEvent> iterator = masterEventQueue.events.iterator();
+                while (iterator.hasNext()) {
+                    final ITaskExecutionEvent event = iterator.next();
+                    if (event.getTaskInstanceId() == taskInstanceId) {
+                        taskInstanceEvents.add(event);
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+        if (taskInstanceEvents.isEmpty()) {
+            return false;
+        }
+        taskInstanceEvents.forEach(event -> event.setWorkflowInstanceHost(messageReceiverHost));
+        final MasterEventQueue masterEventQueue =
+                masterEventQueues.computeIfAbsent(messageReceiverHost, MasterEventQueue::new);
+        synchronized (masterEventQueue) {
+            masterEventQueue.events.addAll(0, taskInstanceEvents);
+            scheduleFlush(masterEventQueue, 0);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void close() {
+        flushExecutor.shutdownNow();
+    }
+
+    private void flushAll() {
+        for (MasterEventQueue masterEventQueue : masterEventQueues.values()) {
+            synchronized (masterEventQueue) {
+                scheduleFlush(masterEventQueue, 0);
+            }
+        }
+    }
+
+    // Should be called with the lock of the masterEventQueue
+    private void scheduleFlush(MasterEventQueue masterEventQueue, long delayMillis) {
+        if (masterEventQueue.inflight || masterEventQueue.flushScheduled || masterEventQueue.events.isEmpty()) {
+            return;
+        }
+        masterEventQueue.flushScheduled = true;
+        flushExecutor.schedule(() -> flush(masterEventQueue), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush(MasterEventQueue masterEventQueue) {
+        final TaskExecutionEventBatch taskExecutionEventBatch;
+        synchronized (masterEventQueue) {
+            masterEventQueue.flushScheduled = false;
+            final int maxBatchSize = getBatchConfig().getMaxBatchSize();
+            final List<ITaskExecutionEvent> events = new ArrayList<>();
+            final Set<Integer> blockedTaskInstanceIds = new HashSet<>();
+            final long now = System.currentTimeMillis();
+            final Iterator<ITaskExecutionEvent> iterator = masterEventQueue.events.iterator();
+            while (iterator.hasNext() && events.size() < maxBatchSize) {
+                final ITaskExecutionEvent event = iterator.next();
+                final int taskInstanceId = event.getTaskInstanceId();
+                if (blockedTaskInstanceIds.contains(taskInstanceId)
+                        || messageRetryRunner.hasPendingEvents(taskInstanceId)) {
+                    // Wait until the previous events of the task instance are acked, will be flushed again then
+                    blockedTaskInstanceIds.add(taskInstanceId);
+                    continue;
+                }
+                iterator.remove();
+                event.setEventSendTime(now);
+                events.add(event);
+            }
+            if (events.isEmpty()) {
+                return;
+            }
+            taskExecutionEventBatch = TaskExecutionEventBatch.of(workerConfig.getWorkerAddress(), events);
+            // Track the batch before it's sent, so that the later events of these task instances are held
+            messageRetryRunner.addRetryBatch(taskExecutionEventBatch);
+            masterEventQueue.inflight = true;
+        }
+
+        CompletableFuture<Void> sendFuture;
+        try {
+            sendFuture = taskExecutionEventBatchSender.send(taskExecutionEventBatch);
+        } catch (Exception ex) {
+            sendFuture = new CompletableFuture<>();
+            sendFuture.completeExceptionally(ex);
+        }
+        sendFuture.whenComplete((unused, ex) -> {
+            if (ex != null) {
+                log.error("Send task execution event batch: {} to master: {} failed, will be resent later",
+                        taskExecutionEventBatch.getBatchId(), masterEventQueue.masterHost, ex);
+            }
+            synchronized (masterEventQueue) {
+                masterEventQueue.inflight = false;
+                // The remaining events have waited for the in-flight batch, send them at once
+                scheduleFlush(masterEventQueue, 0);
+            }
+        });
+    }
+
+    private TaskExecutionEventBatchConfig getBatchConfig() {
+        return workerConfig.getTaskExecutionEventBatchConfig();
+    }
+
+    @RequiredArgsConstructor
+    private static class MasterEventQueue {
+
+        private final String masterHost;
+
+        private final LinkedList<ITaskExecutionEvent> events = new LinkedList<>();
+
+        private boolean inflight;
+
+        private boolean flushScheduled;
+    }
+
+}
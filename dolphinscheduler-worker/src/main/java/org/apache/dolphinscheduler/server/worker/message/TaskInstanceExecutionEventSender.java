@@ -23,8 +23,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 public interface TaskInstanceExecutionEventSender<T extends ITaskExecutionEvent> {
 
     /**
-     * Send the message
-     *
+     * Send the message by the rpc method of its type, used when the task execution events are not sent in batch.
      */
     void sendEvent(T message);
 
@@ -52,6 +52,24 @@ public class WorkerServerMetrics {
                     .description("worker resource download failure count")
                     .register(Metrics.globalRegistry);
 
+    private final Counter workerResourceCacheHitCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "hit")
+                    .description("worker resource cache hit count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheMissCounter =
+            Counter.builder("ds.worker.resource.cache.count")
+                    .tag("result", "miss")
+                    .description("worker resource cache miss count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheSavedSizeCounter =
+            Counter.builder("ds.worker.resource.cache.saved.size")
+                    .baseUnit("bytes")
+                    .description("size of resource files served from the worker resource cache instead of downloading")
+                    .register(Metrics.globalRegistry);
+
     private final Counter workerHeartBeatCounter =
             Counter.builder("ds.worker.heartbeat.count")
                     .description("worker heartbeat count")
@@ -72,6 +90,18 @@ public class WorkerServerMetrics {
                     .description("size of downloaded resource files on worker")
                     .register(Metrics.globalRegistry);
 
+    private final Counter workerTaskExecutionEventRetryCounter =
+            Counter.builder("ds.worker.task.execution.event.retry.count")
+                    .description("task execution event batches resent to master count")
+                    .register(Metrics.globalRegistry);
+
+    private final Timer workerTaskExecutionEventAckTimer =
+            Timer.builder("ds.worker.task.execution.event.ack.duration")
+                    .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .description("time cost from sending task execution events to receiving the ack of master")
+                    .register(Metrics.globalRegistry);
+
     public void incWorkerOverloadCount() {
         workerOverloadCounter.increment();
     }
@@ -88,6 +118,15 @@ public class WorkerServerMetrics {
         workerResourceDownloadFailCounter.increment();
     }
 
+    public void incWorkerResourceCacheHitCount(final long savedSize) {
+        workerResourceCacheHitCounter.increment();
+        workerResourceCacheSavedSizeCounter.increment(savedSize);
+    }
+
+    public void incWorkerResourceCacheMissCount() {
+        workerResourceCacheMissCounter.increment();
+    }
+
     public void incWorkerHeartbeatCount() {
         workerHeartBeatCounter.increment();
     }
@@ -100,6 +139,14 @@ public class WorkerServerMetrics {
         workerResourceDownloadSizeDistribution.record(size);
     }
 
+    public void incWorkerTaskExecutionEventRetryCount() {
+        workerTaskExecutionEventRetryCounter.increment();
+    }
+
+    public void recordWorkerTaskExecutionEventAckTime(final long milliseconds) {
+        workerTaskExecutionEventAckTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public void registerWorkerTaskTotalGauge(final Supplier<Number> supplier) {
         Gauge.builder("ds.worker.task", supplier)
                 .description("total number of tasks on worker")
@@ -136,6 +183,19 @@ public class WorkerServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerWorkerResourceCacheSizeGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.resource.cache.size", supplier)
+                .baseUnit("bytes")
+                .description("total size of the cached resource files on worker")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerWorkerPendingRetryTaskExecutionEventGauge(Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.task.execution.event.pending.retry", supplier)
+                .description("number of task execution events waiting for the ack of master on worker")
+                .register(Metrics.globalRegistry);
+    }
+
     public static void registerUncachedException(final Supplier<Number> supplier) {
         Gauge.builder("ds.worker.uncached.exception", supplier)
                 .description("number of uncached exception")
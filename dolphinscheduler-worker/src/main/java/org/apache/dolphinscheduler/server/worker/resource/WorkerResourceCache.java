@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.server.worker.config.ResourceCacheConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * The worker level cache of the resource files downloaded from the {@link StorageOperator}, shared by the task
+ * instances on the worker.
+ * <p> A resource file is cached by its storage path and its version, i.e. the update time and the size of the
+ * {@link StorageEntity}, so a modified resource will be downloaded again. The cached files are evicted in the least
+ * recently used order once their total size exceeds {@link ResourceCacheConfig#getMaxSize()}.
+ * <p> The concurrent requests of the same resource share one in-flight download. The cached file is read only, each
+ * task instance gets a writable copy of it by default. If {@link ResourceCacheConfig#isHardLinkEnabled()} is true, the
+ * cached file will be hard linked into the task working directory instead, unless the hard link cannot be created.
+ */
+@Slf4j
+@Component
+public class WorkerResourceCache {
+
+    private static final String DEFAULT_CACHE_DIRECTORY_NAME = "resource-cache";
+
+    private static final String TEMP_FILE_SUFFIX = ".downloading";
+
+    private static final Set<PosixFilePermission> PERMISSION_555 = PosixFilePermissions.fromString("r-xr-xr-x");
+
+    private final boolean enabled;
+
+    private final boolean hardLinkEnabled;
+
+    private final Path cacheDirectory;
+
+    private final long maxSize;
+
+    private final ExecutorService downloadExecutor;
+
+    // The cached resources in the least recently used order, guarded by this
+    private final LinkedHashMap<String, CachedResource> cachedResources = new LinkedHashMap<>(16, 0.75f, true);
+
+    // The downloading resources, guarded by this
+    private final Map<String, CompletableFuture<CachedResource>> inflightDownloads = new HashMap<>();
+
+    private long cachedSize;
+
+    public WorkerResourceCache(@NonNull WorkerConfig workerConfig) {
+        final ResourceCacheConfig resourceCacheConfig = workerConfig.getResourceCacheConfig();
+        this.enabled = resourceCacheConfig.isEnabled();
+        this.hardLinkEnabled = resourceCacheConfig.isHardLinkEnabled();
+        this.cacheDirectory = StringUtils.isEmpty(resourceCacheConfig.getCacheDirectory())
+                ? Paths.get(FileUtils.DATA_BASEDIR, DEFAULT_CACHE_DIRECTORY_NAME)
+                : Paths.get(resourceCacheConfig.getCacheDirectory());
+        this.maxSize = resourceCacheConfig.getMaxSize().toBytes();
+        this.downloadExecutor = ThreadUtils.newDaemonFixedThreadExecutor("WorkerResourceDownloadThread-%d",
+                resourceCacheConfig.getDownloadThreads());
+        if (enabled) {
+            loadCachedResources();
+            WorkerServerMetrics.registerWorkerResourceCacheSizeGauge(this::getCachedSize);
+        }
+    }
+
+    /**
+     * Materialize the resource file into the given local path, the resource file will be downloaded from the storage
+     * if it is not cached.
+     *
+     * @return the future which will be completed once the local file is ready.
+     */
+    public CompletableFuture<Void> materialize(@NonNull StorageOperator storageOperator,
+                                               @NonNull String resourceAbsolutePathInStorage,
+                                               @NonNull Path resourceAbsolutePathInLocal) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                doMaterialize(storageOperator, resourceAbsolutePathInStorage, resourceAbsolutePathInLocal);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, downloadExecutor);
+    }
+
+    public synchronized long getCachedSize() {
+        return cachedSize;
+    }
+
+    @PreDestroy
+    public void close() {
+        downloadExecutor.shutdownNow();
+    }
+
+    private void doMaterialize(StorageOperator storageOperator,
+                               String resourceAbsolutePathInStorage,
+                               Path resourceAbsolutePathInLocal) throws IOException {
+        final Path parent = resourceAbsolutePathInLocal.getParent();
+        if (parent != null) {
+            FileUtils.createDirectoryWith755(parent);
+        }
+        final String cacheKey = enabled ? getCacheKey(storageOperator, resourceAbsolutePathInStorage) : null;
+        if (cacheKey == null) {
+            download(storageOperator, resourceAbsolutePathInStorage, resourceAbsolutePathInLocal);
+            FileUtils.setFileTo755(resourceAbsolutePathInLocal.toFile());
+            return;
+        }
+        final CachedResource cachedResource = acquire(storageOperator, resourceAbsolutePathInStorage, cacheKey);
+        try {
+            link(cachedResource.file, resourceAbsolutePathInLocal);
+        } finally {
+            release(cachedResource);
+        }
+    }
+
+    private String getCacheKey(StorageOperator storageOperator, String resourceAbsolutePathInStorage) {
+        final StorageEntity storageEntity;
+        try {
+            storageEntity = storageOperator.getStorageEntity(resourceAbsolutePathInStorage);
+        } catch (Exception ex) {
+            log.warn("Get the storage entity of resource: {} failed, will not cache it", resourceAbsolutePathInStorage,
+                    ex);
+            return null;
+        }
+        if (storageEntity == null || storageEntity.isDirectory() || storageEntity.getUpdateTime() == null) {
+            // Cannot tell the version of the resource
+            return null;
+        }
+        final String resourceVersion = resourceAbsolutePathInStorage
+                + "@" + storageEntity.getUpdateTime().getTime()
+                + ":" + storageEntity.getSize();
+        return Hashing.sha256().hashString(resourceVersion, StandardCharsets.UTF_8).toString();
+    }
+
+    private CachedResource acquire(StorageOperator storageOperator,
+                                   String resourceAbsolutePathInStorage,
+                                   String cacheKey) throws IOException {
+        while (true) {
+            final CompletableFuture<CachedResource> inflightDownload;
+            final CompletableFuture<CachedResource> download = new CompletableFuture<>();
+            synchronized (this) {
+                final CachedResource cachedResource = cachedResources.get(cacheKey);
+                if (cachedResource != null) {
+                    cachedResource.references++;
+                    WorkerServerMetrics.incWorkerResourceCacheHitCount(cachedResource.size);
+                    return cachedResource;
+                }
+                inflightDownload = inflightDownloads.putIfAbsent(cacheKey, download);
+            }
+            if (inflightDownload != null) {
+                // Another task instance is downloading the same resource, look up the cache again once it's done
+                inflightDownload.join();
+                continue;
+            }
+
+            WorkerServerMetrics.incWorkerResourceCacheMissCount();
+            try {
+                final CachedResource cachedResource = downloadToCache(storageOperator, resourceAbsolutePathInStorage,
+                        cacheKey);
+                synchronized (this) {
+                    cachedResource.references++;
+                    addCachedResource(cachedResource);
+                    inflightDownloads.remove(cacheKey);
+                }
+                download.complete(cachedResource);
+                return cachedResource;
+            } catch (Throwable ex) {
+                synchronized (this) {
+                    inflightDownloads.remove(cacheKey);
+                }
+                download.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+    }
+
+    private synchronized void release(CachedResource cachedResource) {
+        cachedResource.references--;
+        evictIfNeeded();
+    }
+
+    private CachedResource downloadToCache(StorageOperator storageOperator,
+                                           String resourceAbsolutePathInStorage,
+                                           String cacheKey) throws IOException {
+        final Path cachedFile = cacheDirectory.resolve(cacheKey);
+        final Path tempFile = cacheDirectory.resolve(cacheKey + TEMP_FILE_SUFFIX);
+        try {
+            download(storageOperator, resourceAbsolutePathInStorage, tempFile);
+            if (!OSUtils.isWindows()) {
+                // The cached file is shared by the task instances, it should not be modified
+                Files.setPosixFilePermissions(tempFile, PERMISSION_555);
+            }
+            Files.move(tempFile, cachedFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return new CachedResource(cacheKey, cachedFile, Files.size(cachedFile));
+    }
+
+    private void download(StorageOperator storageOperator,
+                          String resourceAbsolutePathInStorage,
+                          Path resourceAbsolutePathInLocal) throws IOException {
+        final long resourceDownloadStartTime = System.currentTimeMillis();
+        storageOperator.download(resourceAbsolutePathInStorage, resourceAbsolutePathInLocal.toString(), true);
+        log.info("Download resource file {} -> {} successfully", resourceAbsolutePathInStorage,
+                resourceAbsolutePathInLocal);
+        WorkerServerMetrics.recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
+        WorkerServerMetrics.recordWorkerResourceDownloadSize(Files.size(resourceAbsolutePathInLocal));
+        WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
+    }
+
+    private void link(Path cachedFile, Path resourceAbsolutePathInLocal) throws IOException {
+        if (hardLinkEnabled) {
+            try {
+                Files.createLink(resourceAbsolutePathInLocal, cachedFile);
+                return;
+            } catch (IOException | UnsupportedOperationException ex) {
+                // e.g. the cache directory and the task working directory are on different file systems
+                log.debug("Cannot create hard link {} -> {}, will copy it", cachedFile, resourceAbsolutePathInLocal,
+                        ex);
+            }
+        }
+        Files.copy(cachedFile, resourceAbsolutePathInLocal, StandardCopyOption.REPLACE_EXISTING);
+        // The copy is owned by the task instance, it can be modified
+        FileUtils.setFileTo755(resourceAbsolutePathInLocal.toFile());
+    }
+
+    // Should be called with the lock
+    private void addCachedResource(CachedResource cachedResource) {
+        final CachedResource previous = cachedResources.put(cachedResource.cacheKey, cachedResource);
+        if (previous != null) {
+            cachedSize -= previous.size;
+        }
+        cachedSize += cachedResource.size;
+        evictIfNeeded();
+    }
+
+    // Should be called with the lock, the resources which are being linked will not be evicted
+    private void evictIfNeeded() {
+        final Iterator<CachedResource> iterator = cachedResources.values().iterator();
+        while (cachedSize > maxSize && iterator.hasNext()) {
+            final CachedResource cachedResource = iterator.next();
+            if (cachedResource.references > 0) {
+                continue;
+            }
+            iterator.remove();
+            cachedSize -= cachedResource.size;
+            try {
+                // The hard links in the task working directories are still valid after the cached file is deleted
+                Files.deleteIfExists(cachedResource.file);
+                log.info("Evict the cached resource file: {}, size: {}", cachedResource.file, cachedResource.size);
+            } catch (IOException ex) {
+                log.warn("Delete the cached resource file: {} failed", cachedResource.file, ex);
+            }
+        }
+    }
+
+    /**
+     * Reload the resource files cached before the worker restart, the least recently modified ones first.
+     */
+    private synchronized void loadCachedResources() {
+        try {
+            FileUtils.createDirectoryWith755(cacheDirectory);
+            final List<Path> cachedFiles;
+            try (Stream<Path> files = Files.list(cacheDirectory)) {
+                cachedFiles = files.collect(Collectors.toList());
+            }
+            final List<CachedResource> loadedResources = new ArrayList<>();
+            for (Path cachedFile : cachedFiles) {
+                if (cachedFile.getFileName().toString().endsWith(TEMP_FILE_SUFFIX)) {
+                    // The download is interrupted
+                    Files.deleteIfExists(cachedFile);
+                    continue;
+                }
+                if (Files.isRegularFile(cachedFile)) {
+                    final CachedResource cachedResource = new CachedResource(
+                            cachedFile.getFileName().toString(), cachedFile, Files.size(cachedFile));
+                    cachedResource.lastModifiedTime = Files.getLastModifiedTime(cachedFile).toMillis();
+                    loadedResources.add(cachedResource);
+                }
+            }
+            loadedResources.sort(Comparator.comparingLong(cachedResource -> cachedResource.lastModifiedTime));
+            loadedResources.forEach(this::addCachedResource);
+            log.info("Load {} cached resource files from: {}, total size: {}", cachedResources.size(), cacheDirectory,
+                    cachedSize);
+        } catch (IOException ex) {
+            log.warn("Load the cached resource files from: {} failed", cacheDirectory, ex);
+        }
+    }
+
+    private static class CachedResource {
+
+        private final String cacheKey;
+
+        private final Path file;
+
+        private final long size;
+
+        private long lastModifiedTime;
+
+        // The number of task instances which are linking this file
+        private int references;
+
+        private CachedResource(String cacheKey, Path file, long size) {
+            this.cacheKey = cacheKey;
+            this.file = file;
+            this.size = size;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.worker.rpc;
 
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent.TaskInstanceExecutionEventType;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceExecutionEventAckListener;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionEventBatchAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionFailedEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionKilledEventAck;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskExecutionPausedEventAck;
@@ -28,6 +29,8 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceExecut
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.server.worker.message.MessageRetryRunner;
 
+import java.util.concurrent.CompletableFuture;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -136,4 +139,16 @@ public class TaskInstanceExecutionEventAckListenerImpl implements ITaskInstanceE
         }
     }
 
+    @Override
+    public CompletableFuture<Void> handleTaskExecutionEventBatchAck(TaskExecutionEventBatchAck taskExecutionEventBatchAck) {
+        log.debug("Receive TaskExecutionEventBatchAck: {}", taskExecutionEventBatchAck);
+        if (!taskExecutionEventBatchAck.getFailedTaskInstanceIds().isEmpty()) {
+            log.warn("The events of task instances: {} in batch: {} handle failed",
+                    taskExecutionEventBatchAck.getFailedTaskInstanceIds(), taskExecutionEventBatchAck.getBatchId());
+        }
+        messageRetryRunner.ackRetryBatch(taskExecutionEventBatchAck.getBatchId(),
+                taskExecutionEventBatchAck.getFailedTaskInstanceIds());
+        return CompletableFuture.completedFuture(null);
+    }
+
 }
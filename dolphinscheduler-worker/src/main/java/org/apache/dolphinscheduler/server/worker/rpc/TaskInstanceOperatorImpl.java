@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.worker.rpc;
 
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
 import org.apache.dolphinscheduler.extract.worker.transportor.TakeOverTaskRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TakeOverTaskResponse;
@@ -28,6 +29,11 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseR
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseResponse;
 import org.apache.dolphinscheduler.server.worker.runner.operator.TaskInstanceOperationFunctionManager;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.PreDestroy;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -37,12 +43,24 @@ public class TaskInstanceOperatorImpl implements ITaskInstanceOperator {
     @Autowired
     private TaskInstanceOperationFunctionManager taskInstanceOperationFunctionManager;
 
+    /**
+     * Used to dispatch the task of the async request, so that the rpc server thread is released once the request is
+     * received, the response is written when the dispatch is finished.
+     */
+    private final ExecutorService taskDispatchExecutor = ThreadUtils.newDaemonFixedThreadExecutor(
+            "WorkerTaskDispatchThread-%d", Runtime.getRuntime().availableProcessors());
+
     @Override
     public TaskInstanceDispatchResponse dispatchTask(final TaskInstanceDispatchRequest taskInstanceDispatchRequest) {
         return taskInstanceOperationFunctionManager.getTaskInstanceDispatchOperationFunction()
                 .operate(taskInstanceDispatchRequest);
     }
 
+    @Override
+    public CompletableFuture<TaskInstanceDispatchResponse> dispatchTaskAsync(final TaskInstanceDispatchRequest taskInstanceDispatchRequest) {
+        return CompletableFuture.supplyAsync(() -> dispatchTask(taskInstanceDispatchRequest), taskDispatchExecutor);
+    }
+
     @Override
     public TaskInstanceKillResponse killTask(final TaskInstanceKillRequest taskInstanceKillRequest) {
         return taskInstanceOperationFunctionManager.getTaskInstanceKillOperationFunction()
@@ -60,4 +78,9 @@ public class TaskInstanceOperatorImpl implements ITaskInstanceOperator {
         return taskInstanceOperationFunctionManager.getUpdateWorkflowHostOperationFunction()
                 .operate(takeOverTaskRequest);
     }
+
+    @PreDestroy
+    public void close() {
+        taskDispatchExecutor.shutdownNow();
+    }
 }
@@ -20,16 +20,22 @@ package org.apache.dolphinscheduler.server.worker.rpc;
 import static org.apache.dolphinscheduler.common.constants.Constants.APPID_COLLECT;
 import static org.apache.dolphinscheduler.common.constants.Constants.DEFAULT_COLLECT_WAY;
 
+import org.apache.dolphinscheduler.common.log.LogFileBytesChunk;
+import org.apache.dolphinscheduler.common.log.LogFileChunk;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.extract.common.ILogService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogTailQueryResponse;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutor;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutorHolder;
 
@@ -51,6 +57,18 @@ public class WorkerLogServiceImpl implements ILogService {
         return new TaskInstanceLogFileDownloadResponse(bytes);
     }
 
+    @Override
+    public TaskInstanceLogFileChunkDownloadResponse downloadTaskInstanceLogFileChunk(TaskInstanceLogFileChunkDownloadRequest taskInstanceLogFileChunkDownloadRequest) {
+        final LogFileBytesChunk logFileBytesChunk = LogUtils.readFileBytesChunk(
+                taskInstanceLogFileChunkDownloadRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogFileChunkDownloadRequest.getOffset(),
+                TaskInstanceLogFileChunkDownloadRequest
+                        .normalizeChunkSize(taskInstanceLogFileChunkDownloadRequest.getChunkSize()),
+                taskInstanceLogFileChunkDownloadRequest.isGzip());
+        return new TaskInstanceLogFileChunkDownloadResponse(logFileBytesChunk.getChunk(),
+                logFileBytesChunk.getNextOffset(), logFileBytesChunk.isFinished());
+    }
+
     @Override
     public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
         List<String> lines = LogUtils.readPartFileContent(
@@ -62,6 +80,15 @@ public class WorkerLogServiceImpl implements ILogService {
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
+    @Override
+    public TaskInstanceLogTailQueryResponse tailQueryTaskInstanceLog(TaskInstanceLogTailQueryRequest taskInstanceLogTailQueryRequest) {
+        LogFileChunk logFileChunk = LogUtils.readFileContentFromOffset(
+                taskInstanceLogTailQueryRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogTailQueryRequest.getOffset(),
+                taskInstanceLogTailQueryRequest.getLimitBytes());
+        return new TaskInstanceLogTailQueryResponse(logFileChunk.getContent(), logFileChunk.getNextOffset());
+    }
+
     @Override
     public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
         String appInfoPath = null;
@@ -80,5 +107,6 @@ public class WorkerLogServiceImpl implements ILogService {
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
         FileUtils.deleteFile(taskInstanceLogAbsolutePath);
+        LogUtils.removeLogFileLineIndex(taskInstanceLogAbsolutePath);
     }
 }
@@ -19,7 +19,7 @@ package org.apache.dolphinscheduler.server.worker.rpc;
 
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
-import org.apache.dolphinscheduler.server.worker.message.MessageRetryRunner;
+import org.apache.dolphinscheduler.server.worker.message.TaskExecutionEventChannel;
 import org.apache.dolphinscheduler.server.worker.message.TaskInstanceExecutionEventSender;
 
 import java.util.HashMap;
@@ -39,7 +39,7 @@ import org.springframework.stereotype.Component;
 public class WorkerMessageSender {
 
     @Autowired
-    private MessageRetryRunner messageRetryRunner;
+    private TaskExecutionEventChannel taskExecutionEventChannel;
 
     @Autowired
     private List<TaskInstanceExecutionEventSender> messageSenders;
@@ -63,10 +63,10 @@ public class WorkerMessageSender {
         }
         ITaskExecutionEvent iTaskExecutionEvent = messageSender.buildEvent(taskExecutionContext);
         try {
-            messageRetryRunner.addRetryMessage(taskExecutionContext.getTaskInstanceId(), iTaskExecutionEvent);
-            messageSender.sendEvent(iTaskExecutionEvent);
+            // The event will be sent in batch, and resent by MessageRetryRunner if the master doesn't ack it
+            taskExecutionEventChannel.publish(iTaskExecutionEvent);
         } catch (Exception e) {
-            log.error("Send message error, eventType: {}, event: {}", eventType, iTaskExecutionEvent);
+            log.error("Send message error, eventType: {}, event: {}", eventType, iTaskExecutionEvent, e);
         }
     }
 
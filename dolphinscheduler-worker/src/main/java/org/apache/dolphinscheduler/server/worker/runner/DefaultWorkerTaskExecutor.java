@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import javax.annotation.Nullable;
@@ -35,12 +36,14 @@ public class DefaultWorkerTaskExecutor extends WorkerTaskExecutor {
                                      @NonNull WorkerConfig workerConfig,
                                      @NonNull WorkerMessageSender workerMessageSender,
                                      @Nullable StorageOperator storageOperator,
-                                     @NonNull WorkerRegistryClient workerRegistryClient) {
+                                     @NonNull WorkerRegistryClient workerRegistryClient,
+                                     @NonNull WorkerResourceCache workerResourceCache) {
         super(taskExecutionContext,
                 workerConfig,
                 workerMessageSender,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                workerResourceCache);
     }
 
     @Override
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TakeOverTaskRespon
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.server.worker.message.MessageRetryRunner;
+import org.apache.dolphinscheduler.server.worker.message.TaskExecutionEventChannel;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutor;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutorHolder;
 
@@ -39,8 +40,13 @@ public class TakeOverTaskOperationFunction
     @Autowired
     private MessageRetryRunner messageRetryRunner;
 
-    public TakeOverTaskOperationFunction(MessageRetryRunner messageRetryRunner) {
+    @Autowired
+    private TaskExecutionEventChannel taskExecutionEventChannel;
+
+    public TakeOverTaskOperationFunction(MessageRetryRunner messageRetryRunner,
+                                         TaskExecutionEventChannel taskExecutionEventChannel) {
         this.messageRetryRunner = messageRetryRunner;
+        this.taskExecutionEventChannel = taskExecutionEventChannel;
     }
 
     @Override
@@ -75,6 +81,9 @@ public class TakeOverTaskOperationFunction
     }
 
     private boolean updateHostInMessage(int taskInstanceId, String workflowHost) {
-        return messageRetryRunner.updateMessageHost(taskInstanceId, workflowHost);
+        // Both the sent events which are not acked and the events waiting to be sent are moved to the new master
+        boolean updateRetryMessage = messageRetryRunner.updateMessageHost(taskInstanceId, workflowHost);
+        boolean updateQueuedMessage = taskExecutionEventChannel.updateMessageHost(taskInstanceId, workflowHost);
+        return updateRetryMessage || updateQueuedMessage;
     }
 }
@@ -27,13 +27,18 @@ import org.apache.dolphinscheduler.plugin.task.api.model.ResourceInfo;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters;
 import org.apache.dolphinscheduler.plugin.task.api.resource.ResourceContext;
 import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 
 import org.apache.commons.collections4.CollectionUtils;
 
 import java.io.File;
-import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -65,8 +70,13 @@ public class TaskExecutionContextUtils {
         }
     }
 
+    /**
+     * Materialize the resource files of the task into the task working directory, the resource files are downloaded
+     * in parallel by the {@link WorkerResourceCache}.
+     */
     public static ResourceContext downloadResourcesIfNeeded(TaskChannel taskChannel,
                                                             StorageOperator storageOperator,
+                                                            WorkerResourceCache workerResourceCache,
                                                             TaskExecutionContext taskExecutionContext) {
         AbstractParameters abstractParameters = taskChannel.parseParameters(taskExecutionContext.getTaskParams());
 
@@ -79,29 +89,16 @@ public class TaskExecutionContextUtils {
         ResourceContext resourceContext = new ResourceContext();
         String taskWorkingDirectory = taskExecutionContext.getExecutePath();
 
+        Map<String, CompletableFuture<Void>> materializeFutures = new LinkedHashMap<>();
         for (ResourceInfo resourceInfo : resourceFilesList) {
             String resourceAbsolutePathInStorage = resourceInfo.getResourceName();
             ResourceMetadata resourceMetaData = storageOperator.getResourceMetaData(resourceAbsolutePathInStorage);
             String resourceAbsolutePathInLocal =
                     Paths.get(taskWorkingDirectory, resourceMetaData.getResourceRelativePath()).toString();
-            File file = new File(resourceAbsolutePathInLocal);
-            if (!file.exists()) {
-                try {
-                    long resourceDownloadStartTime = System.currentTimeMillis();
-                    storageOperator.download(resourceAbsolutePathInStorage, resourceAbsolutePathInLocal, true);
-                    log.info("Download resource file {} -> {} successfully", resourceAbsolutePathInStorage,
-                            resourceAbsolutePathInLocal);
-                    FileUtils.setFileTo755(file);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadSize(Files.size(Paths.get(resourceAbsolutePathInLocal)));
-                    WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
-                } catch (Exception ex) {
-                    WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
-                    throw new TaskException(
-                            String.format("Download resource file: %s error", resourceAbsolutePathInStorage), ex);
-                }
+            if (!new File(resourceAbsolutePathInLocal).exists()) {
+                materializeFutures.computeIfAbsent(resourceAbsolutePathInStorage,
+                        key -> workerResourceCache.materialize(storageOperator, resourceAbsolutePathInStorage,
+                                Paths.get(resourceAbsolutePathInLocal)));
             }
             ResourceContext.ResourceItem resourceItem = ResourceContext.ResourceItem.builder()
                     .resourceAbsolutePathInStorage(resourceAbsolutePathInStorage)
@@ -109,6 +106,16 @@ public class TaskExecutionContextUtils {
                     .build();
             resourceContext.addResourceItem(resourceItem);
         }
+        for (Map.Entry<String, CompletableFuture<Void>> materializeFuture : materializeFutures.entrySet()) {
+            try {
+                materializeFuture.getValue().join();
+            } catch (CompletionException | CancellationException ex) {
+                WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
+                throw new TaskException(
+                        String.format("Download resource file: %s error", materializeFuture.getKey()),
+                        ex.getCause() == null ? ex : ex.getCause());
+            }
+        }
         return resourceContext;
     }
 
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.worker.utils;
 
 import static org.apache.dolphinscheduler.common.constants.Constants.CRC_SUFFIX;
 
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
@@ -35,10 +36,15 @@ import java.io.File;
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.zeroturnaround.zip.ZipUtil;
@@ -51,18 +57,27 @@ public class TaskFilesTransferUtils {
     // tmp path in local path for transfer
     final static String DOWNLOAD_TMP = ".DT_TMP";
 
+    // tmp path in local path to put the packages and crc files for upload
+    final static String UPLOAD_TMP = ".UT_TMP";
+
     // suffix of the package file
     final static String PACK_SUFFIX = "_ds_pack.zip";
 
     // root path in resource storage
     final static String RESOURCE_TAG = "DATA_TRANSFER";
 
+    // max number of files transferred in parallel
+    final static int TRANSFER_THREADS = 4;
+
+    private static final ExecutorService FILE_TRANSFER_EXECUTOR =
+            ThreadUtils.newDaemonFixedThreadExecutor("WorkerFileTransferThread-%d", TRANSFER_THREADS);
+
     private TaskFilesTransferUtils() {
         throw new IllegalStateException("Utility class");
     }
 
     /**
-     * upload output files to resource storage
+     * upload output files to resource storage, the files are uploaded in parallel
      *
      * @param taskExecutionContext is the context of task
      * @param storageOperator      is the storage operate
@@ -82,56 +97,51 @@ public class TaskFilesTransferUtils {
                 .filter(property -> Direct.OUT.equals(property.getDirect()))
                 .collect(Collectors.toMap(Property::getProp, x -> x));
 
-        log.info("Upload output files ...");
-        for (Property property : localParamsProperty) {
-            // get local file path
-            String path = String.format("%s/%s", taskExecutionContext.getExecutePath(), property.getValue());
-            String srcPath = packIfDir(path);
+        // data path to put the packages and crc files, which should not be in the output files since the output
+        // files are uploaded in parallel
+        String uploadTmpPath = String.format("%s/%s", taskExecutionContext.getExecutePath(), UPLOAD_TMP);
 
-            // get crc file path
-            String srcCRCPath = srcPath + CRC_SUFFIX;
-            try {
-                FileUtils.writeContent2File(FileUtils.getFileChecksum(path), srcCRCPath);
-            } catch (IOException ex) {
-                throw new TaskException(ex.getMessage(), ex);
+        log.info("Upload output files ...");
+        List<CompletableFuture<String>> uploadFutures = new ArrayList<>();
+        for (int i = 0; i < localParamsProperty.size(); i++) {
+            Property property = localParamsProperty.get(i);
+            String transferTmpPath = String.format("%s/%d", uploadTmpPath, i);
+            uploadFutures.add(CompletableFuture.supplyAsync(
+                    () -> uploadOutputFile(taskExecutionContext, storageOperator, property, transferTmpPath),
+                    FILE_TRANSFER_EXECUTOR));
+        }
+        try {
+            for (int i = 0; i < localParamsProperty.size(); i++) {
+                Property property = localParamsProperty.get(i);
+                String resourcePath = awaitTransfer(uploadFutures.get(i));
+
+                // update varPool
+                Property oriProperty;
+                // if the property is not in varPool, add it
+                if (varPoolsMap.containsKey(property.getProp())) {
+                    oriProperty = varPoolsMap.get(property.getProp());
+                } else {
+                    oriProperty = new Property(property.getProp(), Direct.OUT, DataType.FILE, property.getValue());
+                    varPools.add(oriProperty);
+                }
+                oriProperty.setProp(String.format("%s.%s", taskExecutionContext.getTaskName(), oriProperty.getProp()));
+                oriProperty.setValue(resourcePath);
             }
-
-            // get remote file path
-            String resourcePath = getResourcePath(taskExecutionContext, new File(srcPath).getName());
-            String resourceCRCPath = resourcePath + CRC_SUFFIX;
+        } finally {
+            // wait for all the uploads before deleting the transfer files
+            CompletableFuture.allOf(uploadFutures.toArray(new CompletableFuture[0])).exceptionally(ex -> null).join();
             try {
-                // upload file to storage
-                String resourceWholePath =
-                        storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(), resourcePath);
-                String resourceCRCWholePath =
-                        storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(),
-                                resourceCRCPath);
-                log.info("{} --- Local:{} to Remote:{}", property, srcPath, resourceWholePath);
-                storageOperator.upload(srcPath, resourceWholePath, false, true);
-                log.info("{} --- Local:{} to Remote:{}", "CRC file", srcCRCPath, resourceCRCWholePath);
-                storageOperator.upload(srcCRCPath, resourceCRCWholePath, false, true);
-            } catch (Exception ex) {
-                throw new TaskException("Upload file to storage error", ex);
+                org.apache.commons.io.FileUtils.deleteDirectory(new File(uploadTmpPath));
+            } catch (IOException e) {
+                log.error("Delete UploadTmpPath {} failed, this will not affect the task status", uploadTmpPath, e);
             }
-
-            // update varPool
-            Property oriProperty;
-            // if the property is not in varPool, add it
-            if (varPoolsMap.containsKey(property.getProp())) {
-                oriProperty = varPoolsMap.get(property.getProp());
-            } else {
-                oriProperty = new Property(property.getProp(), Direct.OUT, DataType.FILE, property.getValue());
-                varPools.add(oriProperty);
-            }
-            oriProperty.setProp(String.format("%s.%s", taskExecutionContext.getTaskName(), oriProperty.getProp()));
-            oriProperty.setValue(resourcePath);
         }
         taskExecutionContext.setVarPool(JSONUtils.toJsonString(varPools));
     }
 
     /**
      * download upstream files from storage
-     * only download files which are defined in the task parameters
+     * only download files which are defined in the task parameters, the files are downloaded in parallel
      *
      * @param taskExecutionContext is the context of task
      * @param storageOperator      is the storage operate
@@ -158,6 +168,8 @@ public class TaskFilesTransferUtils {
         String downloadTmpPath = String.format("%s/%s", executePath, DOWNLOAD_TMP);
 
         log.info("Download upstream files...");
+        List<UpstreamFile> upstreamFiles = new ArrayList<>();
+        Map<String, CompletableFuture<Void>> downloadFutures = new HashMap<>();
         for (Property property : localParamsProperty) {
             Property inVarPool = varPoolsMap.get(property.getValue());
             if (inVarPool == null) {
@@ -182,13 +194,21 @@ public class TaskFilesTransferUtils {
             String resourceWholePath =
                     storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(), resourcePath);
             log.info("{} --- Remote:{} to Local:{}", property, resourceWholePath, downloadPath);
-            storageOperator.download(resourceWholePath, downloadPath, true);
+            // The upstream files are only used by the downstream task instance, so they're not cached at the worker
+            CompletableFuture<Void> downloadFuture = downloadFutures.computeIfAbsent(downloadPath,
+                    key -> CompletableFuture.runAsync(
+                            () -> storageOperator.download(resourceWholePath, downloadPath, true),
+                            FILE_TRANSFER_EXECUTOR));
+            upstreamFiles.add(new UpstreamFile(downloadPath, targetPath, isPack, downloadFuture));
+        }
 
-            // unpack if the data is packaged
-            if (isPack) {
-                File downloadFile = new File(downloadPath);
-                log.info("Unpack {} to {}", downloadPath, targetPath);
-                ZipUtil.unpack(downloadFile, new File(targetPath));
+        // unpack the packaged data once it is downloaded, while the others are still downloading
+        for (UpstreamFile upstreamFile : upstreamFiles) {
+            awaitTransfer(upstreamFile.downloadFuture);
+            if (upstreamFile.isPack) {
+                File downloadFile = new File(upstreamFile.downloadPath);
+                log.info("Unpack {} to {}", upstreamFile.downloadPath, upstreamFile.targetPath);
+                ZipUtil.unpack(downloadFile, new File(upstreamFile.targetPath));
             }
         }
 
@@ -261,6 +281,62 @@ public class TaskFilesTransferUtils {
         return varPools;
     }
 
+    private static String uploadOutputFile(TaskExecutionContext taskExecutionContext,
+                                           StorageOperator storageOperator,
+                                           Property property,
+                                           String transferTmpPath) throws TaskException {
+        // get local file path
+        String path = String.format("%s/%s", taskExecutionContext.getExecutePath(), property.getValue());
+        File file = new File(path);
+        if (!file.exists()) {
+            throw new TaskException(String.format("%s dose not exists", path));
+        }
+        String checksum;
+        try {
+            checksum = FileUtils.getFileChecksum(path);
+        } catch (IOException ex) {
+            throw new TaskException(ex.getMessage(), ex);
+        }
+
+        // get remote file path, the directory will be packed
+        String fileName = file.isDirectory() ? file.getName() + PACK_SUFFIX : file.getName();
+        String resourcePath = getResourcePath(taskExecutionContext, fileName);
+        String resourceCRCPath = resourcePath + CRC_SUFFIX;
+        try {
+            String resourceWholePath =
+                    storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(), resourcePath);
+            String resourceCRCWholePath =
+                    storageOperator.getStorageFileAbsolutePath(taskExecutionContext.getTenantCode(),
+                            resourceCRCPath);
+            String srcPath = packIfDir(path, String.format("%s/%s", transferTmpPath, fileName));
+            // get crc file path
+            String srcCRCPath = String.format("%s/%s%s", transferTmpPath, fileName, CRC_SUFFIX);
+            FileUtils.writeContent2File(checksum, srcCRCPath);
+
+            // upload file to storage, the crc file is uploaded at last to mark the file is uploaded completely
+            log.info("{} --- Local:{} to Remote:{}", property, srcPath, resourceWholePath);
+            storageOperator.upload(srcPath, resourceWholePath, false, true);
+            log.info("{} --- Local:{} to Remote:{}", "CRC file", srcCRCPath, resourceCRCWholePath);
+            storageOperator.upload(srcCRCPath, resourceCRCWholePath, false, true);
+        } catch (TaskException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new TaskException("Upload file to storage error", ex);
+        }
+        return resourcePath;
+    }
+
+    private static <T> T awaitTransfer(CompletableFuture<T> transferFuture) throws TaskException {
+        try {
+            return transferFuture.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TaskException) {
+                throw (TaskException) ex.getCause();
+            }
+            throw new TaskException("Transfer file error", ex.getCause());
+        }
+    }
+
     /**
      * If the path is a directory, pack it and return the path of the package
      *
@@ -268,18 +344,38 @@ public class TaskFilesTransferUtils {
      * @return new path
      */
     public static String packIfDir(String path) throws TaskException {
+        return packIfDir(path, new File(path).getPath() + PACK_SUFFIX);
+    }
+
+    private static String packIfDir(String path, String packPath) throws TaskException {
         File file = new File(path);
         if (!file.exists()) {
             throw new TaskException(String.format("%s dose not exists", path));
         }
         String newPath;
         if (file.isDirectory()) {
-            newPath = file.getPath() + PACK_SUFFIX;
+            newPath = packPath;
+            File packFile = new File(newPath);
+            if (!packFile.getParentFile().exists() && !packFile.getParentFile().mkdirs()) {
+                throw new TaskException(String.format("Create the parent directory of %s failed", newPath));
+            }
             log.info("Pack {} to {}", path, newPath);
-            ZipUtil.pack(file, new File(newPath));
+            ZipUtil.pack(file, packFile);
         } else {
             newPath = path;
         }
         return newPath;
     }
+
+    @AllArgsConstructor
+    private static class UpstreamFile {
+
+        private final String downloadPath;
+
+        private final String targetPath;
+
+        private final boolean isPack;
+
+        private final CompletableFuture<Void> downloadFuture;
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionEventBatch;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionRunningEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionSuccessEvent;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MessageRetryRunnerTest {
+
+    private final MessageRetryRunner messageRetryRunner = new MessageRetryRunner(new WorkerConfig());
+
+    @Test
+    void ackRetryBatch() {
+        TaskExecutionEventBatch taskExecutionEventBatch = TaskExecutionEventBatch.of("worker:1234", Arrays.asList(
+                runningEvent(1), runningEvent(2), successEvent(1), successEvent(2)));
+        messageRetryRunner.addRetryBatch(taskExecutionEventBatch);
+
+        // The events of task instance 2 are failed, should be kept to retry
+        messageRetryRunner.ackRetryBatch(taskExecutionEventBatch.getBatchId(), Collections.singleton(2));
+        Assertions.assertFalse(messageRetryRunner.updateMessageHost(1, "master:5678"));
+        Assertions.assertTrue(messageRetryRunner.updateMessageHost(2, "master:5678"));
+    }
+
+    @Test
+    void removeRetryMessage() {
+        messageRetryRunner.addRetryBatch(
+                TaskExecutionEventBatch.of("worker:1234", Arrays.asList(runningEvent(1), successEvent(1))));
+        messageRetryRunner.removeRetryMessage(1, ITaskExecutionEvent.TaskInstanceExecutionEventType.RUNNING);
+        Assertions.assertTrue(messageRetryRunner.updateMessageHost(1, "master:5678"));
+
+        messageRetryRunner.removeRetryMessages(1);
+        Assertions.assertFalse(messageRetryRunner.updateMessageHost(1, "master:5678"));
+    }
+
+    @Test
+    void updateMessageHost() {
+        TaskExecutionRunningEvent runningEvent = runningEvent(1);
+        TaskExecutionSuccessEvent successEvent = successEvent(1);
+        TaskExecutionEventBatch firstBatch =
+                TaskExecutionEventBatch.of("worker:1234", Arrays.asList(runningEvent, runningEvent(2)));
+        TaskExecutionEventBatch secondBatch =
+                TaskExecutionEventBatch.of("worker:1234", Collections.singletonList(successEvent));
+        messageRetryRunner.addRetryBatch(firstBatch);
+        messageRetryRunner.addRetryBatch(secondBatch);
+
+        Assertions.assertTrue(messageRetryRunner.updateMessageHost(1, "master2:5678"));
+        Assertions.assertEquals("master2:5678", runningEvent.getWorkflowInstanceHost());
+        Assertions.assertEquals("master2:5678", successEvent.getWorkflowInstanceHost());
+
+        // The events of task instance 1 are moved to a new batch, so the ack of the old batches doesn't remove them
+        messageRetryRunner.ackRetryBatch(firstBatch.getBatchId(), Collections.emptySet());
+        messageRetryRunner.ackRetryBatch(secondBatch.getBatchId(), Collections.emptySet());
+        Assertions.assertFalse(messageRetryRunner.updateMessageHost(2, "master2:5678"));
+        Assertions.assertTrue(messageRetryRunner.updateMessageHost(1, "master2:5678"));
+    }
+
+    @Test
+    void trackPendingEvents() {
+        AtomicInteger ackedNotifyCount = new AtomicInteger();
+        messageRetryRunner.setEventsAckedListener(ackedNotifyCount::incrementAndGet);
+        TaskExecutionEventBatch taskExecutionEventBatch = TaskExecutionEventBatch.of("worker:1234", Arrays.asList(
+                runningEvent(1), runningEvent(2), successEvent(1)));
+        messageRetryRunner.addRetryBatch(taskExecutionEventBatch);
+        Assertions.assertTrue(messageRetryRunner.hasPendingEvents(1));
+        Assertions.assertTrue(messageRetryRunner.hasPendingEvents(2));
+
+        messageRetryRunner.removeRetryMessage(1, ITaskExecutionEvent.TaskInstanceExecutionEventType.RUNNING);
+        Assertions.assertTrue(messageRetryRunner.hasPendingEvents(1));
+        Assertions.assertEquals(0, ackedNotifyCount.get());
+
+        // Moving the events to another master doesn't ack them
+        Assertions.assertTrue(messageRetryRunner.updateMessageHost(1, "master2:5678"));
+        Assertions.assertTrue(messageRetryRunner.hasPendingEvents(1));
+
+        messageRetryRunner.ackRetryBatch(taskExecutionEventBatch.getBatchId(), Collections.emptySet());
+        Assertions.assertTrue(messageRetryRunner.hasPendingEvents(1));
+        Assertions.assertFalse(messageRetryRunner.hasPendingEvents(2));
+        Assertions.assertEquals(1, ackedNotifyCount.get());
+
+        messageRetryRunner.removeRetryMessages(1);
+        Assertions.assertFalse(messageRetryRunner.hasPendingEvents(1));
+        Assertions.assertEquals(2, ackedNotifyCount.get());
+    }
+
+    private TaskExecutionRunningEvent runningEvent(int taskInstanceId) {
+        TaskExecutionRunningEvent runningEvent = new TaskExecutionRunningEvent();
+        runningEvent.setTaskInstanceId(taskInstanceId);
+        runningEvent.setWorkflowInstanceHost("master:5678");
+        runningEvent.setTaskInstanceHost("worker:1234");
+        return runningEvent;
+    }
+
+    private TaskExecutionSuccessEvent successEvent(int taskInstanceId) {
+        return TaskExecutionSuccessEvent.builder()
+                .taskInstanceId(taskInstanceId)
+                .workflowInstanceHost("master:5678")
+                .taskInstanceHost("worker:1234")
+                .build();
+    }
+
+}
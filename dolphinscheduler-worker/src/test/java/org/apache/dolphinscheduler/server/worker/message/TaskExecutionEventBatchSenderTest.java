@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent.TaskInstanceExecutionEventType;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionEventBatch;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionRunningEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionSuccessEvent;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class TaskExecutionEventBatchSenderTest {
+
+    @InjectMocks
+    private TaskExecutionEventBatchSender taskExecutionEventBatchSender;
+
+    @Spy
+    private WorkerConfig workerConfig = new WorkerConfig();
+
+    @Spy
+    private List<TaskInstanceExecutionEventSender> messageSenders = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        taskExecutionEventBatchSender.close();
+    }
+
+    @Test
+    void sendEventsOneByOneIfBatchDisabled() throws Exception {
+        TaskInstanceExecutionEventSender runningEventSender = mockMessageSender(TaskInstanceExecutionEventType.RUNNING);
+        TaskInstanceExecutionEventSender successEventSender = mockMessageSender(TaskInstanceExecutionEventType.SUCCESS);
+        taskExecutionEventBatchSender.init();
+        Assertions.assertFalse(taskExecutionEventBatchSender.isBatchEnabled());
+
+        TaskExecutionRunningEvent runningEvent1 = runningEvent(1);
+        TaskExecutionSuccessEvent successEvent1 = successEvent(1);
+        TaskExecutionRunningEvent runningEvent2 = runningEvent(2);
+        doThrow(new IllegalStateException("master is down")).when(runningEventSender).sendEvent(runningEvent1);
+
+        taskExecutionEventBatchSender.send(
+                TaskExecutionEventBatch.of("worker:1234", Arrays.asList(runningEvent1, successEvent1, runningEvent2)))
+                .get();
+        // The later event of the failed task instance is skipped, the other task instances are not blocked
+        verify(successEventSender, never()).sendEvent(successEvent1);
+        verify(runningEventSender).sendEvent(runningEvent2);
+    }
+
+    private TaskInstanceExecutionEventSender mockMessageSender(TaskInstanceExecutionEventType type) {
+        TaskInstanceExecutionEventSender messageSender = mock(TaskInstanceExecutionEventSender.class);
+        when(messageSender.getMessageType()).thenReturn(type);
+        messageSenders.add(messageSender);
+        return messageSender;
+    }
+
+    private TaskExecutionRunningEvent runningEvent(int taskInstanceId) {
+        TaskExecutionRunningEvent runningEvent = new TaskExecutionRunningEvent();
+        runningEvent.setTaskInstanceId(taskInstanceId);
+        runningEvent.setWorkflowInstanceHost("master:5678");
+        runningEvent.setTaskInstanceHost("worker:1234");
+        return runningEvent;
+    }
+
+    private TaskExecutionSuccessEvent successEvent(int taskInstanceId) {
+        return TaskExecutionSuccessEvent.builder()
+                .taskInstanceId(taskInstanceId)
+                .workflowInstanceHost("master:5678")
+                .taskInstanceHost("worker:1234")
+                .build();
+    }
+
+}
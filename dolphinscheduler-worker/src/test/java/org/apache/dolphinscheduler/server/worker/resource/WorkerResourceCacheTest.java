@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.util.unit.DataSize;
+
+class WorkerResourceCacheTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private StorageOperator storageOperator;
+
+    private WorkerResourceCache workerResourceCache;
+
+    @BeforeEach
+    void setUp() {
+        storageOperator = Mockito.mock(StorageOperator.class);
+        doAnswer(invocation -> {
+            final String resourceAbsolutePath = invocation.getArgument(0);
+            Files.write(Paths.get((String) invocation.getArgument(1)),
+                    resourceAbsolutePath.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(anyString(), anyString(), anyBoolean());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (workerResourceCache != null) {
+            workerResourceCache.close();
+        }
+    }
+
+    @Test
+    void testMaterialize_downloadOnceForTheSameVersion() throws IOException {
+        workerResourceCache = createWorkerResourceCache(true, DataSize.ofMegabytes(1));
+        mockStorageEntity("/tenant/resources/a.sh", 1000L);
+
+        materialize("/tenant/resources/a.sh", "task1/a.sh");
+        materialize("/tenant/resources/a.sh", "task2/a.sh");
+
+        verify(storageOperator, times(1)).download(eq("/tenant/resources/a.sh"), anyString(), anyBoolean());
+        assertThat(readFile(tempDir.resolve("task1/a.sh"))).isEqualTo("/tenant/resources/a.sh");
+        assertThat(readFile(tempDir.resolve("task2/a.sh"))).isEqualTo("/tenant/resources/a.sh");
+        assertThat(workerResourceCache.getCachedSize()).isEqualTo("/tenant/resources/a.sh".length());
+    }
+
+    @Test
+    void testMaterialize_downloadAgainIfModified() {
+        workerResourceCache = createWorkerResourceCache(true, DataSize.ofMegabytes(1));
+        mockStorageEntity("/tenant/resources/a.sh", 1000L);
+        materialize("/tenant/resources/a.sh", "task1/a.sh");
+
+        mockStorageEntity("/tenant/resources/a.sh", 2000L);
+        materialize("/tenant/resources/a.sh", "task2/a.sh");
+
+        verify(storageOperator, times(2)).download(eq("/tenant/resources/a.sh"), anyString(), anyBoolean());
+    }
+
+    @Test
+    void testMaterialize_concurrentRequestsShareOneDownload() throws InterruptedException {
+        workerResourceCache = createWorkerResourceCache(true, DataSize.ofMegabytes(1));
+        mockStorageEntity("/tenant/resources/a.sh", 1000L);
+        final CountDownLatch downloadLatch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            downloadLatch.await();
+            Files.write(Paths.get((String) invocation.getArgument(1)), "a".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(anyString(), anyString(), anyBoolean());
+
+        final List<CompletableFuture<Void>> materializeFutures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            materializeFutures.add(workerResourceCache.materialize(storageOperator, "/tenant/resources/a.sh",
+                    tempDir.resolve("task" + i + "/a.sh")));
+        }
+        Thread.sleep(100);
+        downloadLatch.countDown();
+        CompletableFuture.allOf(materializeFutures.toArray(new CompletableFuture[0])).join();
+
+        verify(storageOperator, times(1)).download(anyString(), anyString(), anyBoolean());
+        for (int i = 0; i < 3; i++) {
+            assertThat(Files.exists(tempDir.resolve("task" + i + "/a.sh"))).isTrue();
+        }
+    }
+
+    @Test
+    void testMaterialize_evictLeastRecentlyUsed() {
+        // Each resource file is 22 bytes, only two of them can be cached
+        workerResourceCache = createWorkerResourceCache(true, DataSize.ofBytes(50));
+        mockStorageEntity("/tenant/resources/a.sh", 1000L);
+        mockStorageEntity("/tenant/resources/b.sh", 1000L);
+        mockStorageEntity("/tenant/resources/c.sh", 1000L);
+
+        materialize("/tenant/resources/a.sh", "task1/a.sh");
+        materialize("/tenant/resources/b.sh", "task1/b.sh");
+        materialize("/tenant/resources/a.sh", "task2/a.sh");
+        materialize("/tenant/resources/c.sh", "task2/c.sh");
+        assertThat(workerResourceCache.getCachedSize()).isEqualTo(44);
+
+        // b.sh is evicted, but the materialized file is still valid
+        assertThat(readFile(tempDir.resolve("task1/b.sh"))).isEqualTo("/tenant/resources/b.sh");
+        materialize("/tenant/resources/a.sh", "task3/a.sh");
+        materialize("/tenant/resources/b.sh", "task3/b.sh");
+        verify(storageOperator, times(1)).download(eq("/tenant/resources/a.sh"), anyString(), anyBoolean());
+        verify(storageOperator, times(2)).download(eq("/tenant/resources/b.sh"), anyString(), anyBoolean());
+    }
+
+    @Test
+    void testMaterialize_reloadCachedFilesAfterRestart() {
+        workerResourceCache = createWorkerResourceCache(true, DataSize.ofMegabytes(1));
+        mockStorageEntity("/tenant/resources/a.sh", 1000L);
+        materialize("/tenant/resources/a.sh", "task1/a.sh");
+        workerResourceCache.close();
+
+        workerResourceCache = createWorkerResourceCache(true, DataSize.ofMegabytes(1));
+        assertThat(workerResourceCache.getCachedSize()).isEqualTo("/tenant/resources/a.sh".length());
+        materialize("/tenant/resources/a.sh", "task2/a.sh");
+        verify(storageOperator, times(1)).download(anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void testMaterialize_privateCopyByDefault() throws IOException {
+        workerResourceCache = createWorkerResourceCache(true, DataSize.ofMegabytes(1));
+        mockStorageEntity("/tenant/resources/a.sh", 1000L);
+        materialize("/tenant/resources/a.sh", "task1/a.sh");
+        // The task instance modifies its resource file
+        Files.write(tempDir.resolve("task1/a.sh"), "modified".getBytes(StandardCharsets.UTF_8));
+
+        materialize("/tenant/resources/a.sh", "task2/a.sh");
+        verify(storageOperator, times(1)).download(anyString(), anyString(), anyBoolean());
+        assertThat(readFile(tempDir.resolve("task2/a.sh"))).isEqualTo("/tenant/resources/a.sh");
+    }
+
+    @Test
+    void testMaterialize_hardLinkIfEnabled() throws IOException {
+        workerResourceCache = createWorkerResourceCache(true, DataSize.ofMegabytes(1), true);
+        mockStorageEntity("/tenant/resources/a.sh", 1000L);
+
+        materialize("/tenant/resources/a.sh", "task1/a.sh");
+        materialize("/tenant/resources/a.sh", "task2/a.sh");
+
+        assertThat(Files.isSameFile(tempDir.resolve("task1/a.sh"), tempDir.resolve("task2/a.sh"))).isTrue();
+    }
+
+    @Test
+    void testMaterialize_cacheDisabled() {
+        workerResourceCache = createWorkerResourceCache(false, DataSize.ofMegabytes(1));
+        mockStorageEntity("/tenant/resources/a.sh", 1000L);
+
+        materialize("/tenant/resources/a.sh", "task1/a.sh");
+        materialize("/tenant/resources/a.sh", "task2/a.sh");
+
+        verify(storageOperator, times(2)).download(anyString(), anyString(), anyBoolean());
+        assertThat(workerResourceCache.getCachedSize()).isEqualTo(0);
+    }
+
+    private WorkerResourceCache createWorkerResourceCache(boolean enabled, DataSize maxSize) {
+        return createWorkerResourceCache(enabled, maxSize, false);
+    }
+
+    private WorkerResourceCache createWorkerResourceCache(boolean enabled, DataSize maxSize, boolean hardLinkEnabled) {
+        final WorkerConfig workerConfig = new WorkerConfig();
+        workerConfig.getResourceCacheConfig().setEnabled(enabled);
+        workerConfig.getResourceCacheConfig().setHardLinkEnabled(hardLinkEnabled);
+        workerConfig.getResourceCacheConfig().setCacheDirectory(tempDir.resolve("resource-cache").toString());
+        workerConfig.getResourceCacheConfig().setMaxSize(maxSize);
+        return new WorkerResourceCache(workerConfig);
+    }
+
+    private void materialize(String resourcePathInStorage, String resourcePathInLocal) {
+        workerResourceCache.materialize(storageOperator, resourcePathInStorage, tempDir.resolve(resourcePathInLocal))
+                .join();
+    }
+
+    private void mockStorageEntity(String resourceAbsolutePath, long updateTime) {
+        when(storageOperator.getStorageEntity(resourceAbsolutePath)).thenReturn(StorageEntity.builder()
+                .fullName(resourceAbsolutePath)
+                .size(resourceAbsolutePath.length())
+                .updateTime(new Date(updateTime))
+                .build());
+    }
+
+    private String readFile(Path path) {
+        try {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import org.junit.jupiter.api.Assertions;
@@ -43,6 +44,8 @@ public class DefaultWorkerTaskExecutorTest {
 
     private WorkerRegistryClient workerRegistryClient = Mockito.mock(WorkerRegistryClient.class);
 
+    private WorkerResourceCache workerResourceCache = Mockito.mock(WorkerResourceCache.class);
+
     @Test
     public void testDryRun() {
         TaskExecutionContext taskExecutionContext = TaskExecutionContext.builder()
@@ -56,7 +59,8 @@ public class DefaultWorkerTaskExecutorTest {
                 workerConfig,
                 workerMessageSender,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                workerResourceCache);
 
         Assertions.assertAll(workerTaskExecutor::run);
         Assertions.assertEquals(TaskExecutionStatus.SUCCESS, taskExecutionContext.getCurrentExecutionStatus());
@@ -79,7 +83,8 @@ public class DefaultWorkerTaskExecutorTest {
                 workerConfig,
                 workerMessageSender,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                workerResourceCache);
 
         Assertions.assertAll(workerTaskExecutor::run);
         Assertions.assertEquals(TaskExecutionStatus.FAILURE, taskExecutionContext.getCurrentExecutionStatus());
@@ -37,7 +37,9 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.message.MessageRetryRunner;
+import org.apache.dolphinscheduler.server.worker.message.TaskExecutionEventChannel;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutor;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutorFactoryBuilder;
@@ -56,6 +58,8 @@ public class TaskInstanceOperationFunctionTest {
     private static final Logger log = LoggerFactory.getLogger(TaskInstanceOperationFunctionTest.class);
     private MessageRetryRunner messageRetryRunner = Mockito.mock(MessageRetryRunner.class);
 
+    private TaskExecutionEventChannel taskExecutionEventChannel = Mockito.mock(TaskExecutionEventChannel.class);
+
     private WorkerConfig workerConfig = Mockito.mock(WorkerConfig.class);
 
     private TaskExecutionContext taskExecutionContext = Mockito.mock(TaskExecutionContext.class);
@@ -75,6 +79,8 @@ public class TaskInstanceOperationFunctionTest {
 
     private WorkerRegistryClient workerRegistryClient = Mockito.mock(WorkerRegistryClient.class);
 
+    private WorkerResourceCache workerResourceCache = Mockito.mock(WorkerResourceCache.class);
+
     @Test
     public void testTaskInstanceOperationFunctionManager() {
         TaskInstanceKillOperationFunction taskInstanceKillOperationFunction = new TaskInstanceKillOperationFunction(
@@ -86,14 +92,16 @@ public class TaskInstanceOperationFunctionTest {
 
         TakeOverTaskOperationFunction takeOverTaskOperationFunction =
                 new TakeOverTaskOperationFunction(
-                        messageRetryRunner);
+                        messageRetryRunner,
+                        taskExecutionEventChannel);
 
         WorkerTaskExecutorFactoryBuilder workerTaskExecutorFactoryBuilder = new WorkerTaskExecutorFactoryBuilder(
                 workerConfig,
                 workerMessageSender,
                 workerManager,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                workerResourceCache);
 
         TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =
                 new TaskInstanceDispatchOperationFunction(
@@ -122,7 +130,8 @@ public class TaskInstanceOperationFunctionTest {
     public void testUpdateWorkflowHostOperationFunction() {
         TakeOverTaskOperationFunction takeOverTaskOperationFunction =
                 new TakeOverTaskOperationFunction(
-                        messageRetryRunner);
+                        messageRetryRunner,
+                        taskExecutionEventChannel);
 
         try (MockedStatic<LogUtils> logUtilsMockedStatic = Mockito.mockStatic(LogUtils.class)) {
             logUtilsMockedStatic
@@ -187,7 +196,8 @@ public class TaskInstanceOperationFunctionTest {
                 workerMessageSender,
                 workerManager,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                workerResourceCache);
 
         TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =
                 new TaskInstanceDispatchOperationFunction(
@@ -158,6 +158,12 @@ public class TaskFilesTransferUtilsTest {
         Mockito.mockStatic(ZipUtil.class);
         Assertions.assertDoesNotThrow(
                 () -> TaskFilesTransferUtils.downloadUpstreamFiles(taskExecutionContext, storageOperator));
+        Mockito.verify(storageOperator).download(Mockito.any(),
+                Mockito.eq(String.format("%s/%s/%s", executePath.getPath(), TaskFilesTransferUtils.DOWNLOAD_TMP,
+                        new File(folderPath).getName())),
+                Mockito.eq(true));
+        Mockito.verify(storageOperator).download(Mockito.any(),
+                Mockito.eq(String.format("%s/%s", executePath.getPath(), "file")), Mockito.eq(true));
     }
 
     @Test